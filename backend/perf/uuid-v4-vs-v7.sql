@@ -0,0 +1,108 @@
+-- Insert throughput and primary key index size of random (v4) versus
+-- time-ordered (v7) UUID keys on an orders-shaped table.
+--
+-- Run against a scratch database, not a live one:
+--   psql -d grocery_bench -v rows=5000000 -f backend/perf/uuid-v4-vs-v7.sql
+--
+-- Each table is filled in committed batches of 10,000 rows, the way orders
+-- arrive, so index page splits and full-page writes show up in the WAL
+-- volume. Both tables are dropped again at the end.
+
+\set ON_ERROR_STOP on
+\if :{?rows}
+\else
+\set rows 5000000
+\endif
+
+SELECT set_config('bench.rows', :'rows', false);
+
+-- Same bit layout as UuidV7: 48-bit Unix milliseconds, version 7, random rest
+CREATE FUNCTION pg_temp.uuid_v7() RETURNS uuid AS $$
+    SELECT encode(
+        set_bit(set_bit(
+            overlay(uuid_send(gen_random_uuid())
+                    placing substring(int8send(floor(extract(epoch FROM clock_timestamp()) * 1000)::bigint) FROM 3)
+                    FROM 1 FOR 6),
+            52, 1), 53, 1),
+        'hex')::uuid;
+$$ LANGUAGE sql VOLATILE;
+
+DROP TABLE IF EXISTS bench_orders_v4, bench_orders_v7, bench_results;
+
+CREATE UNLOGGED TABLE bench_results (
+    variant TEXT PRIMARY KEY,
+    elapsed INTERVAL,
+    wal_bytes NUMERIC
+);
+
+CREATE TABLE bench_orders_v4 (
+    id UUID PRIMARY KEY,
+    user_id UUID NOT NULL,
+    order_date TIMESTAMP(6) NOT NULL,
+    total_amount NUMERIC(10, 2) NOT NULL
+);
+
+CREATE TABLE bench_orders_v7 (LIKE bench_orders_v4 INCLUDING ALL);
+
+-- v4: gen_random_uuid(), as the entities generated before
+DO $$
+DECLARE
+    total BIGINT := current_setting('bench.rows')::bigint;
+    batch CONSTANT INT := 10000;
+    started TIMESTAMPTZ := clock_timestamp();
+    wal_start pg_lsn := pg_current_wal_lsn();
+    done BIGINT := 0;
+BEGIN
+    WHILE done < total LOOP
+        INSERT INTO bench_orders_v4
+        SELECT gen_random_uuid(), gen_random_uuid(), clock_timestamp(), (random() * 200)::numeric(10, 2)
+        FROM generate_series(1, LEAST(batch, total - done));
+        done := done + batch;
+        COMMIT;
+    END LOOP;
+    INSERT INTO bench_results
+    VALUES ('v4', clock_timestamp() - started, pg_wal_lsn_diff(pg_current_wal_lsn(), wal_start));
+    COMMIT;
+END
+$$;
+
+-- v7: time-ordered, as @TimeOrderedUuid generates now
+DO $$
+DECLARE
+    total BIGINT := current_setting('bench.rows')::bigint;
+    batch CONSTANT INT := 10000;
+    started TIMESTAMPTZ := clock_timestamp();
+    wal_start pg_lsn := pg_current_wal_lsn();
+    done BIGINT := 0;
+BEGIN
+    WHILE done < total LOOP
+        INSERT INTO bench_orders_v7
+        SELECT pg_temp.uuid_v7(), gen_random_uuid(), clock_timestamp(), (random() * 200)::numeric(10, 2)
+        FROM generate_series(1, LEAST(batch, total - done));
+        done := done + batch;
+        COMMIT;
+    END LOOP;
+    INSERT INTO bench_results
+    VALUES ('v7', clock_timestamp() - started, pg_wal_lsn_diff(pg_current_wal_lsn(), wal_start));
+    COMMIT;
+END
+$$;
+
+ANALYZE bench_orders_v4, bench_orders_v7;
+
+SELECT r.variant,
+       :rows AS rows,
+       r.elapsed,
+       round(:rows / extract(epoch FROM r.elapsed)) AS rows_per_second,
+       pg_size_pretty(pg_relation_size(format('bench_orders_%s_pkey', r.variant)::regclass)) AS pkey_size,
+       pg_size_pretty(pg_relation_size(format('bench_orders_%s', r.variant)::regclass)) AS table_size,
+       pg_size_pretty(r.wal_bytes) AS wal
+FROM bench_results r
+ORDER BY r.variant;
+
+-- Index locality: v7 keys fill leaf pages left to right, v4 keys land on random pages
+SELECT 'v4' AS variant, correlation FROM pg_stats WHERE tablename = 'bench_orders_v4' AND attname = 'id'
+UNION ALL
+SELECT 'v7', correlation FROM pg_stats WHERE tablename = 'bench_orders_v7' AND attname = 'id';
+
+DROP TABLE bench_orders_v4, bench_orders_v7, bench_results;
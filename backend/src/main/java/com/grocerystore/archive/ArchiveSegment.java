@@ -0,0 +1,406 @@
+package com.grocerystore.archive;
+
+import com.grocerystore.entity.OrderStatus;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Read-only, memory-mapped view of one order archive segment file.
+ * <p>
+ * A segment holds orders sorted by (user, order date descending), grouped
+ * into blocks of {@value ArchiveSegmentWriter#ORDERS_PER_BLOCK} orders.
+ * Each block is stored column by column and deflate-compressed. Layout:
+ * <pre>
+ * header      magic, version, order count, block count, directory offset, id index offset
+ * blocks      compressed columnar blocks
+ * directory   per block: first and last (user, order date) key, offset, lengths, order count
+ * id index    (order id, block) pairs sorted by order id
+ * </pre>
+ * Version 2 added the contact number and order notes columns; version 1
+ * segments are still read, with both left null.
+ * <p>
+ * The directory is a sparse index by user and date: a user's orders are
+ * found by binary search over block keys and only the blocks that contain
+ * them are inflated. Blocks holding nothing but one user's orders are
+ * counted without being read. The id index resolves single-order lookups
+ * to one block.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+final class ArchiveSegment {
+
+    static final int MAGIC = 0x47534F41;
+    static final short VERSION = 2;
+    static final short MIN_VERSION = 1;
+    static final int HEADER_BYTES = 32;
+    static final int DIRECTORY_ENTRY_BYTES = 68;
+    static final int ID_INDEX_ENTRY_BYTES = 20;
+
+    // Stand-in for NULL timestamps
+    static final long NO_TIME = Long.MIN_VALUE;
+
+    /**
+     * Order in which a segment stores its orders.
+     */
+    static final Comparator<ArchivedOrder> STORAGE_ORDER = Comparator
+        .comparing(ArchivedOrder::getUserId)
+        .thenComparing(ArchivedOrder::getOrderDate, Comparator.reverseOrder())
+        .thenComparing(ArchivedOrder::getId);
+
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final short version;
+    private final int orderCount;
+    private final int blockCount;
+    private final int directoryOffset;
+    private final int idIndexOffset;
+    // Computed on first use; a segment never changes
+    private volatile Totals totals;
+
+    private ArchiveSegment(Path path, MappedByteBuffer buffer) {
+        this.path = path;
+        this.buffer = buffer;
+        this.version = buffer.getShort(4);
+        if (buffer.getInt(0) != MAGIC || version < MIN_VERSION || version > VERSION) {
+            throw new IllegalStateException("Not an order archive segment: " + path);
+        }
+        this.orderCount = buffer.getInt(8);
+        this.blockCount = buffer.getInt(12);
+        this.directoryOffset = Math.toIntExact(buffer.getLong(16));
+        this.idIndexOffset = Math.toIntExact(buffer.getLong(24));
+    }
+
+    /**
+     * Map a segment file into memory.
+     *
+     * @param path segment file
+     * @return the segment
+     * @throws IOException if the file cannot be mapped
+     */
+    static ArchiveSegment open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return new ArchiveSegment(path, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    int getOrderCount() {
+        return orderCount;
+    }
+
+    /**
+     * Find an order by ID through the id index.
+     *
+     * @param orderId order ID
+     * @return the order, if it is in this segment
+     */
+    Optional<ArchivedOrder> findOrder(UUID orderId) {
+        int low = 0;
+        int high = orderCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int at = idIndexOffset + mid * ID_INDEX_ENTRY_BYTES;
+            int cmp = compare(buffer.getLong(at), buffer.getLong(at + 8), orderId);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                int block = buffer.getInt(at + 16);
+                return decodeBlock(block).stream()
+                    .filter(order -> order.getId().equals(orderId))
+                    .findFirst();
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Count a user's orders in this segment.
+     *
+     * @param userId user ID
+     * @return number of archived orders of the user
+     */
+    int countByUser(UUID userId) {
+        int count = 0;
+        for (int block = firstBlockEndingAtOrAfter(userId); block < blockCount; block++) {
+            int entry = directoryOffset + block * DIRECTORY_ENTRY_BYTES;
+            if (compare(buffer.getLong(entry), buffer.getLong(entry + 8), userId) > 0) {
+                break;
+            }
+            boolean singleUser = compare(buffer.getLong(entry), buffer.getLong(entry + 8), userId) == 0
+                && compare(buffer.getLong(entry + 24), buffer.getLong(entry + 32), userId) == 0;
+            if (singleUser) {
+                count += buffer.getInt(entry + 64);
+            } else {
+                for (ArchivedOrder order : decodeBlock(block)) {
+                    if (order.getUserId().equals(userId)) {
+                        count++;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Get a user's orders in this segment, newest first.
+     *
+     * @param userId user ID
+     * @return the user's archived orders
+     */
+    List<ArchivedOrder> findByUser(UUID userId) {
+        List<ArchivedOrder> orders = new ArrayList<>();
+        for (int block = firstBlockEndingAtOrAfter(userId); block < blockCount; block++) {
+            int entry = directoryOffset + block * DIRECTORY_ENTRY_BYTES;
+            if (compare(buffer.getLong(entry), buffer.getLong(entry + 8), userId) > 0) {
+                break;
+            }
+            for (ArchivedOrder order : decodeBlock(block)) {
+                if (order.getUserId().equals(userId)) {
+                    orders.add(order);
+                }
+            }
+        }
+        return orders;
+    }
+
+    /**
+     * Decode every order in the segment, block by block.
+     *
+     * @param action called for each order, in storage order
+     */
+    void forEachOrder(Consumer<ArchivedOrder> action) {
+        for (int block = 0; block < blockCount; block++) {
+            decodeBlock(block).forEach(action);
+        }
+    }
+
+    /**
+     * Get order counts by status and the completed orders' revenue.
+     * The first call reads the whole segment.
+     *
+     * @return totals of this segment
+     */
+    Totals getTotals() {
+        Totals current = totals;
+        if (current == null) {
+            long[] countsByStatus = new long[STATUSES.length];
+            BigDecimal[] completedRevenue = {BigDecimal.ZERO};
+            forEachOrder(order -> {
+                countsByStatus[order.getStatus().ordinal()]++;
+                if (order.getStatus() == OrderStatus.COMPLETED) {
+                    completedRevenue[0] = completedRevenue[0].add(order.getTotalAmount());
+                }
+            });
+            current = new Totals(countsByStatus, completedRevenue[0]);
+            totals = current;
+        }
+        return current;
+    }
+
+    /**
+     * Get the ID of the first order in the segment, by storage order.
+     *
+     * @return first order ID, if the segment is not empty
+     */
+    Optional<UUID> firstOrderId() {
+        if (blockCount == 0) {
+            return Optional.empty();
+        }
+        List<ArchivedOrder> first = decodeBlock(0);
+        return first.isEmpty() ? Optional.empty() : Optional.of(first.get(0).getId());
+    }
+
+    // First block whose last key's user is not before the given user
+    private int firstBlockEndingAtOrAfter(UUID userId) {
+        int low = 0;
+        int high = blockCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int entry = directoryOffset + mid * DIRECTORY_ENTRY_BYTES;
+            if (compare(buffer.getLong(entry + 24), buffer.getLong(entry + 32), userId) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private List<ArchivedOrder> decodeBlock(int block) {
+        int entry = directoryOffset + block * DIRECTORY_ENTRY_BYTES;
+        int offset = Math.toIntExact(buffer.getLong(entry + 48));
+        int compressedLength = buffer.getInt(entry + 56);
+        int rawLength = buffer.getInt(entry + 60);
+
+        byte[] raw = new byte[rawLength];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(buffer.slice(offset, compressedLength));
+            int read = 0;
+            while (read < rawLength && !inflater.finished()) {
+                read += inflater.inflate(raw, read, rawLength - read);
+            }
+            if (read != rawLength) {
+                throw new IllegalStateException("Truncated block " + block + " in " + path);
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt block " + block + " in " + path, e);
+        } finally {
+            inflater.end();
+        }
+        return decodeColumns(ByteBuffer.wrap(raw), version);
+    }
+
+    private static List<ArchivedOrder> decodeColumns(ByteBuffer in, short version) {
+        int n = in.getInt();
+        UUID[] ids = readUuids(in, n);
+        UUID[] userIds = readUuids(in, n);
+        long[] orderDates = readLongs(in, n);
+        byte[] statuses = new byte[n];
+        in.get(statuses);
+        long[] totals = readLongs(in, n);
+        long[] createdAts = readLongs(in, n);
+        long[] updatedAts = readLongs(in, n);
+        long[] deliveredAts = readLongs(in, n);
+        int[] itemCounts = readInts(in, n);
+        String[] addresses = readStrings(in, n);
+        String[] contactNumbers = version >= 2 ? readStrings(in, n) : new String[n];
+        String[] orderNotes = version >= 2 ? readStrings(in, n) : new String[n];
+
+        int m = in.getInt();
+        UUID[] itemIds = readUuids(in, m);
+        UUID[] productIds = readUuids(in, m);
+        int[] quantities = readInts(in, m);
+        long[] prices = readLongs(in, m);
+        long[] itemCreatedAts = readLongs(in, m);
+        String[] productNames = readStrings(in, m);
+
+        List<ArchivedOrder> orders = new ArrayList<>(n);
+        int item = 0;
+        for (int i = 0; i < n; i++) {
+            List<ArchivedOrder.Item> items = new ArrayList<>(itemCounts[i]);
+            for (int k = 0; k < itemCounts[i]; k++, item++) {
+                items.add(new ArchivedOrder.Item(itemIds[item], productIds[item], productNames[item],
+                    quantities[item], fromCents(prices[item]), fromMicros(itemCreatedAts[item])));
+            }
+            orders.add(new ArchivedOrder(ids[i], userIds[i], fromMicros(orderDates[i]), STATUSES[statuses[i]],
+                fromCents(totals[i]), addresses[i], contactNumbers[i], orderNotes[i],
+                fromMicros(createdAts[i]), fromMicros(updatedAts[i]),
+                fromMicros(deliveredAts[i]), Collections.unmodifiableList(items)));
+        }
+        return orders;
+    }
+
+    private static UUID[] readUuids(ByteBuffer in, int n) {
+        long[] msb = readLongs(in, n);
+        long[] lsb = readLongs(in, n);
+        UUID[] uuids = new UUID[n];
+        for (int i = 0; i < n; i++) {
+            uuids[i] = new UUID(msb[i], lsb[i]);
+        }
+        return uuids;
+    }
+
+    private static long[] readLongs(ByteBuffer in, int n) {
+        long[] values = new long[n];
+        in.asLongBuffer().get(values);
+        in.position(in.position() + n * Long.BYTES);
+        return values;
+    }
+
+    private static int[] readInts(ByteBuffer in, int n) {
+        int[] values = new int[n];
+        in.asIntBuffer().get(values);
+        in.position(in.position() + n * Integer.BYTES);
+        return values;
+    }
+
+    private static String[] readStrings(ByteBuffer in, int n) {
+        int[] lengths = readInts(in, n);
+        String[] values = new String[n];
+        for (int i = 0; i < n; i++) {
+            if (lengths[i] >= 0) {
+                values[i] = new String(in.array(), in.position(), lengths[i], StandardCharsets.UTF_8);
+                in.position(in.position() + lengths[i]);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Order counts by status and completed revenue of one segment.
+     */
+    static final class Totals {
+        private final long[] countsByStatus;
+        private final BigDecimal completedRevenue;
+
+        Totals(long[] countsByStatus, BigDecimal completedRevenue) {
+            this.countsByStatus = countsByStatus;
+            this.completedRevenue = completedRevenue;
+        }
+
+        long count(OrderStatus status) {
+            return countsByStatus[status.ordinal()];
+        }
+
+        BigDecimal getCompletedRevenue() {
+            return completedRevenue;
+        }
+    }
+
+    // Same ordering as UUID.compareTo
+    static int compare(long msb, long lsb, UUID other) {
+        int cmp = Long.compare(msb, other.getMostSignificantBits());
+        return cmp != 0 ? cmp : Long.compare(lsb, other.getLeastSignificantBits());
+    }
+
+    static long toMicros(LocalDateTime time) {
+        if (time == null) {
+            return NO_TIME;
+        }
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+    }
+
+    static LocalDateTime fromMicros(long micros) {
+        if (micros == NO_TIME) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+            (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    static long toCents(BigDecimal amount) {
+        return amount.setScale(2).unscaledValue().longValueExact();
+    }
+
+    static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+}
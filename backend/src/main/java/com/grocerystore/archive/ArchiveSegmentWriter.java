@@ -0,0 +1,196 @@
+package com.grocerystore.archive;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.Deflater;
+
+/**
+ * Writes order archive segment files in the layout read by
+ * {@link ArchiveSegment}. A segment is written once and never modified.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+final class ArchiveSegmentWriter {
+
+    static final int ORDERS_PER_BLOCK = 256;
+
+    private ArchiveSegmentWriter() {
+    }
+
+    /**
+     * Write orders to a new segment file and flush it to disk.
+     *
+     * @param path file to create; must not exist
+     * @param orders orders to archive, in any order
+     * @throws IOException if the file cannot be written
+     */
+    static void write(Path path, List<ArchivedOrder> orders) throws IOException {
+        List<ArchivedOrder> sorted = new ArrayList<>(orders);
+        sorted.sort(ArchiveSegment.STORAGE_ORDER);
+
+        int blockCount = (sorted.size() + ORDERS_PER_BLOCK - 1) / ORDERS_PER_BLOCK;
+        ByteBuffer directory = ByteBuffer.allocate(blockCount * ArchiveSegment.DIRECTORY_ENTRY_BYTES);
+        List<long[]> idIndex = new ArrayList<>(sorted.size());
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            long offset = ArchiveSegment.HEADER_BYTES;
+            channel.position(offset);
+
+            Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+            try {
+                for (int block = 0; block < blockCount; block++) {
+                    List<ArchivedOrder> blockOrders = sorted.subList(block * ORDERS_PER_BLOCK,
+                        Math.min(sorted.size(), (block + 1) * ORDERS_PER_BLOCK));
+                    byte[] raw = encodeColumns(blockOrders);
+                    byte[] compressed = compress(deflater, raw);
+                    writeFully(channel, ByteBuffer.wrap(compressed));
+
+                    ArchivedOrder first = blockOrders.get(0);
+                    ArchivedOrder last = blockOrders.get(blockOrders.size() - 1);
+                    directory.putLong(first.getUserId().getMostSignificantBits())
+                        .putLong(first.getUserId().getLeastSignificantBits())
+                        .putLong(ArchiveSegment.toMicros(first.getOrderDate()))
+                        .putLong(last.getUserId().getMostSignificantBits())
+                        .putLong(last.getUserId().getLeastSignificantBits())
+                        .putLong(ArchiveSegment.toMicros(last.getOrderDate()))
+                        .putLong(offset)
+                        .putInt(compressed.length)
+                        .putInt(raw.length)
+                        .putInt(blockOrders.size());
+                    offset += compressed.length;
+
+                    for (ArchivedOrder order : blockOrders) {
+                        idIndex.add(new long[] {
+                            order.getId().getMostSignificantBits(), order.getId().getLeastSignificantBits(), block
+                        });
+                    }
+                }
+            } finally {
+                deflater.end();
+            }
+
+            long directoryOffset = offset;
+            directory.flip();
+            writeFully(channel, directory);
+            long idIndexOffset = directoryOffset + directory.capacity();
+
+            // Same ordering as UUID.compareTo, which the reader's binary search relies on
+            idIndex.sort(Comparator.<long[]>comparingLong(entry -> entry[0]).thenComparingLong(entry -> entry[1]));
+            ByteBuffer ids = ByteBuffer.allocate(idIndex.size() * ArchiveSegment.ID_INDEX_ENTRY_BYTES);
+            for (long[] entry : idIndex) {
+                ids.putLong(entry[0]).putLong(entry[1]).putInt((int) entry[2]);
+            }
+            ids.flip();
+            writeFully(channel, ids);
+
+            ByteBuffer header = ByteBuffer.allocate(ArchiveSegment.HEADER_BYTES)
+                .putInt(ArchiveSegment.MAGIC)
+                .putShort(ArchiveSegment.VERSION)
+                .putShort((short) 0)
+                .putInt(sorted.size())
+                .putInt(blockCount)
+                .putLong(directoryOffset)
+                .putLong(idIndexOffset);
+            header.flip();
+            channel.position(0);
+            writeFully(channel, header);
+
+            channel.force(true);
+        }
+    }
+
+    private static byte[] encodeColumns(List<ArchivedOrder> orders) {
+        int n = orders.size();
+        List<ArchivedOrder.Item> items = new ArrayList<>();
+        orders.forEach(order -> items.addAll(order.getItems()));
+        int m = items.size();
+
+        byte[][] addresses = orders.stream().map(order -> utf8(order.getShippingAddress())).toArray(byte[][]::new);
+        byte[][] contactNumbers = orders.stream().map(order -> utf8(order.getContactNumber())).toArray(byte[][]::new);
+        byte[][] orderNotes = orders.stream().map(order -> utf8(order.getOrderNotes())).toArray(byte[][]::new);
+        byte[][] productNames = items.stream().map(item -> utf8(item.getProductName())).toArray(byte[][]::new);
+
+        int size = Integer.BYTES + n * (2 * 16 + 5 * Long.BYTES + 1 + 4 * Integer.BYTES) + totalLength(addresses)
+            + totalLength(contactNumbers) + totalLength(orderNotes)
+            + Integer.BYTES + m * (2 * 16 + Integer.BYTES + 2 * Long.BYTES + Integer.BYTES) + totalLength(productNames);
+        ByteBuffer out = ByteBuffer.allocate(size);
+
+        out.putInt(n);
+        orders.forEach(order -> out.putLong(order.getId().getMostSignificantBits()));
+        orders.forEach(order -> out.putLong(order.getId().getLeastSignificantBits()));
+        orders.forEach(order -> out.putLong(order.getUserId().getMostSignificantBits()));
+        orders.forEach(order -> out.putLong(order.getUserId().getLeastSignificantBits()));
+        orders.forEach(order -> out.putLong(ArchiveSegment.toMicros(order.getOrderDate())));
+        orders.forEach(order -> out.put((byte) order.getStatus().ordinal()));
+        orders.forEach(order -> out.putLong(ArchiveSegment.toCents(order.getTotalAmount())));
+        orders.forEach(order -> out.putLong(ArchiveSegment.toMicros(order.getCreatedAt())));
+        orders.forEach(order -> out.putLong(ArchiveSegment.toMicros(order.getUpdatedAt())));
+        orders.forEach(order -> out.putLong(ArchiveSegment.toMicros(order.getActualDeliveryDate())));
+        orders.forEach(order -> out.putInt(order.getItems().size()));
+        putStrings(out, addresses);
+        putStrings(out, contactNumbers);
+        putStrings(out, orderNotes);
+
+        out.putInt(m);
+        items.forEach(item -> out.putLong(item.getId().getMostSignificantBits()));
+        items.forEach(item -> out.putLong(item.getId().getLeastSignificantBits()));
+        items.forEach(item -> out.putLong(item.getProductId().getMostSignificantBits()));
+        items.forEach(item -> out.putLong(item.getProductId().getLeastSignificantBits()));
+        items.forEach(item -> out.putInt(item.getQuantity()));
+        items.forEach(item -> out.putLong(ArchiveSegment.toCents(item.getPrice())));
+        items.forEach(item -> out.putLong(ArchiveSegment.toMicros(item.getCreatedAt())));
+        putStrings(out, productNames);
+
+        return out.array();
+    }
+
+    private static void putStrings(ByteBuffer out, byte[][] values) {
+        for (byte[] value : values) {
+            out.putInt(value != null ? value.length : -1);
+        }
+        for (byte[] value : values) {
+            if (value != null) {
+                out.put(value);
+            }
+        }
+    }
+
+    private static byte[] utf8(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static int totalLength(byte[][] values) {
+        int total = 0;
+        for (byte[] value : values) {
+            total += value != null ? value.length : 0;
+        }
+        return total;
+    }
+
+    private static byte[] compress(Deflater deflater, byte[] raw) {
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2 + 64);
+        byte[] chunk = new byte[8192];
+        while (!deflater.finished()) {
+            out.write(chunk, 0, deflater.deflate(chunk));
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.grocerystore.archive;
+
+import com.grocerystore.entity.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * An order as stored in the cold archive, with its items.
+ * Product names are captured when the order is archived, so archived
+ * history does not depend on the product still existing.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+public final class ArchivedOrder {
+
+    private final UUID id;
+    private final UUID userId;
+    private final LocalDateTime orderDate;
+    private final OrderStatus status;
+    private final BigDecimal totalAmount;
+    private final String shippingAddress;
+    private final String contactNumber;
+    private final String orderNotes;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+    private final LocalDateTime actualDeliveryDate;
+    private final List<Item> items;
+
+    public ArchivedOrder(UUID id, UUID userId, LocalDateTime orderDate, OrderStatus status, BigDecimal totalAmount,
+                         String shippingAddress, String contactNumber, String orderNotes,
+                         LocalDateTime createdAt, LocalDateTime updatedAt,
+                         LocalDateTime actualDeliveryDate, List<Item> items) {
+        this.id = id;
+        this.userId = userId;
+        this.orderDate = orderDate;
+        this.status = status;
+        this.totalAmount = totalAmount;
+        this.shippingAddress = shippingAddress;
+        this.contactNumber = contactNumber;
+        this.orderNotes = orderNotes;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.actualDeliveryDate = actualDeliveryDate;
+        this.items = items;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public LocalDateTime getOrderDate() {
+        return orderDate;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public String getShippingAddress() {
+        return shippingAddress;
+    }
+
+    public String getContactNumber() {
+        return contactNumber;
+    }
+
+    public String getOrderNotes() {
+        return orderNotes;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public LocalDateTime getActualDeliveryDate() {
+        return actualDeliveryDate;
+    }
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    /**
+     * One line of an archived order.
+     */
+    public static final class Item {
+        private final UUID id;
+        private final UUID productId;
+        private final String productName;
+        private final int quantity;
+        private final BigDecimal price;
+        private final LocalDateTime createdAt;
+
+        public Item(UUID id, UUID productId, String productName, int quantity, BigDecimal price,
+                    LocalDateTime createdAt) {
+            this.id = id;
+            this.productId = productId;
+            this.productName = productName;
+            this.quantity = quantity;
+            this.price = price;
+            this.createdAt = createdAt;
+        }
+
+        public UUID getId() {
+            return id;
+        }
+
+        public UUID getProductId() {
+            return productId;
+        }
+
+        public String getProductName() {
+            return productName;
+        }
+
+        public int getQuantity() {
+            return quantity;
+        }
+
+        public BigDecimal getPrice() {
+            return price;
+        }
+
+        public LocalDateTime getCreatedAt() {
+            return createdAt;
+        }
+    }
+}
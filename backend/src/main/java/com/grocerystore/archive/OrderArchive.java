@@ -0,0 +1,200 @@
+package com.grocerystore.archive;
+
+import com.grocerystore.entity.OrderStatus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Cold storage for old, finished orders: the set of segment files written by
+ * {@link OrderArchiver}, each memory-mapped read-only. Segments are
+ * append-only, so reads need no locking; a new segment becomes visible
+ * to readers once it has been fully written and renamed into place.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+@Component
+public class OrderArchive {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderArchive.class);
+
+    static final String SEGMENT_SUFFIX = ".seg";
+
+    private final Path directory;
+    private final List<ArchiveSegment> segments = new CopyOnWriteArrayList<>();
+
+    public OrderArchive(MeterRegistry meterRegistry,
+                        @Value("${orders.archive.directory:data/order-archive}") String directory) {
+        this.directory = Paths.get(directory);
+
+        try {
+            Files.createDirectories(this.directory);
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(this.directory, "*" + SEGMENT_SUFFIX)) {
+                List<Path> paths = new ArrayList<>();
+                files.forEach(paths::add);
+                Collections.sort(paths);
+                for (Path path : paths) {
+                    segments.add(ArchiveSegment.open(path));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open order archive in " + this.directory, e);
+        }
+        logger.info("Opened order archive in {}: {} segments, {} orders", this.directory, segments.size(), size());
+
+        Gauge.builder("orders.archive.orders", this, OrderArchive::size)
+            .description("Orders held in the cold order archive")
+            .register(meterRegistry);
+        Gauge.builder("orders.archive.segments", segments, List::size)
+            .description("Segment files in the cold order archive")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Find an archived order by ID.
+     *
+     * @param orderId order ID
+     * @return the order, if it has been archived
+     */
+    public Optional<ArchivedOrder> findOrder(UUID orderId) {
+        for (ArchiveSegment segment : segments) {
+            Optional<ArchivedOrder> order = segment.findOrder(orderId);
+            if (order.isPresent()) {
+                return order;
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Count a user's archived orders.
+     *
+     * @param userId user ID
+     * @return number of archived orders
+     */
+    public long countByUser(UUID userId) {
+        long count = 0;
+        for (ArchiveSegment segment : segments) {
+            count += segment.countByUser(userId);
+        }
+        return count;
+    }
+
+    /**
+     * Get a slice of a user's archived orders, newest first.
+     *
+     * @param userId user ID
+     * @param offset number of archived orders to skip
+     * @param limit maximum number of orders to return
+     * @return the user's archived orders in the requested slice
+     */
+    public List<ArchivedOrder> findByUser(UUID userId, long offset, int limit) {
+        if (limit <= 0 || segments.isEmpty()) {
+            return List.of();
+        }
+        return segments.stream()
+            .flatMap(segment -> segment.findByUser(userId).stream())
+            .sorted(ArchiveSegment.STORAGE_ORDER)
+            .skip(offset)
+            .limit(limit)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Get the number of archived orders.
+     *
+     * @return archived order count
+     */
+    public long size() {
+        long size = 0;
+        for (ArchiveSegment segment : segments) {
+            size += segment.getOrderCount();
+        }
+        return size;
+    }
+
+    /**
+     * Count archived orders with a status.
+     * Each segment is read once, on the first call after it was opened.
+     *
+     * @param status order status
+     * @return number of archived orders with the status
+     */
+    public long countByStatus(OrderStatus status) {
+        long count = 0;
+        for (ArchiveSegment segment : segments) {
+            count += segment.getTotals().count(status);
+        }
+        return count;
+    }
+
+    /**
+     * Sum the totals of archived completed orders.
+     *
+     * @return revenue from archived completed orders
+     */
+    public BigDecimal getCompletedRevenue() {
+        BigDecimal revenue = BigDecimal.ZERO;
+        for (ArchiveSegment segment : segments) {
+            revenue = revenue.add(segment.getTotals().getCompletedRevenue());
+        }
+        return revenue;
+    }
+
+    /**
+     * Read every archived order, segment by segment.
+     *
+     * @param action called for each archived order
+     */
+    public void forEachOrder(Consumer<ArchivedOrder> action) {
+        for (ArchiveSegment segment : segments) {
+            segment.forEachOrder(action);
+        }
+    }
+
+    /**
+     * Check whether a segment has been added under this name.
+     *
+     * @param fileName segment file name
+     * @return true if the segment is open
+     */
+    boolean hasSegment(String fileName) {
+        return segments.stream().anyMatch(segment -> segment.getPath().getFileName().toString().equals(fileName));
+    }
+
+    Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Open a fully written segment file and make its orders visible.
+     *
+     * @param path segment file, already renamed into place
+     * @throws IOException if the file cannot be mapped
+     */
+    void addSegment(Path path) throws IOException {
+        segments.add(ArchiveSegment.open(path));
+        segments.sort(Comparator.comparing(ArchiveSegment::getPath));
+    }
+}
@@ -0,0 +1,246 @@
+package com.grocerystore.archive;
+
+import com.grocerystore.entity.OrderStatus;
+import com.grocerystore.repository.OrderItemRepository;
+import com.grocerystore.repository.OrderRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Moves finished orders older than a cutoff from the orders and order_items
+ * tables into {@link OrderArchive} segment files.
+ * <p>
+ * Each batch is written to a {@code .pending} file and flushed before its
+ * rows are deleted; the file is renamed into place only after the delete
+ * commits. An order is therefore always readable from the database or the
+ * archive. A {@code .pending} file is resolved from what the database holds:
+ * if its orders are still there the delete never committed and the file is
+ * dropped, otherwise it is promoted. That happens right after a failed delete,
+ * whose commit may have gone through anyway, and again on startup and before
+ * each run for files that could not be resolved then, e.g. after a crash or
+ * while the database was unreachable.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+@Component
+public class OrderArchiver {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderArchiver.class);
+
+    private static final String PENDING_SUFFIX = ".pending";
+
+    // Final statuses only: an archived order can never change again
+    private static final List<OrderStatus> ARCHIVABLE = List.of(OrderStatus.COMPLETED, OrderStatus.CANCELLED);
+
+    private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final OrderArchive archive;
+    private final TransactionTemplate transaction;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final int afterMonths;
+    private final int batchSize;
+    private final int maxBatches;
+
+    private final Counter archived;
+
+    public OrderArchiver(OrderRepository orderRepository,
+                         OrderItemRepository orderItemRepository,
+                         OrderArchive archive,
+                         PlatformTransactionManager transactionManager,
+                         MeterRegistry meterRegistry,
+                         @Value("${orders.archive.enabled:false}") boolean enabled,
+                         @Value("${orders.archive.after-months:24}") int afterMonths,
+                         @Value("${orders.archive.batch-size:5000}") int batchSize,
+                         @Value("${orders.archive.max-batches:20}") int maxBatches) {
+        this.orderRepository = orderRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.archive = archive;
+        this.enabled = enabled;
+        this.afterMonths = Math.max(1, afterMonths);
+        this.batchSize = Math.max(1, batchSize);
+        this.maxBatches = Math.max(1, maxBatches);
+
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        this.archived = Counter.builder("orders.archive.archived")
+            .description("Orders moved from the database into the cold archive")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Resolve segments left pending by an interrupted run.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void onApplicationReady() {
+        recoverPending();
+    }
+
+    /**
+     * Nightly archival run.
+     */
+    @Scheduled(cron = "${orders.archive.cron:0 45 2 * * *}")
+    public void scheduledArchive() {
+        if (enabled) {
+            archiveOldOrders();
+        }
+    }
+
+    /**
+     * Archive finished orders placed before the cutoff, one segment per batch.
+     *
+     * @return number of orders archived
+     */
+    public synchronized int archiveOldOrders() {
+        recoverPending();
+        LocalDateTime cutoff = LocalDateTime.now().minusMonths(afterMonths);
+        int total = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            List<ArchivedOrder> orders = readOnlyTransaction.execute(status -> readBatch(cutoff));
+            if (orders.isEmpty()) {
+                break;
+            }
+            try {
+                archiveBatch(orders);
+            } catch (IOException | RuntimeException e) {
+                logger.error("Order archival stopped after {} orders", total, e);
+                break;
+            }
+            total += orders.size();
+            archived.increment(orders.size());
+        }
+        if (total > 0) {
+            logger.info("Archived {} orders placed before {}", total, cutoff);
+        }
+        return total;
+    }
+
+    private List<ArchivedOrder> readBatch(LocalDateTime cutoff) {
+        List<Object[]> rows = orderRepository.findArchiveRows(ARCHIVABLE, cutoff, PageRequest.of(0, batchSize));
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+
+        List<UUID> ids = new ArrayList<>(rows.size());
+        rows.forEach(row -> ids.add((UUID) row[0]));
+        // Rows come back in order date order
+        LocalDateTime fromDate = (LocalDateTime) rows.get(0)[2];
+        LocalDateTime toDate = (LocalDateTime) rows.get(rows.size() - 1)[2];
+
+        Map<UUID, List<ArchivedOrder.Item>> items = new HashMap<>();
+        for (Object[] row : orderItemRepository.findArchiveRows(ids, fromDate, toDate)) {
+            items.computeIfAbsent((UUID) row[0], id -> new ArrayList<>())
+                .add(new ArchivedOrder.Item((UUID) row[1], (UUID) row[2], (String) row[3],
+                    (Integer) row[4], (BigDecimal) row[5], (LocalDateTime) row[6]));
+        }
+
+        List<ArchivedOrder> orders = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            orders.add(new ArchivedOrder((UUID) row[0], (UUID) row[1], (LocalDateTime) row[2], (OrderStatus) row[3],
+                (BigDecimal) row[4], (String) row[5], (String) row[6], (String) row[7], (LocalDateTime) row[8],
+                (LocalDateTime) row[9], (LocalDateTime) row[10], items.getOrDefault((UUID) row[0], List.of())));
+        }
+        return orders;
+    }
+
+    private void archiveBatch(List<ArchivedOrder> orders) throws IOException {
+        String name = String.format("orders-%013d%s", System.currentTimeMillis(), OrderArchive.SEGMENT_SUFFIX);
+        Path segment = archive.getDirectory().resolve(name);
+        Path pending = archive.getDirectory().resolve(name + PENDING_SUFFIX);
+        ArchiveSegmentWriter.write(pending, orders);
+
+        List<UUID> ids = new ArrayList<>(orders.size());
+        LocalDateTime fromDate = orders.get(0).getOrderDate();
+        LocalDateTime toDate = fromDate;
+        for (ArchivedOrder order : orders) {
+            ids.add(order.getId());
+            fromDate = order.getOrderDate().isBefore(fromDate) ? order.getOrderDate() : fromDate;
+            toDate = order.getOrderDate().isAfter(toDate) ? order.getOrderDate() : toDate;
+        }
+        LocalDateTime from = fromDate;
+        LocalDateTime to = toDate;
+
+        try {
+            transaction.executeWithoutResult(status -> {
+                orderItemRepository.deleteByOrderIds(ids, from, to);
+                int deleted = orderRepository.deleteArchived(ids, ARCHIVABLE, from, to);
+                if (deleted != ids.size()) {
+                    throw new IllegalStateException("Expected to delete " + ids.size() + " archived orders but deleted " + deleted);
+                }
+            });
+        } catch (RuntimeException e) {
+            // A failed commit may still have committed: only the database can tell
+            recover(pending);
+            throw e;
+        }
+
+        Files.move(pending, segment, StandardCopyOption.ATOMIC_MOVE);
+        archive.addSegment(segment);
+        logger.info("Archived {} orders from {} to {} into {}", orders.size(), from, to, segment.getFileName());
+    }
+
+    private void recoverPending() {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(archive.getDirectory(), "*" + PENDING_SUFFIX)) {
+            for (Path pending : files) {
+                recover(pending);
+            }
+        } catch (IOException e) {
+            logger.error("Could not scan {} for pending archive segments", archive.getDirectory(), e);
+        }
+    }
+
+    private void recover(Path pending) {
+        String fileName = pending.getFileName().toString();
+        Path segment = pending.resolveSibling(fileName.substring(0, fileName.length() - PENDING_SUFFIX.length()));
+        try {
+            Optional<UUID> firstOrder;
+            try {
+                firstOrder = ArchiveSegment.open(pending).firstOrderId();
+            } catch (RuntimeException e) {
+                // The header is written last, so an unreadable file was never complete
+                firstOrder = Optional.empty();
+            }
+
+            if (firstOrder.isEmpty() || orderRepository.existsById(firstOrder.get())) {
+                Files.delete(pending);
+                logger.warn("Dropped archive segment {}: its orders were not deleted from the database", fileName);
+            } else {
+                Files.move(pending, segment, StandardCopyOption.ATOMIC_MOVE);
+                if (!archive.hasSegment(segment.getFileName().toString())) {
+                    archive.addSegment(segment);
+                }
+                logger.warn("Promoted archive segment {}: its orders were already deleted from the database", fileName);
+            }
+        } catch (IOException | RuntimeException e) {
+            // Kept for the next attempt, e.g. while the database is unreachable
+            logger.error("Could not recover pending archive segment {}", fileName, e);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.grocerystore.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Answers conditional GETs on the public catalog endpoints.
+ * If-None-Match / If-Modified-Since are checked against {@link CatalogVersion}
+ * before the controller runs, so a matching request gets a 304 without a
+ * database round-trip. Every catalog response also carries a Cache-Control
+ * header so nginx and browsers can cache it.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+public class CatalogConditionalGetInterceptor implements HandlerInterceptor {
+
+    private static final String PRODUCT_ID_VARIABLE = "productId";
+    private static final String RESOURCE_ATTRIBUTE = CatalogConditionalGetInterceptor.class.getName() + ".resource";
+
+    private final CatalogVersion catalogVersion;
+    private final String cacheControl;
+
+    private final Counter itemNotModified;
+    private final Counter itemFull;
+    private final Counter listNotModified;
+    private final Counter listFull;
+
+    public CatalogConditionalGetInterceptor(CatalogVersion catalogVersion, MeterRegistry meterRegistry,
+                                            long maxAgeSeconds) {
+        this.catalogVersion = catalogVersion;
+        this.cacheControl = CacheControl.maxAge(maxAgeSeconds, TimeUnit.SECONDS)
+            .cachePublic()
+            .mustRevalidate()
+            .getHeaderValue();
+
+        this.itemNotModified = counter(meterRegistry, "item", "not_modified");
+        this.itemFull = counter(meterRegistry, "item", "full");
+        this.listNotModified = counter(meterRegistry, "list", "not_modified");
+        this.listFull = counter(meterRegistry, "list", "full");
+
+        Gauge.builder("catalog.http.conditional.hit.ratio", this, i -> ratio(i.itemNotModified, i.itemFull))
+            .tag("resource", "item")
+            .description("Share of catalog item requests answered with 304")
+            .register(meterRegistry);
+        Gauge.builder("catalog.http.conditional.hit.ratio", this, i -> ratio(i.listNotModified, i.listFull))
+            .tag("resource", "list")
+            .description("Share of catalog list requests answered with 304")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return true;
+        }
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+
+        Map<String, String> variables = getUriTemplateVariables(request);
+        boolean item = variables.containsKey(PRODUCT_ID_VARIABLE);
+        request.setAttribute(RESOURCE_ATTRIBUTE, item ? "item" : "list");
+
+        CatalogVersion.Validators validators;
+        if (item) {
+            UUID productId = parseProductId(variables.get(PRODUCT_ID_VARIABLE));
+            validators = productId != null ? catalogVersion.getProductValidators(productId) : null;
+        } else {
+            validators = catalogVersion.getCatalogValidators();
+        }
+
+        if (validators == null) {
+            // Unknown product state; the controller sets the validators after loading it
+            return true;
+        }
+
+        ServletWebRequest webRequest = new ServletWebRequest(request, response);
+        return !webRequest.checkNotModified(validators.getETag(), validators.getLastModified());
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        Object resource = request.getAttribute(RESOURCE_ATTRIBUTE);
+        if (resource == null) {
+            return;
+        }
+
+        boolean notModified = response.getStatus() == HttpServletResponse.SC_NOT_MODIFIED;
+        if (!notModified && response.getStatus() != HttpServletResponse.SC_OK) {
+            return;
+        }
+
+        if ("item".equals(resource)) {
+            (notModified ? itemNotModified : itemFull).increment();
+        } else {
+            (notModified ? listNotModified : listFull).increment();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, String> getUriTemplateVariables(HttpServletRequest request) {
+        Map<String, String> variables = (Map<String, String>)
+            request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        return variables != null ? variables : Collections.emptyMap();
+    }
+
+    private UUID parseProductId(String value) {
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String resource, String outcome) {
+        return Counter.builder("catalog.http.conditional.requests")
+            .tag("resource", resource)
+            .tag("outcome", outcome)
+            .description("Catalog GET requests by conditional outcome")
+            .register(meterRegistry);
+    }
+
+    private static double ratio(Counter hits, Counter misses) {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0.0 : hits.count() / total;
+    }
+}
@@ -0,0 +1,200 @@
+package com.grocerystore.cache;
+
+import com.grocerystore.event.ProductChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Byte-level cache of serialized catalog responses.
+ * Holds the final JSON body, plain and gzip-compressed, for hot catalog
+ * pages so repeated requests skip the query, the DTO mapping and Jackson.
+ * Entries are stamped with the catalog version they were rendered at and
+ * the whole cache is dropped on product writes. Total size is kept under
+ * a byte budget with least-recently-used eviction.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+@Component
+public class CatalogResponseCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogResponseCache.class);
+
+    private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long usedBytes;
+
+    private final long maxBytes;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public CatalogResponseCache(MeterRegistry meterRegistry,
+                                @Value("${catalog.response-cache.max-bytes:8388608}") long maxBytes) {
+        this.maxBytes = maxBytes;
+
+        this.hits = Counter.builder("catalog.response.cache.requests")
+            .tag("outcome", "hit")
+            .description("Catalog response cache lookups")
+            .register(meterRegistry);
+        this.misses = Counter.builder("catalog.response.cache.requests")
+            .tag("outcome", "miss")
+            .description("Catalog response cache lookups")
+            .register(meterRegistry);
+        this.evictions = Counter.builder("catalog.response.cache.evictions")
+            .description("Entries evicted to stay within the byte budget")
+            .register(meterRegistry);
+
+        Gauge.builder("catalog.response.cache.size", this, CatalogResponseCache::getUsedBytes)
+            .baseUnit("bytes")
+            .description("Bytes held by the catalog response cache")
+            .register(meterRegistry);
+        Gauge.builder("catalog.response.cache.entries", this, CatalogResponseCache::getEntryCount)
+            .description("Responses held by the catalog response cache")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Look up a cached response rendered at the given catalog version.
+     *
+     * @param key cache key
+     * @param catalogVersion current catalog version
+     * @return cached response, or null on a miss
+     */
+    public CachedResponse get(String key, long catalogVersion) {
+        CachedResponse cached;
+        synchronized (this) {
+            cached = entries.get(key);
+        }
+
+        if (cached == null || cached.getCatalogVersion() != catalogVersion) {
+            misses.increment();
+            return null;
+        }
+
+        hits.increment();
+        return cached;
+    }
+
+    /**
+     * Store a rendered response.
+     *
+     * @param key cache key
+     * @param response rendered response
+     */
+    public void put(String key, CachedResponse response) {
+        long size = response.getSize();
+        if (size > maxBytes / 4) {
+            logger.debug("Not caching {}: {} bytes exceeds the per-entry limit", key, size);
+            return;
+        }
+
+        synchronized (this) {
+            CachedResponse previous = entries.put(key, response);
+            if (previous != null) {
+                usedBytes -= previous.getSize();
+            }
+            usedBytes += size;
+
+            Iterator<Map.Entry<String, CachedResponse>> eldest = entries.entrySet().iterator();
+            while (usedBytes > maxBytes && eldest.hasNext()) {
+                CachedResponse evicted = eldest.next().getValue();
+                eldest.remove();
+                usedBytes -= evicted.getSize();
+                evictions.increment();
+            }
+        }
+    }
+
+    /**
+     * Drop all cached responses once a product write has committed.
+     *
+     * @param event product changed event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        clear();
+    }
+
+    /**
+     * Drop all cached responses.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        usedBytes = 0;
+    }
+
+    public synchronized long getUsedBytes() {
+        return usedBytes;
+    }
+
+    public synchronized int getEntryCount() {
+        return entries.size();
+    }
+
+    /**
+     * Compress a body with gzip.
+     *
+     * @param body uncompressed body
+     * @return gzip-compressed body
+     */
+    public static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * A serialized response together with the headers needed to replay it.
+     */
+    public static class CachedResponse {
+        private final byte[] body;
+        private final byte[] gzipBody;
+        private final String contentType;
+        private final String cacheControl;
+        private final String eTag;
+        private final long lastModified;
+        private final long catalogVersion;
+
+        public CachedResponse(byte[] body, byte[] gzipBody, String contentType, String cacheControl,
+                              String eTag, long lastModified, long catalogVersion) {
+            this.body = body;
+            this.gzipBody = gzipBody;
+            this.contentType = contentType;
+            this.cacheControl = cacheControl;
+            this.eTag = eTag;
+            this.lastModified = lastModified;
+            this.catalogVersion = catalogVersion;
+        }
+
+        public byte[] getBody() { return body; }
+        public byte[] getGzipBody() { return gzipBody; }
+        public String getContentType() { return contentType; }
+        public String getCacheControl() { return cacheControl; }
+        public String getETag() { return eTag; }
+        public long getLastModified() { return lastModified; }
+        public long getCatalogVersion() { return catalogVersion; }
+
+        public long getSize() {
+            return (long) body.length + gzipBody.length;
+        }
+    }
+}
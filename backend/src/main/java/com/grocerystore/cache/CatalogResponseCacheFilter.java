@@ -0,0 +1,141 @@
+package com.grocerystore.cache;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Enumeration;
+
+/**
+ * Serves hot catalog pages from {@link CatalogResponseCache}.
+ * Only requests whose query string is limited to page/size are cached, keyed
+ * by path and the normalized paging values. On a hit the stored bytes are
+ * written straight to the servlet output stream (gzip-compressed when the
+ * client accepts it); on a miss the rendered body is captured and stored.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+public class CatalogResponseCacheFilter extends OncePerRequestFilter {
+
+    private static final String DEFAULT_PAGE = "0";
+    private static final String DEFAULT_SIZE = "12";
+
+    private final CatalogResponseCache responseCache;
+    private final CatalogVersion catalogVersion;
+
+    public CatalogResponseCacheFilter(CatalogResponseCache responseCache, CatalogVersion catalogVersion) {
+        this.responseCache = responseCache;
+        this.catalogVersion = catalogVersion;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        String key = getCacheKey(request);
+        if (key == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        long version = catalogVersion.getVersion();
+        CatalogResponseCache.CachedResponse cached = responseCache.get(key, version);
+        if (cached != null) {
+            writeCached(request, response, cached);
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, wrapper);
+
+            if (wrapper.getStatus() == HttpServletResponse.SC_OK) {
+                byte[] body = wrapper.getContentAsByteArray();
+                HttpHeaders headers = new HttpHeaders();
+                String lastModified = wrapper.getHeader(HttpHeaders.LAST_MODIFIED);
+                if (lastModified != null) {
+                    headers.set(HttpHeaders.LAST_MODIFIED, lastModified);
+                }
+
+                responseCache.put(key, new CatalogResponseCache.CachedResponse(
+                    body,
+                    CatalogResponseCache.gzip(body),
+                    wrapper.getContentType(),
+                    wrapper.getHeader(HttpHeaders.CACHE_CONTROL),
+                    wrapper.getHeader(HttpHeaders.ETAG),
+                    headers.getLastModified(),
+                    version
+                ));
+            }
+        } finally {
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    /**
+     * Skip anything that is not a plain GET.
+     *
+     * @param request HTTP request
+     * @return true if should not filter, false otherwise
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod());
+    }
+
+    private void writeCached(HttpServletRequest request, HttpServletResponse response,
+                             CatalogResponseCache.CachedResponse cached) throws IOException {
+        if (cached.getCacheControl() != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, cached.getCacheControl());
+        }
+
+        ServletWebRequest webRequest = new ServletWebRequest(request, response);
+        if (cached.getETag() != null && webRequest.checkNotModified(cached.getETag(), cached.getLastModified())) {
+            return;
+        }
+
+        byte[] body = cached.getBody();
+        if (acceptsGzip(request)) {
+            body = cached.getGzipBody();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(cached.getContentType());
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+        response.flushBuffer();
+    }
+
+    private String getCacheKey(HttpServletRequest request) {
+        Enumeration<String> names = request.getParameterNames();
+        while (names.hasMoreElements()) {
+            String name = names.nextElement();
+            if (!"page".equals(name) && !"size".equals(name)) {
+                return null;
+            }
+        }
+
+        String page = request.getParameter("page");
+        String size = request.getParameter("size");
+        return request.getRequestURI() +
+               "?page=" + (StringUtils.hasText(page) ? page.trim() : DEFAULT_PAGE) +
+               "&size=" + (StringUtils.hasText(size) ? size.trim() : DEFAULT_SIZE);
+    }
+
+    private boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.contains("gzip") && !acceptEncoding.contains("gzip;q=0");
+    }
+}
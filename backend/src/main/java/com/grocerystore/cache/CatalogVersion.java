@@ -0,0 +1,127 @@
+package com.grocerystore.cache;
+
+import com.grocerystore.event.ProductChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks the version of the product catalog and the HTTP validators
+ * (ETag / Last-Modified) handed out for catalog resources.
+ * The version is bumped after every committed product write, so list and
+ * search pages can be revalidated without querying the database. Validators
+ * for single products are remembered after the first read and dropped when
+ * that product changes.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+@Component
+public class CatalogVersion {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogVersion.class);
+
+    // Seeded with the boot time so validators from a previous run never match
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+    private volatile long lastModified = System.currentTimeMillis();
+
+    private final Map<UUID, Validators> productValidators = new ConcurrentHashMap<>();
+
+    @Value("${catalog.http-cache.max-tracked-products:10000}")
+    private int maxTrackedProducts;
+
+    /**
+     * Get the current catalog version.
+     *
+     * @return catalog version
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Get the validators for list and search pages.
+     *
+     * @return validators derived from the current catalog version
+     */
+    public Validators getCatalogValidators() {
+        return new Validators("W/\"c" + Long.toHexString(version.get()) + "\"", lastModified);
+    }
+
+    /**
+     * Get the remembered validators for a single product.
+     *
+     * @param productId product ID
+     * @return validators, or null if the product has not been read since its last change
+     */
+    public Validators getProductValidators(UUID productId) {
+        return productValidators.get(productId);
+    }
+
+    /**
+     * Compute and remember the validators for a product that was just read.
+     * The entry is only kept if no product write committed while the read was in flight.
+     *
+     * @param productId product ID
+     * @param updatedAt product's last modification time
+     * @param versionAtRead catalog version observed before the product was loaded
+     * @return validators for the product
+     */
+    public Validators registerProduct(UUID productId, LocalDateTime updatedAt, long versionAtRead) {
+        long modified = updatedAt != null
+            ? updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+            : lastModified;
+        Validators validators = new Validators(
+            "W/\"p" + productId + "-" + Long.toHexString(modified) + "\"", modified);
+
+        if (version.get() == versionAtRead) {
+            if (productValidators.size() >= maxTrackedProducts) {
+                productValidators.clear();
+            }
+            productValidators.put(productId, validators);
+            // A write may have slipped in between the check and the put
+            if (version.get() != versionAtRead) {
+                productValidators.remove(productId);
+            }
+        }
+        return validators;
+    }
+
+    /**
+     * Bump the catalog version once a product write has committed.
+     *
+     * @param event product changed event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        long newVersion = version.incrementAndGet();
+        lastModified = System.currentTimeMillis();
+        productValidators.remove(event.getProductId());
+        logger.debug("Catalog version bumped to {} by {}", newVersion, event);
+    }
+
+    /**
+     * HTTP validators for a catalog resource.
+     */
+    public static class Validators {
+        private final String eTag;
+        private final long lastModified;
+
+        public Validators(String eTag, long lastModified) {
+            this.eTag = eTag;
+            this.lastModified = lastModified;
+        }
+
+        public String getETag() { return eTag; }
+        public long getLastModified() { return lastModified; }
+    }
+}
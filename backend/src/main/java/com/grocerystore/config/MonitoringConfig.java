@@ -0,0 +1,64 @@
+package com.grocerystore.config;
+
+import com.grocerystore.monitoring.QueryStatisticsIntegrator;
+import com.grocerystore.monitoring.QueryStatisticsStatementInspector;
+import com.grocerystore.monitoring.RequestQueryStatisticsFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.List;
+
+/**
+ * Monitoring configuration for per-request Hibernate statistics.
+ * Repository method timers (spring.data.repository.invocations), HTTP timers
+ * and the slow-query log are configured in application.properties.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+@Configuration
+public class MonitoringConfig {
+
+    @Value("${monitoring.query-budget.default-statements:25}")
+    private int defaultStatementBudget;
+
+    @Value("${monitoring.query-budget.repeat-threshold:5}")
+    private int repeatThreshold;
+
+    /**
+     * Hook the statement inspector and event listeners into Hibernate.
+     *
+     * @return Hibernate properties customizer
+     */
+    @Bean
+    public HibernatePropertiesCustomizer queryStatisticsHibernateCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryStatisticsStatementInspector());
+            properties.put("hibernate.integrator_provider",
+                (IntegratorProvider) () -> List.of(new QueryStatisticsIntegrator()));
+        };
+    }
+
+    /**
+     * Filter that binds per-request query statistics around the whole filter chain,
+     * including the JWT user lookup.
+     *
+     * @param meterRegistry meter registry
+     * @return filter registration
+     */
+    @Bean
+    public FilterRegistrationBean<RequestQueryStatisticsFilter> requestQueryStatisticsFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<RequestQueryStatisticsFilter> registration =
+            new FilterRegistrationBean<>(new RequestQueryStatisticsFilter(meterRegistry, defaultStatementBudget, repeatThreshold));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
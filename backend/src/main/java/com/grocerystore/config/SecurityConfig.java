@@ -146,8 +146,10 @@ public class SecurityConfig {
                 .requestMatchers(HttpMethod.GET, "/api/products/**").permitAll()
                 .requestMatchers(HttpMethod.GET, "/api/reviews/**").permitAll()
                 
-                // Actuator endpoints
-                .requestMatchers("/actuator/health").permitAll()
+                // Actuator endpoints, served on management.server.port only
+                .requestMatchers("/actuator/health", "/actuator/health/liveness", "/actuator/health/readiness").permitAll()
+                // The management port is restricted at the network level, so Prometheus scrapes without a token
+                .requestMatchers("/actuator/prometheus").permitAll()
                 .requestMatchers("/actuator/**").hasRole("ADMIN")
                 
                 // Swagger/OpenAPI endpoints
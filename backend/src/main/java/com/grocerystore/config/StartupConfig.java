@@ -0,0 +1,120 @@
+package com.grocerystore.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Startup-time configuration: lazy initialization of beans nothing needs
+ * while booting, and the CDS training run.
+ * <p>
+ * Beans from the packages in {@code startup.lazy-packages} (springdoc by
+ * default) are created on first use, e.g. the first request for the API
+ * docs, instead of during startup. Beans that declare {@code @Lazy(false)}
+ * keep it.
+ * <p>
+ * The fast-startup build (Maven profile {@code fast-startup}) creates its
+ * class-data-sharing archive by starting the application with
+ * {@code -Dspring.context.exit=onRefresh}, which exits once the context is
+ * refreshed. That training run loads the same classes as a real start but
+ * must not need a database, so Flyway skips migrating and Hibernate neither
+ * reads JDBC metadata nor validates the schema during it.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+@Configuration
+public class StartupConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupConfig.class);
+
+    /**
+     * Mark beans from the configured packages lazy. Static, so it runs before
+     * any other bean is created.
+     *
+     * @param environment environment holding startup.lazy-packages
+     * @return bean factory post-processor
+     */
+    @Bean
+    public static BeanFactoryPostProcessor lazyStartupBeans(Environment environment) {
+        String[] packages = environment.getProperty("startup.lazy-packages", String[].class, new String[0]);
+        return beanFactory -> {
+            for (String name : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(name);
+                if (definition instanceof AbstractBeanDefinition bean && bean.getLazyInit() == null
+                        && inPackages(declaringClassName(bean), packages)) {
+                    bean.setLazyInit(true);
+                }
+            }
+        };
+    }
+
+    /**
+     * Skip migrations during the CDS training run.
+     *
+     * @param environment environment holding spring.context.exit
+     * @return Flyway migration strategy
+     */
+    @Bean
+    public FlywayMigrationStrategy trainingRunAwareMigrationStrategy(Environment environment) {
+        boolean trainingRun = isTrainingRun(environment);
+        return flyway -> {
+            if (trainingRun) {
+                logger.info("CDS training run, skipping Flyway migrations");
+                return;
+            }
+            flyway.migrate();
+        };
+    }
+
+    /**
+     * Keep Hibernate off the database during the CDS training run. The dialect
+     * is configured explicitly, so it needs no JDBC metadata.
+     *
+     * @param environment environment holding spring.context.exit
+     * @return Hibernate properties customizer
+     */
+    @Bean
+    public HibernatePropertiesCustomizer trainingRunHibernateCustomizer(Environment environment) {
+        boolean trainingRun = isTrainingRun(environment);
+        return properties -> {
+            if (trainingRun) {
+                properties.put(AvailableSettings.HBM2DDL_AUTO, "none");
+                properties.put("hibernate.temp.use_jdbc_metadata_defaults", false);
+            }
+        };
+    }
+
+    private static boolean isTrainingRun(Environment environment) {
+        return "onRefresh".equals(environment.getProperty("spring.context.exit"));
+    }
+
+    // The class a bean comes from: its own class, or the configuration class of its @Bean method
+    private static String declaringClassName(AbstractBeanDefinition bean) {
+        if (bean instanceof AnnotatedBeanDefinition annotated && annotated.getFactoryMethodMetadata() != null) {
+            return annotated.getFactoryMethodMetadata().getDeclaringClassName();
+        }
+        return bean.getBeanClassName();
+    }
+
+    private static boolean inPackages(String className, String[] packages) {
+        if (className == null) {
+            return false;
+        }
+        for (String prefix : packages) {
+            if (!prefix.isBlank() && className.startsWith(prefix.trim() + ".")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
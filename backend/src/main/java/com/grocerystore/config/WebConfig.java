@@ -0,0 +1,79 @@
+package com.grocerystore.config;
+
+import com.grocerystore.cache.CatalogConditionalGetInterceptor;
+import com.grocerystore.cache.CatalogResponseCache;
+import com.grocerystore.cache.CatalogResponseCacheFilter;
+import com.grocerystore.cache.CatalogVersion;
+import com.grocerystore.monitoring.QueryBudgetInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Web MVC configuration for the application.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private CatalogVersion catalogVersion;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${catalog.http-cache.enabled:true}")
+    private boolean catalogHttpCacheEnabled;
+
+    @Value("${catalog.http-cache.max-age-seconds:30}")
+    private long catalogMaxAgeSeconds;
+
+    @Value("${catalog.response-cache.enabled:true}")
+    private boolean catalogResponseCacheEnabled;
+
+    /**
+     * Response cache filter for the hot catalog landing pages.
+     *
+     * @param responseCache catalog response cache
+     * @return filter registration
+     */
+    @Bean
+    public FilterRegistrationBean<CatalogResponseCacheFilter> catalogResponseCacheFilter(CatalogResponseCache responseCache) {
+        FilterRegistrationBean<CatalogResponseCacheFilter> registration =
+            new FilterRegistrationBean<>(new CatalogResponseCacheFilter(responseCache, catalogVersion));
+        registration.addUrlPatterns(
+            "/api/products/recent",
+            "/api/products/top-rated",
+            "/api/products/most-reviewed",
+            "/api/products/in-stock"
+        );
+        registration.setEnabled(catalogResponseCacheEnabled);
+        return registration;
+    }
+
+    /**
+     * Register handler interceptors.
+     *
+     * @param registry interceptor registry
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new QueryBudgetInterceptor())
+            .addPathPatterns("/api/**");
+
+        if (catalogHttpCacheEnabled) {
+            // Public catalog reads only; admin views must not end up in shared caches
+            registry.addInterceptor(new CatalogConditionalGetInterceptor(catalogVersion, meterRegistry, catalogMaxAgeSeconds))
+                .addPathPatterns("/api/products", "/api/products/**")
+                .excludePathPatterns("/api/products/low-stock", "/api/products/low-stock/**", "/api/products/statistics", "/api/products/stream",
+                    "/api/products/*/related", "/api/products/browse");
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.grocerystore.controller;
+
+import com.grocerystore.dto.admin.AdminDashboardResponse;
+import com.grocerystore.dto.common.ApiResponse;
+import com.grocerystore.service.AdminDashboardService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for admin-only overview operations.
+ * 
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping("/api/admin")
+@Tag(name = "Administration", description = "Admin overview APIs")
+@SecurityRequirement(name = "bearerAuth")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class AdminController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdminController.class);
+
+    @Autowired
+    private AdminDashboardService adminDashboardService;
+
+    /**
+     * Get order, product and user statistics for the admin dashboard.
+     * 
+     * @return dashboard statistics
+     */
+    @GetMapping("/dashboard")
+    @Operation(summary = "Get admin dashboard",
+               description = "Get order, product and user statistics in one call; slow slices are served from the previous value (admin only)")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<AdminDashboardResponse>> getDashboard() {
+        logger.info("Getting admin dashboard");
+
+        AdminDashboardResponse dashboard = adminDashboardService.getDashboard();
+
+        return ResponseEntity.ok(ApiResponse.success("Dashboard retrieved successfully", dashboard));
+    }
+}
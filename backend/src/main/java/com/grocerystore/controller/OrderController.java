@@ -2,10 +2,14 @@ package com.grocerystore.controller;
 
 import com.grocerystore.dto.common.ApiResponse;
 import com.grocerystore.dto.common.PageResponse;
+import com.grocerystore.dto.order.BulkOrderStatusRequest;
+import com.grocerystore.dto.order.BulkOrderStatusResponse;
 import com.grocerystore.dto.order.OrderCreateDTO;
 import com.grocerystore.dto.order.OrderDTO;
+import com.grocerystore.dto.order.OrderJournalStatusResponse;
 import com.grocerystore.entity.OrderStatus;
-import com.grocerystore.security.UserPrincipal;
+import com.grocerystore.journal.OrderJournalReplayer;
+import com.grocerystore.security.CustomUserDetailsService.UserPrincipal;
 import com.grocerystore.service.OrderService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -33,10 +37,12 @@ import java.util.UUID;
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderJournalReplayer orderJournalReplayer;
 
     @Autowired
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, OrderJournalReplayer orderJournalReplayer) {
         this.orderService = orderService;
+        this.orderJournalReplayer = orderJournalReplayer;
     }
 
     /**
@@ -50,17 +56,19 @@ public class OrderController {
         
         OrderDTO createdOrder = orderService.createOrder(orderCreateDTO, userPrincipal.getId());
         
+        // A provisional order is journaled and only reaches the database once it is back
         ApiResponse<OrderDTO> response = new ApiResponse<>(
             true,
-            "Order created successfully",
+            createdOrder.isProvisional() ? "Order accepted and will be confirmed shortly" : "Order created successfully",
             createdOrder
         );
         
-        return new ResponseEntity<>(response, HttpStatus.CREATED);
+        return new ResponseEntity<>(response, createdOrder.isProvisional() ? HttpStatus.ACCEPTED : HttpStatus.CREATED);
     }
 
     /**
-     * Get customer's order history.
+     * Get customer's order history, including archived orders.
+     * Customers with archived orders can sort by orderDate or totalAmount only.
      */
     @GetMapping("/my-orders")
     @PreAuthorize("hasRole('CUSTOMER')")
@@ -77,14 +85,7 @@ public class OrderController {
         
         Page<OrderDTO> orders = orderService.getCustomerOrders(userPrincipal.getId(), pageable);
         
-        PageResponse<OrderDTO> pageResponse = new PageResponse<>(
-            orders.getContent(),
-            orders.getNumber(),
-            orders.getSize(),
-            orders.getTotalElements(),
-            orders.getTotalPages(),
-            orders.isLast()
-        );
+        PageResponse<OrderDTO> pageResponse = PageResponse.fromPage(orders);
         
         ApiResponse<PageResponse<OrderDTO>> response = new ApiResponse<>(
             true,
@@ -145,14 +146,7 @@ public class OrderController {
         
         Page<OrderDTO> orders = orderService.getAllOrders(pageable);
         
-        PageResponse<OrderDTO> pageResponse = new PageResponse<>(
-            orders.getContent(),
-            orders.getNumber(),
-            orders.getSize(),
-            orders.getTotalElements(),
-            orders.getTotalPages(),
-            orders.isLast()
-        );
+        PageResponse<OrderDTO> pageResponse = PageResponse.fromPage(orders);
         
         ApiResponse<PageResponse<OrderDTO>> response = new ApiResponse<>(
             true,
@@ -184,7 +178,26 @@ public class OrderController {
     }
 
     /**
-     * Get order statistics (admin only).
+     * Move many orders to one status (admin only).
+     */
+    @PutMapping("/status")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<BulkOrderStatusResponse>> updateOrderStatuses(
+            @Valid @RequestBody BulkOrderStatusRequest request) {
+        
+        BulkOrderStatusResponse result = orderService.updateOrderStatuses(request.getOrderIds(), request.getStatus());
+        
+        ApiResponse<BulkOrderStatusResponse> response = new ApiResponse<>(
+            true,
+            "Order statuses updated: " + result.getUpdated() + " of " + result.getRequested(),
+            result
+        );
+        
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Get order statistics (admin only), including archived orders.
      */
     @GetMapping("/admin/statistics")
     @PreAuthorize("hasRole('ADMIN')")
@@ -200,4 +213,22 @@ public class OrderController {
         
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Get the degraded-mode order journal's state and recent replay conflicts (admin only).
+     */
+    @GetMapping("/admin/journal")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<OrderJournalStatusResponse>> getOrderJournalStatus() {
+        
+        OrderJournalStatusResponse status = orderJournalReplayer.getStatus();
+        
+        ApiResponse<OrderJournalStatusResponse> response = new ApiResponse<>(
+            true,
+            "Order journal status retrieved successfully",
+            status
+        );
+        
+        return ResponseEntity.ok(response);
+    }
 }
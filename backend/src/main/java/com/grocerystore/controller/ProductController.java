@@ -1,14 +1,20 @@
 package com.grocerystore.controller;
 
+import com.grocerystore.cache.CatalogVersion;
 import com.grocerystore.dto.common.ApiResponse;
 import com.grocerystore.dto.common.PageResponse;
 import com.grocerystore.dto.product.CreateProductRequest;
 import com.grocerystore.dto.product.ProductResponse;
 import com.grocerystore.dto.product.UpdateProductRequest;
+import com.grocerystore.index.CatalogSnapshot;
+import com.grocerystore.monitoring.QueryBudget;
 import com.grocerystore.service.ProductService;
+import com.grocerystore.stream.LowStockAlertStream;
+import com.grocerystore.stream.ProductStockStream;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,9 +23,11 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -42,6 +50,15 @@ public class ProductController {
     @Autowired
     private ProductService productService;
 
+    @Autowired
+    private CatalogVersion catalogVersion;
+
+    @Autowired
+    private ProductStockStream productStockStream;
+
+    @Autowired
+    private LowStockAlertStream lowStockAlertStream;
+
     /**
      * Get all products with pagination.
      *
@@ -79,12 +96,39 @@ public class ProductController {
      */
     @GetMapping("/{productId}")
     @Operation(summary = "Get product by ID", description = "Get product details by ID")
+    @QueryBudget(statements = 5)
     public ResponseEntity<ApiResponse<ProductResponse>> getProductById(@PathVariable UUID productId) {
         logger.info("Getting product by ID: {}", productId);
 
+        long catalogVersionAtRead = catalogVersion.getVersion();
         ProductResponse productResponse = productService.getProductById(productId);
+        CatalogVersion.Validators validators = catalogVersion.registerProduct(
+            productId, productResponse.getUpdatedAt(), catalogVersionAtRead);
 
-        return ResponseEntity.ok(ApiResponse.success("Product retrieved successfully", productResponse));
+        return ResponseEntity.ok()
+            .eTag(validators.getETag())
+            .lastModified(validators.getLastModified())
+            .body(ApiResponse.success("Product retrieved successfully", productResponse));
+    }
+
+    /**
+     * Get products frequently bought together with a product.
+     *
+     * @param productId product ID
+     * @param limit maximum number of products
+     * @return related in-stock products, best match first
+     */
+    @GetMapping("/{productId}/related")
+    @Operation(summary = "Get related products", description = "Get in-stock products frequently bought together with a product")
+    public ResponseEntity<ApiResponse<List<ProductResponse>>> getRelatedProducts(
+            @PathVariable UUID productId,
+            @RequestParam(defaultValue = "8") int limit) {
+
+        logger.info("Getting related products for: {}", productId);
+
+        List<ProductResponse> related = productService.getRelatedProducts(productId, Math.min(Math.max(limit, 1), 20));
+
+        return ResponseEntity.ok(ApiResponse.success("Related products retrieved successfully", related));
     }
 
     /**
@@ -159,6 +203,39 @@ public class ProductController {
         return ResponseEntity.ok(ApiResponse.success("Products retrieved by price range", pageResponse));
     }
 
+    /**
+     * Browse products with combined filters and sorting.
+     *
+     * @param inStock only include products in stock
+     * @param minPrice minimum price
+     * @param maxPrice maximum price
+     * @param minRating minimum average rating (0-5)
+     * @param sort sort order (PRICE_ASC, PRICE_DESC, RATING, NEWEST)
+     * @param page page number (0-based)
+     * @param size page size
+     * @return paginated list of matching products
+     */
+    @GetMapping("/browse")
+    @Operation(summary = "Browse products", description = "Filter by stock, price range and minimum rating, sorted by price, rating or newest")
+    public ResponseEntity<ApiResponse<PageResponse<ProductResponse>>> browseProducts(
+            @RequestParam(defaultValue = "false") boolean inStock,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) BigDecimal minRating,
+            @RequestParam(defaultValue = "NEWEST") CatalogSnapshot.SortOrder sort,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "12") int size) {
+
+        logger.info("Browsing products - inStock: {}, price: {} - {}, minRating: {}, sort: {}",
+            inStock, minPrice, maxPrice, minRating, sort);
+
+        Pageable pageable = PageRequest.of(page, size);
+        Page<ProductResponse> products = productService.browseProducts(inStock, minPrice, maxPrice, minRating, sort, pageable);
+        PageResponse<ProductResponse> pageResponse = PageResponse.fromPage(products);
+
+        return ResponseEntity.ok(ApiResponse.success("Products retrieved successfully", pageResponse));
+    }
+
     /**
      * Get top-rated products.
      *
@@ -225,6 +302,21 @@ public class ProductController {
         return ResponseEntity.ok(ApiResponse.success("Recent products retrieved successfully", pageResponse));
     }
 
+    /**
+     * Stream stock and price changes for the given products as Server-Sent Events.
+     * Subscribe before loading the product so no change is missed in between.
+     *
+     * @param ids product IDs to watch
+     * @param request the streaming request
+     * @return SSE stream of stock updates
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream stock updates", description = "Server-Sent Events with stock and price changes for the given products")
+    public SseEmitter streamStockUpdates(@RequestParam List<UUID> ids, HttpServletRequest request) {
+        logger.debug("Opening stock stream for {} products", ids.size());
+        return productStockStream.subscribe(ids, request);
+    }
+
     // Admin endpoints
 
     /**
@@ -310,7 +402,7 @@ public class ProductController {
     /**
      * Get low stock products (admin only).
      *
-     * @param threshold stock threshold
+     * @param threshold stock threshold; omit to use each product's reorder threshold
      * @return list of low stock products
      */
     @GetMapping("/low-stock")
@@ -318,7 +410,7 @@ public class ProductController {
     @SecurityRequirement(name = "bearerAuth")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ApiResponse<List<ProductResponse>>> getLowStockProducts(
-            @RequestParam(defaultValue = "10") int threshold) {
+            @RequestParam(required = false) Integer threshold) {
 
         logger.info("Getting low stock products with threshold: {}", threshold);
 
@@ -327,6 +419,21 @@ public class ProductController {
         return ResponseEntity.ok(ApiResponse.success("Low stock products retrieved successfully", products));
     }
 
+    /**
+     * Stream replenishment alerts (admin only).
+     * An alert is sent when a product's stock drops below its reorder threshold.
+     *
+     * @return SSE stream of low-stock alerts
+     */
+    @GetMapping(value = "/low-stock/alerts", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream low stock alerts", description = "Server-Sent Events for products crossing below their reorder threshold (admin only)")
+    @SecurityRequirement(name = "bearerAuth")
+    @PreAuthorize("hasRole('ADMIN')")
+    public SseEmitter streamLowStockAlerts() {
+        logger.info("Opening low stock alert stream");
+        return lowStockAlertStream.subscribe();
+    }
+
     /**
      * Get product statistics (admin only).
      *
@@ -343,3 +450,4 @@ public class ProductController {
 
         return ResponseEntity.ok(ApiResponse.success("Product statistics retrieved successfully", statistics));
     }
+}
@@ -0,0 +1,187 @@
+package com.grocerystore.controller;
+
+import com.grocerystore.dto.common.ApiResponse;
+import com.grocerystore.dto.common.PageResponse;
+import com.grocerystore.dto.review.CreateReviewRequest;
+import com.grocerystore.dto.review.RatingDistributionResponse;
+import com.grocerystore.dto.review.ReviewResponse;
+import com.grocerystore.dto.review.UpdateReviewRequest;
+import com.grocerystore.monitoring.QueryBudget;
+import com.grocerystore.service.ReviewService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+/**
+ * REST controller for product review operations.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping("/api/reviews")
+@Tag(name = "Review Management", description = "Product review APIs")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class ReviewController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReviewController.class);
+
+    @Autowired
+    private ReviewService reviewService;
+
+    /**
+     * Get reviews for a product.
+     *
+     * @param productId product ID
+     * @param withComments only return reviews that have a comment
+     * @param page page number (0-based)
+     * @param size page size
+     * @return paginated list of reviews
+     */
+    @GetMapping("/product/{productId}")
+    @Operation(summary = "Get product reviews", description = "Get reviews for a product, newest first")
+    @QueryBudget(statements = 4)
+    public ResponseEntity<ApiResponse<PageResponse<ReviewResponse>>> getProductReviews(
+            @PathVariable UUID productId,
+            @RequestParam(defaultValue = "false") boolean withComments,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+
+        logger.info("Getting reviews for product: {} - page: {}, size: {}", productId, page, size);
+
+        Pageable pageable = PageRequest.of(page, size);
+        Page<ReviewResponse> reviews = reviewService.getProductReviews(productId, withComments, pageable);
+        PageResponse<ReviewResponse> pageResponse = PageResponse.fromPage(reviews);
+
+        return ResponseEntity.ok(ApiResponse.success("Reviews retrieved successfully", pageResponse));
+    }
+
+    /**
+     * Get the rating distribution for a product.
+     *
+     * @param productId product ID
+     * @return count of reviews per star rating
+     */
+    @GetMapping("/product/{productId}/distribution")
+    @Operation(summary = "Get rating distribution", description = "Get the number of reviews per star rating for a product")
+    @QueryBudget(statements = 3)
+    public ResponseEntity<ApiResponse<RatingDistributionResponse>> getRatingDistribution(@PathVariable UUID productId) {
+        logger.info("Getting rating distribution for product: {}", productId);
+
+        RatingDistributionResponse distribution = reviewService.getRatingDistribution(productId);
+
+        return ResponseEntity.ok(ApiResponse.success("Rating distribution retrieved successfully", distribution));
+    }
+
+    /**
+     * Check whether the current user can review a product.
+     *
+     * @param productId product ID
+     * @return true if the user has purchased the product and not reviewed it yet
+     */
+    @GetMapping("/product/{productId}/can-review")
+    @Operation(summary = "Check review eligibility", description = "Check whether the current user can review a product")
+    @SecurityRequirement(name = "bearerAuth")
+    @PreAuthorize("hasRole('CUSTOMER') or hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<Boolean>> canReview(@PathVariable UUID productId) {
+        logger.info("Checking review eligibility for product: {}", productId);
+
+        boolean canReview = reviewService.canReview(productId);
+
+        return ResponseEntity.ok(ApiResponse.success("Review eligibility checked", canReview));
+    }
+
+    /**
+     * Get the current user's reviews.
+     *
+     * @param page page number (0-based)
+     * @param size page size
+     * @return paginated list of reviews
+     */
+    @GetMapping("/my")
+    @Operation(summary = "Get my reviews", description = "Get reviews written by the currently authenticated user")
+    @SecurityRequirement(name = "bearerAuth")
+    @PreAuthorize("hasRole('CUSTOMER') or hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<PageResponse<ReviewResponse>>> getMyReviews(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+
+        logger.info("Getting reviews for current user - page: {}, size: {}", page, size);
+
+        Pageable pageable = PageRequest.of(page, size);
+        Page<ReviewResponse> reviews = reviewService.getMyReviews(pageable);
+        PageResponse<ReviewResponse> pageResponse = PageResponse.fromPage(reviews);
+
+        return ResponseEntity.ok(ApiResponse.success("Reviews retrieved successfully", pageResponse));
+    }
+
+    /**
+     * Create a review for a purchased product.
+     *
+     * @param request create review request
+     * @return created review
+     */
+    @PostMapping
+    @Operation(summary = "Create review", description = "Review a product from one of your completed orders")
+    @SecurityRequirement(name = "bearerAuth")
+    @PreAuthorize("hasRole('CUSTOMER') or hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<ReviewResponse>> createReview(@Valid @RequestBody CreateReviewRequest request) {
+        logger.info("Creating review for product: {}", request.getProductId());
+
+        ReviewResponse reviewResponse = reviewService.createReview(request);
+
+        return ResponseEntity.ok(ApiResponse.success("Review created successfully", reviewResponse));
+    }
+
+    /**
+     * Update one of the current user's reviews.
+     *
+     * @param reviewId review ID
+     * @param request update review request
+     * @return updated review
+     */
+    @PutMapping("/{reviewId}")
+    @Operation(summary = "Update review", description = "Update one of your reviews")
+    @SecurityRequirement(name = "bearerAuth")
+    @PreAuthorize("hasRole('CUSTOMER') or hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<ReviewResponse>> updateReview(
+            @PathVariable UUID reviewId,
+            @Valid @RequestBody UpdateReviewRequest request) {
+
+        logger.info("Updating review: {}", reviewId);
+
+        ReviewResponse reviewResponse = reviewService.updateReview(reviewId, request);
+
+        return ResponseEntity.ok(ApiResponse.success("Review updated successfully", reviewResponse));
+    }
+
+    /**
+     * Delete a review.
+     *
+     * @param reviewId review ID
+     * @return success message
+     */
+    @DeleteMapping("/{reviewId}")
+    @Operation(summary = "Delete review", description = "Delete one of your reviews (admins may delete any review)")
+    @SecurityRequirement(name = "bearerAuth")
+    @PreAuthorize("hasRole('CUSTOMER') or hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<String>> deleteReview(@PathVariable UUID reviewId) {
+        logger.info("Deleting review: {}", reviewId);
+
+        reviewService.deleteReview(reviewId);
+
+        return ResponseEntity.ok(ApiResponse.success("Review deleted successfully"));
+    }
+}
@@ -0,0 +1,88 @@
+package com.grocerystore.controller;
+
+import com.grocerystore.dto.common.ApiResponse;
+import com.grocerystore.dto.product.StockHoldRequest;
+import com.grocerystore.dto.product.StockHoldResponse;
+import com.grocerystore.service.StockHoldService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * REST controller for temporary stock holds.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping("/api/stock-holds")
+@Tag(name = "Stock Holds", description = "Temporary stock reservation APIs")
+@SecurityRequirement(name = "bearerAuth")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class StockHoldController {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockHoldController.class);
+
+    @Autowired
+    private StockHoldService stockHoldService;
+
+    /**
+     * Hold stock of a product for the current user.
+     *
+     * @param request stock hold request
+     * @return the hold
+     */
+    @PostMapping
+    @Operation(summary = "Hold stock", description = "Reserve product stock for the current user for a limited time; holding a product again updates the quantity and restarts the timer")
+    @PreAuthorize("hasRole('CUSTOMER') or hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<StockHoldResponse>> placeHold(@Valid @RequestBody StockHoldRequest request) {
+        logger.info("Holding stock - product: {}, quantity: {}", request.getProductId(), request.getQuantity());
+
+        StockHoldResponse hold = stockHoldService.placeHold(request);
+
+        return ResponseEntity.ok(ApiResponse.success("Stock held successfully", hold));
+    }
+
+    /**
+     * Get the current user's active holds.
+     *
+     * @return active holds
+     */
+    @GetMapping
+    @Operation(summary = "Get my stock holds", description = "Get the current user's active stock holds")
+    @PreAuthorize("hasRole('CUSTOMER') or hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<List<StockHoldResponse>>> getMyHolds() {
+        logger.info("Getting stock holds for current user");
+
+        List<StockHoldResponse> holds = stockHoldService.getCurrentUserHolds();
+
+        return ResponseEntity.ok(ApiResponse.success("Stock holds retrieved successfully", holds));
+    }
+
+    /**
+     * Cancel one of the current user's holds.
+     *
+     * @param holdId hold ID
+     * @return success message
+     */
+    @DeleteMapping("/{holdId}")
+    @Operation(summary = "Cancel stock hold", description = "Release a stock hold of the current user")
+    @PreAuthorize("hasRole('CUSTOMER') or hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<String>> cancelHold(@PathVariable UUID holdId) {
+        logger.info("Cancelling stock hold: {}", holdId);
+
+        stockHoldService.cancelHold(holdId);
+
+        return ResponseEntity.ok(ApiResponse.success("Stock hold cancelled successfully"));
+    }
+}
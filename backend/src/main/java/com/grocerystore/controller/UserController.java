@@ -2,10 +2,12 @@ package com.grocerystore.controller;
 
 import com.grocerystore.dto.common.ApiResponse;
 import com.grocerystore.dto.common.PageResponse;
+import com.grocerystore.dto.order.BuyAgainItemResponse;
 import com.grocerystore.dto.user.ChangePasswordRequest;
 import com.grocerystore.dto.user.UpdateProfileRequest;
 import com.grocerystore.dto.user.UserResponse;
 import com.grocerystore.entity.UserRole;
+import com.grocerystore.service.BuyAgainService;
 import com.grocerystore.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -22,6 +24,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -42,6 +45,9 @@ public class UserController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private BuyAgainService buyAgainService;
+
     /**
      * Get current user profile.
      * 
@@ -92,6 +98,24 @@ public class UserController {
         return ResponseEntity.ok(ApiResponse.success("Password changed successfully"));
     }
 
+    /**
+     * Get the current user's "buy again" list.
+     * 
+     * @param limit maximum number of products (1-20)
+     * @return products the user reorders, most due first
+     */
+    @GetMapping("/buy-again")
+    @Operation(summary = "Get buy again list", description = "Get products the current user regularly reorders, ranked by predicted due date")
+    @PreAuthorize("hasRole('CUSTOMER') or hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<List<BuyAgainItemResponse>>> getBuyAgainList(
+            @RequestParam(defaultValue = "10") int limit) {
+        logger.info("Getting buy again list for current user - limit: {}", limit);
+        
+        List<BuyAgainItemResponse> items = buyAgainService.getBuyAgainList(Math.max(1, Math.min(limit, 20)));
+        
+        return ResponseEntity.ok(ApiResponse.success("Buy again list retrieved successfully", items));
+    }
+
     /**
      * Get user by ID (admin only).
      * 
@@ -140,7 +164,7 @@ public class UserController {
     }
 
     /**
-     * Search users by name or email (admin only).
+     * Search users by name, email or phone number, best matches first (admin only).
      * 
      * @param searchTerm search term
      * @param page page number (0-based)
@@ -148,7 +172,7 @@ public class UserController {
      * @return paginated list of users
      */
     @GetMapping("/search")
-    @Operation(summary = "Search users", description = "Search users by name or email (admin only)")
+    @Operation(summary = "Search users", description = "Search users by name, email or phone number, best matches first (admin only)")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ApiResponse<PageResponse<UserResponse>>> searchUsers(
             @RequestParam String searchTerm,
@@ -157,7 +181,7 @@ public class UserController {
         
         logger.info("Searching users with term: {}", searchTerm);
         
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
+        Pageable pageable = PageRequest.of(page, size);
         Page<UserResponse> users = userService.searchUsers(searchTerm, pageable);
         PageResponse<UserResponse> pageResponse = PageResponse.fromPage(users);
         
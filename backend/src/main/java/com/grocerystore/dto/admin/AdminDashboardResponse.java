@@ -0,0 +1,73 @@
+package com.grocerystore.dto.admin;
+
+import com.grocerystore.service.OrderService;
+import com.grocerystore.service.ProductService;
+import com.grocerystore.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO for the admin dashboard: order, product and user statistics in one response.
+ * A slice that could not be loaded in time carries its last known value, or null
+ * if it has never loaded, and is listed in {@code staleSlices}.
+ * 
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+public class AdminDashboardResponse {
+
+    private OrderService.OrderStatsDTO orders;
+    private ProductService.ProductStatistics products;
+    private UserService.UserStatistics users;
+    private List<String> staleSlices;
+    private LocalDateTime generatedAt;
+
+    // Constructors
+    public AdminDashboardResponse() {}
+
+    // Getters and Setters
+    public OrderService.OrderStatsDTO getOrders() {
+        return orders;
+    }
+
+    public void setOrders(OrderService.OrderStatsDTO orders) {
+        this.orders = orders;
+    }
+
+    public ProductService.ProductStatistics getProducts() {
+        return products;
+    }
+
+    public void setProducts(ProductService.ProductStatistics products) {
+        this.products = products;
+    }
+
+    public UserService.UserStatistics getUsers() {
+        return users;
+    }
+
+    public void setUsers(UserService.UserStatistics users) {
+        this.users = users;
+    }
+
+    public List<String> getStaleSlices() {
+        return staleSlices;
+    }
+
+    public void setStaleSlices(List<String> staleSlices) {
+        this.staleSlices = staleSlices;
+    }
+
+    public boolean isPartial() {
+        return staleSlices != null && !staleSlices.isEmpty();
+    }
+
+    public LocalDateTime getGeneratedAt() {
+        return generatedAt;
+    }
+
+    public void setGeneratedAt(LocalDateTime generatedAt) {
+        this.generatedAt = generatedAt;
+    }
+}
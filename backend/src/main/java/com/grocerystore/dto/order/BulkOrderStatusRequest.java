@@ -0,0 +1,48 @@
+package com.grocerystore.dto.order;
+
+import com.grocerystore.entity.OrderStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO for moving many orders to one status.
+ * 
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+public class BulkOrderStatusRequest {
+
+    @NotEmpty(message = "At least one order ID is required")
+    private List<@NotNull UUID> orderIds;
+
+    @NotNull(message = "Status is required")
+    private OrderStatus status;
+
+    // Constructors
+    public BulkOrderStatusRequest() {}
+
+    public BulkOrderStatusRequest(List<UUID> orderIds, OrderStatus status) {
+        this.orderIds = orderIds;
+        this.status = status;
+    }
+
+    // Getters and Setters
+    public List<UUID> getOrderIds() {
+        return orderIds;
+    }
+
+    public void setOrderIds(List<UUID> orderIds) {
+        this.orderIds = orderIds;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(OrderStatus status) {
+        this.status = status;
+    }
+}
@@ -0,0 +1,77 @@
+package com.grocerystore.dto.order;
+
+import com.grocerystore.entity.OrderStatus;
+
+import java.util.List;
+
+/**
+ * DTO for the result of a bulk order status update.
+ * 
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+public class BulkOrderStatusResponse {
+
+    private OrderStatus status;
+    private int requested;
+    private int updated;
+    private int rejected;
+    private List<OrderStatusTransitionResult> results;
+
+    // Constructors
+    public BulkOrderStatusResponse() {}
+
+    public BulkOrderStatusResponse(OrderStatus status, List<OrderStatusTransitionResult> results) {
+        this.status = status;
+        this.requested = results.size();
+        this.updated = (int) results.stream()
+            .filter(result -> result.getOutcome() == OrderStatusTransitionResult.Outcome.UPDATED)
+            .count();
+        this.rejected = (int) results.stream()
+            .filter(result -> result.getOutcome() != OrderStatusTransitionResult.Outcome.UPDATED
+                && result.getOutcome() != OrderStatusTransitionResult.Outcome.UNCHANGED)
+            .count();
+        this.results = results;
+    }
+
+    // Getters and Setters
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(OrderStatus status) {
+        this.status = status;
+    }
+
+    public int getRequested() {
+        return requested;
+    }
+
+    public void setRequested(int requested) {
+        this.requested = requested;
+    }
+
+    public int getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(int updated) {
+        this.updated = updated;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(int rejected) {
+        this.rejected = rejected;
+    }
+
+    public List<OrderStatusTransitionResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<OrderStatusTransitionResult> results) {
+        this.results = results;
+    }
+}
@@ -0,0 +1,83 @@
+package com.grocerystore.dto.order;
+
+import com.grocerystore.dto.product.ProductResponse;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for one entry of a customer's "buy again" list.
+ * 
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+public class BuyAgainItemResponse {
+
+    private ProductResponse product;
+    private int purchaseCount;
+    private LocalDateTime lastPurchasedAt;
+    private Long typicalIntervalDays;
+    private LocalDateTime predictedDueDate;
+    private boolean due;
+
+    // Constructors
+    public BuyAgainItemResponse() {}
+
+    public BuyAgainItemResponse(ProductResponse product, int purchaseCount, LocalDateTime lastPurchasedAt,
+                                Long typicalIntervalDays, LocalDateTime predictedDueDate, boolean due) {
+        this.product = product;
+        this.purchaseCount = purchaseCount;
+        this.lastPurchasedAt = lastPurchasedAt;
+        this.typicalIntervalDays = typicalIntervalDays;
+        this.predictedDueDate = predictedDueDate;
+        this.due = due;
+    }
+
+    // Getters and Setters
+    public ProductResponse getProduct() {
+        return product;
+    }
+
+    public void setProduct(ProductResponse product) {
+        this.product = product;
+    }
+
+    public int getPurchaseCount() {
+        return purchaseCount;
+    }
+
+    public void setPurchaseCount(int purchaseCount) {
+        this.purchaseCount = purchaseCount;
+    }
+
+    public LocalDateTime getLastPurchasedAt() {
+        return lastPurchasedAt;
+    }
+
+    public void setLastPurchasedAt(LocalDateTime lastPurchasedAt) {
+        this.lastPurchasedAt = lastPurchasedAt;
+    }
+
+    public Long getTypicalIntervalDays() {
+        return typicalIntervalDays;
+    }
+
+    public void setTypicalIntervalDays(Long typicalIntervalDays) {
+        this.typicalIntervalDays = typicalIntervalDays;
+    }
+
+    public LocalDateTime getPredictedDueDate() {
+        return predictedDueDate;
+    }
+
+    public void setPredictedDueDate(LocalDateTime predictedDueDate) {
+        this.predictedDueDate = predictedDueDate;
+    }
+
+    public boolean isDue() {
+        return due;
+    }
+
+    public void setDue(boolean due) {
+        this.due = due;
+    }
+}
@@ -30,6 +30,7 @@ public class OrderDTO {
     private LocalDateTime estimatedDeliveryDate;
     private LocalDateTime actualDeliveryDate;
     private List<OrderItemDTO> orderItems;
+    private boolean provisional;
 
     // Constructors
     public OrderDTO() {}
@@ -147,6 +148,14 @@ public class OrderDTO {
         this.orderItems = orderItems;
     }
 
+    public boolean isProvisional() {
+        return provisional;
+    }
+
+    public void setProvisional(boolean provisional) {
+        this.provisional = provisional;
+    }
+
     // Helper methods
     public int getTotalItems() {
         return orderItems != null ? 
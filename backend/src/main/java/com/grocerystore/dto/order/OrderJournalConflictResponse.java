@@ -0,0 +1,76 @@
+package com.grocerystore.dto.order;
+
+import com.grocerystore.entity.OrderJournalReplay;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DTO for a journaled order that could not be replayed into the database.
+ * 
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+public class OrderJournalConflictResponse {
+
+    private UUID provisionalId;
+    private UUID userId;
+    private String detail;
+    private LocalDateTime capturedAt;
+    private LocalDateTime replayedAt;
+
+    // Constructors
+    public OrderJournalConflictResponse() {}
+
+    // Factory method to create from OrderJournalReplay entity
+    public static OrderJournalConflictResponse fromReplay(OrderJournalReplay replay) {
+        OrderJournalConflictResponse response = new OrderJournalConflictResponse();
+        response.setProvisionalId(replay.getProvisionalId());
+        response.setUserId(replay.getUserId());
+        response.setDetail(replay.getDetail());
+        response.setCapturedAt(replay.getCapturedAt());
+        response.setReplayedAt(replay.getReplayedAt());
+        return response;
+    }
+
+    // Getters and Setters
+    public UUID getProvisionalId() {
+        return provisionalId;
+    }
+
+    public void setProvisionalId(UUID provisionalId) {
+        this.provisionalId = provisionalId;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public void setUserId(UUID userId) {
+        this.userId = userId;
+    }
+
+    public String getDetail() {
+        return detail;
+    }
+
+    public void setDetail(String detail) {
+        this.detail = detail;
+    }
+
+    public LocalDateTime getCapturedAt() {
+        return capturedAt;
+    }
+
+    public void setCapturedAt(LocalDateTime capturedAt) {
+        this.capturedAt = capturedAt;
+    }
+
+    public LocalDateTime getReplayedAt() {
+        return replayedAt;
+    }
+
+    public void setReplayedAt(LocalDateTime replayedAt) {
+        this.replayedAt = replayedAt;
+    }
+}
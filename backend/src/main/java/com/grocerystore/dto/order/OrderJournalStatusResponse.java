@@ -0,0 +1,71 @@
+package com.grocerystore.dto.order;
+
+import java.util.List;
+
+/**
+ * DTO for the state of the degraded-mode order journal.
+ * 
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+public class OrderJournalStatusResponse {
+
+    private boolean databaseHealthy;
+    private boolean capturing;
+    private int pendingOrders;
+    private long usedBytes;
+    private long capacityBytes;
+    private List<OrderJournalConflictResponse> recentConflicts;
+
+    // Constructors
+    public OrderJournalStatusResponse() {}
+
+    // Getters and Setters
+    public boolean isDatabaseHealthy() {
+        return databaseHealthy;
+    }
+
+    public void setDatabaseHealthy(boolean databaseHealthy) {
+        this.databaseHealthy = databaseHealthy;
+    }
+
+    public boolean isCapturing() {
+        return capturing;
+    }
+
+    public void setCapturing(boolean capturing) {
+        this.capturing = capturing;
+    }
+
+    public int getPendingOrders() {
+        return pendingOrders;
+    }
+
+    public void setPendingOrders(int pendingOrders) {
+        this.pendingOrders = pendingOrders;
+    }
+
+    public long getUsedBytes() {
+        return usedBytes;
+    }
+
+    public void setUsedBytes(long usedBytes) {
+        this.usedBytes = usedBytes;
+    }
+
+    public long getCapacityBytes() {
+        return capacityBytes;
+    }
+
+    public void setCapacityBytes(long capacityBytes) {
+        this.capacityBytes = capacityBytes;
+    }
+
+    public List<OrderJournalConflictResponse> getRecentConflicts() {
+        return recentConflicts;
+    }
+
+    public void setRecentConflicts(List<OrderJournalConflictResponse> recentConflicts) {
+        this.recentConflicts = recentConflicts;
+    }
+}
@@ -0,0 +1,106 @@
+package com.grocerystore.dto.order;
+
+import com.grocerystore.entity.OrderStatus;
+
+import java.util.UUID;
+
+/**
+ * DTO for the outcome of one order in a bulk status update.
+ * 
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+public class OrderStatusTransitionResult {
+
+    /**
+     * What happened to the order.
+     */
+    public enum Outcome {
+        UPDATED,
+        UNCHANGED,
+        ILLEGAL_TRANSITION,
+        NOT_FOUND,
+        FAILED
+    }
+
+    private UUID orderId;
+    private OrderStatus previousStatus;
+    private OrderStatus status;
+    private Outcome outcome;
+    private String message;
+
+    // Constructors
+    public OrderStatusTransitionResult() {}
+
+    public OrderStatusTransitionResult(UUID orderId, OrderStatus previousStatus, OrderStatus status,
+                                       Outcome outcome, String message) {
+        this.orderId = orderId;
+        this.previousStatus = previousStatus;
+        this.status = status;
+        this.outcome = outcome;
+        this.message = message;
+    }
+
+    // Factory methods
+    public static OrderStatusTransitionResult updated(UUID orderId, OrderStatus previousStatus, OrderStatus status) {
+        return new OrderStatusTransitionResult(orderId, previousStatus, status, Outcome.UPDATED, null);
+    }
+
+    public static OrderStatusTransitionResult unchanged(UUID orderId, OrderStatus status) {
+        return new OrderStatusTransitionResult(orderId, status, status, Outcome.UNCHANGED, null);
+    }
+
+    public static OrderStatusTransitionResult illegal(UUID orderId, OrderStatus current, OrderStatus requested) {
+        return new OrderStatusTransitionResult(orderId, current, current, Outcome.ILLEGAL_TRANSITION,
+            "Cannot move order from " + current + " to " + requested);
+    }
+
+    public static OrderStatusTransitionResult notFound(UUID orderId) {
+        return new OrderStatusTransitionResult(orderId, null, null, Outcome.NOT_FOUND, "Order not found");
+    }
+
+    public static OrderStatusTransitionResult failed(UUID orderId) {
+        return new OrderStatusTransitionResult(orderId, null, null, Outcome.FAILED, "Update failed, please retry");
+    }
+
+    // Getters and Setters
+    public UUID getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(UUID orderId) {
+        this.orderId = orderId;
+    }
+
+    public OrderStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public void setPreviousStatus(OrderStatus previousStatus) {
+        this.previousStatus = previousStatus;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(OrderStatus status) {
+        this.status = status;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public void setOutcome(Outcome outcome) {
+        this.outcome = outcome;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
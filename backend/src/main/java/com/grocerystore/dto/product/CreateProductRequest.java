@@ -31,6 +31,9 @@ public class CreateProductRequest {
     @Size(max = 500, message = "Image URL must not exceed 500 characters")
     private String imageUrl;
 
+    @Min(value = 0, message = "Reorder threshold cannot be negative")
+    private Integer reorderThreshold;
+
     // Constructors
     public CreateProductRequest() {}
 
@@ -84,6 +87,14 @@ public class CreateProductRequest {
         this.imageUrl = imageUrl;
     }
 
+    public Integer getReorderThreshold() {
+        return reorderThreshold;
+    }
+
+    public void setReorderThreshold(Integer reorderThreshold) {
+        this.reorderThreshold = reorderThreshold;
+    }
+
     @Override
     public String toString() {
         return "CreateProductRequest{" +
@@ -92,6 +103,7 @@ public class CreateProductRequest {
                 ", price=" + price +
                 ", quantity=" + quantity +
                 ", imageUrl='" + imageUrl + '\'' +
+                ", reorderThreshold=" + reorderThreshold +
                 '}';
     }
 }
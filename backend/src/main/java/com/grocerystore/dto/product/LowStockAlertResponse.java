@@ -0,0 +1,95 @@
+package com.grocerystore.dto.product;
+
+import com.grocerystore.event.ReplenishmentEvent;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DTO for a replenishment alert pushed to admin dashboards.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+public class LowStockAlertResponse {
+
+    private UUID productId;
+    private String productName;
+    private int quantity;
+    private int reorderThreshold;
+    private boolean outOfStock;
+    private LocalDateTime detectedAt;
+
+    // Constructors
+    public LowStockAlertResponse() {}
+
+    public LowStockAlertResponse(UUID productId, String productName, int quantity, int reorderThreshold,
+                                 LocalDateTime detectedAt) {
+        this.productId = productId;
+        this.productName = productName;
+        this.quantity = quantity;
+        this.reorderThreshold = reorderThreshold;
+        this.outOfStock = quantity == 0;
+        this.detectedAt = detectedAt;
+    }
+
+    // Factory method to create from a replenishment event
+    public static LowStockAlertResponse fromEvent(ReplenishmentEvent event, String productName) {
+        return new LowStockAlertResponse(
+            event.getProductId(),
+            productName,
+            event.getQuantity(),
+            event.getReorderThreshold(),
+            event.getDetectedAt()
+        );
+    }
+
+    // Getters and Setters
+    public UUID getProductId() {
+        return productId;
+    }
+
+    public void setProductId(UUID productId) {
+        this.productId = productId;
+    }
+
+    public String getProductName() {
+        return productName;
+    }
+
+    public void setProductName(String productName) {
+        this.productName = productName;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+
+    public int getReorderThreshold() {
+        return reorderThreshold;
+    }
+
+    public void setReorderThreshold(int reorderThreshold) {
+        this.reorderThreshold = reorderThreshold;
+    }
+
+    public boolean isOutOfStock() {
+        return outOfStock;
+    }
+
+    public void setOutOfStock(boolean outOfStock) {
+        this.outOfStock = outOfStock;
+    }
+
+    public LocalDateTime getDetectedAt() {
+        return detectedAt;
+    }
+
+    public void setDetectedAt(LocalDateTime detectedAt) {
+        this.detectedAt = detectedAt;
+    }
+}
@@ -20,6 +20,7 @@ public class ProductResponse {
     private BigDecimal price;
     private Integer quantity;
     private String imageUrl;
+    private Integer reorderThreshold;
     private boolean inStock;
     private double averageRating;
     private int reviewCount;
@@ -48,7 +49,7 @@ public class ProductResponse {
 
     // Factory method to create from Product entity
     public static ProductResponse fromProduct(Product product) {
-        return new ProductResponse(
+        ProductResponse response = new ProductResponse(
             product.getId(),
             product.getName(),
             product.getDescription(),
@@ -61,6 +62,8 @@ public class ProductResponse {
             product.getCreatedAt(),
             product.getUpdatedAt()
         );
+        response.setReorderThreshold(product.getReorderThreshold());
+        return response;
     }
 
     // Getters and Setters
@@ -112,6 +115,14 @@ public class ProductResponse {
         this.imageUrl = imageUrl;
     }
 
+    public Integer getReorderThreshold() {
+        return reorderThreshold;
+    }
+
+    public void setReorderThreshold(Integer reorderThreshold) {
+        this.reorderThreshold = reorderThreshold;
+    }
+
     public boolean isInStock() {
         return inStock;
     }
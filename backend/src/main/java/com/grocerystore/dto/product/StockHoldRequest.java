@@ -0,0 +1,58 @@
+package com.grocerystore.dto.product;
+
+import jakarta.validation.constraints.*;
+
+import java.util.UUID;
+
+/**
+ * DTO for placing or updating a temporary stock hold.
+ * 
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+public class StockHoldRequest {
+
+    @NotNull(message = "Product ID is required")
+    private UUID productId;
+
+    @NotNull(message = "Quantity is required")
+    @Min(value = 1, message = "Quantity must be at least 1")
+    private Integer quantity;
+
+    @Min(value = 1, message = "Hold duration must be at least 1 minute")
+    private Integer durationMinutes;
+
+    // Constructors
+    public StockHoldRequest() {}
+
+    public StockHoldRequest(UUID productId, Integer quantity, Integer durationMinutes) {
+        this.productId = productId;
+        this.quantity = quantity;
+        this.durationMinutes = durationMinutes;
+    }
+
+    // Getters and Setters
+    public UUID getProductId() {
+        return productId;
+    }
+
+    public void setProductId(UUID productId) {
+        this.productId = productId;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    public Integer getDurationMinutes() {
+        return durationMinutes;
+    }
+
+    public void setDurationMinutes(Integer durationMinutes) {
+        this.durationMinutes = durationMinutes;
+    }
+}
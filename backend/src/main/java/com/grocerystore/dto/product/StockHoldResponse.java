@@ -0,0 +1,96 @@
+package com.grocerystore.dto.product;
+
+import com.grocerystore.entity.StockHold;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DTO for a customer's temporary stock hold.
+ * 
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+public class StockHoldResponse {
+
+    private UUID id;
+    private UUID productId;
+    private String productName;
+    private int quantity;
+    private LocalDateTime expiresAt;
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public StockHoldResponse() {}
+
+    public StockHoldResponse(UUID id, UUID productId, String productName, int quantity,
+                             LocalDateTime expiresAt, LocalDateTime createdAt) {
+        this.id = id;
+        this.productId = productId;
+        this.productName = productName;
+        this.quantity = quantity;
+        this.expiresAt = expiresAt;
+        this.createdAt = createdAt;
+    }
+
+    // Factory method to create from StockHold entity
+    public static StockHoldResponse fromHold(StockHold hold, String productName) {
+        return new StockHoldResponse(
+            hold.getId(),
+            hold.getProductId(),
+            productName,
+            hold.getQuantity(),
+            hold.getExpiresAt(),
+            hold.getCreatedAt()
+        );
+    }
+
+    // Getters and Setters
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public UUID getProductId() {
+        return productId;
+    }
+
+    public void setProductId(UUID productId) {
+        this.productId = productId;
+    }
+
+    public String getProductName() {
+        return productName;
+    }
+
+    public void setProductName(String productName) {
+        this.productName = productName;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
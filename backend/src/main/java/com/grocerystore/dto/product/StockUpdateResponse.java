@@ -0,0 +1,81 @@
+package com.grocerystore.dto.product;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * DTO for a live stock and price update pushed to product page subscribers.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+public class StockUpdateResponse {
+
+    private UUID productId;
+    private Integer quantity;
+    private boolean inStock;
+    private BigDecimal price;
+    private boolean removed;
+    private long timestamp;
+
+    // Constructors
+    public StockUpdateResponse() {}
+
+    public StockUpdateResponse(UUID productId, Integer quantity, BigDecimal price, boolean removed, long timestamp) {
+        this.productId = productId;
+        this.quantity = quantity;
+        this.inStock = !removed && quantity != null && quantity > 0;
+        this.price = price;
+        this.removed = removed;
+        this.timestamp = timestamp;
+    }
+
+    // Getters and Setters
+    public UUID getProductId() {
+        return productId;
+    }
+
+    public void setProductId(UUID productId) {
+        this.productId = productId;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    public boolean isInStock() {
+        return inStock;
+    }
+
+    public void setInStock(boolean inStock) {
+        this.inStock = inStock;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+    }
+
+    public boolean isRemoved() {
+        return removed;
+    }
+
+    public void setRemoved(boolean removed) {
+        this.removed = removed;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+}
@@ -1,5 +1,6 @@
 package com.grocerystore.dto.product;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.*;
 
 import java.math.BigDecimal;
@@ -31,6 +32,12 @@ public class UpdateProductRequest {
     @Size(max = 500, message = "Image URL must not exceed 500 characters")
     private String imageUrl;
 
+    @Min(value = 0, message = "Reorder threshold cannot be negative")
+    private Integer reorderThreshold;
+
+    // Whether the request carried reorderThreshold at all: absent keeps the current threshold, null clears it
+    private boolean reorderThresholdPresent;
+
     // Constructors
     public UpdateProductRequest() {}
 
@@ -84,6 +91,20 @@ public class UpdateProductRequest {
         this.imageUrl = imageUrl;
     }
 
+    public Integer getReorderThreshold() {
+        return reorderThreshold;
+    }
+
+    public void setReorderThreshold(Integer reorderThreshold) {
+        this.reorderThreshold = reorderThreshold;
+        this.reorderThresholdPresent = true;
+    }
+
+    @JsonIgnore
+    public boolean isReorderThresholdPresent() {
+        return reorderThresholdPresent;
+    }
+
     @Override
     public String toString() {
         return "UpdateProductRequest{" +
@@ -92,6 +113,7 @@ public class UpdateProductRequest {
                 ", price=" + price +
                 ", quantity=" + quantity +
                 ", imageUrl='" + imageUrl + '\'' +
+                ", reorderThreshold=" + reorderThreshold +
                 '}';
     }
 }
@@ -0,0 +1,59 @@
+package com.grocerystore.dto.review;
+
+import jakarta.validation.constraints.*;
+
+import java.util.UUID;
+
+/**
+ * DTO for creating a product review.
+ * 
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+public class CreateReviewRequest {
+
+    @NotNull(message = "Product ID is required")
+    private UUID productId;
+
+    @NotNull(message = "Rating is required")
+    @Min(value = 1, message = "Rating must be at least 1")
+    @Max(value = 5, message = "Rating must be at most 5")
+    private Integer rating;
+
+    @Size(max = 1000, message = "Comment must not exceed 1000 characters")
+    private String comment;
+
+    // Constructors
+    public CreateReviewRequest() {}
+
+    public CreateReviewRequest(UUID productId, Integer rating, String comment) {
+        this.productId = productId;
+        this.rating = rating;
+        this.comment = comment;
+    }
+
+    // Getters and Setters
+    public UUID getProductId() {
+        return productId;
+    }
+
+    public void setProductId(UUID productId) {
+        this.productId = productId;
+    }
+
+    public Integer getRating() {
+        return rating;
+    }
+
+    public void setRating(Integer rating) {
+        this.rating = rating;
+    }
+
+    public String getComment() {
+        return comment;
+    }
+
+    public void setComment(String comment) {
+        this.comment = comment;
+    }
+}
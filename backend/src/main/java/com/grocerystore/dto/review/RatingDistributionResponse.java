@@ -0,0 +1,74 @@
+package com.grocerystore.dto.review;
+
+import com.grocerystore.entity.ProductRatingHistogram;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * DTO for a product's rating distribution.
+ * 
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+public class RatingDistributionResponse {
+
+    private UUID productId;
+    private Map<Integer, Long> distribution;
+    private long totalReviews;
+    private double averageRating;
+
+    // Constructors
+    public RatingDistributionResponse() {}
+
+    public RatingDistributionResponse(UUID productId, Map<Integer, Long> distribution,
+                                      long totalReviews, double averageRating) {
+        this.productId = productId;
+        this.distribution = distribution;
+        this.totalReviews = totalReviews;
+        this.averageRating = averageRating;
+    }
+
+    // Factory method to create from ProductRatingHistogram entity
+    public static RatingDistributionResponse fromHistogram(ProductRatingHistogram histogram) {
+        return new RatingDistributionResponse(
+            histogram.getProductId(),
+            histogram.toDistribution(),
+            histogram.getTotal(),
+            histogram.getAverage()
+        );
+    }
+
+    // Getters and Setters
+    public UUID getProductId() {
+        return productId;
+    }
+
+    public void setProductId(UUID productId) {
+        this.productId = productId;
+    }
+
+    public Map<Integer, Long> getDistribution() {
+        return distribution;
+    }
+
+    public void setDistribution(Map<Integer, Long> distribution) {
+        this.distribution = distribution;
+    }
+
+    public long getTotalReviews() {
+        return totalReviews;
+    }
+
+    public void setTotalReviews(long totalReviews) {
+        this.totalReviews = totalReviews;
+    }
+
+    public double getAverageRating() {
+        return averageRating;
+    }
+
+    public void setAverageRating(double averageRating) {
+        this.averageRating = averageRating;
+    }
+}
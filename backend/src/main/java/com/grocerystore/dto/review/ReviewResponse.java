@@ -0,0 +1,129 @@
+package com.grocerystore.dto.review;
+
+import com.grocerystore.entity.Review;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DTO for review response.
+ * 
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+public class ReviewResponse {
+
+    private UUID id;
+    private UUID productId;
+    private String productName;
+    private UUID userId;
+    private String userName;
+    private Integer rating;
+    private String comment;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public ReviewResponse() {}
+
+    public ReviewResponse(UUID id, UUID productId, String productName, UUID userId, String userName,
+                          Integer rating, String comment, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.productId = productId;
+        this.productName = productName;
+        this.userId = userId;
+        this.userName = userName;
+        this.rating = rating;
+        this.comment = comment;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    // Factory method to create from Review entity
+    public static ReviewResponse fromReview(Review review) {
+        return new ReviewResponse(
+            review.getId(),
+            review.getProductId(),
+            review.getProductName(),
+            review.getUserId(),
+            review.getUserName(),
+            review.getRating(),
+            review.getComment(),
+            review.getCreatedAt(),
+            review.getUpdatedAt()
+        );
+    }
+
+    // Getters and Setters
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public UUID getProductId() {
+        return productId;
+    }
+
+    public void setProductId(UUID productId) {
+        this.productId = productId;
+    }
+
+    public String getProductName() {
+        return productName;
+    }
+
+    public void setProductName(String productName) {
+        this.productName = productName;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public void setUserId(UUID userId) {
+        this.userId = userId;
+    }
+
+    public String getUserName() {
+        return userName;
+    }
+
+    public void setUserName(String userName) {
+        this.userName = userName;
+    }
+
+    public Integer getRating() {
+        return rating;
+    }
+
+    public void setRating(Integer rating) {
+        this.rating = rating;
+    }
+
+    public String getComment() {
+        return comment;
+    }
+
+    public void setComment(String comment) {
+        this.comment = comment;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,45 @@
+package com.grocerystore.dto.review;
+
+import jakarta.validation.constraints.*;
+
+/**
+ * DTO for updating a product review.
+ * 
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+public class UpdateReviewRequest {
+
+    @NotNull(message = "Rating is required")
+    @Min(value = 1, message = "Rating must be at least 1")
+    @Max(value = 5, message = "Rating must be at most 5")
+    private Integer rating;
+
+    @Size(max = 1000, message = "Comment must not exceed 1000 characters")
+    private String comment;
+
+    // Constructors
+    public UpdateReviewRequest() {}
+
+    public UpdateReviewRequest(Integer rating, String comment) {
+        this.rating = rating;
+        this.comment = comment;
+    }
+
+    // Getters and Setters
+    public Integer getRating() {
+        return rating;
+    }
+
+    public void setRating(Integer rating) {
+        this.rating = rating;
+    }
+
+    public String getComment() {
+        return comment;
+    }
+
+    public void setComment(String comment) {
+        this.comment = comment;
+    }
+}
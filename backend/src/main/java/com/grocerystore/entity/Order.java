@@ -1,5 +1,6 @@
 package com.grocerystore.entity;
 
+import com.grocerystore.id.TimeOrderedUuid;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Digits;
@@ -27,7 +28,7 @@ import java.util.UUID;
 public class Order {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 
     @NotNull(message = "User is required")
@@ -35,7 +36,8 @@ public class Order {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @Column(name = "order_date", nullable = false)
+    // Partition key of orders and order_items, so it never changes once the order is saved
+    @Column(name = "order_date", nullable = false, updatable = false)
     private LocalDateTime orderDate;
 
     @Enumerated(EnumType.STRING)
@@ -60,6 +62,15 @@ public class Order {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Column(name = "actual_delivery_date")
+    private LocalDateTime actualDeliveryDate;
+
+    @Column(name = "contact_number", length = 15)
+    private String contactNumber;
+
+    @Column(name = "order_notes", columnDefinition = "TEXT")
+    private String orderNotes;
+
     // Relationships
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
     private List<OrderItem> orderItems = new ArrayList<>();
@@ -142,6 +153,30 @@ public class Order {
         this.updatedAt = updatedAt;
     }
 
+    public LocalDateTime getActualDeliveryDate() {
+        return actualDeliveryDate;
+    }
+
+    public void setActualDeliveryDate(LocalDateTime actualDeliveryDate) {
+        this.actualDeliveryDate = actualDeliveryDate;
+    }
+
+    public String getContactNumber() {
+        return contactNumber;
+    }
+
+    public void setContactNumber(String contactNumber) {
+        this.contactNumber = contactNumber;
+    }
+
+    public String getOrderNotes() {
+        return orderNotes;
+    }
+
+    public void setOrderNotes(String orderNotes) {
+        this.orderNotes = orderNotes;
+    }
+
     public List<OrderItem> getOrderItems() {
         return orderItems;
     }
@@ -1,5 +1,6 @@
 package com.grocerystore.entity;
 
+import com.grocerystore.id.TimeOrderedUuid;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import org.springframework.data.annotation.CreatedDate;
@@ -21,7 +22,7 @@ import java.util.UUID;
 public class OrderItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 
     @NotNull(message = "Order is required")
@@ -29,6 +30,10 @@ public class OrderItem {
     @JoinColumn(name = "order_id", nullable = false)
     private Order order;
 
+    // Copy of the order's date: order_items is partitioned by it alongside orders
+    @Column(name = "order_date", nullable = false, updatable = false)
+    private LocalDateTime orderDate;
+
     @NotNull(message = "Product is required")
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "product_id", nullable = false)
@@ -76,6 +81,10 @@ public class OrderItem {
         this.order = order;
     }
 
+    public LocalDateTime getOrderDate() {
+        return orderDate;
+    }
+
     public Product getProduct() {
         return product;
     }
@@ -108,6 +117,13 @@ public class OrderItem {
         this.createdAt = createdAt;
     }
 
+    @PrePersist
+    protected void copyOrderDate() {
+        if (order != null) {
+            orderDate = order.getOrderDate();
+        }
+    }
+
     // Utility methods
     public BigDecimal getSubtotal() {
         return price.multiply(BigDecimal.valueOf(quantity));
@@ -0,0 +1,106 @@
+package com.grocerystore.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Outcome of replaying one order captured in the local order journal while
+ * the database was unavailable. Keyed by the provisional order ID the
+ * customer was given, which makes replay idempotent: an entry with a row
+ * here has already been applied or rejected.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "order_journal_replays")
+public class OrderJournalReplay {
+
+    /**
+     * Result of replaying a journal entry.
+     */
+    public enum Outcome {
+        /**
+         * The order was created from the entry
+         */
+        APPLIED,
+
+        /**
+         * The order could not be created, e.g. stock ran out before replay
+         */
+        CONFLICT
+    }
+
+    @Id
+    @Column(name = "provisional_id")
+    private UUID provisionalId;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "order_id")
+    private UUID orderId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Outcome outcome;
+
+    @Column(columnDefinition = "TEXT")
+    private String detail;
+
+    @Column(name = "captured_at", nullable = false)
+    private LocalDateTime capturedAt;
+
+    @Column(name = "replayed_at", nullable = false)
+    private LocalDateTime replayedAt;
+
+    // Constructors
+    public OrderJournalReplay() {}
+
+    public OrderJournalReplay(UUID provisionalId, UUID userId, LocalDateTime capturedAt, Outcome outcome) {
+        this.provisionalId = provisionalId;
+        this.userId = userId;
+        this.capturedAt = capturedAt;
+        this.outcome = outcome;
+        this.replayedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public UUID getProvisionalId() {
+        return provisionalId;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public UUID getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(UUID orderId) {
+        this.orderId = orderId;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public String getDetail() {
+        return detail;
+    }
+
+    public void setDetail(String detail) {
+        this.detail = detail;
+    }
+
+    public LocalDateTime getCapturedAt() {
+        return capturedAt;
+    }
+
+    public LocalDateTime getReplayedAt() {
+        return replayedAt;
+    }
+}
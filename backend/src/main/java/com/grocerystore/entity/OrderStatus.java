@@ -2,6 +2,8 @@ package com.grocerystore.entity;
 
 /**
  * Enumeration representing order status in the system.
+ * Orders move PENDING -> PROCESSING -> COMPLETED and may be cancelled until
+ * they complete; COMPLETED and CANCELLED are final.
  * 
  * @author Chirag Singhal
  * @version 1.0.0
@@ -25,5 +27,19 @@ public enum OrderStatus {
     /**
      * Order has been cancelled
      */
-    CANCELLED
+    CANCELLED;
+
+    /**
+     * Check whether an order in this status may move to another status.
+     *
+     * @param next the requested status
+     * @return true if the transition is allowed
+     */
+    public boolean canTransitionTo(OrderStatus next) {
+        return switch (this) {
+            case PENDING -> next == PROCESSING || next == CANCELLED;
+            case PROCESSING -> next == COMPLETED || next == CANCELLED;
+            case COMPLETED, CANCELLED -> false;
+        };
+    }
 }
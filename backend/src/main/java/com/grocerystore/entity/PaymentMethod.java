@@ -0,0 +1,15 @@
+package com.grocerystore.entity;
+
+/**
+ * Enumeration representing how an order is paid.
+ * Every order is currently paid on delivery, so it is not stored per order.
+ * 
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+public enum PaymentMethod {
+    /**
+     * Customer pays when the order is delivered
+     */
+    CASH_ON_DELIVERY
+}
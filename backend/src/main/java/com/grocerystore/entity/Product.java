@@ -1,7 +1,10 @@
 package com.grocerystore.entity;
 
+import com.grocerystore.id.TimeOrderedUuid;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -20,11 +23,13 @@ import java.util.UUID;
  */
 @Entity
 @Table(name = "products")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "product")
 @EntityListeners(AuditingEntityListener.class)
 public class Product {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 
     @NotBlank(message = "Product name is required")
@@ -51,6 +56,11 @@ public class Product {
     @Column(name = "image_url", length = 500)
     private String imageUrl;
 
+    // Stock level below which the product needs replenishing; null uses the store default
+    @Min(value = 0, message = "Reorder threshold cannot be negative")
+    @Column(name = "reorder_threshold")
+    private Integer reorderThreshold;
+
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -133,6 +143,14 @@ public class Product {
         this.imageUrl = imageUrl;
     }
 
+    public Integer getReorderThreshold() {
+        return reorderThreshold;
+    }
+
+    public void setReorderThreshold(Integer reorderThreshold) {
+        this.reorderThreshold = reorderThreshold;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
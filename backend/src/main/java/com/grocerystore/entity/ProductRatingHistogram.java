@@ -0,0 +1,141 @@
+package com.grocerystore.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Per-product count of reviews for each star rating.
+ * Maintained incrementally by the review service on every review write, so
+ * the rating distribution is a primary-key read instead of a GROUP BY over
+ * the product's reviews.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "product_rating_histograms")
+public class ProductRatingHistogram {
+
+    public static final int MIN_RATING = 1;
+    public static final int MAX_RATING = 5;
+
+    @Id
+    @Column(name = "product_id")
+    private UUID productId;
+
+    @Column(name = "one_star", nullable = false)
+    private long oneStar;
+
+    @Column(name = "two_star", nullable = false)
+    private long twoStar;
+
+    @Column(name = "three_star", nullable = false)
+    private long threeStar;
+
+    @Column(name = "four_star", nullable = false)
+    private long fourStar;
+
+    @Column(name = "five_star", nullable = false)
+    private long fiveStar;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public ProductRatingHistogram() {}
+
+    public ProductRatingHistogram(UUID productId) {
+        this.productId = productId;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    // Getters
+    public UUID getProductId() {
+        return productId;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    /**
+     * Get the number of reviews with the given rating.
+     *
+     * @param rating star rating (1-5)
+     * @return review count
+     */
+    public long getCount(int rating) {
+        switch (rating) {
+            case 1: return oneStar;
+            case 2: return twoStar;
+            case 3: return threeStar;
+            case 4: return fourStar;
+            case 5: return fiveStar;
+            default: throw new IllegalArgumentException("Rating must be between 1 and 5: " + rating);
+        }
+    }
+
+    /**
+     * Set the number of reviews with the given rating.
+     *
+     * @param rating star rating (1-5)
+     * @param count review count
+     */
+    public void setCount(int rating, long count) {
+        switch (rating) {
+            case 1: oneStar = count; break;
+            case 2: twoStar = count; break;
+            case 3: threeStar = count; break;
+            case 4: fourStar = count; break;
+            case 5: fiveStar = count; break;
+            default: throw new IllegalArgumentException("Rating must be between 1 and 5: " + rating);
+        }
+        updatedAt = LocalDateTime.now();
+    }
+
+    // Utility methods
+    public void add(int rating) {
+        adjust(rating, 1);
+    }
+
+    public void remove(int rating) {
+        adjust(rating, -1);
+    }
+
+    public long getTotal() {
+        return oneStar + twoStar + threeStar + fourStar + fiveStar;
+    }
+
+    public double getAverage() {
+        long total = getTotal();
+        if (total == 0) {
+            return 0.0;
+        }
+        long sum = oneStar + 2 * twoStar + 3 * threeStar + 4 * fourStar + 5 * fiveStar;
+        return (double) sum / total;
+    }
+
+    public Map<Integer, Long> toDistribution() {
+        Map<Integer, Long> distribution = new LinkedHashMap<>();
+        for (int rating = MIN_RATING; rating <= MAX_RATING; rating++) {
+            distribution.put(rating, getCount(rating));
+        }
+        return distribution;
+    }
+
+    private void adjust(int rating, int delta) {
+        setCount(rating, Math.max(0, getCount(rating) + delta));
+    }
+
+    @Override
+    public String toString() {
+        return "ProductRatingHistogram{" +
+                "productId=" + productId +
+                ", distribution=" + toDistribution() +
+                '}';
+    }
+}
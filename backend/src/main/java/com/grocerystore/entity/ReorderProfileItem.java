@@ -0,0 +1,100 @@
+package com.grocerystore.entity;
+
+import com.grocerystore.id.TimeOrderedUuid;
+import jakarta.persistence.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One line of a customer's reorder profile: how often and when a product was bought.
+ * Holds only counters and two timestamps per (user, product), maintained
+ * incrementally as orders complete, so "buy again" never has to load the
+ * customer's order history. Rows are only written by the atomic upsert and
+ * update statements of ReorderProfileItemRepository.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "reorder_profile_items", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"user_id", "product_id"})
+})
+public class ReorderProfileItem {
+
+    @Id
+    @TimeOrderedUuid
+    private UUID id;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "product_id", nullable = false)
+    private UUID productId;
+
+    @Column(name = "purchase_count", nullable = false)
+    private int purchaseCount;
+
+    @Column(name = "first_purchased_at", nullable = false)
+    private LocalDateTime firstPurchasedAt;
+
+    @Column(name = "last_purchased_at", nullable = false)
+    private LocalDateTime lastPurchasedAt;
+
+    // Constructors
+    public ReorderProfileItem() {}
+
+    public ReorderProfileItem(UUID userId, UUID productId) {
+        this.userId = userId;
+        this.productId = productId;
+    }
+
+    // Getters
+    public UUID getId() {
+        return id;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public UUID getProductId() {
+        return productId;
+    }
+
+    public int getPurchaseCount() {
+        return purchaseCount;
+    }
+
+    public LocalDateTime getFirstPurchasedAt() {
+        return firstPurchasedAt;
+    }
+
+    public LocalDateTime getLastPurchasedAt() {
+        return lastPurchasedAt;
+    }
+
+    // Utility methods
+    /**
+     * Get the average time between purchases.
+     *
+     * @return typical interval, or null if bought only once
+     */
+    public Duration getTypicalInterval() {
+        if (purchaseCount < 2) {
+            return null;
+        }
+        return Duration.between(firstPurchasedAt, lastPurchasedAt).dividedBy(purchaseCount - 1);
+    }
+
+    @Override
+    public String toString() {
+        return "ReorderProfileItem{" +
+                "userId=" + userId +
+                ", productId=" + productId +
+                ", purchaseCount=" + purchaseCount +
+                ", lastPurchasedAt=" + lastPurchasedAt +
+                '}';
+    }
+}
@@ -1,5 +1,6 @@
 package com.grocerystore.entity;
 
+import com.grocerystore.id.TimeOrderedUuid;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import org.springframework.data.annotation.CreatedDate;
@@ -23,7 +24,7 @@ import java.util.UUID;
 public class Review {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 
     @NotNull(message = "Product is required")
@@ -46,6 +47,10 @@ public class Review {
     @Column(name = "comment", columnDefinition = "TEXT")
     private String comment;
 
+    // Stored so "reviews with comments" filters are a plain column predicate instead of a TRIM scan
+    @Column(name = "has_comment", nullable = false, columnDefinition = "BOOLEAN NOT NULL DEFAULT FALSE")
+    private boolean hasComment;
+
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -139,7 +144,13 @@ public class Review {
     }
 
     public boolean hasComment() {
-        return comment != null && !comment.trim().isEmpty();
+        return hasComment;
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void syncCommentFlag() {
+        this.hasComment = comment != null && !comment.trim().isEmpty();
     }
 
     @Override
@@ -0,0 +1,77 @@
+package com.grocerystore.event;
+
+import com.grocerystore.entity.OrderStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Application event published when an order moves to a new status.
+ * Carries the customer and product IDs so listeners maintaining purchase
+ * history do not have to reload the order.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+public class OrderStatusChangedEvent {
+
+    private final UUID orderId;
+    private final UUID userId;
+    private final OrderStatus previousStatus;
+    private final OrderStatus newStatus;
+    private final List<UUID> productIds;
+    private final LocalDateTime orderDate;
+
+    public OrderStatusChangedEvent(UUID orderId, UUID userId, OrderStatus previousStatus,
+                                   OrderStatus newStatus, List<UUID> productIds, LocalDateTime orderDate) {
+        this.orderId = orderId;
+        this.userId = userId;
+        this.previousStatus = previousStatus;
+        this.newStatus = newStatus;
+        this.productIds = productIds;
+        this.orderDate = orderDate;
+    }
+
+    public UUID getOrderId() {
+        return orderId;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public OrderStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public OrderStatus getNewStatus() {
+        return newStatus;
+    }
+
+    public List<UUID> getProductIds() {
+        return productIds;
+    }
+
+    public LocalDateTime getOrderDate() {
+        return orderDate;
+    }
+
+    public boolean isCompletion() {
+        return newStatus == OrderStatus.COMPLETED && previousStatus != OrderStatus.COMPLETED;
+    }
+
+    public boolean isCompletionReverted() {
+        return previousStatus == OrderStatus.COMPLETED && newStatus != OrderStatus.COMPLETED;
+    }
+
+    @Override
+    public String toString() {
+        return "OrderStatusChangedEvent{" +
+                "orderId=" + orderId +
+                ", userId=" + userId +
+                ", previousStatus=" + previousStatus +
+                ", newStatus=" + newStatus +
+                '}';
+    }
+}
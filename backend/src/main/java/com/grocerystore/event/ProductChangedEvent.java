@@ -0,0 +1,80 @@
+package com.grocerystore.event;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Application event published whenever a product row is written.
+ * Listeners that keep derived catalog state (HTTP validators, caches)
+ * subscribe to it instead of being called directly by the services.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+public class ProductChangedEvent {
+
+    /**
+     * Kind of change applied to the product.
+     */
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        STOCK_CHANGED,
+        DELETED
+    }
+
+    private final UUID productId;
+    private final ChangeType changeType;
+    private final Integer quantity;
+    private final BigDecimal price;
+
+    public ProductChangedEvent(UUID productId, ChangeType changeType) {
+        this(productId, changeType, null, null);
+    }
+
+    /**
+     * Create an event carrying the stock and price written by the change,
+     * so listeners that push live updates do not have to reload the product.
+     *
+     * @param productId product ID
+     * @param changeType kind of change
+     * @param quantity stock quantity after the change
+     * @param price price after the change
+     */
+    public ProductChangedEvent(UUID productId, ChangeType changeType, Integer quantity, BigDecimal price) {
+        this.productId = productId;
+        this.changeType = changeType;
+        this.quantity = quantity;
+        this.price = price;
+    }
+
+    public UUID getProductId() {
+        return productId;
+    }
+
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public boolean hasSnapshot() {
+        return quantity != null && price != null;
+    }
+
+    @Override
+    public String toString() {
+        return "ProductChangedEvent{" +
+                "productId=" + productId +
+                ", changeType=" + changeType +
+                ", quantity=" + quantity +
+                ", price=" + price +
+                '}';
+    }
+}
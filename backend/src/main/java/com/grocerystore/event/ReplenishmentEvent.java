@@ -0,0 +1,56 @@
+package com.grocerystore.event;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Application event published when a product's stock drops below its
+ * reorder threshold. Published once per crossing; the product has to be
+ * restocked above the threshold before it can fire again.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+public class ReplenishmentEvent {
+
+    private final UUID productId;
+    private final int quantity;
+    private final int reorderThreshold;
+    private final LocalDateTime detectedAt;
+
+    public ReplenishmentEvent(UUID productId, int quantity, int reorderThreshold, LocalDateTime detectedAt) {
+        this.productId = productId;
+        this.quantity = quantity;
+        this.reorderThreshold = reorderThreshold;
+        this.detectedAt = detectedAt;
+    }
+
+    public UUID getProductId() {
+        return productId;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public int getReorderThreshold() {
+        return reorderThreshold;
+    }
+
+    public LocalDateTime getDetectedAt() {
+        return detectedAt;
+    }
+
+    public boolean isOutOfStock() {
+        return quantity == 0;
+    }
+
+    @Override
+    public String toString() {
+        return "ReplenishmentEvent{" +
+                "productId=" + productId +
+                ", quantity=" + quantity +
+                ", reorderThreshold=" + reorderThreshold +
+                '}';
+    }
+}
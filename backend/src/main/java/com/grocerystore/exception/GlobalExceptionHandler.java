@@ -3,6 +3,8 @@ package com.grocerystore.exception;
 import com.grocerystore.dto.common.ApiResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -160,6 +162,43 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
     }
 
+    /**
+     * Handle service unavailable exceptions.
+     * 
+     * @param ex the exception
+     * @param request the web request
+     * @return error response, with a Retry-After header
+     */
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ApiResponse<Object>> handleServiceUnavailableException(
+            ServiceUnavailableException ex, WebRequest request) {
+        
+        logger.warn("Service unavailable: {}", ex.getMessage());
+        
+        ApiResponse<Object> errorResponse = ApiResponse.error(ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(errorResponse);
+    }
+
+    /**
+     * Handle lock conflicts: deadlocks, lock timeouts and stale updates.
+     * Nothing was written, so the client can retry.
+     * 
+     * @param ex the exception
+     * @param request the web request
+     * @return error response
+     */
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    public ResponseEntity<ApiResponse<Object>> handleConcurrencyFailureException(
+            ConcurrencyFailureException ex, WebRequest request) {
+        
+        logger.warn("Concurrency conflict: {}", ex.getMessage());
+        
+        ApiResponse<Object> errorResponse = ApiResponse.error("The request conflicted with another update. Please try again.");
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
     /**
      * Handle all other exceptions.
      * 
@@ -0,0 +1,23 @@
+package com.grocerystore.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a feature cannot serve requests yet, e.g. while the
+ * index behind it is still being built. Clients may retry shortly.
+ * 
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+@ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE)
+public class ServiceUnavailableException extends RuntimeException {
+
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+
+    public ServiceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,23 @@
+package com.grocerystore.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a UUID primary key that is generated as a time-ordered {@link UuidV7}
+ * when the entity is first persisted. Use instead of
+ * {@code @GeneratedValue(strategy = GenerationType.UUID)}, which generates
+ * random version 4 IDs.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+@IdGeneratorType(TimeOrderedUuidGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface TimeOrderedUuid {
+}
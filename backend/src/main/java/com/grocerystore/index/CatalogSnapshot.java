@@ -0,0 +1,451 @@
+package com.grocerystore.index;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+
+/**
+ * Immutable, columnar copy of the catalog fields used for browsing.
+ * Rows are indexed by product ordinal from {@link ProductOrdinals}, and each
+ * field is a primitive array: price in cents, quantity, rating sum and count,
+ * and creation time. Three sort permutations (by price, rating and creation
+ * time, all ascending) are precomputed so a sorted page is a walk over an
+ * int[] rather than a sort.
+ * <p>
+ * Facet filters are evaluated as {@link BitSet}s and intersected: in-stock
+ * is precomputed, price and rating ranges are found by binary search over
+ * their permutation. Changes produce a new snapshot ({@link #withRows});
+ * an existing snapshot is never modified, so readers need no locking.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+public final class CatalogSnapshot {
+
+    /**
+     * Sort orders supported by {@link #query}.
+     */
+    public enum SortOrder {
+        PRICE_ASC,
+        PRICE_DESC,
+        RATING,
+        NEWEST
+    }
+
+    // Row ordinals take the low bits of the packed sort keys
+    private static final int ROW_BITS = 29;
+    private static final long ROW_MASK = (1L << ROW_BITS) - 1;
+    private static final int RATING_COUNT_BITS = 20;
+    private static final long RATING_COUNT_MAX = (1L << RATING_COUNT_BITS) - 1;
+
+    // Prefix bitsets per sort permutation; range filters are two of them plus the partial buckets at either end
+    private static final int BUCKETS = 64;
+    private static final int MIN_BUCKET_SIZE = 1024;
+
+    // Below one match per this many walked rows, sort the matches instead of walking the permutation
+    private static final int SPARSE_FACTOR = 32;
+
+    private final BitSet live;
+    private final BitSet inStock;
+    private final long[] priceCents;
+    private final int[] quantity;
+    private final long[] ratingSum;
+    private final int[] ratingCount;
+    private final long[] createdAt;
+
+    private final SortedColumn byPrice;
+    private final SortedColumn byRating;
+    private final SortedColumn byCreatedAt;
+
+    private CatalogSnapshot(BitSet live, BitSet inStock, long[] priceCents, int[] quantity,
+                            long[] ratingSum, int[] ratingCount, long[] createdAt,
+                            SortedColumn byPrice, SortedColumn byRating, SortedColumn byCreatedAt) {
+        this.live = live;
+        this.inStock = inStock;
+        this.priceCents = priceCents;
+        this.quantity = quantity;
+        this.ratingSum = ratingSum;
+        this.ratingCount = ratingCount;
+        this.createdAt = createdAt;
+        this.byPrice = byPrice;
+        this.byRating = byRating;
+        this.byCreatedAt = byCreatedAt;
+    }
+
+    /**
+     * Build a snapshot from scratch.
+     *
+     * @param rows catalog rows
+     * @return snapshot
+     */
+    public static CatalogSnapshot of(Collection<Row> rows) {
+        int capacity = 0;
+        for (Row row : rows) {
+            capacity = Math.max(capacity, row.ordinal + 1);
+        }
+
+        CatalogSnapshot empty = new CatalogSnapshot(new BitSet(), new BitSet(), new long[capacity], new int[capacity],
+            new long[capacity], new int[capacity], new long[capacity], SortedColumn.EMPTY, SortedColumn.EMPTY, SortedColumn.EMPTY);
+        return empty.withRows(rows, new int[0]);
+    }
+
+    /**
+     * Copy this snapshot with some rows replaced, added or removed.
+     * Sort permutations are only recomputed when a sort key changed, so a
+     * stock-only change costs a copy of the columns.
+     *
+     * @param changed new values for changed or added rows
+     * @param removed ordinals of removed products
+     * @return new snapshot
+     */
+    public CatalogSnapshot withRows(Collection<Row> changed, int[] removed) {
+        int capacity = priceCents.length;
+        for (Row row : changed) {
+            capacity = Math.max(capacity, row.ordinal + 1);
+        }
+        if (capacity > ROW_MASK) {
+            throw new IllegalStateException("Catalog snapshot supports at most " + ROW_MASK + " products");
+        }
+
+        BitSet newLive = (BitSet) live.clone();
+        BitSet newInStock = (BitSet) inStock.clone();
+        long[] newPrice = Arrays.copyOf(priceCents, capacity);
+        int[] newQuantity = Arrays.copyOf(quantity, capacity);
+        long[] newRatingSum = Arrays.copyOf(ratingSum, capacity);
+        int[] newRatingCount = Arrays.copyOf(ratingCount, capacity);
+        long[] newCreatedAt = Arrays.copyOf(createdAt, capacity);
+
+        boolean priceChanged = false;
+        boolean ratingChanged = false;
+        boolean createdAtChanged = false;
+        for (Row row : changed) {
+            int i = row.ordinal;
+            boolean added = !newLive.get(i);
+            priceChanged |= added || newPrice[i] != row.priceCents;
+            ratingChanged |= added || newRatingSum[i] != row.ratingSum || newRatingCount[i] != row.ratingCount;
+            createdAtChanged |= added || newCreatedAt[i] != row.createdAt;
+
+            newLive.set(i);
+            newInStock.set(i, row.quantity > 0);
+            newPrice[i] = row.priceCents;
+            newQuantity[i] = row.quantity;
+            newRatingSum[i] = row.ratingSum;
+            newRatingCount[i] = row.ratingCount;
+            newCreatedAt[i] = row.createdAt;
+        }
+        for (int i : removed) {
+            if (i < capacity && newLive.get(i)) {
+                newLive.clear(i);
+                newInStock.clear(i);
+                // Dead rows stay in the permutations and are skipped by the live bitset
+            }
+        }
+
+        return new CatalogSnapshot(newLive, newInStock, newPrice, newQuantity, newRatingSum, newRatingCount, newCreatedAt,
+            priceChanged ? SortedColumn.of(newLive, i -> newPrice[i]) : byPrice,
+            ratingChanged ? SortedColumn.of(newLive, i -> ratingKey(newRatingSum[i], newRatingCount[i])) : byRating,
+            createdAtChanged ? SortedColumn.of(newLive, i -> newCreatedAt[i]) : byCreatedAt);
+    }
+
+    /**
+     * Evaluate a faceted query.
+     *
+     * @param query filters, sort order and page
+     * @return matching ordinals for the requested page and the total match count
+     */
+    public Result query(Query query) {
+        SortedColumn sorted;
+        boolean descending;
+        switch (query.sort) {
+            case PRICE_ASC -> { sorted = byPrice; descending = false; }
+            case PRICE_DESC -> { sorted = byPrice; descending = true; }
+            case RATING -> { sorted = byRating; descending = true; }
+            default -> { sorted = byCreatedAt; descending = true; }
+        }
+        // Positions of the sort permutation worth walking; narrowed when it is also filtered on
+        int walkFrom = 0;
+        int walkTo = sorted.permutation.length;
+
+        BitSet matches = (BitSet) live.clone();
+        if (query.inStockOnly) {
+            matches.and(inStock);
+        }
+        if (query.minPriceCents != null || query.maxPriceCents != null) {
+            long min = query.minPriceCents != null ? query.minPriceCents : Long.MIN_VALUE;
+            long max = query.maxPriceCents != null ? query.maxPriceCents : Long.MAX_VALUE;
+            int from = byPrice.lowerBound(min);
+            int to = max == Long.MAX_VALUE ? byPrice.permutation.length : byPrice.lowerBound(max + 1);
+            matches.and(byPrice.positions(from, to));
+            if (sorted == byPrice) {
+                walkFrom = from;
+                walkTo = to;
+            }
+        }
+        if (query.minRatingHundredths != null) {
+            int from = byRating.lowerBound(query.minRatingHundredths << RATING_COUNT_BITS);
+            matches.and(byRating.positions(from, byRating.permutation.length));
+            if (sorted == byRating) {
+                walkFrom = from;
+            }
+        }
+
+        int total = matches.cardinality();
+        int[] page = new int[Math.max(0, Math.min(query.limit, total - query.offset))];
+        if (page.length == 0) {
+            return new Result(page, total);
+        }
+        if ((long) total * SPARSE_FACTOR < walkTo - walkFrom) {
+            return new Result(sortMatches(matches, total, sorted, descending, query.offset, page), total);
+        }
+
+        int skipped = 0;
+        int n = 0;
+        int span = walkTo - walkFrom;
+        for (int k = 0; k < span && n < page.length; k++) {
+            int i = sorted.permutation[descending ? walkTo - 1 - k : walkFrom + k];
+            if (matches.get(i) && skipped++ >= query.offset) {
+                page[n++] = i;
+            }
+        }
+        return new Result(n == page.length ? page : Arrays.copyOf(page, n), total);
+    }
+
+    /**
+     * Get the number of products in the snapshot.
+     *
+     * @return live product count
+     */
+    public int size() {
+        return live.cardinality();
+    }
+
+    /**
+     * Get the number of in-stock products in the snapshot.
+     *
+     * @return in-stock product count
+     */
+    public int inStockCount() {
+        return inStock.cardinality();
+    }
+
+    /**
+     * Check whether a product is in the snapshot.
+     *
+     * @param ordinal product ordinal
+     * @return true if the product exists
+     */
+    public boolean contains(int ordinal) {
+        return ordinal >= 0 && live.get(ordinal);
+    }
+
+    /**
+     * Get a product's price as of this snapshot.
+     *
+     * @param ordinal ordinal of a product in the snapshot
+     * @return price in cents
+     */
+    public long priceCents(int ordinal) {
+        return priceCents[ordinal];
+    }
+
+    /**
+     * Get a product's stock quantity as of this snapshot.
+     *
+     * @param ordinal ordinal of a product in the snapshot
+     * @return quantity in stock
+     */
+    public int quantity(int ordinal) {
+        return quantity[ordinal];
+    }
+
+    /**
+     * Average rating in hundredths, then review count, packed so that ordering
+     * the key orders by average first.
+     */
+    private static long ratingKey(long sum, long count) {
+        long hundredths = count == 0 ? 0 : (sum * 100) / count;
+        return (hundredths << RATING_COUNT_BITS) | Math.min(count, RATING_COUNT_MAX);
+    }
+
+    private static int[] sortMatches(BitSet matches, int total, SortedColumn sorted, boolean descending,
+                                     int offset, int[] page) {
+        long[] packed = new long[total];
+        int n = 0;
+        for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+            packed[n++] = (sorted.key.of(i) << ROW_BITS) | i;
+        }
+        Arrays.sort(packed);
+
+        for (int k = 0; k < page.length; k++) {
+            int position = offset + k;
+            page[k] = (int) (packed[descending ? n - 1 - position : position] & ROW_MASK);
+        }
+        return page;
+    }
+
+    @FunctionalInterface
+    private interface OrdinalKey {
+        long of(int ordinal);
+    }
+
+    /**
+     * A permutation of the live rows ordered by one column, with prefix
+     * bitsets at bucket boundaries so a range of positions becomes a
+     * word-wise AND NOT of two bitsets.
+     */
+    private static final class SortedColumn {
+        private static final SortedColumn EMPTY = new SortedColumn(new int[0], ordinal -> 0, 1, new BitSet[] {new BitSet()});
+
+        private final int[] permutation;
+        private final OrdinalKey key;
+        private final int bucketSize;
+        private final BitSet[] prefixes;
+
+        private SortedColumn(int[] permutation, OrdinalKey key, int bucketSize, BitSet[] prefixes) {
+            this.permutation = permutation;
+            this.key = key;
+            this.bucketSize = bucketSize;
+            this.prefixes = prefixes;
+        }
+
+        static SortedColumn of(BitSet live, OrdinalKey key) {
+            // Pack (key, ordinal) into one long so a primitive sort orders by key
+            long[] packed = new long[live.cardinality()];
+            int n = 0;
+            for (int i = live.nextSetBit(0); i >= 0; i = live.nextSetBit(i + 1)) {
+                packed[n++] = (key.of(i) << ROW_BITS) | i;
+            }
+            Arrays.sort(packed);
+
+            int[] permutation = new int[n];
+            for (int k = 0; k < n; k++) {
+                permutation[k] = (int) (packed[k] & ROW_MASK);
+            }
+
+            // prefixes[b] holds the rows at positions below b * bucketSize
+            int bucketSize = Math.max(MIN_BUCKET_SIZE, (n + BUCKETS - 1) / BUCKETS);
+            int buckets = n / bucketSize;
+            BitSet[] prefixes = new BitSet[buckets + 1];
+            BitSet prefix = new BitSet(live.length());
+            prefixes[0] = (BitSet) prefix.clone();
+            for (int b = 1; b <= buckets; b++) {
+                for (int k = (b - 1) * bucketSize; k < b * bucketSize; k++) {
+                    prefix.set(permutation[k]);
+                }
+                prefixes[b] = (BitSet) prefix.clone();
+            }
+            return new SortedColumn(permutation, key, bucketSize, prefixes);
+        }
+
+        int lowerBound(long value) {
+            int lo = 0;
+            int hi = permutation.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (key.of(permutation[mid]) < value) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        /**
+         * Rows at permutation positions [from, to).
+         */
+        BitSet positions(int from, int to) {
+            int first = (from + bucketSize - 1) / bucketSize;
+            int last = Math.min(to / bucketSize, prefixes.length - 1);
+            if (first >= last) {
+                return set(new BitSet(), from, to);
+            }
+
+            BitSet bits = (BitSet) prefixes[last].clone();
+            bits.andNot(prefixes[first]);
+            set(bits, from, first * bucketSize);
+            return set(bits, last * bucketSize, to);
+        }
+
+        private BitSet set(BitSet bits, int from, int to) {
+            for (int k = from; k < to; k++) {
+                bits.set(permutation[k]);
+            }
+            return bits;
+        }
+    }
+
+    /**
+     * Column values of one product.
+     */
+    public static final class Row {
+        private final int ordinal;
+        private final long priceCents;
+        private final int quantity;
+        private final long ratingSum;
+        private final int ratingCount;
+        private final long createdAt;
+
+        /**
+         * @param ordinal product ordinal
+         * @param priceCents price in cents
+         * @param quantity stock quantity
+         * @param ratingSum sum of all review ratings
+         * @param ratingCount number of reviews
+         * @param createdAt creation time in epoch seconds
+         */
+        public Row(int ordinal, long priceCents, int quantity, long ratingSum, int ratingCount, long createdAt) {
+            this.ordinal = ordinal;
+            this.priceCents = priceCents;
+            this.quantity = quantity;
+            this.ratingSum = ratingSum;
+            this.ratingCount = ratingCount;
+            this.createdAt = createdAt;
+        }
+    }
+
+    /**
+     * Faceted browse query. Null bounds are not applied.
+     */
+    public static final class Query {
+        private final boolean inStockOnly;
+        private final Long minPriceCents;
+        private final Long maxPriceCents;
+        private final Long minRatingHundredths;
+        private final SortOrder sort;
+        private final int offset;
+        private final int limit;
+
+        public Query(boolean inStockOnly, Long minPriceCents, Long maxPriceCents, Long minRatingHundredths,
+                     SortOrder sort, int offset, int limit) {
+            this.inStockOnly = inStockOnly;
+            this.minPriceCents = minPriceCents;
+            this.maxPriceCents = maxPriceCents;
+            this.minRatingHundredths = minRatingHundredths;
+            this.sort = sort;
+            this.offset = offset;
+            this.limit = limit;
+        }
+    }
+
+    /**
+     * One page of matching product ordinals plus the total number of matches.
+     */
+    public static final class Result {
+        private final int[] ordinals;
+        private final int total;
+
+        Result(int[] ordinals, int total) {
+            this.ordinals = ordinals;
+            this.total = total;
+        }
+
+        public int[] getOrdinals() {
+            return ordinals;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+    }
+}
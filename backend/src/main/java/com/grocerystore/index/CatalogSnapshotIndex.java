@@ -0,0 +1,208 @@
+package com.grocerystore.index;
+
+import com.grocerystore.event.ProductChangedEvent;
+import com.grocerystore.repository.ProductRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Holds the current {@link CatalogSnapshot} and keeps it in step with product writes.
+ * Product changes are collected from committed {@link ProductChangedEvent}s
+ * and applied in batches: the changed rows are reloaded and a new snapshot is
+ * swapped in copy-on-write, so browse results lag writes by at most the
+ * refresh interval. Large batches fall back to a full rebuild. The snapshot
+ * is built once the application is ready, never on a request thread; until
+ * then {@link #getSnapshot()} returns null.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+@Component
+public class CatalogSnapshotIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogSnapshotIndex.class);
+
+    private final ProductRepository productRepository;
+    private final ProductOrdinals productOrdinals;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int fullRebuildThreshold;
+
+    private volatile CatalogSnapshot snapshot;
+
+    // Products changed since the last refresh started
+    private final Set<UUID> changedProducts = ConcurrentHashMap.newKeySet();
+
+    private final Timer rebuildTimer;
+    private final Timer refreshTimer;
+
+    public CatalogSnapshotIndex(ProductRepository productRepository,
+                                ProductOrdinals productOrdinals,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry,
+                                @Value("${catalog.snapshot.full-rebuild-threshold:10000}") int fullRebuildThreshold) {
+        this.productRepository = productRepository;
+        this.productOrdinals = productOrdinals;
+        this.fullRebuildThreshold = fullRebuildThreshold;
+
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        this.rebuildTimer = Timer.builder("catalog.snapshot.rebuild")
+            .description("Full rebuild of the columnar catalog snapshot")
+            .register(meterRegistry);
+        this.refreshTimer = Timer.builder("catalog.snapshot.refresh")
+            .description("Incremental copy-on-write refresh of the catalog snapshot")
+            .register(meterRegistry);
+        Gauge.builder("catalog.snapshot.products", this, index -> index.snapshot != null ? index.snapshot.size() : 0)
+            .description("Products in the columnar catalog snapshot")
+            .register(meterRegistry);
+        Gauge.builder("catalog.snapshot.pending.changes", changedProducts, Set::size)
+            .description("Product changes not yet applied to the catalog snapshot")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Get the current snapshot; never touches the database.
+     *
+     * @return catalog snapshot, or null until it has been built
+     */
+    public CatalogSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Build the snapshot once the application is up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Record committed product changes for the next refresh.
+     *
+     * @param event product changed event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        changedProducts.add(event.getProductId());
+    }
+
+    /**
+     * Apply pending product changes to a copy of the snapshot and swap it in.
+     */
+    @Scheduled(fixedDelayString = "${catalog.snapshot.refresh-millis:1000}")
+    public synchronized void refresh() {
+        if (snapshot == null) {
+            // The startup build failed, e.g. the database was not up yet
+            rebuild();
+            return;
+        }
+        if (changedProducts.isEmpty()) {
+            return;
+        }
+        if (changedProducts.size() > fullRebuildThreshold) {
+            rebuild();
+            return;
+        }
+
+        Set<UUID> batch = drainChanges();
+        try {
+            refreshTimer.record(() -> {
+                List<CatalogSnapshot.Row> rows = new ArrayList<>(batch.size());
+                Set<UUID> removed = new HashSet<>(batch);
+                readOnlyTransaction.executeWithoutResult(status -> {
+                    for (Object[] row : productRepository.findCatalogRows(batch)) {
+                        rows.add(toRow(row));
+                        removed.remove((UUID) row[0]);
+                    }
+                });
+
+                int[] removedOrdinals = removed.stream()
+                    .mapToInt(productOrdinals::get)
+                    .filter(ordinal -> ordinal != ProductOrdinals.UNKNOWN)
+                    .toArray();
+                snapshot = snapshot.withRows(rows, removedOrdinals);
+            });
+        } catch (RuntimeException e) {
+            // Keep the changes for the next refresh
+            changedProducts.addAll(batch);
+            logger.warn("Catalog snapshot refresh of {} products failed; will retry: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Rebuild the snapshot from the database.
+     */
+    public synchronized void rebuild() {
+        // Changes committed from here on are reapplied by the next refresh
+        Set<UUID> superseded = drainChanges();
+
+        try {
+            rebuildTimer.record(() -> {
+                List<CatalogSnapshot.Row> rows = new ArrayList<>();
+                readOnlyTransaction.executeWithoutResult(status -> {
+                    try (Stream<Object[]> stream = productRepository.streamCatalogRows()) {
+                        stream.forEach(row -> rows.add(toRow(row)));
+                    }
+                });
+                snapshot = CatalogSnapshot.of(rows);
+            });
+            logger.info("Catalog snapshot built with {} products", snapshot.size());
+        } catch (RuntimeException e) {
+            // The current snapshot, if any, still lacks these changes
+            changedProducts.addAll(superseded);
+            logger.error("Failed to build catalog snapshot", e);
+        }
+    }
+
+    private Set<UUID> drainChanges() {
+        Set<UUID> batch = new HashSet<>();
+        Iterator<UUID> it = changedProducts.iterator();
+        while (it.hasNext()) {
+            batch.add(it.next());
+            it.remove();
+        }
+        return batch;
+    }
+
+    private CatalogSnapshot.Row toRow(Object[] row) {
+        int ordinal = productOrdinals.getOrAssign((UUID) row[0]);
+        long priceCents = ((BigDecimal) row[1]).movePointRight(2).longValue();
+        int quantity = row[2] != null ? (Integer) row[2] : 0;
+        long createdAt = row[3] != null ? ((LocalDateTime) row[3]).toEpochSecond(ZoneOffset.UTC) : 0;
+
+        long ratingSum = 0;
+        long ratingCount = 0;
+        for (int stars = 1; stars <= 5; stars++) {
+            Object count = row[3 + stars];
+            long n = count != null ? (Long) count : 0;
+            ratingSum += n * stars;
+            ratingCount += n;
+        }
+        return new CatalogSnapshot.Row(ordinal, priceCents, quantity, ratingSum, (int) ratingCount, createdAt);
+    }
+}
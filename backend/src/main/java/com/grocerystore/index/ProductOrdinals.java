@@ -0,0 +1,77 @@
+package com.grocerystore.index;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dictionary assigning each product UUID a dense int ordinal.
+ * In-memory indexes store ordinals instead of UUIDs, which shrinks a
+ * product reference from a 32-byte object to 4 bytes in a primitive array.
+ * Ordinals are assigned on first use and never reused for the process lifetime.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+@Component
+public class ProductOrdinals {
+
+    public static final int UNKNOWN = -1;
+
+    private final Map<UUID, Integer> ordinals = new ConcurrentHashMap<>();
+    private volatile UUID[] productIds = new UUID[1024];
+    private int size;
+
+    /**
+     * Get the ordinal for a product, assigning one if needed.
+     *
+     * @param productId product ID
+     * @return ordinal
+     */
+    public int getOrAssign(UUID productId) {
+        Integer ordinal = ordinals.get(productId);
+        if (ordinal != null) {
+            return ordinal;
+        }
+        synchronized (this) {
+            ordinal = ordinals.get(productId);
+            if (ordinal != null) {
+                return ordinal;
+            }
+            if (size == productIds.length) {
+                productIds = Arrays.copyOf(productIds, size * 2);
+            }
+            productIds[size] = productId;
+            ordinals.put(productId, size);
+            return size++;
+        }
+    }
+
+    /**
+     * Get the ordinal for a product without assigning one.
+     *
+     * @param productId product ID
+     * @return ordinal, or {@link #UNKNOWN}
+     */
+    public int get(UUID productId) {
+        Integer ordinal = ordinals.get(productId);
+        return ordinal != null ? ordinal : UNKNOWN;
+    }
+
+    /**
+     * Get the product for an ordinal.
+     *
+     * @param ordinal ordinal
+     * @return product ID
+     */
+    public UUID getProductId(int ordinal) {
+        return productIds[ordinal];
+    }
+
+    public int size() {
+        return ordinals.size();
+    }
+}
@@ -0,0 +1,310 @@
+package com.grocerystore.index;
+
+import com.grocerystore.archive.ArchivedOrder;
+import com.grocerystore.archive.OrderArchive;
+import com.grocerystore.entity.OrderStatus;
+import com.grocerystore.event.OrderStatusChangedEvent;
+import com.grocerystore.repository.OrderItemRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * In-memory index of which products each user has bought in completed orders.
+ * Each user maps to a sorted int[] of product ordinals from
+ * {@link ProductOrdinals}; a membership check is a hash lookup plus a binary
+ * search with no database round-trip. Arrays are immutable and replaced on
+ * change, so readers never lock.
+ * <p>
+ * Memory footprint: per user about 32 bytes for the map node, 32 bytes for
+ * the UUID key and 16 + 4n bytes for the array (n = distinct products
+ * bought). At 20 distinct products that is roughly 160 bytes per user, or
+ * about 160 MB per million users, plus 4 bytes per product in the dictionary.
+ * <p>
+ * The index is built from completed orders, in the database and in the
+ * {@link OrderArchive}, after startup and kept current from
+ * {@link OrderStatusChangedEvent}s. Until the build finishes, and when
+ * disabled, lookups fall back to the repository and the archive.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+@Component
+public class PurchaseIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(PurchaseIndex.class);
+
+    private static final int[] EMPTY = new int[0];
+
+    private final OrderItemRepository orderItemRepository;
+    private final OrderArchive orderArchive;
+    private final ProductOrdinals productOrdinals;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+
+    private volatile Map<UUID, int[]> purchasesByUser = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    // Users touched while a build is running; reloaded once the built index is swapped in
+    private final Set<UUID> changedDuringBuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean building;
+
+    public PurchaseIndex(OrderItemRepository orderItemRepository,
+                         OrderArchive orderArchive,
+                         ProductOrdinals productOrdinals,
+                         PlatformTransactionManager transactionManager,
+                         MeterRegistry meterRegistry,
+                         @Value("${purchase-index.enabled:true}") boolean enabled) {
+        this.orderItemRepository = orderItemRepository;
+        this.orderArchive = orderArchive;
+        this.productOrdinals = productOrdinals;
+        this.enabled = enabled;
+
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        Gauge.builder("purchase.index.users", this, index -> index.purchasesByUser.size())
+            .description("Users with at least one completed purchase in the purchase index")
+            .register(meterRegistry);
+        Gauge.builder("purchase.index.ready", this, index -> index.ready ? 1 : 0)
+            .description("Whether the purchase index has finished building")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Check whether a user has bought a product in a completed order.
+     *
+     * @param userId user ID
+     * @param productId product ID
+     * @return true if the user has purchased the product
+     */
+    public boolean hasPurchased(UUID userId, UUID productId) {
+        if (!ready) {
+            return orderItemRepository.hasUserPurchasedProduct(userId, productId)
+                || archivedPurchases(userId).contains(productId);
+        }
+        int ordinal = productOrdinals.get(productId);
+        if (ordinal == ProductOrdinals.UNKNOWN) {
+            return false;
+        }
+        int[] ordinals = purchasesByUser.getOrDefault(userId, EMPTY);
+        return Arrays.binarySearch(ordinals, ordinal) >= 0;
+    }
+
+    /**
+     * Get all products a user has bought in completed orders.
+     *
+     * @param userId user ID
+     * @return product IDs
+     */
+    public List<UUID> getPurchasedProductIds(UUID userId) {
+        if (!ready) {
+            Set<UUID> productIds = new LinkedHashSet<>(orderItemRepository.findProductIdsPurchasedByUser(userId));
+            productIds.addAll(archivedPurchases(userId));
+            return List.copyOf(productIds);
+        }
+        int[] ordinals = purchasesByUser.getOrDefault(userId, EMPTY);
+        List<UUID> productIds = new ArrayList<>(ordinals.length);
+        for (int ordinal : ordinals) {
+            productIds.add(productOrdinals.getProductId(ordinal));
+        }
+        return Collections.unmodifiableList(productIds);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Build the index once the application is up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Rebuild the index from completed orders. Lookups keep using the
+     * current index (or the repository) until the new one is swapped in.
+     */
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        building = true;
+        changedDuringBuild.clear();
+
+        try {
+            Map<UUID, int[]> built = new ConcurrentHashMap<>();
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<Object[]> rows = orderItemRepository.streamCompletedPurchases()) {
+                    UserAccumulator accumulator = new UserAccumulator();
+                    rows.forEach(row -> {
+                        UUID userId = (UUID) row[0];
+                        if (!userId.equals(accumulator.userId)) {
+                            accumulator.flushInto(built);
+                            accumulator.userId = userId;
+                        }
+                        accumulator.add(productOrdinals.getOrAssign((UUID) row[1]));
+                    });
+                    accumulator.flushInto(built);
+                }
+            });
+            // Archived orders never change status, so only the build reads them in bulk
+            orderArchive.forEachOrder(order -> {
+                if (order.getStatus() == OrderStatus.COMPLETED) {
+                    built.merge(order.getUserId(), toSortedOrdinals(productIdsOf(order)), PurchaseIndex::union);
+                }
+            });
+
+            purchasesByUser = built;
+            ready = true;
+        } catch (RuntimeException e) {
+            logger.error("Failed to build purchase index, falling back to database lookups", e);
+            return;
+        } finally {
+            building = false;
+        }
+
+        for (UUID userId : changedDuringBuild) {
+            reloadUser(userId);
+        }
+        changedDuringBuild.clear();
+
+        logger.info("Purchase index built for {} users and {} products in {} ms",
+            purchasesByUser.size(), productOrdinals.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Apply committed order status transitions.
+     *
+     * @param event order status changed event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        if (!enabled || !(event.isCompletion() || event.isCompletionReverted())) {
+            return;
+        }
+        if (building) {
+            changedDuringBuild.add(event.getUserId());
+        }
+        if (!ready) {
+            return;
+        }
+
+        if (event.isCompletion()) {
+            int[] added = toSortedOrdinals(event.getProductIds());
+            purchasesByUser.merge(event.getUserId(), added, PurchaseIndex::union);
+        } else {
+            // Another completed order may still contain the same products, so reload this user
+            reloadUser(event.getUserId());
+        }
+    }
+
+    private void reloadUser(UUID userId) {
+        List<UUID> productIds = new ArrayList<>(orderItemRepository.findProductIdsPurchasedByUser(userId));
+        productIds.addAll(archivedPurchases(userId));
+        int[] ordinals = toSortedOrdinals(productIds);
+        if (ordinals.length == 0) {
+            purchasesByUser.remove(userId);
+        } else {
+            purchasesByUser.put(userId, ordinals);
+        }
+    }
+
+    private List<UUID> archivedPurchases(UUID userId) {
+        List<UUID> productIds = new ArrayList<>();
+        for (ArchivedOrder order : orderArchive.findByUser(userId, 0, Integer.MAX_VALUE)) {
+            if (order.getStatus() == OrderStatus.COMPLETED) {
+                productIds.addAll(productIdsOf(order));
+            }
+        }
+        return productIds;
+    }
+
+    private static List<UUID> productIdsOf(ArchivedOrder order) {
+        List<UUID> productIds = new ArrayList<>(order.getItems().size());
+        order.getItems().forEach(item -> productIds.add(item.getProductId()));
+        return productIds;
+    }
+
+    private int[] toSortedOrdinals(List<UUID> productIds) {
+        int[] ordinals = new int[productIds.size()];
+        for (int i = 0; i < ordinals.length; i++) {
+            ordinals[i] = productOrdinals.getOrAssign(productIds.get(i));
+        }
+        Arrays.sort(ordinals);
+        return dedupe(ordinals, ordinals.length);
+    }
+
+    private static int[] union(int[] left, int[] right) {
+        int[] merged = new int[left.length + right.length];
+        int i = 0, j = 0, k = 0;
+        while (i < left.length || j < right.length) {
+            int next;
+            if (j == right.length || (i < left.length && left[i] <= right[j])) {
+                next = left[i++];
+            } else {
+                next = right[j++];
+            }
+            if (k == 0 || merged[k - 1] != next) {
+                merged[k++] = next;
+            }
+        }
+        return k == merged.length ? merged : Arrays.copyOf(merged, k);
+    }
+
+    private static int[] dedupe(int[] sorted, int length) {
+        int k = 0;
+        for (int i = 0; i < length; i++) {
+            if (k == 0 || sorted[k - 1] != sorted[i]) {
+                sorted[k++] = sorted[i];
+            }
+        }
+        return k == sorted.length ? sorted : Arrays.copyOf(sorted, k);
+    }
+
+    /**
+     * Collects one user's ordinals while streaming rows grouped by user.
+     */
+    private static class UserAccumulator {
+        private UUID userId;
+        private int[] ordinals = new int[64];
+        private int size;
+
+        void add(int ordinal) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+            }
+            ordinals[size++] = ordinal;
+        }
+
+        void flushInto(Map<UUID, int[]> target) {
+            if (userId != null && size > 0) {
+                int[] sorted = Arrays.copyOf(ordinals, size);
+                Arrays.sort(sorted);
+                target.put(userId, dedupe(sorted, size));
+            }
+            size = 0;
+        }
+    }
+}
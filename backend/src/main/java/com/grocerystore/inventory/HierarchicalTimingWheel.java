@@ -0,0 +1,148 @@
+package com.grocerystore.inventory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel for expiring many timers on a fixed tick.
+ * Level 0 has one slot per tick; each level above covers a whole
+ * revolution of the level below per slot. A timer is placed on the lowest
+ * level whose span reaches its deadline and is cascaded down a level as the
+ * wheel turns past its slot, so adding a timer and advancing one tick are
+ * O(1) regardless of how many timers are pending.
+ * <p>
+ * Timers are not cancelled individually: callers re-check whatever the
+ * timer refers to when it fires. Timers beyond the top level's span are
+ * parked in its furthest slot and re-placed when they are cascaded.
+ * Not thread-safe beyond the synchronized methods here.
+ *
+ * @param <T> timer payload
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    private final long tickMillis;
+    private final List<List<Timer<T>>> slots;
+
+    // Last tick whose level 0 slot has been drained
+    private long currentTick;
+    private int size;
+
+    public HierarchicalTimingWheel(long tickMillis, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.currentTick = startMillis / tickMillis;
+        this.slots = new ArrayList<>(LEVELS * SLOTS);
+        for (int i = 0; i < LEVELS * SLOTS; i++) {
+            slots.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Schedule a timer. Deadlines already passed fire on the next advance.
+     *
+     * @param payload timer payload
+     * @param deadlineMillis epoch millis at which the timer fires
+     */
+    public synchronized void add(T payload, long deadlineMillis) {
+        // Round up so a timer never fires before its deadline
+        long deadlineTick = (deadlineMillis + tickMillis - 1) / tickMillis;
+        place(new Timer<>(payload, deadlineTick), currentTick + 1);
+        size++;
+    }
+
+    /**
+     * Turn the wheel up to the given time and collect every timer that fired.
+     *
+     * @param nowMillis current epoch millis
+     * @return payloads of fired timers, in deadline order per tick
+     */
+    public synchronized List<T> advance(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        List<T> fired = new ArrayList<>();
+        if (size == 0) {
+            currentTick = Math.max(currentTick, targetTick);
+            return fired;
+        }
+
+        while (currentTick < targetTick && size > 0) {
+            currentTick++;
+            // Crossing a revolution boundary pulls the next slot of the level above down
+            for (int level = 1; level < LEVELS; level++) {
+                if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) != 0) {
+                    break;
+                }
+                cascade(level, slotIndex(currentTick, level));
+            }
+
+            List<Timer<T>> due = slots.get(slotIndex(currentTick, 0));
+            for (Timer<T> timer : due) {
+                fired.add(timer.payload);
+            }
+            size -= due.size();
+            due.clear();
+        }
+        currentTick = Math.max(currentTick, targetTick);
+        return fired;
+    }
+
+    /**
+     * Get the number of pending timers, including ones whose payload is no longer current.
+     *
+     * @return pending timers
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    private void cascade(int level, int index) {
+        List<Timer<T>> bucket = slots.get(index);
+        if (bucket.isEmpty()) {
+            return;
+        }
+        List<Timer<T>> moved = new ArrayList<>(bucket);
+        bucket.clear();
+        for (Timer<T> timer : moved) {
+            place(timer, currentTick);
+        }
+    }
+
+    private void place(Timer<T> timer, long earliestTick) {
+        long tick = Math.max(timer.deadlineTick, earliestTick);
+        long delta = tick - currentTick;
+
+        for (int level = 0; level < LEVELS; level++) {
+            if (delta < (1L << (SLOT_BITS * (level + 1)))) {
+                slots.get(slotIndex(tick, level)).add(timer);
+                return;
+            }
+        }
+
+        // Beyond the top level: park one revolution ahead and re-place on cascade
+        int top = LEVELS - 1;
+        long parkedTick = currentTick + ((long) SLOT_MASK << (SLOT_BITS * top));
+        slots.get(slotIndex(parkedTick, top)).add(timer);
+    }
+
+    private static int slotIndex(long tick, int level) {
+        return level * SLOTS + (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+    }
+
+    private static final class Timer<T> {
+        private final T payload;
+        private final long deadlineTick;
+
+        Timer(T payload, long deadlineTick) {
+            this.payload = payload;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.grocerystore.inventory;
+
+import com.grocerystore.entity.Product;
+import com.grocerystore.event.ProductChangedEvent;
+import com.grocerystore.event.ReplenishmentEvent;
+import com.grocerystore.repository.ProductRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks which products are below their reorder threshold, driven by stock writes.
+ * Every committed stock change (order placement, admin stock update, product
+ * create/update) is checked against the product's threshold; a product that
+ * crosses below it enters the low-stock set and a {@link ReplenishmentEvent}
+ * is published, and a product restocked to its threshold or above leaves the
+ * set. Reading the set costs O(low-stock products) instead of a table scan.
+ * <p>
+ * Only products with their own threshold are kept in the threshold map;
+ * the rest use the default. A periodic reconcile against the database
+ * corrects any transition applied out of commit order.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+@Component
+public class LowStockMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(LowStockMonitor.class);
+
+    private final ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int defaultThreshold;
+
+    private volatile Map<UUID, Integer> thresholds = new ConcurrentHashMap<>();
+    private volatile Map<UUID, LowStockEntry> lowStock = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    // Products changed while a reconcile is reading; re-checked once its result is swapped in
+    private final Set<UUID> changedDuringReconcile = ConcurrentHashMap.newKeySet();
+    private volatile boolean reconciling;
+
+    private final Counter replenishmentAlerts;
+
+    public LowStockMonitor(ProductRepository productRepository,
+                           ApplicationEventPublisher eventPublisher,
+                           MeterRegistry meterRegistry,
+                           @Value("${inventory.low-stock.default-threshold:10}") int defaultThreshold) {
+        this.productRepository = productRepository;
+        this.eventPublisher = eventPublisher;
+        this.defaultThreshold = defaultThreshold;
+
+        this.replenishmentAlerts = Counter.builder("inventory.replenishment.alerts")
+            .description("Products that crossed below their reorder threshold")
+            .register(meterRegistry);
+        Gauge.builder("inventory.low-stock.products", this, monitor -> monitor.lowStock.size())
+            .description("Products currently below their reorder threshold")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Get the products currently below their reorder threshold, lowest stock first.
+     *
+     * @return low-stock entries
+     */
+    public List<LowStockEntry> getLowStock() {
+        List<LowStockEntry> entries = new ArrayList<>(lowStock.values());
+        entries.sort(Comparator.comparingInt(LowStockEntry::getQuantity));
+        return entries;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Load the initial low-stock set once the application is up, without alerting.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reconcile(false);
+    }
+
+    /**
+     * Periodically re-read stock levels, alerting on crossings that were missed.
+     */
+    @Scheduled(fixedDelayString = "${inventory.low-stock.reconcile-minutes:15}", timeUnit = TimeUnit.MINUTES)
+    public void scheduledReconcile() {
+        reconcile(true);
+    }
+
+    /**
+     * Check committed stock changes against the product's reorder threshold.
+     *
+     * @param event product changed event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        UUID productId = event.getProductId();
+        if (reconciling) {
+            changedDuringReconcile.add(productId);
+        }
+
+        switch (event.getChangeType()) {
+            case DELETED -> {
+                thresholds.remove(productId);
+                lowStock.remove(productId);
+            }
+            // The threshold itself may have changed, so reload the product (usually a cache hit)
+            case CREATED, UPDATED -> {
+                if (event.hasSnapshot()) {
+                    reload(productId);
+                }
+            }
+            case STOCK_CHANGED -> {
+                if (event.hasSnapshot()) {
+                    apply(productId, event.getQuantity());
+                }
+            }
+        }
+    }
+
+    /**
+     * Rebuild the threshold map and low-stock set from the database.
+     *
+     * @param alert publish replenishment events for products newly found below threshold
+     */
+    public synchronized void reconcile(boolean alert) {
+        reconciling = true;
+        changedDuringReconcile.clear();
+
+        Map<UUID, LowStockEntry> previous = lowStock;
+        Map<UUID, Integer> loadedThresholds = new ConcurrentHashMap<>();
+        Map<UUID, LowStockEntry> loadedLowStock = new ConcurrentHashMap<>();
+        List<LowStockEntry> entered = new ArrayList<>();
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            for (Object[] row : productRepository.findStockLevelsForLowStockMonitor(defaultThreshold)) {
+                UUID productId = (UUID) row[0];
+                int quantity = (Integer) row[1];
+                Integer threshold = (Integer) row[2];
+                if (threshold != null) {
+                    loadedThresholds.put(productId, threshold);
+                }
+
+                int effective = threshold != null ? threshold : defaultThreshold;
+                if (quantity < effective) {
+                    LowStockEntry existing = previous.get(productId);
+                    LowStockEntry entry = new LowStockEntry(productId, quantity, effective,
+                        existing != null ? existing.getLowSince() : now);
+                    loadedLowStock.put(productId, entry);
+                    if (existing == null) {
+                        entered.add(entry);
+                    }
+                }
+            }
+
+            thresholds = loadedThresholds;
+            lowStock = loadedLowStock;
+            ready = true;
+        } catch (RuntimeException e) {
+            logger.error("Failed to load stock levels for low-stock monitoring", e);
+            return;
+        } finally {
+            reconciling = false;
+        }
+
+        for (UUID productId : changedDuringReconcile) {
+            reload(productId);
+        }
+        changedDuringReconcile.clear();
+
+        if (alert) {
+            entered.forEach(this::publish);
+        }
+        logger.info("Low-stock monitor reconciled: {} products below threshold", lowStock.size());
+    }
+
+    private void reload(UUID productId) {
+        Product product = productRepository.findById(productId).orElse(null);
+        if (product == null) {
+            thresholds.remove(productId);
+            lowStock.remove(productId);
+            return;
+        }
+
+        if (product.getReorderThreshold() != null) {
+            thresholds.put(productId, product.getReorderThreshold());
+        } else {
+            thresholds.remove(productId);
+        }
+        apply(productId, product.getQuantity());
+    }
+
+    private void apply(UUID productId, int quantity) {
+        int threshold = thresholds.getOrDefault(productId, defaultThreshold);
+        LowStockEntry[] entered = new LowStockEntry[1];
+
+        lowStock.compute(productId, (id, current) -> {
+            if (quantity >= threshold) {
+                return null;
+            }
+            if (current == null) {
+                entered[0] = new LowStockEntry(productId, quantity, threshold, LocalDateTime.now());
+                return entered[0];
+            }
+            return new LowStockEntry(productId, quantity, threshold, current.getLowSince());
+        });
+
+        // Before the first reconcile every low product would look new, so only alert once ready
+        if (entered[0] != null && ready) {
+            publish(entered[0]);
+        }
+    }
+
+    private void publish(LowStockEntry entry) {
+        replenishmentAlerts.increment();
+        logger.warn("Product {} is below its reorder threshold: {} < {}",
+            entry.getProductId(), entry.getQuantity(), entry.getReorderThreshold());
+        eventPublisher.publishEvent(new ReplenishmentEvent(
+            entry.getProductId(), entry.getQuantity(), entry.getReorderThreshold(), entry.getLowSince()));
+    }
+
+    /**
+     * A product below its reorder threshold.
+     */
+    public static final class LowStockEntry {
+        private final UUID productId;
+        private final int quantity;
+        private final int reorderThreshold;
+        private final LocalDateTime lowSince;
+
+        LowStockEntry(UUID productId, int quantity, int reorderThreshold, LocalDateTime lowSince) {
+            this.productId = productId;
+            this.quantity = quantity;
+            this.reorderThreshold = reorderThreshold;
+            this.lowSince = lowSince;
+        }
+
+        public UUID getProductId() {
+            return productId;
+        }
+
+        public int getQuantity() {
+            return quantity;
+        }
+
+        public int getReorderThreshold() {
+            return reorderThreshold;
+        }
+
+        public LocalDateTime getLowSince() {
+            return lowSince;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.grocerystore.inventory;
+
+import com.grocerystore.entity.Product;
+import com.grocerystore.entity.StockHold;
+import com.grocerystore.event.ProductChangedEvent;
+import com.grocerystore.repository.ProductRepository;
+import com.grocerystore.repository.StockHoldRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Expires stock holds and gives their quantity back to the product.
+ * Every hold is scheduled on an in-memory {@link HierarchicalTimingWheel};
+ * each tick collects the holds that fell due and releases them in one
+ * transaction per product. The wheel is refilled from stock_holds on
+ * startup, so holds survive restarts and ones that lapsed while the
+ * application was down are released on the first tick.
+ * <p>
+ * Converted, cancelled or refreshed holds stay on the wheel until their
+ * original deadline; when they fire, the database no longer has an expired
+ * row for them and nothing is released.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+@Component
+public class StockHoldExpiry {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockHoldExpiry.class);
+
+    // Delay before retrying a product whose release failed
+    private static final long RETRY_DELAY_MILLIS = 30_000;
+
+    private final StockHoldRepository holdRepository;
+    private final ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transaction;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final HierarchicalTimingWheel<ScheduledHold> wheel;
+
+    private final Counter expired;
+
+    public StockHoldExpiry(StockHoldRepository holdRepository,
+                           ProductRepository productRepository,
+                           ApplicationEventPublisher eventPublisher,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry,
+                           @Value("${inventory.holds.tick-millis:1000}") long tickMillis) {
+        this.holdRepository = holdRepository;
+        this.productRepository = productRepository;
+        this.eventPublisher = eventPublisher;
+        this.wheel = new HierarchicalTimingWheel<>(tickMillis, System.currentTimeMillis());
+
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        this.expired = Counter.builder("inventory.stock.holds.closed")
+            .tag("outcome", "expired")
+            .description("Stock holds closed, by outcome")
+            .register(meterRegistry);
+        Gauge.builder("inventory.stock.holds.scheduled", wheel, HierarchicalTimingWheel::size)
+            .description("Stock hold expiry timers pending on the timing wheel")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Schedule a hold's expiry. Called after placing or refreshing the hold.
+     *
+     * @param hold the hold
+     */
+    public void schedule(StockHold hold) {
+        wheel.add(new ScheduledHold(hold.getId(), hold.getProductId()), toEpochMillis(hold.getExpiresAt()));
+    }
+
+    /**
+     * Give the quantity of the given holds back to their product and delete them.
+     * Must run in the caller's transaction with the product row locked.
+     *
+     * @param product the locked product
+     * @param holds holds of that product
+     */
+    public void returnToStock(Product product, Collection<StockHold> holds) {
+        int quantity = holds.stream().mapToInt(StockHold::getQuantity).sum();
+        product.setQuantity(product.getQuantity() + quantity);
+        productRepository.save(product);
+        holdRepository.deleteAll(holds);
+        eventPublisher.publishEvent(new ProductChangedEvent(product.getId(), ProductChangedEvent.ChangeType.STOCK_CHANGED,
+            product.getQuantity(), product.getPrice()));
+    }
+
+    /**
+     * Schedule every persisted hold once the application is up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            List<Object[]> schedules = readOnlyTransaction.execute(status -> holdRepository.findAllExpirySchedules());
+            for (Object[] row : schedules) {
+                wheel.add(new ScheduledHold((UUID) row[0], (UUID) row[1]), toEpochMillis((LocalDateTime) row[2]));
+            }
+            logger.info("Scheduled expiry of {} persisted stock holds", schedules.size());
+        } catch (RuntimeException e) {
+            logger.error("Failed to load stock holds for expiry", e);
+        }
+    }
+
+    /**
+     * Turn the wheel and release the holds that fell due, batched per product.
+     */
+    @Scheduled(fixedDelayString = "${inventory.holds.tick-millis:1000}")
+    public void releaseExpiredHolds() {
+        List<ScheduledHold> due = wheel.advance(System.currentTimeMillis());
+        if (due.isEmpty()) {
+            return;
+        }
+
+        Map<UUID, List<UUID>> holdsByProduct = new HashMap<>();
+        for (ScheduledHold hold : due) {
+            holdsByProduct.computeIfAbsent(hold.productId, id -> new ArrayList<>()).add(hold.holdId);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        holdsByProduct.forEach((productId, holdIds) -> {
+            try {
+                Integer released = transaction.execute(status -> release(productId, holdIds, now));
+                if (released != null && released > 0) {
+                    expired.increment(released);
+                    logger.debug("Released {} expired stock holds of product {}", released, productId);
+                }
+            } catch (RuntimeException e) {
+                logger.error("Failed to release expired stock holds of product {}, retrying later", productId, e);
+                long retryAt = System.currentTimeMillis() + RETRY_DELAY_MILLIS;
+                holdIds.forEach(holdId -> wheel.add(new ScheduledHold(holdId, productId), retryAt));
+            }
+        });
+    }
+
+    private int release(UUID productId, List<UUID> holdIds, LocalDateTime now) {
+        Product product = productRepository.findByIdForUpdate(productId).orElse(null);
+        if (product == null) {
+            // Deleting the product deleted its holds
+            return 0;
+        }
+        List<StockHold> holds = holdRepository.findExpired(productId, holdIds, now);
+        if (holds.isEmpty()) {
+            return 0;
+        }
+        returnToStock(product, holds);
+        return holds.size();
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * A hold as scheduled on the wheel; the hold's row is re-read when it fires.
+     */
+    private static final class ScheduledHold {
+        private final UUID holdId;
+        private final UUID productId;
+
+        ScheduledHold(UUID holdId, UUID productId) {
+            this.holdId = holdId;
+            this.productId = productId;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.grocerystore.journal;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks whether the database is answering. A probe on its own thread
+ * borrows a connection and validates it every few hundred milliseconds;
+ * the database counts as healthy while the last probe succeeded recently
+ * and no failure has been seen since. A stalled probe therefore turns the
+ * state unhealthy on its own, without waiting for a connection timeout.
+ * Request threads that hit a connectivity failure report it so the switch
+ * happens on the first failed request rather than the next probe.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+@Component
+public class DatabaseHealthMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseHealthMonitor.class);
+
+    private final DataSource dataSource;
+    private final int probeTimeoutSeconds;
+    private final long unhealthyAfterMillis;
+    private final ScheduledExecutorService prober;
+
+    private volatile long lastSuccessMillis;
+    private volatile long lastFailureMillis;
+    private volatile boolean reportedHealthy = true;
+
+    public DatabaseHealthMonitor(DataSource dataSource,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${orders.journal.probe-millis:500}") long probeMillis,
+                                 @Value("${orders.journal.probe-timeout-seconds:2}") int probeTimeoutSeconds,
+                                 @Value("${orders.journal.unhealthy-after-millis:3000}") long unhealthyAfterMillis) {
+        this.dataSource = dataSource;
+        this.probeTimeoutSeconds = Math.max(1, probeTimeoutSeconds);
+        this.unhealthyAfterMillis = unhealthyAfterMillis;
+        this.lastSuccessMillis = System.currentTimeMillis();
+
+        this.prober = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "database-health-probe");
+            thread.setDaemon(true);
+            return thread;
+        });
+        prober.scheduleWithFixedDelay(this::probe, probeMillis, probeMillis, TimeUnit.MILLISECONDS);
+
+        Gauge.builder("orders.journal.database.healthy", this, monitor -> monitor.isHealthy() ? 1 : 0)
+            .description("Whether the database is answering order writes (1) or orders go to the journal (0)")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Check whether the database is currently considered healthy.
+     *
+     * @return true if orders can be written to the database
+     */
+    public boolean isHealthy() {
+        long success = lastSuccessMillis;
+        return success >= lastFailureMillis && System.currentTimeMillis() - success < unhealthyAfterMillis;
+    }
+
+    /**
+     * Report a connectivity failure seen outside the probe.
+     *
+     * @param failure the failure
+     */
+    public void reportFailure(Throwable failure) {
+        lastFailureMillis = System.currentTimeMillis();
+        logStateChange(failure);
+    }
+
+    /**
+     * Check whether an exception means the database could not be reached, as
+     * opposed to rejecting the statement. Deadlocks, lock timeouts and query
+     * timeouts come from a database that is answering, so they do not count:
+     * a single lock conflict must not switch orders to the journal.
+     *
+     * @param failure the exception
+     * @return true for connectivity failures
+     */
+    public static boolean isConnectivityFailure(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof CannotCreateTransactionException
+                    || cause instanceof DataAccessResourceFailureException) {
+                return true;
+            }
+            // SQLState class 08 is connection exception
+            if (cause instanceof SQLException sql && sql.getSQLState() != null && sql.getSQLState().startsWith("08")) {
+                return true;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        prober.shutdownNow();
+    }
+
+    private void probe() {
+        try (Connection connection = dataSource.getConnection()) {
+            if (connection.isValid(probeTimeoutSeconds)) {
+                lastSuccessMillis = System.currentTimeMillis();
+            } else {
+                lastFailureMillis = System.currentTimeMillis();
+            }
+        } catch (SQLException | RuntimeException e) {
+            lastFailureMillis = System.currentTimeMillis();
+        }
+        logStateChange(null);
+    }
+
+    private synchronized void logStateChange(Throwable cause) {
+        boolean healthy = isHealthy();
+        if (healthy == reportedHealthy) {
+            return;
+        }
+        reportedHealthy = healthy;
+        if (healthy) {
+            logger.info("Database is answering again; orders are written to the database");
+        } else if (cause != null) {
+            logger.warn("Database unavailable ({}); orders go to the local journal", cause.getMessage());
+        } else {
+            logger.warn("Database unavailable; orders go to the local journal");
+        }
+    }
+}
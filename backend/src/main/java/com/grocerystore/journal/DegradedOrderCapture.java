@@ -0,0 +1,146 @@
+package com.grocerystore.journal;
+
+import com.grocerystore.exception.ResourceNotFoundException;
+import com.grocerystore.id.UuidV7;
+import com.grocerystore.index.CatalogSnapshot;
+import com.grocerystore.index.CatalogSnapshotIndex;
+import com.grocerystore.index.ProductOrdinals;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Takes orders into the {@link OrderJournal} while the database is
+ * unavailable, so checkout keeps working through a failover or stall.
+ * <p>
+ * Without the database, stock and prices come from the in-memory catalog
+ * snapshot as of the last committed change. Each product may only be sold
+ * up to a fraction of that stock, less what earlier journaled orders have
+ * already claimed; the margin absorbs stock movements the snapshot missed
+ * and keeps replay conflicts rare. Claims are released as entries are
+ * replayed.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+@Component
+public class DegradedOrderCapture {
+
+    private static final Logger logger = LoggerFactory.getLogger(DegradedOrderCapture.class);
+
+    private final OrderJournal journal;
+    private final DatabaseHealthMonitor databaseHealth;
+    private final CatalogSnapshotIndex catalogSnapshotIndex;
+    private final ProductOrdinals productOrdinals;
+    private final boolean enabled;
+    private final double stockAllowance;
+
+    // Quantity per product in journaled orders not yet replayed
+    private final Map<UUID, Integer> claimed = new ConcurrentHashMap<>();
+
+    private final Counter captured;
+
+    public DegradedOrderCapture(OrderJournal journal,
+                                DatabaseHealthMonitor databaseHealth,
+                                CatalogSnapshotIndex catalogSnapshotIndex,
+                                ProductOrdinals productOrdinals,
+                                MeterRegistry meterRegistry,
+                                @Value("${orders.journal.enabled:true}") boolean enabled,
+                                @Value("${orders.journal.stock-allowance:0.5}") double stockAllowance) {
+        this.journal = journal;
+        this.databaseHealth = databaseHealth;
+        this.catalogSnapshotIndex = catalogSnapshotIndex;
+        this.productOrdinals = productOrdinals;
+        this.enabled = enabled;
+        this.stockAllowance = Math.max(0, Math.min(1, stockAllowance));
+
+        for (JournaledOrder order : journal.getPending()) {
+            claim(order, 1);
+        }
+
+        this.captured = Counter.builder("orders.journal.captured")
+            .description("Orders taken into the local journal while the database was unavailable")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Check whether orders should currently go to the journal.
+     *
+     * @return true if journaling is enabled and the database is unhealthy
+     */
+    public boolean isActive() {
+        return enabled && !databaseHealth.isHealthy();
+    }
+
+    /**
+     * Validate an order against the catalog snapshot and the stock allowance,
+     * and append it to the journal.
+     *
+     * @param userId the ordering user
+     * @param shippingAddress shipping address
+     * @param contactNumber contact number, may be null
+     * @param orderNotes order notes, may be null
+     * @param quantities quantity per product
+     * @return the journaled order, with its provisional ID
+     */
+    public synchronized JournaledOrder capture(UUID userId, String shippingAddress, String contactNumber,
+                                              String orderNotes, Map<UUID, Integer> quantities) {
+        CatalogSnapshot snapshot = catalogSnapshotIndex.getSnapshot();
+        if (snapshot == null) {
+            throw new IllegalStateException("Orders cannot be taken while the database is unavailable");
+        }
+
+        List<JournaledOrder.Line> lines = new ArrayList<>(quantities.size());
+        for (Map.Entry<UUID, Integer> entry : quantities.entrySet()) {
+            UUID productId = entry.getKey();
+            int ordinal = productOrdinals.get(productId);
+            if (!snapshot.contains(ordinal)) {
+                throw new ResourceNotFoundException("Product", "id", productId);
+            }
+
+            int allowance = (int) (snapshot.quantity(ordinal) * stockAllowance) - claimed.getOrDefault(productId, 0);
+            if (entry.getValue() > allowance) {
+                throw new IllegalStateException("Insufficient stock for product " + productId +
+                                                " while orders are taken offline. Available: " + Math.max(0, allowance) +
+                                                ", Requested: " + entry.getValue());
+            }
+            lines.add(new JournaledOrder.Line(productId, entry.getValue(),
+                BigDecimal.valueOf(snapshot.priceCents(ordinal), 2)));
+        }
+
+        JournaledOrder order = new JournaledOrder(UuidV7.next(), userId, LocalDateTime.now(), shippingAddress,
+            contactNumber, orderNotes, lines);
+        journal.append(order);
+        claim(order, 1);
+        captured.increment();
+        logger.info("Journaled order {} for user {} while the database is unavailable", order.getProvisionalId(), userId);
+        return order;
+    }
+
+    /**
+     * Release the stock claimed by a journaled order once it has been replayed.
+     *
+     * @param order the replayed order
+     */
+    public void release(JournaledOrder order) {
+        claim(order, -1);
+    }
+
+    private void claim(JournaledOrder order, int sign) {
+        for (JournaledOrder.Line line : order.getLines()) {
+            claimed.merge(line.getProductId(), sign * line.getQuantity(),
+                (current, delta) -> current + delta == 0 ? null : current + delta);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.grocerystore.journal;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * An order captured in the local order journal while the database was
+ * unavailable, waiting to be replayed into the orders table. Prices are
+ * the ones quoted to the customer at capture time.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+public final class JournaledOrder {
+
+    private final UUID provisionalId;
+    private final UUID userId;
+    private final LocalDateTime capturedAt;
+    private final String shippingAddress;
+    private final String contactNumber;
+    private final String orderNotes;
+    private final List<Line> lines;
+
+    public JournaledOrder(UUID provisionalId, UUID userId, LocalDateTime capturedAt, String shippingAddress,
+                          String contactNumber, String orderNotes, List<Line> lines) {
+        this.provisionalId = provisionalId;
+        this.userId = userId;
+        this.capturedAt = capturedAt;
+        this.shippingAddress = shippingAddress;
+        this.contactNumber = contactNumber;
+        this.orderNotes = orderNotes;
+        this.lines = List.copyOf(lines);
+    }
+
+    public UUID getProvisionalId() {
+        return provisionalId;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public LocalDateTime getCapturedAt() {
+        return capturedAt;
+    }
+
+    public String getShippingAddress() {
+        return shippingAddress;
+    }
+
+    public String getContactNumber() {
+        return contactNumber;
+    }
+
+    public String getOrderNotes() {
+        return orderNotes;
+    }
+
+    public List<Line> getLines() {
+        return lines;
+    }
+
+    /**
+     * Get the order total at the quoted prices.
+     *
+     * @return total amount
+     */
+    public BigDecimal getTotalAmount() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (Line line : lines) {
+            total = total.add(line.getPrice().multiply(BigDecimal.valueOf(line.getQuantity())));
+        }
+        return total;
+    }
+
+    /**
+     * One product line of a journaled order.
+     */
+    public static final class Line {
+
+        private final UUID productId;
+        private final int quantity;
+        private final BigDecimal price;
+
+        public Line(UUID productId, int quantity, BigDecimal price) {
+            this.productId = productId;
+            this.quantity = quantity;
+            this.price = price;
+        }
+
+        public UUID getProductId() {
+            return productId;
+        }
+
+        public int getQuantity() {
+            return quantity;
+        }
+
+        public BigDecimal getPrice() {
+            return price;
+        }
+    }
+}
@@ -0,0 +1,333 @@
+package com.grocerystore.journal;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only, memory-mapped journal of orders captured while the database
+ * is unavailable. The file is preallocated to a fixed capacity. Layout:
+ * <pre>
+ * header   magic, version, replayed-up-to offset
+ * records  [payload length][CRC32C of payload][payload] ...
+ * </pre>
+ * An append is forced to disk before it returns, so an order is only
+ * acknowledged once it is durable. On open the records are scanned up to
+ * the first zero length or checksum mismatch; a torn record at the tail
+ * was never acknowledged and is discarded. Records before the replayed-up-to
+ * offset have been applied; once every record has been, the journal is
+ * cleared and reused from the start. An entry that cannot be replayed is
+ * copied to a dead-letter file next to the journal ({@code .failed}, same
+ * record layout without the header) before the journal moves past it.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+@Component
+public class OrderJournal {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderJournal.class);
+
+    private static final int MAGIC = 0x47534F4A;
+    private static final short VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+    private static final int APPLIED_OFFSET_AT = 8;
+    private static final int RECORD_HEADER_BYTES = 8;
+
+    private final Path path;
+    private final Path deadLetterPath;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+
+    private final Deque<Entry> pending = new ArrayDeque<>();
+    private int writePosition;
+
+    public OrderJournal(MeterRegistry meterRegistry,
+                        @Value("${orders.journal.path:data/order-journal/orders.journal}") String path,
+                        @Value("${orders.journal.capacity-mb:16}") int capacityMb) {
+        this.path = Paths.get(path);
+        this.deadLetterPath = Paths.get(path + ".failed");
+        try {
+            Files.createDirectories(this.path.toAbsolutePath().getParent());
+            try (FileChannel channel = FileChannel.open(this.path, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                // An existing journal keeps its size so no record is cut off
+                long size = Math.max(channel.size(), (long) capacityMb * 1024 * 1024);
+                this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                this.capacity = Math.toIntExact(size);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open order journal " + this.path, e);
+        }
+
+        if (buffer.getInt(0) == 0) {
+            buffer.putInt(0, MAGIC);
+            buffer.putShort(4, VERSION);
+            buffer.putLong(APPLIED_OFFSET_AT, HEADER_BYTES);
+            buffer.force(0, HEADER_BYTES);
+        } else if (buffer.getInt(0) != MAGIC || buffer.getShort(4) != VERSION) {
+            throw new IllegalStateException("Not an order journal: " + this.path);
+        }
+        recover();
+
+        Gauge.builder("orders.journal.pending", this, OrderJournal::pendingCount)
+            .description("Journaled orders waiting to be replayed into the database")
+            .register(meterRegistry);
+        Gauge.builder("orders.journal.used.bytes", this, OrderJournal::usedBytes)
+            .description("Bytes of the order journal in use")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Append an order and force it to disk.
+     *
+     * @param order the order to journal
+     * @throws IllegalStateException if the journal is full
+     */
+    public synchronized void append(JournaledOrder order) {
+        byte[] payload = encode(order);
+        int recordLength = RECORD_HEADER_BYTES + payload.length;
+        if (writePosition + recordLength > capacity) {
+            throw new IllegalStateException("Order journal is full; orders cannot be taken until the database recovers");
+        }
+
+        int at = writePosition;
+        buffer.put(at + RECORD_HEADER_BYTES, payload);
+        buffer.putInt(at + 4, checksum(payload));
+        buffer.putInt(at, payload.length);
+        buffer.force(at, recordLength);
+
+        writePosition += recordLength;
+        pending.addLast(new Entry(order, writePosition));
+    }
+
+    /**
+     * Get the orders waiting to be replayed, oldest first.
+     *
+     * @return pending orders
+     */
+    public synchronized List<JournaledOrder> getPending() {
+        List<JournaledOrder> orders = new ArrayList<>(pending.size());
+        pending.forEach(entry -> orders.add(entry.order));
+        return orders;
+    }
+
+    /**
+     * Record that the oldest pending order has been replayed.
+     * Clears the journal once nothing is left to replay.
+     *
+     * @param order the replayed order, which must be the oldest pending one
+     */
+    public synchronized void markReplayed(JournaledOrder order) {
+        Entry head = pending.peekFirst();
+        if (head == null || !head.order.getProvisionalId().equals(order.getProvisionalId())) {
+            throw new IllegalStateException("Journal entries must be replayed in order");
+        }
+        pending.removeFirst();
+
+        if (pending.isEmpty()) {
+            // Zero the records so a later scan stops where new appends end
+            clear(HEADER_BYTES, writePosition);
+            writePosition = HEADER_BYTES;
+            buffer.putLong(APPLIED_OFFSET_AT, HEADER_BYTES);
+        } else {
+            buffer.putLong(APPLIED_OFFSET_AT, head.end);
+        }
+        buffer.force(APPLIED_OFFSET_AT, Long.BYTES);
+    }
+
+    /**
+     * Copy the oldest pending order to the dead-letter file and move past it.
+     * Used for an entry that keeps failing to replay, so it does not hold up
+     * the ones behind it.
+     *
+     * @param order the failed order, which must be the oldest pending one
+     */
+    public synchronized void deadLetter(JournaledOrder order) {
+        byte[] payload = encode(order);
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_BYTES + payload.length);
+        record.putInt(payload.length).putInt(checksum(payload)).put(payload).flip();
+        try (FileChannel channel = FileChannel.open(deadLetterPath, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            while (record.hasRemaining()) {
+                channel.write(record);
+            }
+            channel.force(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write order journal dead-letter file " + deadLetterPath, e);
+        }
+        markReplayed(order);
+    }
+
+    public Path getDeadLetterPath() {
+        return deadLetterPath;
+    }
+
+    public synchronized int pendingCount() {
+        return pending.size();
+    }
+
+    public synchronized int usedBytes() {
+        return writePosition - HEADER_BYTES;
+    }
+
+    public int getCapacity() {
+        return capacity - HEADER_BYTES;
+    }
+
+    private void recover() {
+        long appliedOffset = buffer.getLong(APPLIED_OFFSET_AT);
+        int at = HEADER_BYTES;
+        while (at + RECORD_HEADER_BYTES <= capacity) {
+            int length = buffer.getInt(at);
+            if (length <= 0 || at + RECORD_HEADER_BYTES + length > capacity) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            buffer.get(at + RECORD_HEADER_BYTES, payload);
+            if (checksum(payload) != buffer.getInt(at + 4)) {
+                logger.warn("Discarding torn record at offset {} of order journal {}", at, path);
+                clear(at, at + RECORD_HEADER_BYTES + length);
+                break;
+            }
+            at += RECORD_HEADER_BYTES + length;
+            if (at > appliedOffset) {
+                pending.addLast(new Entry(decode(payload), at));
+            }
+        }
+        writePosition = at;
+        if (!pending.isEmpty()) {
+            logger.warn("Order journal {} has {} orders waiting to be replayed", path, pending.size());
+        }
+    }
+
+    private void clear(int from, int to) {
+        int at = from;
+        for (; at + Long.BYTES <= to; at += Long.BYTES) {
+            buffer.putLong(at, 0L);
+        }
+        for (; at < to; at++) {
+            buffer.put(at, (byte) 0);
+        }
+        buffer.force(from, to - from);
+    }
+
+    private static int checksum(byte[] payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private static byte[] encode(JournaledOrder order) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writeUuid(out, order.getProvisionalId());
+            writeUuid(out, order.getUserId());
+            out.writeLong(order.getCapturedAt().toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(order.getCapturedAt().getNano());
+            byte[] address = order.getShippingAddress().getBytes(StandardCharsets.UTF_8);
+            out.writeInt(address.length);
+            out.write(address);
+            out.writeInt(order.getLines().size());
+            for (JournaledOrder.Line line : order.getLines()) {
+                writeUuid(out, line.getProductId());
+                out.writeInt(line.getQuantity());
+                out.writeLong(line.getPrice().setScale(2).unscaledValue().longValueExact());
+            }
+            // Appended after the lines so records written before they existed still decode
+            writeNullableString(out, order.getContactNumber());
+            writeNullableString(out, order.getOrderNotes());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static JournaledOrder decode(byte[] payload) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            UUID provisionalId = readUuid(in);
+            UUID userId = readUuid(in);
+            LocalDateTime capturedAt = LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+            byte[] address = new byte[in.readInt()];
+            in.readFully(address);
+            int lineCount = in.readInt();
+            List<JournaledOrder.Line> lines = new ArrayList<>(lineCount);
+            for (int i = 0; i < lineCount; i++) {
+                lines.add(new JournaledOrder.Line(readUuid(in), in.readInt(), BigDecimal.valueOf(in.readLong(), 2)));
+            }
+            String contactNumber = in.available() > 0 ? readNullableString(in) : null;
+            String orderNotes = in.available() > 0 ? readNullableString(in) : null;
+            return new JournaledOrder(provisionalId, userId, capturedAt, new String(address, StandardCharsets.UTF_8),
+                contactNumber, orderNotes, lines);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeUuid(DataOutputStream out, UUID id) throws IOException {
+        out.writeLong(id.getMostSignificantBits());
+        out.writeLong(id.getLeastSignificantBits());
+    }
+
+    private static UUID readUuid(DataInputStream in) throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+
+    private static void writeNullableString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readNullableString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static final class Entry {
+        private final JournaledOrder order;
+        // Offset just past the record
+        private final int end;
+
+        private Entry(JournaledOrder order, int end) {
+            this.order = order;
+            this.end = end;
+        }
+    }
+}
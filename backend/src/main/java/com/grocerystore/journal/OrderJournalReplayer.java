@@ -0,0 +1,266 @@
+package com.grocerystore.journal;
+
+import com.grocerystore.dto.order.OrderJournalConflictResponse;
+import com.grocerystore.dto.order.OrderJournalStatusResponse;
+import com.grocerystore.entity.Order;
+import com.grocerystore.entity.OrderItem;
+import com.grocerystore.entity.OrderJournalReplay;
+import com.grocerystore.entity.OrderStatus;
+import com.grocerystore.entity.Product;
+import com.grocerystore.entity.User;
+import com.grocerystore.event.ProductChangedEvent;
+import com.grocerystore.repository.OrderJournalReplayRepository;
+import com.grocerystore.repository.OrderRepository;
+import com.grocerystore.repository.ProductRepository;
+import com.grocerystore.repository.UserRepository;
+import com.grocerystore.service.StockHoldService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Replays journaled orders into the database once it is healthy again.
+ * <p>
+ * Entries are applied one transaction each, strictly in journal order, and
+ * the journal only moves past an entry after its transaction commits. Each
+ * transaction also records the outcome under the entry's provisional ID, so
+ * an entry replayed again after a crash is recognised and skipped. Stock is
+ * reconciled against the live product rows: stock the customer held is
+ * converted as at checkout and the rest is deducted. When a product is gone
+ * or no longer has the stock, the entry is recorded as a conflict instead
+ * of creating an order, and listed for admins. An entry whose replay keeps
+ * failing for any other reason is moved to the journal's dead-letter file
+ * after {@code orders.journal.max-replay-attempts} attempts, and replay
+ * carries on with the entries behind it.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+@Component
+public class OrderJournalReplayer {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderJournalReplayer.class);
+
+    private static final int RECENT_CONFLICTS = 50;
+
+    private final OrderJournal journal;
+    private final DegradedOrderCapture capture;
+    private final DatabaseHealthMonitor databaseHealth;
+    private final OrderJournalReplayRepository replayRepository;
+    private final OrderRepository orderRepository;
+    private final ProductRepository productRepository;
+    private final UserRepository userRepository;
+    private final StockHoldService stockHoldService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transaction;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final int maxAttempts;
+    // Failed replay attempts per provisional ID, for entries not yet replayed or dead-lettered
+    private final Map<UUID, Integer> failedAttempts = new HashMap<>();
+
+    private final Counter applied;
+    private final Counter conflicts;
+    private final Counter failed;
+
+    public OrderJournalReplayer(OrderJournal journal,
+                                DegradedOrderCapture capture,
+                                DatabaseHealthMonitor databaseHealth,
+                                OrderJournalReplayRepository replayRepository,
+                                OrderRepository orderRepository,
+                                ProductRepository productRepository,
+                                UserRepository userRepository,
+                                StockHoldService stockHoldService,
+                                ApplicationEventPublisher eventPublisher,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry,
+                                @Value("${orders.journal.max-replay-attempts:5}") int maxAttempts) {
+        this.journal = journal;
+        this.capture = capture;
+        this.databaseHealth = databaseHealth;
+        this.replayRepository = replayRepository;
+        this.orderRepository = orderRepository;
+        this.productRepository = productRepository;
+        this.userRepository = userRepository;
+        this.stockHoldService = stockHoldService;
+        this.eventPublisher = eventPublisher;
+        this.maxAttempts = Math.max(1, maxAttempts);
+
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        this.applied = Counter.builder("orders.journal.replayed")
+            .tag("outcome", "applied")
+            .description("Journaled orders replayed into the database, by outcome")
+            .register(meterRegistry);
+        this.conflicts = Counter.builder("orders.journal.replayed")
+            .tag("outcome", "conflict")
+            .description("Journaled orders replayed into the database, by outcome")
+            .register(meterRegistry);
+        this.failed = Counter.builder("orders.journal.replayed")
+            .tag("outcome", "failed")
+            .description("Journaled orders replayed into the database, by outcome")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Replay pending journal entries while the database is healthy.
+     */
+    @Scheduled(fixedDelayString = "${orders.journal.replay-millis:2000}")
+    public synchronized void replayPending() {
+        if (journal.pendingCount() == 0 || !databaseHealth.isHealthy()) {
+            return;
+        }
+
+        int replayed = 0;
+        for (JournaledOrder order : journal.getPending()) {
+            try {
+                replay(order);
+            } catch (RuntimeException e) {
+                if (DatabaseHealthMonitor.isConnectivityFailure(e)) {
+                    databaseHealth.reportFailure(e);
+                    break;
+                }
+                int attempt = failedAttempts.merge(order.getProvisionalId(), 1, Integer::sum);
+                if (attempt < maxAttempts) {
+                    logger.warn("Replay of journaled order {} failed (attempt {} of {}); will retry: {}",
+                        order.getProvisionalId(), attempt, maxAttempts, e.getMessage());
+                    break;
+                }
+                // Give up on this entry so it does not hold up the ones behind it
+                journal.deadLetter(order);
+                capture.release(order);
+                failedAttempts.remove(order.getProvisionalId());
+                failed.increment();
+                logger.error("Replay of journaled order {} of user {} failed {} times; moved it to {}",
+                    order.getProvisionalId(), order.getUserId(), attempt, journal.getDeadLetterPath(), e);
+                continue;
+            }
+            failedAttempts.remove(order.getProvisionalId());
+            journal.markReplayed(order);
+            capture.release(order);
+            replayed++;
+        }
+        if (replayed > 0) {
+            logger.info("Replayed {} journaled orders, {} still pending", replayed, journal.pendingCount());
+        }
+    }
+
+    /**
+     * Get the journal's state and the most recent replay conflicts.
+     *
+     * @return journal status
+     */
+    public OrderJournalStatusResponse getStatus() {
+        OrderJournalStatusResponse status = new OrderJournalStatusResponse();
+        status.setDatabaseHealthy(databaseHealth.isHealthy());
+        status.setCapturing(capture.isActive());
+        status.setPendingOrders(journal.pendingCount());
+        status.setUsedBytes(journal.usedBytes());
+        status.setCapacityBytes(journal.getCapacity());
+        status.setRecentConflicts(!status.isDatabaseHealthy() ? List.of() : readOnlyTransaction.execute(tx ->
+            replayRepository.findByOutcomeOrderByReplayedAtDesc(OrderJournalReplay.Outcome.CONFLICT,
+                    PageRequest.of(0, RECENT_CONFLICTS)).stream()
+                .map(OrderJournalConflictResponse::fromReplay)
+                .collect(Collectors.toList())));
+        return status;
+    }
+
+    private void replay(JournaledOrder order) {
+        try {
+            transaction.executeWithoutResult(status -> apply(order));
+        } catch (ReplayConflict conflict) {
+            transaction.executeWithoutResult(status -> {
+                if (!replayRepository.existsById(order.getProvisionalId())) {
+                    OrderJournalReplay replay = new OrderJournalReplay(order.getProvisionalId(), order.getUserId(),
+                        order.getCapturedAt(), OrderJournalReplay.Outcome.CONFLICT);
+                    replay.setDetail(conflict.getMessage());
+                    replayRepository.save(replay);
+                }
+            });
+            conflicts.increment();
+            logger.warn("Journaled order {} of user {} conflicts and was not created: {}",
+                order.getProvisionalId(), order.getUserId(), conflict.getMessage());
+        }
+    }
+
+    private void apply(JournaledOrder order) {
+        if (replayRepository.existsById(order.getProvisionalId())) {
+            // Committed before a crash, but the journal had not moved past it yet
+            return;
+        }
+
+        User user = userRepository.findById(order.getUserId())
+            .orElseThrow(() -> new ReplayConflict("Customer " + order.getUserId() + " no longer exists"));
+
+        Order created = new Order();
+        created.setUser(user);
+        created.setOrderDate(order.getCapturedAt());
+        created.setStatus(OrderStatus.PENDING);
+        created.setShippingAddress(order.getShippingAddress());
+        created.setContactNumber(order.getContactNumber());
+        created.setOrderNotes(order.getOrderNotes());
+        created.setTotalAmount(order.getTotalAmount());
+
+        // Lock products in a fixed order so concurrent checkouts cannot deadlock with the replay
+        List<JournaledOrder.Line> lines = new ArrayList<>(order.getLines());
+        lines.sort(Comparator.comparing(JournaledOrder.Line::getProductId));
+        List<Product> changed = new ArrayList<>(lines.size());
+        for (JournaledOrder.Line line : lines) {
+            Product product = productRepository.findByIdForUpdate(line.getProductId())
+                .orElseThrow(() -> new ReplayConflict("Product " + line.getProductId() + " no longer exists"));
+
+            int fromStock = line.getQuantity() - stockHoldService.convertHold(order.getUserId(), product, line.getQuantity());
+            if (!product.hasStock(fromStock)) {
+                throw new ReplayConflict("Insufficient stock for product: " + product.getName() +
+                                         ". Available: " + product.getQuantity() +
+                                         ", Requested: " + fromStock);
+            }
+            product.setQuantity(product.getQuantity() - fromStock);
+            changed.add(product);
+
+            created.addOrderItem(new OrderItem(created, product, line.getQuantity(), line.getPrice()));
+        }
+
+        Order saved = orderRepository.save(created);
+        for (Product product : changed) {
+            productRepository.save(product);
+            eventPublisher.publishEvent(new ProductChangedEvent(product.getId(), ProductChangedEvent.ChangeType.STOCK_CHANGED,
+                product.getQuantity(), product.getPrice()));
+        }
+
+        OrderJournalReplay replay = new OrderJournalReplay(order.getProvisionalId(), order.getUserId(),
+            order.getCapturedAt(), OrderJournalReplay.Outcome.APPLIED);
+        replay.setOrderId(saved.getId());
+        replayRepository.save(replay);
+        applied.increment();
+    }
+
+    /**
+     * A journal entry that cannot be turned into an order.
+     */
+    private static final class ReplayConflict extends RuntimeException {
+        private ReplayConflict(String message) {
+            super(message);
+        }
+    }
+}
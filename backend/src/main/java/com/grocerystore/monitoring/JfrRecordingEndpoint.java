@@ -0,0 +1,167 @@
+package com.grocerystore.monitoring;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Actuator endpoint for on-demand Java Flight Recorder recordings.
+ * POST /actuator/jfr starts a time-boxed recording with the low-overhead
+ * "default" JFR settings plus the application events, DELETE stops it early,
+ * GET reports its state and GET /actuator/jfr/{file} downloads the result.
+ * Only one recording runs at a time. Access is restricted to admins by
+ * SecurityConfig.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+@Component
+@Endpoint(id = "jfr")
+public class JfrRecordingEndpoint {
+
+    private static final Logger logger = LoggerFactory.getLogger(JfrRecordingEndpoint.class);
+
+    private static final String SETTINGS = "default";
+
+    @Value("${monitoring.jfr.default-duration-seconds:60}")
+    private long defaultDurationSeconds;
+
+    @Value("${monitoring.jfr.max-duration-seconds:900}")
+    private long maxDurationSeconds;
+
+    private Recording recording;
+    private Path recordingFile;
+    private Instant startedAt;
+
+    /**
+     * Get the state of the current or last recording.
+     *
+     * @return recording status
+     */
+    @ReadOperation
+    public synchronized Map<String, Object> status() {
+        return describe();
+    }
+
+    /**
+     * Start a time-boxed recording.
+     *
+     * @param durationSeconds recording length, capped by monitoring.jfr.max-duration-seconds
+     * @return recording status
+     */
+    @WriteOperation
+    public synchronized Map<String, Object> start(@Nullable Long durationSeconds) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new IllegalStateException("A JFR recording is already running");
+        }
+
+        long seconds = durationSeconds != null && durationSeconds > 0 ? durationSeconds : defaultDurationSeconds;
+        Duration duration = Duration.ofSeconds(Math.min(seconds, maxDurationSeconds));
+
+        try {
+            discardPrevious();
+
+            Recording newRecording = new Recording(Configuration.getConfiguration(SETTINGS));
+            newRecording.setName("grocery-store-" + System.currentTimeMillis());
+            newRecording.enable(OrderPlacementEvent.class);
+            newRecording.enable(ProductSearchEvent.class);
+            newRecording.enable(JwtAuthenticationEvent.class);
+            newRecording.setToDisk(true);
+            newRecording.setDuration(duration);
+
+            recordingFile = Files.createTempFile(newRecording.getName() + "-", ".jfr");
+            newRecording.setDestination(recordingFile);
+            newRecording.start();
+
+            recording = newRecording;
+            startedAt = Instant.now();
+            logger.info("Started JFR recording {} for {}", newRecording.getName(), duration);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ParseException e) {
+            throw new IllegalStateException("Invalid JFR settings: " + SETTINGS, e);
+        }
+
+        return describe();
+    }
+
+    /**
+     * Stop the running recording before its duration elapses.
+     *
+     * @return recording status
+     */
+    @DeleteOperation
+    public synchronized Map<String, Object> stop() {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+            logger.info("Stopped JFR recording {}", recording.getName());
+        }
+        return describe();
+    }
+
+    /**
+     * Download a finished recording.
+     *
+     * @param file recording file name as reported by the status operation
+     * @return recording file
+     */
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized WebEndpointResponse<Resource> download(@Selector String file) {
+        if (recording == null || recordingFile == null || !recordingFile.getFileName().toString().equals(file)) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        if (recording.getState() != RecordingState.STOPPED && recording.getState() != RecordingState.CLOSED) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_TOO_MANY_REQUESTS);
+        }
+        return new WebEndpointResponse<>(new FileSystemResource(recordingFile));
+    }
+
+    private void discardPrevious() throws IOException {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+        if (recordingFile != null) {
+            Files.deleteIfExists(recordingFile);
+            recordingFile = null;
+        }
+    }
+
+    private Map<String, Object> describe() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        if (recording == null) {
+            status.put("state", "NONE");
+            return status;
+        }
+        status.put("name", recording.getName());
+        status.put("state", recording.getState().name());
+        status.put("settings", SETTINGS);
+        status.put("startedAt", startedAt.toString());
+        status.put("duration", recording.getDuration() != null ? recording.getDuration().toString() : null);
+        status.put("file", recordingFile.getFileName().toString());
+        return status;
+    }
+}
@@ -0,0 +1,28 @@
+package com.grocerystore.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event emitted for every request processed by the JWT authentication filter.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+@Name("com.grocerystore.JwtAuthentication")
+@Label("JWT Authentication")
+@Category({"Grocery Store", "Security"})
+@Description("Token validation and user lookup in the JWT filter")
+@StackTrace(false)
+public class JwtAuthenticationEvent extends Event {
+
+    @Label("Token Present")
+    public boolean tokenPresent;
+
+    @Label("Authenticated")
+    public boolean authenticated;
+}
@@ -0,0 +1,39 @@
+package com.grocerystore.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event emitted for every order placement attempt.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+@Name("com.grocerystore.OrderPlacement")
+@Label("Order Placement")
+@Category({"Grocery Store", "Orders"})
+@Description("Order creation including stock checks and repository calls")
+@StackTrace(false)
+public class OrderPlacementEvent extends Event {
+
+    @Label("Item Count")
+    public int itemCount;
+
+    @Label("Stock Check Time")
+    @Description("Time spent loading products and checking available stock")
+    @Timespan(Timespan.NANOSECONDS)
+    public long stockCheckTime;
+
+    @Label("Database Time")
+    @Description("Time spent in repository calls; statements flushed at commit are not included")
+    @Timespan(Timespan.NANOSECONDS)
+    public long databaseTime;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
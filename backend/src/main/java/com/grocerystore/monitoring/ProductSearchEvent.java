@@ -0,0 +1,28 @@
+package com.grocerystore.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event emitted for every product search.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+@Name("com.grocerystore.ProductSearch")
+@Label("Product Search")
+@Category({"Grocery Store", "Catalog"})
+@Description("Product search by name or description")
+@StackTrace(false)
+public class ProductSearchEvent extends Event {
+
+    @Label("Term Length")
+    public int termLength;
+
+    @Label("Result Count")
+    public long resultCount;
+}
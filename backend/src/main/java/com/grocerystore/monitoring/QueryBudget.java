@@ -0,0 +1,30 @@
+package com.grocerystore.monitoring;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the maximum number of SQL statements a controller method is
+ * expected to issue per request. Requests over budget are logged and counted
+ * by {@link RequestQueryStatisticsFilter}. Methods without the annotation use
+ * the monitoring.query-budget.default-statements property.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface QueryBudget {
+
+    /**
+     * Maximum number of SQL statements per request. 0 is a valid budget for
+     * endpoints that must be served without touching the database.
+     *
+     * @return statement budget, not negative
+     */
+    int statements();
+}
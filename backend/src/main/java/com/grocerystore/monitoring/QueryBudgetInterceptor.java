@@ -0,0 +1,28 @@
+package com.grocerystore.monitoring;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Copies the {@link QueryBudget} of the resolved controller method into the
+ * statistics of the current request.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+public class QueryBudgetInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestQueryStatistics statistics = RequestQueryStatistics.current();
+        if (statistics != null && handler instanceof HandlerMethod handlerMethod) {
+            QueryBudget budget = handlerMethod.getMethodAnnotation(QueryBudget.class);
+            if (budget != null) {
+                statistics.setStatementBudget(budget.statements());
+            }
+        }
+        return true;
+    }
+}
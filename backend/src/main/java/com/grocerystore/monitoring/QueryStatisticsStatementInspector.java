@@ -0,0 +1,22 @@
+package com.grocerystore.monitoring;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Statement inspector that counts the SQL statements prepared for the current request.
+ * The SQL is returned unchanged.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+public class QueryStatisticsStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        RequestQueryStatistics statistics = RequestQueryStatistics.current();
+        if (statistics != null) {
+            statistics.recordStatement(sql);
+        }
+        return sql;
+    }
+}
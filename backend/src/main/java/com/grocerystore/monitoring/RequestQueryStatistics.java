@@ -0,0 +1,189 @@
+package com.grocerystore.monitoring;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Per-request counters of Hibernate work.
+ * Bound to the request thread by {@link RequestQueryStatisticsFilter} and
+ * fed by the statement inspector and the Hibernate event listeners.
+ * Scopes nest: work recorded in an inner scope is also counted by the
+ * enclosing ones, which lets {@code QueryCountScope} in the test sources
+ * observe whole requests. Work done on other threads (async tasks) is not
+ * attributed to the request.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+public final class RequestQueryStatistics {
+
+    /**
+     * Statement budget of a request whose endpoint declares none; the default applies.
+     */
+    public static final int NO_BUDGET = -1;
+
+    private static final ThreadLocal<RequestQueryStatistics> CURRENT = new ThreadLocal<>();
+
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+    private static final String APPLICATION_PACKAGE = "com.grocerystore.";
+    private static final String MONITORING_PACKAGE = "com.grocerystore.monitoring.";
+
+    private final RequestQueryStatistics parent;
+
+    private int statements;
+    private int entityLoads;
+    private int collectionFetches;
+    private int statementBudget = NO_BUDGET;
+
+    private final Map<String, StatementCount> statementCounts = new HashMap<>();
+
+    private RequestQueryStatistics(RequestQueryStatistics parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * Start collecting statistics for the current thread.
+     *
+     * @return statistics bound to the current thread
+     */
+    public static RequestQueryStatistics begin() {
+        RequestQueryStatistics statistics = new RequestQueryStatistics(CURRENT.get());
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    /**
+     * Get the statistics bound to the current thread.
+     *
+     * @return current statistics, or null outside of a tracked request
+     */
+    public static RequestQueryStatistics current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Stop collecting statistics for the current thread and restore the enclosing scope.
+     */
+    public static void end() {
+        RequestQueryStatistics statistics = CURRENT.get();
+        if (statistics == null || statistics.parent == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(statistics.parent);
+        }
+    }
+
+    void recordStatement(String sql) {
+        statements++;
+
+        StatementCount count = statementCounts.computeIfAbsent(sql, StatementCount::new);
+        count.executions++;
+        // Only repeated statements are interesting, so only they pay for the stack walk
+        if (count.executions == 2 && count.origin == null) {
+            count.origin = findOrigin();
+        }
+
+        if (parent != null) {
+            parent.recordStatement(sql);
+        }
+    }
+
+    void recordEntityLoad() {
+        entityLoads++;
+        if (parent != null) {
+            parent.recordEntityLoad();
+        }
+    }
+
+    void recordCollectionFetch() {
+        collectionFetches++;
+        if (parent != null) {
+            parent.recordCollectionFetch();
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public int getEntityLoads() {
+        return entityLoads;
+    }
+
+    public int getCollectionFetches() {
+        return collectionFetches;
+    }
+
+    /**
+     * Get the statement budget declared for the handling endpoint.
+     *
+     * @return statement budget, or {@link #NO_BUDGET} if the endpoint declares none
+     */
+    public int getStatementBudget() {
+        return statementBudget;
+    }
+
+    public void setStatementBudget(int statementBudget) {
+        this.statementBudget = statementBudget;
+    }
+
+    /**
+     * Get statements issued at least the given number of times.
+     *
+     * @param threshold minimum number of executions
+     * @return repeated statements, most frequent first
+     */
+    public List<StatementCount> getRepeatedStatements(int threshold) {
+        List<StatementCount> repeated = new ArrayList<>();
+        for (StatementCount count : statementCounts.values()) {
+            if (count.executions >= threshold) {
+                repeated.add(count);
+            }
+        }
+        repeated.sort((a, b) -> Integer.compare(b.executions, a.executions));
+        return repeated;
+    }
+
+    private static String findOrigin() {
+        Optional<StackWalker.StackFrame> frame = STACK_WALKER.walk(frames -> frames
+            .filter(f -> f.getClassName().startsWith(APPLICATION_PACKAGE))
+            .filter(f -> !f.getClassName().startsWith(MONITORING_PACKAGE))
+            .findFirst());
+        return frame.map(f -> f.getClassName() + "." + f.getMethodName() + ":" + f.getLineNumber())
+            .orElse("unknown");
+    }
+
+    @Override
+    public String toString() {
+        return "RequestQueryStatistics{" +
+                "statements=" + statements +
+                ", entityLoads=" + entityLoads +
+                ", collectionFetches=" + collectionFetches +
+                '}';
+    }
+
+    /**
+     * Execution count of one distinct SQL statement within a scope.
+     */
+    public static class StatementCount {
+        private final String sql;
+        private int executions;
+        private String origin;
+
+        StatementCount(String sql) {
+            this.sql = sql;
+        }
+
+        public String getSql() { return sql; }
+        public int getExecutions() { return executions; }
+        public String getOrigin() { return origin; }
+
+        @Override
+        public String toString() {
+            return executions + "x from " + origin + ": " + sql;
+        }
+    }
+}
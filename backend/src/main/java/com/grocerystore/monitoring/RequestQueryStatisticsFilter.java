@@ -0,0 +1,97 @@
+package com.grocerystore.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Tracks Hibernate work per HTTP request and records it as distribution
+ * summaries tagged by HTTP method and URI pattern:
+ * hibernate.request.statements, hibernate.request.entity.loads and
+ * hibernate.request.collection.fetches.
+ * Requests that exceed their statement budget ({@link QueryBudget} or the
+ * default) or repeat the same statement, the usual N+1 signature, are
+ * logged with the originating frame and counted.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+public class RequestQueryStatisticsFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestQueryStatisticsFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final int defaultStatementBudget;
+    private final int repeatThreshold;
+
+    public RequestQueryStatisticsFilter(MeterRegistry meterRegistry, int defaultStatementBudget, int repeatThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.defaultStatementBudget = defaultStatementBudget;
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        RequestQueryStatistics statistics = RequestQueryStatistics.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestQueryStatistics.end();
+            record(request, statistics);
+        }
+    }
+
+    private void record(HttpServletRequest request, RequestQueryStatistics statistics) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+
+        summary("hibernate.request.statements", "SQL statements per request", method, uri)
+            .record(statistics.getStatements());
+        summary("hibernate.request.entity.loads", "Entities loaded per request", method, uri)
+            .record(statistics.getEntityLoads());
+        summary("hibernate.request.collection.fetches", "Lazy collections fetched per request", method, uri)
+            .record(statistics.getCollectionFetches());
+
+        logger.debug("{} {}: {}", method, uri, statistics);
+
+        // A declared budget of 0 is a real limit: the endpoint must not touch the database
+        int budget = statistics.getStatementBudget() != RequestQueryStatistics.NO_BUDGET
+            ? statistics.getStatementBudget() : defaultStatementBudget;
+        if (statistics.getStatements() > budget) {
+            logger.warn("Query budget exceeded for {} {}: {} statements (budget {})",
+                method, uri, statistics.getStatements(), budget);
+            meterRegistry.counter("hibernate.request.budget.exceeded", "method", method, "uri", uri).increment();
+        }
+
+        List<RequestQueryStatistics.StatementCount> repeated = statistics.getRepeatedStatements(repeatThreshold);
+        for (RequestQueryStatistics.StatementCount count : repeated) {
+            logger.warn("Possible N+1 in {} {}: statement issued {} times, first repeat from {}: {}",
+                method, uri, count.getExecutions(), count.getOrigin(), count.getSql());
+        }
+        if (!repeated.isEmpty()) {
+            meterRegistry.counter("hibernate.request.repeated.statements", "method", method, "uri", uri).increment();
+        }
+    }
+
+    private DistributionSummary summary(String name, String description, String method, String uri) {
+        return DistributionSummary.builder(name)
+            .description(description)
+            .tag("method", method)
+            .tag("uri", uri)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,210 @@
+package com.grocerystore.partition;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Maintains the monthly range partitions of orders and order_items.
+ * Partitions for the current month and the configured number of months
+ * ahead are created before orders arrive for them, and partitions older
+ * than the retention period are detached once the order archiver has
+ * emptied them. A partition that still holds orders stays attached, and
+ * with archiving disabled nothing is detached, so no order ever drops out
+ * of order queries without being in the archive. A detached partition is
+ * kept as a standalone (empty) table, e.g. orders_p2021_01.
+ * <p>
+ * order_items references orders on (id, order_date), so its partition for a
+ * month is detached first and loses that foreign key, which a detached table
+ * would otherwise keep and use to block detaching the orders partition.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+@Component
+public class OrderPartitionManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderPartitionManager.class);
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    // Created in V7__partition_orders_by_month.sql
+    private static final String ORDER_ITEMS_ORDER_FK = "fk_order_items_order";
+
+    private static final String PARTITIONS_OF =
+        "SELECT c.relname FROM pg_inherits i " +
+        "JOIN pg_class c ON c.oid = i.inhrelid " +
+        "JOIN pg_class p ON p.oid = i.inhparent " +
+        "WHERE p.relname = ? AND p.relnamespace = current_schema()::regnamespace";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final boolean archiveEnabled;
+
+    private volatile int attachedPartitions;
+
+    public OrderPartitionManager(JdbcTemplate jdbcTemplate,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${orders.partitions.enabled:true}") boolean enabled,
+                                 @Value("${orders.partitions.months-ahead:3}") int monthsAhead,
+                                 @Value("${orders.partitions.retention-months:36}") int retentionMonths,
+                                 @Value("${orders.archive.enabled:false}") boolean archiveEnabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.monthsAhead = Math.max(1, monthsAhead);
+        this.retentionMonths = retentionMonths;
+        this.archiveEnabled = archiveEnabled;
+
+        Gauge.builder("orders.partitions", this, manager -> manager.attachedPartitions)
+            .description("Monthly partitions attached to the orders table")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Bring partitions up to date once the application is up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        maintain();
+    }
+
+    /**
+     * Daily partition maintenance.
+     */
+    @Scheduled(cron = "${orders.partitions.maintenance-cron:0 15 2 * * *}")
+    public void scheduledMaintenance() {
+        maintain();
+    }
+
+    /**
+     * Create upcoming monthly partitions and detach the ones past retention
+     * that the archiver has emptied.
+     */
+    public synchronized void maintain() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            if (!isPartitioned("orders")) {
+                logger.info("orders is not a partitioned table, skipping partition maintenance");
+                return;
+            }
+
+            YearMonth current = YearMonth.now();
+            for (int i = 0; i <= monthsAhead; i++) {
+                createPartition("orders", current.plusMonths(i));
+                createPartition("order_items", current.plusMonths(i));
+            }
+
+            // Without the archiver, old orders live only in their partitions
+            if (retentionMonths > 0 && archiveEnabled) {
+                YearMonth oldestKept = current.minusMonths(retentionMonths);
+                for (String partition : partitionsOf("orders")) {
+                    Optional<YearMonth> month = monthOf("orders", partition);
+                    if (month.isPresent() && month.get().isBefore(oldestKept)) {
+                        if (hasRows(partition)) {
+                            logger.warn("{} is past retention but still has orders the archiver has not moved, keeping it attached",
+                                partition);
+                            continue;
+                        }
+                        detachPartition("order_items", month.get());
+                        detachPartition("orders", month.get());
+                    }
+                }
+            }
+
+            attachedPartitions = partitionsOf("orders").size();
+            warnIfDefaultHasRows("orders");
+            warnIfDefaultHasRows("order_items");
+        } catch (DataAccessException e) {
+            logger.error("Order partition maintenance failed", e);
+        }
+    }
+
+    private boolean isPartitioned(String table) {
+        Boolean partitioned = jdbcTemplate.queryForObject(
+            "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table pt JOIN pg_class c ON c.oid = pt.partrelid " +
+            "WHERE c.relname = ? AND c.relnamespace = current_schema()::regnamespace)",
+            Boolean.class, table);
+        return Boolean.TRUE.equals(partitioned);
+    }
+
+    private List<String> partitionsOf(String table) {
+        return jdbcTemplate.queryForList(PARTITIONS_OF, String.class, table);
+    }
+
+    private void createPartition(String table, YearMonth month) {
+        // IF NOT EXISTS also skips a month whose detached table is still around
+        try {
+            jdbcTemplate.execute(String.format(
+                "CREATE TABLE IF NOT EXISTS %s PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')",
+                partitionName(table, month), table, month.atDay(1), month.plusMonths(1).atDay(1)));
+        } catch (DataAccessException e) {
+            // Typically rows for this month already landed in the default partition
+            logger.warn("Could not create partition {} of {}: {}", partitionName(table, month), table,
+                e.getMostSpecificCause().getMessage());
+        }
+    }
+
+    private void detachPartition(String table, YearMonth month) {
+        String partition = partitionName(table, month);
+        if (partitionsOf(table).contains(partition)) {
+            jdbcTemplate.execute(String.format("ALTER TABLE %s DETACH PARTITION %s", table, partition));
+            logger.info("Detached partition {} from {}", partition, table);
+        }
+        // Also covers a partition detached by an earlier run that failed before dropping the key
+        if (table.equals("order_items")) {
+            jdbcTemplate.execute(String.format("ALTER TABLE IF EXISTS %s DROP CONSTRAINT IF EXISTS %s",
+                partition, ORDER_ITEMS_ORDER_FK));
+        }
+    }
+
+    private void warnIfDefaultHasRows(String table) {
+        String defaultPartition = table + "_default";
+        if (!partitionsOf(table).contains(defaultPartition)) {
+            return;
+        }
+        if (hasRows(defaultPartition)) {
+            logger.warn("{} has rows; their months have no partition and are not pruned", defaultPartition);
+        }
+    }
+
+    private boolean hasRows(String table) {
+        Boolean hasRows = jdbcTemplate.queryForObject(
+            String.format("SELECT EXISTS (SELECT 1 FROM %s)", table), Boolean.class);
+        return Boolean.TRUE.equals(hasRows);
+    }
+
+    private static String partitionName(String table, YearMonth month) {
+        return table + "_p" + month.format(SUFFIX);
+    }
+
+    private static Optional<YearMonth> monthOf(String table, String partition) {
+        String prefix = table + "_p";
+        if (!partition.startsWith(prefix)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(YearMonth.parse(partition.substring(prefix.length()), SUFFIX));
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+}
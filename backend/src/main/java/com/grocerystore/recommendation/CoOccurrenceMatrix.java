@@ -0,0 +1,111 @@
+package com.grocerystore.recommendation;
+
+import java.util.Arrays;
+
+/**
+ * Sparse, symmetric product-by-product co-occurrence counts.
+ * Row i holds, for every product j bought together with product i, the
+ * number of completed orders containing both. Rows are indexed by product
+ * ordinal and stored as {@link IntIntHashMap}s, so there is no boxing per
+ * cell. Not thread-safe; callers serialize writes.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+public class CoOccurrenceMatrix {
+
+    private IntIntHashMap[] rows = new IntIntHashMap[1024];
+
+    /**
+     * Count one basket: every distinct pair of products in it co-occurs once more.
+     *
+     * @param ordinals product ordinals in the basket, duplicates allowed
+     * @param delta +1 to add the basket, -1 to remove it
+     * @return distinct ordinals whose rows changed
+     */
+    public int[] addBasket(int[] ordinals, int delta) {
+        int[] basket = distinct(ordinals);
+        for (int i = 0; i < basket.length; i++) {
+            for (int j = i + 1; j < basket.length; j++) {
+                row(basket[i]).addTo(basket[j], delta);
+                row(basket[j]).addTo(basket[i], delta);
+            }
+        }
+        return basket;
+    }
+
+    /**
+     * Add all counts from another matrix.
+     *
+     * @param other matrix to merge in
+     */
+    public void merge(CoOccurrenceMatrix other) {
+        for (int ordinal = 0; ordinal < other.rows.length; ordinal++) {
+            IntIntHashMap source = other.rows[ordinal];
+            if (source != null) {
+                IntIntHashMap target = row(ordinal);
+                source.forEach(target::addTo);
+            }
+        }
+    }
+
+    /**
+     * Get the products most often bought with a product, best first.
+     *
+     * @param ordinal product ordinal
+     * @param k maximum number of neighbors
+     * @return neighbor ordinals
+     */
+    public int[] topNeighbors(int ordinal, int k) {
+        IntIntHashMap row = ordinal < rows.length ? rows[ordinal] : null;
+        if (row == null || row.size() == 0) {
+            return new int[0];
+        }
+
+        // Pack (count, ordinal) into one long so a primitive sort orders by count
+        long[] packed = new long[row.size()];
+        int[] index = {0};
+        row.forEach((neighbor, count) -> packed[index[0]++] = ((long) count << 32) | neighbor);
+        Arrays.sort(packed);
+
+        int n = Math.min(k, packed.length);
+        int[] neighbors = new int[n];
+        for (int i = 0; i < n; i++) {
+            neighbors[i] = (int) packed[packed.length - 1 - i];
+        }
+        return neighbors;
+    }
+
+    /**
+     * Get the highest ordinal that may have a row, exclusive.
+     *
+     * @return row capacity
+     */
+    public int capacity() {
+        return rows.length;
+    }
+
+    private IntIntHashMap row(int ordinal) {
+        if (ordinal >= rows.length) {
+            rows = Arrays.copyOf(rows, Math.max(rows.length * 2, ordinal + 1));
+        }
+        IntIntHashMap row = rows[ordinal];
+        if (row == null) {
+            row = new IntIntHashMap();
+            rows[ordinal] = row;
+        }
+        return row;
+    }
+
+    private static int[] distinct(int[] ordinals) {
+        int[] sorted = ordinals.clone();
+        Arrays.sort(sorted);
+        int k = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (k == 0 || sorted[k - 1] != sorted[i]) {
+                sorted[k++] = sorted[i];
+            }
+        }
+        return Arrays.copyOf(sorted, k);
+    }
+}
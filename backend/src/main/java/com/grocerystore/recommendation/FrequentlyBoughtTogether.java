@@ -0,0 +1,452 @@
+package com.grocerystore.recommendation;
+
+import com.grocerystore.event.OrderStatusChangedEvent;
+import com.grocerystore.index.ProductOrdinals;
+import com.grocerystore.repository.OrderItemRepository;
+import com.grocerystore.repository.OrderRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Stream;
+
+/**
+ * "Frequently bought together" recommendations from order co-occurrence.
+ * Keeps a {@link CoOccurrenceMatrix} of completed orders, updated as orders
+ * complete (or leave COMPLETED), and a precomputed top-k neighbor list per
+ * product so reads are an array lookup.
+ * <p>
+ * A full rebuild streams completed orders in parallel chunks, each chunk
+ * covering an equal slice of the completed orders' date range in its own
+ * read-only transaction, so each chunk reads only its own order partitions.
+ * Order changes that arrive during the rebuild are replayed on the rebuilt
+ * matrix once all chunks finish. Each chunk reads in a repeatable-read
+ * transaction and, before it ends, asks its own snapshot which of the orders
+ * changed so far it counted; an order's replay is then the difference between
+ * its final state and the state its chunk saw, so a change is counted once
+ * whether it committed before or after the chunk's snapshot.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+@Component
+public class FrequentlyBoughtTogether {
+
+    private static final Logger logger = LoggerFactory.getLogger(FrequentlyBoughtTogether.class);
+
+    private static final int[] NONE = new int[0];
+
+    // Keeps the IN list of the snapshot check well below the bind parameter limit
+    private static final int SNAPSHOT_CHECK_BATCH = 1000;
+
+    private final OrderItemRepository orderItemRepository;
+    private final OrderRepository orderRepository;
+    private final ProductOrdinals productOrdinals;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate snapshotTransaction;
+
+    private final boolean enabled;
+    private final int topK;
+    private final int maxBasketSize;
+    private final int chunks;
+    private final int parallelism;
+
+    private CoOccurrenceMatrix matrix = new CoOccurrenceMatrix();
+    private volatile AtomicReferenceArray<int[]> neighbors = new AtomicReferenceArray<>(1024);
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final List<PendingChange> changedDuringRebuild = new ArrayList<>();
+
+    private final Timer rebuildTimer;
+
+    public FrequentlyBoughtTogether(OrderItemRepository orderItemRepository,
+                                    OrderRepository orderRepository,
+                                    ProductOrdinals productOrdinals,
+                                    PlatformTransactionManager transactionManager,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${recommendations.enabled:true}") boolean enabled,
+                                    @Value("${recommendations.top-k:20}") int topK,
+                                    @Value("${recommendations.max-basket-size:50}") int maxBasketSize,
+                                    @Value("${recommendations.rebuild-chunks:16}") int rebuildChunks,
+                                    @Value("${recommendations.rebuild-parallelism:4}") int parallelism) {
+        this.orderItemRepository = orderItemRepository;
+        this.orderRepository = orderRepository;
+        this.productOrdinals = productOrdinals;
+        this.enabled = enabled;
+        this.topK = topK;
+        this.maxBasketSize = maxBasketSize;
+        this.parallelism = Math.max(1, parallelism);
+
+        // Chunks split the completed orders' date range, not the order ID space: time-ordered IDs share their leading bits
+        this.chunks = Math.min(256, Math.max(1, rebuildChunks));
+
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // One snapshot for the chunk's stream and its check of changed orders
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setReadOnly(true);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+
+        this.rebuildTimer = Timer.builder("recommendations.rebuild")
+            .description("Full rebuild of the co-occurrence matrix")
+            .register(meterRegistry);
+        Gauge.builder("recommendations.products", this, engine -> engine.countProductsWithNeighbors())
+            .description("Products with at least one frequently-bought-together neighbor")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Get the products most often bought together with a product.
+     *
+     * @param productId product ID
+     * @param limit maximum number of products
+     * @return related product IDs, best first
+     */
+    public List<UUID> getRelated(UUID productId, int limit) {
+        int ordinal = productOrdinals.get(productId);
+        AtomicReferenceArray<int[]> current = neighbors;
+        if (ordinal == ProductOrdinals.UNKNOWN || ordinal >= current.length()) {
+            return Collections.emptyList();
+        }
+
+        int[] related = current.get(ordinal);
+        if (related == null) {
+            return Collections.emptyList();
+        }
+
+        int n = Math.min(limit, related.length);
+        List<UUID> productIds = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            productIds.add(productOrdinals.getProductId(related[i]));
+        }
+        return productIds;
+    }
+
+    /**
+     * Build the matrix once the application is up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Periodic full rebuild to correct drift from missed or replayed changes.
+     */
+    @Scheduled(cron = "${recommendations.rebuild-cron:0 30 3 * * *}")
+    public void scheduledRebuild() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Rebuild the matrix from all completed orders.
+     */
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            logger.info("Co-occurrence rebuild already running");
+            return;
+        }
+
+        // Orders changed during the rebuild, mapped to whether their chunk's snapshot counted them
+        Map<UUID, Boolean> countedInSnapshot = new ConcurrentHashMap<>();
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(parallelism, chunks));
+        try {
+            rebuildTimer.record(() -> {
+                LocalDateTime[] bounds = chunkBounds();
+                List<Callable<CoOccurrenceMatrix>> tasks = new ArrayList<>(chunks);
+                for (int chunk = 0; bounds != null && chunk < chunks; chunk++) {
+                    int c = chunk;
+                    tasks.add(() -> readChunk(bounds, c, countedInSnapshot));
+                }
+
+                CoOccurrenceMatrix built = new CoOccurrenceMatrix();
+                try {
+                    for (Future<CoOccurrenceMatrix> partial : pool.invokeAll(tasks)) {
+                        built.merge(partial.get());
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Co-occurrence rebuild interrupted", e);
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Co-occurrence rebuild failed", e.getCause());
+                }
+
+                synchronized (this) {
+                    replayChanges(built, bounds, countedInSnapshot);
+                    changedDuringRebuild.clear();
+                    matrix = built;
+
+                    AtomicReferenceArray<int[]> rebuilt = new AtomicReferenceArray<>(built.capacity());
+                    for (int ordinal = 0; ordinal < built.capacity(); ordinal++) {
+                        int[] top = built.topNeighbors(ordinal, topK);
+                        if (top.length > 0) {
+                            rebuilt.set(ordinal, top);
+                        }
+                    }
+                    neighbors = rebuilt;
+                }
+            });
+
+            logger.info("Co-occurrence matrix rebuilt: {} products with neighbors", countProductsWithNeighbors());
+        } catch (RuntimeException e) {
+            logger.error("Failed to rebuild co-occurrence matrix", e);
+        } finally {
+            pool.shutdownNow();
+            rebuilding.set(false);
+        }
+    }
+
+    /**
+     * Apply committed order completions and reversals.
+     *
+     * @param event order status changed event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        if (!enabled || !(event.isCompletion() || event.isCompletionReverted())) {
+            return;
+        }
+        if (event.getProductIds().size() < 2 || event.getProductIds().size() > maxBasketSize) {
+            return;
+        }
+
+        int[] ordinals = new int[event.getProductIds().size()];
+        for (int i = 0; i < ordinals.length; i++) {
+            ordinals[i] = productOrdinals.getOrAssign(event.getProductIds().get(i));
+        }
+        int delta = event.isCompletion() ? 1 : -1;
+
+        synchronized (this) {
+            if (rebuilding.get()) {
+                changedDuringRebuild.add(new PendingChange(event.getOrderId(), event.getOrderDate(), ordinals, delta));
+            }
+
+            int[] touched = matrix.addBasket(ordinals, delta);
+            AtomicReferenceArray<int[]> current = ensureCapacity(matrix.capacity());
+            for (int ordinal : touched) {
+                int[] top = matrix.topNeighbors(ordinal, topK);
+                current.set(ordinal, top.length > 0 ? top : null);
+            }
+        }
+    }
+
+    /**
+     * Split the completed orders' date range into equal chunks.
+     *
+     * @return chunks + 1 boundaries, or null if there are no completed orders
+     */
+    private LocalDateTime[] chunkBounds() {
+        Object[] range = readOnlyTransaction.execute(status -> orderRepository.findCompletedOrderDateRange().get(0));
+        if (range == null || range[0] == null) {
+            return null;
+        }
+
+        LocalDateTime earliest = (LocalDateTime) range[0];
+        // One second past the newest order keeps it inside the last, half-open chunk
+        LocalDateTime end = ((LocalDateTime) range[1]).plusSeconds(1);
+        long span = Duration.between(earliest, end).toMillis();
+
+        LocalDateTime[] bounds = new LocalDateTime[chunks + 1];
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            bounds[chunk] = earliest.plus(Duration.ofMillis(span * chunk / chunks));
+        }
+        bounds[chunks] = end;
+        return bounds;
+    }
+
+    private CoOccurrenceMatrix readChunk(LocalDateTime[] bounds, int chunk, Map<UUID, Boolean> countedInSnapshot) {
+        LocalDateTime from = bounds[chunk];
+        LocalDateTime to = bounds[chunk + 1];
+        return snapshotTransaction.execute(status -> {
+            CoOccurrenceMatrix partial = new CoOccurrenceMatrix();
+
+            try (Stream<Object[]> rows = orderItemRepository.streamCompletedOrderProducts(from, to)) {
+                BasketAccumulator basket = new BasketAccumulator();
+                rows.forEach(row -> {
+                    UUID orderId = (UUID) row[0];
+                    if (!orderId.equals(basket.orderId)) {
+                        basket.flushInto(partial);
+                        basket.orderId = orderId;
+                    }
+                    basket.add(productOrdinals.getOrAssign((UUID) row[1]));
+                });
+                basket.flushInto(partial);
+            }
+
+            // Same snapshot as the stream above, so this is exactly what the chunk counted
+            List<UUID> changed = changedOrderIds(bounds, chunk);
+            for (int start = 0; start < changed.size(); start += SNAPSHOT_CHECK_BATCH) {
+                List<UUID> batch = changed.subList(start, Math.min(changed.size(), start + SNAPSHOT_CHECK_BATCH));
+                Set<UUID> completed = new HashSet<>(orderRepository.findCompletedOrderIds(batch, from, to));
+                batch.forEach(orderId -> countedInSnapshot.put(orderId, completed.contains(orderId)));
+            }
+            return partial;
+        });
+    }
+
+    private synchronized List<UUID> changedOrderIds(LocalDateTime[] bounds, int chunk) {
+        Set<UUID> orderIds = new LinkedHashSet<>();
+        for (PendingChange change : changedDuringRebuild) {
+            if (chunkOf(bounds, change.orderDate) == chunk) {
+                orderIds.add(change.orderId);
+            }
+        }
+        return new ArrayList<>(orderIds);
+    }
+
+    /**
+     * Bring each order changed during the rebuild from the state the rebuild
+     * counted to its latest state. Caller holds this object's lock.
+     */
+    private void replayChanges(CoOccurrenceMatrix built, LocalDateTime[] bounds, Map<UUID, Boolean> countedInSnapshot) {
+        Map<UUID, List<PendingChange>> changesByOrder = new LinkedHashMap<>();
+        for (PendingChange change : changedDuringRebuild) {
+            changesByOrder.computeIfAbsent(change.orderId, id -> new ArrayList<>()).add(change);
+        }
+
+        for (List<PendingChange> changes : changesByOrder.values()) {
+            PendingChange first = changes.get(0);
+            PendingChange last = changes.get(changes.size() - 1);
+            int latest = last.delta > 0 ? 1 : 0;
+
+            int counted;
+            Boolean inSnapshot = countedInSnapshot.get(first.orderId);
+            if (chunkOf(bounds, first.orderDate) < 0) {
+                // Outside every chunk's range, so no chunk read it
+                counted = 0;
+            } else if (inSnapshot != null) {
+                counted = inSnapshot ? 1 : 0;
+            } else {
+                // Its changes all arrived after its chunk checked; listeners run right after
+                // commit, so they committed after the chunk's snapshot
+                counted = first.delta > 0 ? 0 : 1;
+            }
+
+            if (latest != counted) {
+                built.addBasket(last.ordinals, latest - counted);
+            }
+        }
+    }
+
+    /**
+     * Find the chunk whose date range holds an order date.
+     *
+     * @return chunk index, or -1 if the date lies outside every chunk
+     */
+    private static int chunkOf(LocalDateTime[] bounds, LocalDateTime orderDate) {
+        if (bounds == null || orderDate == null
+                || orderDate.isBefore(bounds[0]) || !orderDate.isBefore(bounds[bounds.length - 1])) {
+            return -1;
+        }
+        int low = 0;
+        int high = bounds.length - 2;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (orderDate.isBefore(bounds[mid])) {
+                high = mid - 1;
+            } else {
+                low = mid;
+            }
+        }
+        return low;
+    }
+
+    private AtomicReferenceArray<int[]> ensureCapacity(int capacity) {
+        AtomicReferenceArray<int[]> current = neighbors;
+        if (current.length() >= capacity) {
+            return current;
+        }
+        AtomicReferenceArray<int[]> grown = new AtomicReferenceArray<>(capacity);
+        for (int i = 0; i < current.length(); i++) {
+            grown.set(i, current.get(i));
+        }
+        neighbors = grown;
+        return grown;
+    }
+
+    private int countProductsWithNeighbors() {
+        AtomicReferenceArray<int[]> current = neighbors;
+        int count = 0;
+        for (int i = 0; i < current.length(); i++) {
+            if (current.get(i) != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Collects one order's product ordinals while streaming rows grouped by order.
+     */
+    private class BasketAccumulator {
+        private UUID orderId;
+        private int[] ordinals = new int[16];
+        private int size;
+
+        void add(int ordinal) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+            }
+            ordinals[size++] = ordinal;
+        }
+
+        void flushInto(CoOccurrenceMatrix target) {
+            if (size >= 2 && size <= maxBasketSize) {
+                target.addBasket(Arrays.copyOf(ordinals, size), 1);
+            }
+            size = 0;
+        }
+    }
+
+    /**
+     * An order change applied to the live matrix while a rebuild was running.
+     */
+    private static class PendingChange {
+        private final UUID orderId;
+        private final LocalDateTime orderDate;
+        private final int[] ordinals;
+        private final int delta;
+
+        PendingChange(UUID orderId, LocalDateTime orderDate, int[] ordinals, int delta) {
+            this.orderId = orderId;
+            this.orderDate = orderDate;
+            this.ordinals = ordinals;
+            this.delta = delta;
+        }
+    }
+}
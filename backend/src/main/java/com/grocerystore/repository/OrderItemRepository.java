@@ -3,15 +3,24 @@ package com.grocerystore.repository;
 import com.grocerystore.entity.Order;
 import com.grocerystore.entity.OrderItem;
 import com.grocerystore.entity.Product;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 /**
  * Repository interface for OrderItem entity operations.
@@ -36,7 +45,8 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, UUID> {
      * @param orderId the order ID
      * @return list of order items for the order
      */
-    List<OrderItem> findByOrderId(UUID orderId);
+    @Query("SELECT oi FROM OrderItem oi WHERE oi.order.id = :orderId")
+    List<OrderItem> findByOrderId(@Param("orderId") UUID orderId);
 
     /**
      * Find order items by product.
@@ -52,7 +62,8 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, UUID> {
      * @param productId the product ID
      * @return list of order items for the product
      */
-    List<OrderItem> findByProductId(UUID productId);
+    @Query("SELECT oi FROM OrderItem oi WHERE oi.product.id = :productId")
+    List<OrderItem> findByProductId(@Param("productId") UUID productId);
 
     /**
      * Find order items by product with pagination.
@@ -185,4 +196,91 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, UUID> {
     @Query("SELECT DISTINCT oi.product FROM OrderItem oi " +
            "WHERE oi.order.user.id = :userId AND oi.order.status = 'COMPLETED'")
     List<Product> findProductsPurchasedByUser(@Param("userId") UUID userId);
+
+    /**
+     * Find IDs of products purchased by a user in completed orders.
+     * 
+     * @param userId the user ID
+     * @return distinct product IDs purchased by the user
+     */
+    @Query("SELECT DISTINCT oi.product.id FROM OrderItem oi " +
+           "WHERE oi.order.user.id = :userId AND oi.order.status = 'COMPLETED'")
+    List<UUID> findProductIdsPurchasedByUser(@Param("userId") UUID userId);
+
+    /**
+     * Stream distinct (user ID, product ID) pairs from completed orders, grouped by user.
+     * Must be consumed inside a transaction and closed afterwards.
+     * 
+     * @return stream of [userId, productId] rows
+     */
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "10000"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT DISTINCT oi.order.user.id, oi.product.id FROM OrderItem oi " +
+           "WHERE oi.order.status = 'COMPLETED' ORDER BY oi.order.user.id")
+    Stream<Object[]> streamCompletedPurchases();
+
+    /**
+     * Stream (order ID, product ID) rows of completed orders placed in a half-open date range,
+     * ordered by order so each basket is contiguous. The range prunes to the matching partitions.
+     * Must be consumed inside a transaction and closed afterwards.
+     * 
+     * @param fromDate start of the range, inclusive
+     * @param toDate end of the range, exclusive
+     * @return stream of [orderId, productId] rows
+     */
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "10000"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT oi.order.id, oi.product.id FROM OrderItem oi " +
+           "WHERE oi.order.status = 'COMPLETED' AND oi.orderDate >= :fromDate AND oi.orderDate < :toDate " +
+           "ORDER BY oi.order.id")
+    Stream<Object[]> streamCompletedOrderProducts(@Param("fromDate") LocalDateTime fromDate,
+                                                  @Param("toDate") LocalDateTime toDate);
+
+    /**
+     * Get (order ID, product ID) rows for the given orders without loading the items.
+     * The orders' date range restricts the scan to their partitions.
+     * 
+     * @param orderIds the order IDs
+     * @param fromDate earliest order date of the given orders
+     * @param toDate latest order date of the given orders
+     * @return list of [orderId, productId] rows
+     */
+    @Query("SELECT oi.order.id, oi.product.id FROM OrderItem oi " +
+           "WHERE oi.order.id IN :orderIds AND oi.orderDate BETWEEN :fromDate AND :toDate")
+    List<Object[]> findProductIdsByOrderIds(@Param("orderIds") Collection<UUID> orderIds,
+                                           @Param("fromDate") LocalDateTime fromDate,
+                                           @Param("toDate") LocalDateTime toDate);
+
+    /**
+     * Get the items of the given orders as scalar rows, for archiving.
+     * 
+     * @param orderIds the order IDs
+     * @param fromDate earliest order date of the given orders
+     * @param toDate latest order date of the given orders
+     * @return list of [orderId, id, productId, productName, quantity, price, createdAt] rows
+     */
+    @Query("SELECT oi.order.id, oi.id, oi.product.id, oi.product.name, oi.quantity, oi.price, oi.createdAt " +
+           "FROM OrderItem oi WHERE oi.order.id IN :orderIds AND oi.orderDate BETWEEN :fromDate AND :toDate " +
+           "ORDER BY oi.createdAt")
+    List<Object[]> findArchiveRows(@Param("orderIds") Collection<UUID> orderIds,
+                                   @Param("fromDate") LocalDateTime fromDate,
+                                   @Param("toDate") LocalDateTime toDate);
+
+    /**
+     * Delete the items of archived orders.
+     * 
+     * @param orderIds the order IDs
+     * @param fromDate earliest order date of the given orders
+     * @param toDate latest order date of the given orders
+     * @return number of items deleted
+     */
+    @Modifying
+    @Query("DELETE FROM OrderItem oi WHERE oi.order.id IN :orderIds AND oi.orderDate BETWEEN :fromDate AND :toDate")
+    int deleteByOrderIds(@Param("orderIds") Collection<UUID> orderIds,
+                         @Param("fromDate") LocalDateTime fromDate,
+                         @Param("toDate") LocalDateTime toDate);
 }
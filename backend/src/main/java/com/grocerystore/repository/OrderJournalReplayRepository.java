@@ -0,0 +1,40 @@
+package com.grocerystore.repository;
+
+import com.grocerystore.entity.OrderJournalReplay;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository interface for OrderJournalReplay entity operations.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+@Repository
+public interface OrderJournalReplayRepository extends JpaRepository<OrderJournalReplay, UUID> {
+
+    /**
+     * Find the ID of the order created from a journal entry.
+     *
+     * @param provisionalId the provisional order ID given to the customer
+     * @return the order ID, if the entry was applied
+     */
+    @Query("SELECT r.orderId FROM OrderJournalReplay r WHERE r.provisionalId = :provisionalId AND r.orderId IS NOT NULL")
+    Optional<UUID> findOrderIdByProvisionalId(@Param("provisionalId") UUID provisionalId);
+
+    /**
+     * Find replays with the given outcome, most recent first.
+     *
+     * @param outcome the outcome
+     * @param pageable pagination information
+     * @return list of replays
+     */
+    List<OrderJournalReplay> findByOutcomeOrderByReplayedAtDesc(OrderJournalReplay.Outcome outcome, Pageable pageable);
+}
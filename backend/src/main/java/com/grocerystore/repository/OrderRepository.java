@@ -6,12 +6,14 @@ import com.grocerystore.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -140,7 +142,7 @@ public interface OrderRepository extends JpaRepository<Order, UUID> {
      *
      * @return total revenue from completed orders
      */
-    @Query("SELECT COALESCE(SUM(o.totalAmount), 0) FROM Order o WHERE o.status = 'DELIVERED'")
+    @Query("SELECT COALESCE(SUM(o.totalAmount), 0) FROM Order o WHERE o.status = 'COMPLETED'")
     BigDecimal getTotalRevenue();
 
     /**
@@ -148,7 +150,7 @@ public interface OrderRepository extends JpaRepository<Order, UUID> {
      *
      * @return total revenue from completed orders
      */
-    @Query("SELECT COALESCE(SUM(o.totalAmount), 0) FROM Order o WHERE o.status = 'DELIVERED'")
+    @Query("SELECT COALESCE(SUM(o.totalAmount), 0) FROM Order o WHERE o.status = 'COMPLETED'")
     BigDecimal calculateTotalRevenue();
 
     /**
@@ -197,6 +199,39 @@ public interface OrderRepository extends JpaRepository<Order, UUID> {
      */
     Page<Order> findByUserIdOrderByOrderDateDesc(UUID userId, Pageable pageable);
 
+    /**
+     * Count orders placed in a half-open date range.
+     * A plain range on order_date lets PostgreSQL prune to the matching partitions.
+     *
+     * @param start start of the range, inclusive
+     * @param end end of the range, exclusive
+     * @return count of orders in the range
+     */
+    @Query("SELECT COUNT(o) FROM Order o WHERE o.orderDate >= :start AND o.orderDate < :end")
+    long countByOrderDateRange(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    /**
+     * Find which of the given orders are completed, within an order date range.
+     *
+     * @param ids the order IDs
+     * @param fromDate start of the range, inclusive
+     * @param toDate end of the range, exclusive
+     * @return IDs of the completed orders among them
+     */
+    @Query("SELECT o.id FROM Order o WHERE o.id IN :ids AND o.status = 'COMPLETED' " +
+           "AND o.orderDate >= :fromDate AND o.orderDate < :toDate")
+    List<UUID> findCompletedOrderIds(@Param("ids") Collection<UUID> ids,
+                                     @Param("fromDate") LocalDateTime fromDate,
+                                     @Param("toDate") LocalDateTime toDate);
+
+    /**
+     * Find the order dates of the oldest and newest completed orders.
+     *
+     * @return list holding one [earliest, latest] row; both null if there are no completed orders
+     */
+    @Query("SELECT MIN(o.orderDate), MAX(o.orderDate) FROM Order o WHERE o.status = 'COMPLETED'")
+    List<Object[]> findCompletedOrderDateRange();
+
     /**
      * Get monthly order statistics.
      *
@@ -204,9 +239,10 @@ public interface OrderRepository extends JpaRepository<Order, UUID> {
      * @param month the month (1-12)
      * @return count of orders for the specified month
      */
-    @Query("SELECT COUNT(o) FROM Order o " +
-           "WHERE YEAR(o.orderDate) = :year AND MONTH(o.orderDate) = :month")
-    long getMonthlyOrderCount(@Param("year") int year, @Param("month") int month);
+    default long getMonthlyOrderCount(int year, int month) {
+        LocalDateTime start = LocalDateTime.of(year, month, 1, 0, 0);
+        return countByOrderDateRange(start, start.plusMonths(1));
+    }
 
     /**
      * Get daily order statistics.
@@ -214,8 +250,10 @@ public interface OrderRepository extends JpaRepository<Order, UUID> {
      * @param date the date
      * @return count of orders for the specified date
      */
-    @Query("SELECT COUNT(o) FROM Order o WHERE DATE(o.orderDate) = DATE(:date)")
-    long getDailyOrderCount(@Param("date") LocalDateTime date);
+    default long getDailyOrderCount(LocalDateTime date) {
+        LocalDateTime start = date.toLocalDate().atStartOfDay();
+        return countByOrderDateRange(start, start.plusDays(1));
+    }
 
     /**
      * Find top customers by order count.
@@ -239,4 +277,73 @@ public interface OrderRepository extends JpaRepository<Order, UUID> {
            "GROUP BY o.user " +
            "ORDER BY SUM(o.totalAmount) DESC")
     Page<User> findTopCustomersBySpending(Pageable pageable);
+
+    /**
+     * Lock the given orders' rows, in ID order, for a status transition.
+     * 
+     * @param ids the order IDs
+     * @return IDs of the orders that exist
+     */
+    @Query(value = "SELECT id FROM orders WHERE id IN (:ids) ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<UUID> lockForStatusUpdate(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Get (order ID, user ID, status, order date) rows for the given orders without loading them.
+     * 
+     * @param ids the order IDs
+     * @return list of [orderId, userId, status, orderDate] rows
+     */
+    @Query("SELECT o.id, o.user.id, o.status, o.orderDate FROM Order o WHERE o.id IN :ids")
+    List<Object[]> findStatusRows(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Move orders to a status in one statement, stamping the delivery date
+     * when they are completed.
+     * 
+     * @param ids the order IDs
+     * @param status the new status
+     * @param now the update time
+     * @return number of orders updated
+     */
+    @Modifying
+    @Query("UPDATE Order o SET o.status = :status, o.updatedAt = :now, " +
+           "o.actualDeliveryDate = CASE WHEN :status = com.grocerystore.entity.OrderStatus.COMPLETED " +
+           "THEN :now ELSE o.actualDeliveryDate END " +
+           "WHERE o.id IN :ids")
+    int updateStatus(@Param("ids") Collection<UUID> ids,
+                     @Param("status") OrderStatus status,
+                     @Param("now") LocalDateTime now);
+
+    /**
+     * Get the oldest finished orders placed before a cutoff as scalar rows, for archiving.
+     * 
+     * @param statuses final statuses eligible for archiving
+     * @param cutoff orders placed before this date are eligible
+     * @param pageable batch size
+     * @return list of [id, userId, orderDate, status, totalAmount, shippingAddress, contactNumber, orderNotes, createdAt, updatedAt, actualDeliveryDate] rows
+     */
+    @Query("SELECT o.id, o.user.id, o.orderDate, o.status, o.totalAmount, o.shippingAddress, " +
+           "o.contactNumber, o.orderNotes, o.createdAt, o.updatedAt, o.actualDeliveryDate FROM Order o " +
+           "WHERE o.status IN :statuses AND o.orderDate < :cutoff ORDER BY o.orderDate")
+    List<Object[]> findArchiveRows(@Param("statuses") Collection<OrderStatus> statuses,
+                                   @Param("cutoff") LocalDateTime cutoff,
+                                   Pageable pageable);
+
+    /**
+     * Delete archived orders. The date range restricts the statement to their partitions
+     * and the status guard skips any order that changed since it was read.
+     * 
+     * @param ids the order IDs
+     * @param statuses final statuses eligible for archiving
+     * @param fromDate earliest order date of the given orders
+     * @param toDate latest order date of the given orders
+     * @return number of orders deleted
+     */
+    @Modifying
+    @Query("DELETE FROM Order o WHERE o.id IN :ids AND o.status IN :statuses " +
+           "AND o.orderDate BETWEEN :fromDate AND :toDate")
+    int deleteArchived(@Param("ids") Collection<UUID> ids,
+                       @Param("statuses") Collection<OrderStatus> statuses,
+                       @Param("fromDate") LocalDateTime fromDate,
+                       @Param("toDate") LocalDateTime toDate);
 }
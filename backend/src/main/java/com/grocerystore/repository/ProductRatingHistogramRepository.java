@@ -0,0 +1,53 @@
+package com.grocerystore.repository;
+
+import com.grocerystore.entity.ProductRatingHistogram;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository interface for ProductRatingHistogram entity operations.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+@Repository
+public interface ProductRatingHistogramRepository extends JpaRepository<ProductRatingHistogram, UUID> {
+
+    /**
+     * Find a product's histogram and lock it for an incremental update.
+     *
+     * @param productId the product ID
+     * @return optional locked histogram
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM ProductRatingHistogram h WHERE h.productId = :productId")
+    Optional<ProductRatingHistogram> findByIdForUpdate(@Param("productId") UUID productId);
+
+    /**
+     * Create a product's histogram from its reviews unless it already exists.
+     * Concurrent callers for the same product do not fail: all but the first
+     * wait for it to commit and then insert nothing.
+     *
+     * @param productId the product ID
+     * @return 1 if the histogram was created, 0 if it already existed
+     */
+    @Modifying
+    @Query(value = "INSERT INTO product_rating_histograms " +
+                   "(product_id, one_star, two_star, three_star, four_star, five_star, updated_at) " +
+                   "SELECT :productId, " +
+                   "COUNT(*) FILTER (WHERE r.rating = 1), COUNT(*) FILTER (WHERE r.rating = 2), " +
+                   "COUNT(*) FILTER (WHERE r.rating = 3), COUNT(*) FILTER (WHERE r.rating = 4), " +
+                   "COUNT(*) FILTER (WHERE r.rating = 5), CURRENT_TIMESTAMP " +
+                   "FROM reviews r WHERE r.product_id = :productId " +
+                   "ON CONFLICT (product_id) DO NOTHING",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("productId") UUID productId);
+}
@@ -1,17 +1,28 @@
 package com.grocerystore.repository;
 
 import com.grocerystore.entity.Product;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 /**
  * Repository interface for Product entity operations.
@@ -22,6 +33,22 @@ import java.util.UUID;
 @Repository
 public interface ProductRepository extends JpaRepository<Product, UUID> {
 
+    String CATALOG_ROW_SELECT = "SELECT p.id, p.price, p.quantity, p.createdAt, " +
+        "h.oneStar, h.twoStar, h.threeStar, h.fourStar, h.fiveStar " +
+        "FROM Product p LEFT JOIN ProductRatingHistogram h ON h.productId = p.id";
+
+    /**
+     * Find a product and lock its row for a stock change.
+     * Stock holds, hold expiry and order placement all take this lock, so a
+     * product's quantity and its holds change one transaction at a time.
+     *
+     * @param id the product ID
+     * @return the locked product, if it exists
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Product p WHERE p.id = :id")
+    Optional<Product> findByIdForUpdate(@Param("id") UUID id);
+
     /**
      * Search products by name containing the search term (case-insensitive).
      * 
@@ -55,6 +82,7 @@ public interface ProductRepository extends JpaRepository<Product, UUID> {
      * @param pageable pagination information
      * @return page of products in stock
      */
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     @Query("SELECT p FROM Product p WHERE p.quantity > 0")
     Page<Product> findInStockProducts(Pageable pageable);
 
@@ -114,11 +142,23 @@ public interface ProductRepository extends JpaRepository<Product, UUID> {
     @Query("SELECT p FROM Product p WHERE p.quantity < :threshold AND p.quantity > 0")
     List<Product> findLowStockProducts(@Param("threshold") int threshold);
 
+    /**
+     * Find the stock levels the low-stock monitor starts from: every product with
+     * its own reorder threshold, plus products below the default threshold.
+     * 
+     * @param defaultThreshold threshold for products without their own
+     * @return [id, quantity, reorderThreshold] rows
+     */
+    @Query("SELECT p.id, p.quantity, p.reorderThreshold FROM Product p " +
+           "WHERE p.reorderThreshold IS NOT NULL OR p.quantity < :defaultThreshold")
+    List<Object[]> findStockLevelsForLowStockMonitor(@Param("defaultThreshold") int defaultThreshold);
+
     /**
      * Count products that are in stock.
      * 
      * @return count of products in stock
      */
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     @Query("SELECT COUNT(p) FROM Product p WHERE p.quantity > 0")
     long countInStockProducts();
 
@@ -127,6 +167,7 @@ public interface ProductRepository extends JpaRepository<Product, UUID> {
      * 
      * @return count of products out of stock
      */
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     @Query("SELECT COUNT(p) FROM Product p WHERE p.quantity = 0")
     long countOutOfStockProducts();
 
@@ -136,6 +177,7 @@ public interface ProductRepository extends JpaRepository<Product, UUID> {
      * @param pageable pagination information
      * @return page of top-rated products
      */
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     @Query("SELECT p FROM Product p LEFT JOIN p.reviews r " +
            "GROUP BY p.id " +
            "ORDER BY AVG(COALESCE(r.rating, 0)) DESC")
@@ -147,6 +189,7 @@ public interface ProductRepository extends JpaRepository<Product, UUID> {
      * @param pageable pagination information
      * @return page of most reviewed products
      */
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     @Query("SELECT p FROM Product p LEFT JOIN p.reviews r " +
            "GROUP BY p.id " +
            "ORDER BY COUNT(r.id) DESC")
@@ -158,5 +201,28 @@ public interface ProductRepository extends JpaRepository<Product, UUID> {
      * @param pageable pagination information
      * @return page of recently added products
      */
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Page<Product> findByOrderByCreatedAtDesc(Pageable pageable);
+
+    /**
+     * Stream the browse columns of every product with its rating histogram.
+     * Must be consumed inside a transaction and closed afterwards.
+     * 
+     * @return stream of [id, price, quantity, createdAt, oneStar .. fiveStar] rows
+     */
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "10000"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query(CATALOG_ROW_SELECT)
+    Stream<Object[]> streamCatalogRows();
+
+    /**
+     * Find the browse columns of some products with their rating histograms.
+     * 
+     * @param ids product IDs
+     * @return [id, price, quantity, createdAt, oneStar .. fiveStar] rows of the products that exist
+     */
+    @Query(CATALOG_ROW_SELECT + " WHERE p.id IN :ids")
+    List<Object[]> findCatalogRows(@Param("ids") Collection<UUID> ids);
 }
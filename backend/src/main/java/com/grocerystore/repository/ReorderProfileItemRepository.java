@@ -0,0 +1,99 @@
+package com.grocerystore.repository;
+
+import com.grocerystore.entity.ReorderProfileItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository interface for ReorderProfileItem entity operations.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+@Repository
+public interface ReorderProfileItemRepository extends JpaRepository<ReorderProfileItem, UUID> {
+
+    /**
+     * Find a user's reorder profile.
+     *
+     * @param userId the user ID
+     * @return profile items for the user
+     */
+    List<ReorderProfileItem> findByUserId(UUID userId);
+
+    /**
+     * Populate the profile table from completed order history in one statement.
+     * Only meant for an empty table.
+     *
+     * @return number of rows inserted
+     */
+    @Modifying
+    @Query(value = "INSERT INTO reorder_profile_items " +
+                   "(id, user_id, product_id, purchase_count, first_purchased_at, last_purchased_at) " +
+                   "SELECT gen_random_uuid(), o.user_id, oi.product_id, COUNT(DISTINCT o.id), " +
+                   "MIN(o.order_date), MAX(o.order_date) " +
+                   "FROM order_items oi JOIN orders o ON o.id = oi.order_id " +
+                   "WHERE o.status = 'COMPLETED' " +
+                   "GROUP BY o.user_id, oi.product_id",
+           nativeQuery = true)
+    int backfillFromCompletedOrders();
+
+    /**
+     * Count one more purchase of each product in a single upsert, so
+     * concurrent completions for the same customer add up instead of
+     * overwriting each other. Rows are written in product ID order, so two
+     * such statements for one customer cannot deadlock.
+     *
+     * @param userId the user ID
+     * @param productIds the purchased product IDs
+     * @param purchasedAt the order date
+     * @return number of rows inserted or updated
+     */
+    @Modifying
+    @Query(value = "INSERT INTO reorder_profile_items " +
+                   "(id, user_id, product_id, purchase_count, first_purchased_at, last_purchased_at) " +
+                   "SELECT gen_random_uuid(), :userId, p.id, 1, :purchasedAt, :purchasedAt " +
+                   "FROM products p WHERE p.id IN (:productIds) ORDER BY p.id " +
+                   "ON CONFLICT (user_id, product_id) DO UPDATE SET " +
+                   "purchase_count = reorder_profile_items.purchase_count + 1, " +
+                   "first_purchased_at = LEAST(reorder_profile_items.first_purchased_at, EXCLUDED.first_purchased_at), " +
+                   "last_purchased_at = GREATEST(reorder_profile_items.last_purchased_at, EXCLUDED.last_purchased_at)",
+           nativeQuery = true)
+    int recordPurchases(@Param("userId") UUID userId,
+                        @Param("productIds") Collection<UUID> productIds,
+                        @Param("purchasedAt") LocalDateTime purchasedAt);
+
+    /**
+     * Take back one purchase of each product, never going below zero.
+     *
+     * @param userId the user ID
+     * @param productIds the product IDs of the reverted order
+     * @return number of rows updated
+     */
+    @Modifying
+    @Query(value = "UPDATE reorder_profile_items SET purchase_count = purchase_count - 1 " +
+                   "WHERE user_id = :userId AND product_id IN (:productIds) AND purchase_count > 0",
+           nativeQuery = true)
+    int revertPurchases(@Param("userId") UUID userId, @Param("productIds") Collection<UUID> productIds);
+
+    /**
+     * Remove the given products from a profile once no purchase is left.
+     *
+     * @param userId the user ID
+     * @param productIds the product IDs
+     * @return number of rows deleted
+     */
+    @Modifying
+    @Query(value = "DELETE FROM reorder_profile_items " +
+                   "WHERE user_id = :userId AND product_id IN (:productIds) AND purchase_count = 0",
+           nativeQuery = true)
+    int deleteEmptied(@Param("userId") UUID userId, @Param("productIds") Collection<UUID> productIds);
+}
@@ -3,9 +3,12 @@ package com.grocerystore.repository;
 import com.grocerystore.entity.Product;
 import com.grocerystore.entity.Review;
 import com.grocerystore.entity.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -46,7 +49,8 @@ public interface ReviewRepository extends JpaRepository<Review, UUID> {
      * @param productId the product ID
      * @return list of reviews for the product
      */
-    List<Review> findByProductId(UUID productId);
+    @Query("SELECT r FROM Review r WHERE r.product.id = :productId")
+    List<Review> findByProductId(@Param("productId") UUID productId);
 
     /**
      * Find reviews by product ID with pagination.
@@ -55,7 +59,8 @@ public interface ReviewRepository extends JpaRepository<Review, UUID> {
      * @param pageable pagination information
      * @return page of reviews for the product
      */
-    Page<Review> findByProductId(UUID productId, Pageable pageable);
+    @Query("SELECT r FROM Review r WHERE r.product.id = :productId")
+    Page<Review> findByProductId(@Param("productId") UUID productId, Pageable pageable);
 
     /**
      * Find reviews by user.
@@ -80,7 +85,8 @@ public interface ReviewRepository extends JpaRepository<Review, UUID> {
      * @param userId the user ID
      * @return list of reviews by the user
      */
-    List<Review> findByUserId(UUID userId);
+    @Query("SELECT r FROM Review r WHERE r.user.id = :userId")
+    List<Review> findByUserId(@Param("userId") UUID userId);
 
     /**
      * Find review by product and user (should be unique).
@@ -91,6 +97,26 @@ public interface ReviewRepository extends JpaRepository<Review, UUID> {
      */
     Optional<Review> findByProductAndUser(Product product, User user);
 
+    /**
+     * Get the product a review belongs to without loading the review.
+     *
+     * @param reviewId the review ID
+     * @return optional product ID
+     */
+    @Query("SELECT r.product.id FROM Review r WHERE r.id = :reviewId")
+    Optional<UUID> findProductIdById(@Param("reviewId") UUID reviewId);
+
+    /**
+     * Find a review and lock it for an update. Lock the product's rating
+     * histogram first, as every review write does.
+     *
+     * @param reviewId the review ID
+     * @return optional locked review
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Review r WHERE r.id = :reviewId")
+    Optional<Review> findByIdForUpdate(@Param("reviewId") UUID reviewId);
+
     /**
      * Find review by product ID and user ID.
      * 
@@ -98,7 +124,8 @@ public interface ReviewRepository extends JpaRepository<Review, UUID> {
      * @param userId the user ID
      * @return optional review by the user for the product
      */
-    Optional<Review> findByProductIdAndUserId(UUID productId, UUID userId);
+    @Query("SELECT r FROM Review r WHERE r.product.id = :productId AND r.user.id = :userId")
+    Optional<Review> findByProductIdAndUserId(@Param("productId") UUID productId, @Param("userId") UUID userId);
 
     /**
      * Check if a user has reviewed a specific product.
@@ -116,7 +143,8 @@ public interface ReviewRepository extends JpaRepository<Review, UUID> {
      * @param userId the user ID
      * @return true if the user has reviewed the product, false otherwise
      */
-    boolean existsByProductIdAndUserId(UUID productId, UUID userId);
+    @Query("SELECT COUNT(r) > 0 FROM Review r WHERE r.product.id = :productId AND r.user.id = :userId")
+    boolean existsByProductIdAndUserId(@Param("productId") UUID productId, @Param("userId") UUID userId);
 
     /**
      * Find reviews by rating.
@@ -218,14 +246,16 @@ public interface ReviewRepository extends JpaRepository<Review, UUID> {
      * @param pageable pagination information
      * @return page of reviews for the product ordered by date
      */
-    Page<Review> findByProductIdOrderByCreatedAtDesc(UUID productId, Pageable pageable);
+    @EntityGraph(attributePaths = {"user"})
+    @Query("SELECT r FROM Review r WHERE r.product.id = :productId ORDER BY r.createdAt DESC")
+    Page<Review> findByProductIdOrderByCreatedAtDesc(@Param("productId") UUID productId, Pageable pageable);
 
     /**
-     * Find reviews with comments (non-null and non-empty).
+     * Find reviews with comments (non-blank, see {@link Review#hasComment()}).
      * 
      * @return list of reviews with comments
      */
-    @Query("SELECT r FROM Review r WHERE r.comment IS NOT NULL AND TRIM(r.comment) != ''")
+    @Query("SELECT r FROM Review r WHERE r.hasComment = true")
     List<Review> findReviewsWithComments();
 
     /**
@@ -234,7 +264,7 @@ public interface ReviewRepository extends JpaRepository<Review, UUID> {
      * @param pageable pagination information
      * @return page of reviews with comments
      */
-    @Query("SELECT r FROM Review r WHERE r.comment IS NOT NULL AND TRIM(r.comment) != ''")
+    @Query("SELECT r FROM Review r WHERE r.hasComment = true")
     Page<Review> findReviewsWithComments(Pageable pageable);
 
     /**
@@ -243,11 +273,35 @@ public interface ReviewRepository extends JpaRepository<Review, UUID> {
      * @param product the product
      * @return list of reviews for the product with comments
      */
-    @Query("SELECT r FROM Review r WHERE r.product = :product AND r.comment IS NOT NULL AND TRIM(r.comment) != ''")
+    @Query("SELECT r FROM Review r WHERE r.product = :product AND r.hasComment = true")
     List<Review> findByProductWithComments(@Param("product") Product product);
 
+    /**
+     * Find reviews by product ID with comments, newest first, fetching the reviewer.
+     * 
+     * @param productId the product ID
+     * @param pageable pagination information
+     * @return page of reviews for the product with comments
+     */
+    @EntityGraph(attributePaths = {"user"})
+    @Query("SELECT r FROM Review r WHERE r.product.id = :productId AND r.hasComment = true ORDER BY r.createdAt DESC")
+    Page<Review> findByProductIdWithComments(@Param("productId") UUID productId, Pageable pageable);
+
+    /**
+     * Find reviews by user ID, newest first, fetching the reviewed product.
+     * 
+     * @param userId the user ID
+     * @param pageable pagination information
+     * @return page of reviews by the user
+     */
+    @EntityGraph(attributePaths = {"product"})
+    @Query("SELECT r FROM Review r WHERE r.user.id = :userId ORDER BY r.createdAt DESC")
+    Page<Review> findByUserIdOrderByCreatedAtDesc(@Param("userId") UUID userId, Pageable pageable);
+
     /**
      * Get rating distribution for a product.
+     * Aggregates over all of the product's reviews; only used to seed
+     * {@link com.grocerystore.entity.ProductRatingHistogram}, which serves reads.
      * 
      * @param productId the product ID
      * @return list of objects containing rating and count
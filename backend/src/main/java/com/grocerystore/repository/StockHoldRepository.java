@@ -0,0 +1,72 @@
+package com.grocerystore.repository;
+
+import com.grocerystore.entity.StockHold;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository interface for StockHold entity operations.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+@Repository
+public interface StockHoldRepository extends JpaRepository<StockHold, UUID> {
+
+    /**
+     * Find a user's holds, soonest to expire first.
+     *
+     * @param userId the user ID
+     * @return holds for the user
+     */
+    List<StockHold> findByUserIdOrderByExpiresAtAsc(UUID userId);
+
+    /**
+     * Find a user's hold on a product.
+     *
+     * @param userId the user ID
+     * @param productId the product ID
+     * @return the hold, if any
+     */
+    Optional<StockHold> findByUserIdAndProductId(UUID userId, UUID productId);
+
+    /**
+     * Find the product of a user's hold without loading the hold itself.
+     *
+     * @param id the hold ID
+     * @param userId the user ID
+     * @return the product ID, if the hold exists and belongs to the user
+     */
+    @Query("SELECT h.productId FROM StockHold h WHERE h.id = :id AND h.userId = :userId")
+    Optional<UUID> findProductIdByIdAndUserId(@Param("id") UUID id, @Param("userId") UUID userId);
+
+    /**
+     * Find the given holds of a product that have expired.
+     * Holds refreshed since they were scheduled are not returned.
+     *
+     * @param productId the product ID
+     * @param ids the hold IDs
+     * @param now the current time
+     * @return expired holds
+     */
+    @Query("SELECT h FROM StockHold h WHERE h.productId = :productId AND h.id IN :ids AND h.expiresAt <= :now")
+    List<StockHold> findExpired(@Param("productId") UUID productId,
+                                @Param("ids") Collection<UUID> ids,
+                                @Param("now") LocalDateTime now);
+
+    /**
+     * Get id, product id and expiry of every hold for scheduling expiry.
+     *
+     * @return rows of [id, productId, expiresAt]
+     */
+    @Query("SELECT h.id, h.productId, h.expiresAt FROM StockHold h")
+    List<Object[]> findAllExpirySchedules();
+}
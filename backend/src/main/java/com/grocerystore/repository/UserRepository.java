@@ -21,7 +21,7 @@ import java.util.UUID;
  * @version 1.0.0
  */
 @Repository
-public interface UserRepository extends JpaRepository<User, UUID> {
+public interface UserRepository extends JpaRepository<User, UUID>, UserRepositoryCustom {
 
     /**
      * Find user by email address.
@@ -39,6 +39,16 @@ public interface UserRepository extends JpaRepository<User, UUID> {
      */
     boolean existsByEmail(String email);
 
+    /**
+     * Check if user exists by email address, ignoring case.
+     * Uses the lower(email) index.
+     * 
+     * @param email the email address
+     * @return true if user exists, false otherwise
+     */
+    @Query("SELECT COUNT(u) > 0 FROM User u WHERE LOWER(u.email) = LOWER(:email)")
+    boolean existsByEmailIgnoreCase(@Param("email") String email);
+
     /**
      * Find users by role.
      * 
@@ -124,14 +134,33 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     List<User> findUsersWithReviews();
 
     /**
-     * Search users by email or full name containing the search term (case-insensitive).
+     * Search users by name, email or phone number, best matches first.
+     * Matches substrings of name and email, names within a typo of the term,
+     * and substrings of the phone number's digits. Every predicate is served
+     * by a pg_trgm GIN index (V10); the expressions must stay in sync with it.
+     * The pageable must be unsorted, as results are ordered by similarity.
      * 
-     * @param searchTerm the search term
+     * @param term the lower-cased search term
+     * @param pattern LIKE pattern for the term, with wildcards escaped
+     * @param phonePattern LIKE pattern for phone digits, or null if the term is not a phone number
      * @param pageable pagination information
      * @return page of users matching the search criteria
      */
-    @Query("SELECT u FROM User u WHERE " +
-           "LOWER(u.fullName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(u.email) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
-    Page<User> searchUsers(@Param("searchTerm") String searchTerm, Pageable pageable);
+    @Query(value = "SELECT u.* FROM users u WHERE " + USER_SEARCH_MATCH +
+                   "ORDER BY GREATEST(word_similarity(:term, LOWER(u.full_name)), " +
+                   "similarity(:term, LOWER(u.email)), " +
+                   "CASE WHEN REGEXP_REPLACE(u.contact_number, '[^0-9]', '', 'g') LIKE CAST(:phonePattern AS text) " +
+                   "THEN 1 ELSE 0 END) DESC, u.created_at DESC",
+           countQuery = "SELECT COUNT(*) FROM users u WHERE " + USER_SEARCH_MATCH,
+           nativeQuery = true)
+    Page<User> searchUsers(@Param("term") String term,
+                           @Param("pattern") String pattern,
+                           @Param("phonePattern") String phonePattern,
+                           Pageable pageable);
+
+    String USER_SEARCH_MATCH =
+        "(LOWER(u.full_name) LIKE :pattern " +
+        "OR LOWER(u.email) LIKE :pattern " +
+        "OR :term <% LOWER(u.full_name) " +
+        "OR REGEXP_REPLACE(u.contact_number, '[^0-9]', '', 'g') LIKE CAST(:phonePattern AS text)) ";
 }
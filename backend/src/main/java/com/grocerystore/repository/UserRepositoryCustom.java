@@ -0,0 +1,23 @@
+package com.grocerystore.repository;
+
+import com.grocerystore.entity.User;
+
+import java.util.Optional;
+
+/**
+ * Custom repository operations for User entity that go through the Hibernate session.
+ * 
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+public interface UserRepositoryCustom {
+
+    /**
+     * Find user by email using the natural-id API, so the lookup is served
+     * from the second-level cache instead of a query when possible.
+     * 
+     * @param email the email address
+     * @return optional user
+     */
+    Optional<User> findByNaturalEmail(String email);
+}
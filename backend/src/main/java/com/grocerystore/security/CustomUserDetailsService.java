@@ -42,7 +42,7 @@ public class CustomUserDetailsService implements UserDetailsService {
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         logger.debug("Loading user by username: {}", username);
         
-        User user = userRepository.findByEmail(username)
+        User user = userRepository.findByNaturalEmail(username)
                 .orElseThrow(() -> {
                     logger.error("User not found with email: {}", username);
                     return new UsernameNotFoundException("User not found with email: " + username);
@@ -1,5 +1,7 @@
 package com.grocerystore.security;
 
+import com.grocerystore.journal.DatabaseHealthMonitor;
+import com.grocerystore.monitoring.JwtAuthenticationEvent;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -19,6 +21,10 @@ import java.io.IOException;
 
 /**
  * JWT Authentication Filter to validate JWT tokens in requests.
+ * The user is loaded from the database so role changes and deleted accounts
+ * take effect at once. While the database is unavailable the principal is
+ * built from the token's claims instead, so requests that can be served
+ * without it, such as journaled checkout, still authenticate.
  * 
  * @author Chirag Singhal
  * @version 1.0.0
@@ -34,18 +40,24 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private CustomUserDetailsService customUserDetailsService;
 
+    @Autowired
+    private DatabaseHealthMonitor databaseHealth;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
                                   FilterChain filterChain) throws ServletException, IOException {
         
+        JwtAuthenticationEvent event = new JwtAuthenticationEvent();
+        event.begin();
         try {
             String jwt = getJwtFromRequest(request);
+            event.tokenPresent = StringUtils.hasText(jwt);
             
             if (StringUtils.hasText(jwt) && jwtUtil.validateToken(jwt)) {
                 String username = jwtUtil.extractUsername(jwt);
                 
                 // Load user details
-                UserDetails userDetails = customUserDetailsService.loadUserByUsername(username);
+                UserDetails userDetails = loadUserDetails(jwt, username);
                 
                 if (jwtUtil.validateToken(jwt, userDetails)) {
                     // Create authentication token
@@ -60,6 +72,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     
                     // Set authentication in security context
                     SecurityContextHolder.getContext().setAuthentication(authentication);
+                    event.authenticated = true;
                     
                     logger.debug("Successfully authenticated user: {}", username);
                 } else {
@@ -70,11 +83,37 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             }
         } catch (Exception ex) {
             logger.error("Could not set user authentication in security context", ex);
+        } finally {
+            event.commit();
         }
         
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Load the user, falling back to the token's claims when the database
+     * is down. Tokens issued before they carried claims always need the database.
+     * 
+     * @param jwt JWT token
+     * @param username the username (email)
+     * @return user details
+     */
+    private UserDetails loadUserDetails(String jwt, String username) {
+        UserDetails fromToken = jwtUtil.extractPrincipal(jwt);
+        if (fromToken != null && !databaseHealth.isHealthy()) {
+            return fromToken;
+        }
+        try {
+            return customUserDetailsService.loadUserByUsername(username);
+        } catch (RuntimeException e) {
+            if (fromToken == null || !DatabaseHealthMonitor.isConnectivityFailure(e)) {
+                throw e;
+            }
+            databaseHealth.reportFailure(e);
+            return fromToken;
+        }
+    }
+
     /**
      * Extract JWT token from request header.
      * 
@@ -105,7 +144,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // Skip JWT validation for public endpoints
         return path.startsWith("/api/auth/") ||
                path.startsWith("/api/public/") ||
-               path.startsWith("/actuator/") ||
+               path.equals("/actuator/health") ||
                path.startsWith("/swagger-ui/") ||
                path.startsWith("/v3/api-docs/") ||
                path.equals("/") ||
@@ -5,13 +5,19 @@ import io.jsonwebtoken.security.Keys;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 /**
@@ -25,6 +31,11 @@ public class JwtUtil {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtUtil.class);
 
+    // Claims that let a request be authenticated without loading the user from the database
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String NAME_CLAIM = "name";
+    private static final String AUTHORITIES_CLAIM = "authorities";
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
@@ -37,12 +48,23 @@ public class JwtUtil {
 
     /**
      * Generate JWT token for user.
+     * A {@link CustomUserDetailsService.UserPrincipal} also puts the user's ID,
+     * name and authorities into the token, see {@link #extractPrincipal(String)}.
      * 
      * @param userDetails user details
      * @return JWT token
      */
     public String generateToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
+        if (userDetails instanceof CustomUserDetailsService.UserPrincipal principal) {
+            List<String> authorities = new ArrayList<>();
+            for (GrantedAuthority authority : principal.getAuthorities()) {
+                authorities.add(authority.getAuthority());
+            }
+            claims.put(USER_ID_CLAIM, principal.getId().toString());
+            claims.put(NAME_CLAIM, principal.getFullName());
+            claims.put(AUTHORITIES_CLAIM, authorities);
+        }
         return createToken(claims, userDetails.getUsername());
     }
 
@@ -87,6 +109,28 @@ public class JwtUtil {
         return extractClaim(token, Claims::getSubject);
     }
 
+    /**
+     * Build the principal from the claims of a token, without the database.
+     * 
+     * @param token JWT token
+     * @return the principal, or null if the token does not carry the user's ID and authorities
+     */
+    public CustomUserDetailsService.UserPrincipal extractPrincipal(String token) {
+        Claims claims = extractAllClaims(token);
+        String userId = claims.get(USER_ID_CLAIM, String.class);
+        List<?> authorities = claims.get(AUTHORITIES_CLAIM, List.class);
+        if (userId == null || authorities == null) {
+            return null;
+        }
+
+        Collection<GrantedAuthority> grantedAuthorities = new ArrayList<>(authorities.size());
+        for (Object authority : authorities) {
+            grantedAuthorities.add(new SimpleGrantedAuthority(authority.toString()));
+        }
+        return new CustomUserDetailsService.UserPrincipal(UUID.fromString(userId), claims.get(NAME_CLAIM, String.class),
+            claims.getSubject(), null, grantedAuthorities);
+    }
+
     /**
      * Extract expiration date from JWT token.
      * 
@@ -118,11 +162,11 @@ public class JwtUtil {
      */
     private Claims extractAllClaims(String token) {
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
+            return Jwts.parser()
+                    .verifyWith(getSigningKey())
                     .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+                    .parseSignedClaims(token)
+                    .getPayload();
         } catch (JwtException e) {
             logger.error("Failed to parse JWT token: {}", e.getMessage());
             throw e;
@@ -169,10 +213,10 @@ public class JwtUtil {
      */
     public Boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
+            Jwts.parser()
+                    .verifyWith(getSigningKey())
                     .build()
-                    .parseClaimsJws(token);
+                    .parseSignedClaims(token);
             return true;
         } catch (SecurityException e) {
             logger.error("Invalid JWT signature: {}", e.getMessage());
@@ -0,0 +1,183 @@
+package com.grocerystore.service;
+
+import com.grocerystore.dto.admin.AdminDashboardResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Service for the admin dashboard, which combines order, product and user statistics.
+ * <p>
+ * The three slices are loaded concurrently on a small fixed pool, each in its own
+ * read-only transaction (and so on its own connection) with a statement timeout.
+ * A slice that fails or misses the timeout keeps its previous value and is reported
+ * as stale instead of failing the dashboard. The result is cached briefly; when it
+ * expires one request refreshes it while concurrent requests keep getting the
+ * previous dashboard, so simultaneous admins cause a single set of queries.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+@Service
+public class AdminDashboardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdminDashboardService.class);
+
+    private static final String ORDERS = "orders";
+    private static final String PRODUCTS = "products";
+    private static final String USERS = "users";
+
+    private final OrderService orderService;
+    private final ProductService productService;
+    private final UserService userService;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate sliceTransaction;
+    private final ExecutorService executor;
+    private final long sliceTimeoutMillis;
+    private final long cacheTtlMillis;
+
+    private final AtomicReference<CompletableFuture<AdminDashboardResponse>> refreshing = new AtomicReference<>();
+    private volatile AdminDashboardResponse cached;
+    private volatile long cachedAtMillis;
+
+    private final Timer refreshTimer;
+
+    public AdminDashboardService(OrderService orderService,
+                                 ProductService productService,
+                                 UserService userService,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${admin.dashboard.threads:3}") int threads,
+                                 @Value("${admin.dashboard.slice-timeout-millis:2000}") long sliceTimeoutMillis,
+                                 @Value("${admin.dashboard.cache-ttl-millis:5000}") long cacheTtlMillis) {
+        this.orderService = orderService;
+        this.productService = productService;
+        this.userService = userService;
+        this.meterRegistry = meterRegistry;
+        this.sliceTimeoutMillis = sliceTimeoutMillis;
+        this.cacheTtlMillis = cacheTtlMillis;
+
+        // The statement timeout frees the connection of a slice the dashboard stopped waiting for
+        this.sliceTransaction = new TransactionTemplate(transactionManager);
+        this.sliceTransaction.setReadOnly(true);
+        this.sliceTransaction.setTimeout((int) Math.max(1, (sliceTimeoutMillis + 999) / 1000));
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "admin-dashboard-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.refreshTimer = Timer.builder("admin.dashboard.refresh")
+            .description("Loading all admin dashboard statistics")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Get the admin dashboard, from the cache while it is fresh.
+     *
+     * @return dashboard statistics
+     */
+    public AdminDashboardResponse getDashboard() {
+        AdminDashboardResponse current = cached;
+        if (isFresh(current)) {
+            return current;
+        }
+
+        CompletableFuture<AdminDashboardResponse> refresh = new CompletableFuture<>();
+        CompletableFuture<AdminDashboardResponse> running = refreshing.compareAndExchange(null, refresh);
+        if (running != null) {
+            // Another request is already refreshing: serve the previous dashboard rather than wait
+            return current != null ? current : running.join();
+        }
+
+        try {
+            AdminDashboardResponse refreshed = cached;
+            if (!isFresh(refreshed)) {
+                refreshed = refreshTimer.record(() -> load(current));
+                cached = refreshed;
+                cachedAtMillis = System.currentTimeMillis();
+            }
+            refresh.complete(refreshed);
+            return refreshed;
+        } catch (RuntimeException e) {
+            refresh.completeExceptionally(e);
+            throw e;
+        } finally {
+            refreshing.set(null);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private boolean isFresh(AdminDashboardResponse dashboard) {
+        return dashboard != null && System.currentTimeMillis() - cachedAtMillis < cacheTtlMillis;
+    }
+
+    private AdminDashboardResponse load(AdminDashboardResponse previous) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sliceTimeoutMillis);
+        Future<OrderService.OrderStatsDTO> orders = executor.submit(() -> inSlice(orderService::getOrderStatistics));
+        Future<ProductService.ProductStatistics> products = executor.submit(() -> inSlice(productService::getProductStatistics));
+        Future<UserService.UserStatistics> users = executor.submit(() -> inSlice(userService::getUserStatistics));
+
+        List<String> stale = new ArrayList<>();
+        AdminDashboardResponse dashboard = new AdminDashboardResponse();
+        dashboard.setOrders(await(ORDERS, orders, deadline, previous == null ? null : previous.getOrders(), stale));
+        dashboard.setProducts(await(PRODUCTS, products, deadline, previous == null ? null : previous.getProducts(), stale));
+        dashboard.setUsers(await(USERS, users, deadline, previous == null ? null : previous.getUsers(), stale));
+        dashboard.setStaleSlices(stale);
+        dashboard.setGeneratedAt(LocalDateTime.now());
+        return dashboard;
+    }
+
+    private <T> T inSlice(Supplier<T> statistics) {
+        return sliceTransaction.execute(status -> statistics.get());
+    }
+
+    private <T> T await(String slice, Future<T> future, long deadlineNanos, T previous, List<String> stale) {
+        try {
+            return future.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            logger.warn("Dashboard slice {} did not finish within {} ms", slice, sliceTimeoutMillis);
+        } catch (ExecutionException e) {
+            logger.warn("Dashboard slice {} failed", slice, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+        }
+
+        Counter.builder("admin.dashboard.slice.stale")
+            .tag("slice", slice)
+            .description("Dashboard slices served from an older value because they failed or timed out")
+            .register(meterRegistry)
+            .increment();
+        stale.add(slice);
+        return previous;
+    }
+}
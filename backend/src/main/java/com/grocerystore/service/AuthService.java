@@ -76,7 +76,7 @@ public class AuthService {
         String jwt = jwtUtil.generateToken(userPrincipal);
 
         // Get user entity for additional details
-        User user = userRepository.findByEmail(loginRequest.getEmail())
+        User user = userRepository.findByNaturalEmail(loginRequest.getEmail())
             .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
         logger.info("User authenticated successfully: {}", user.getEmail());
@@ -104,7 +104,7 @@ public class AuthService {
         validateRegistrationRequest(registerRequest);
 
         // Check if user already exists
-        if (userRepository.existsByEmail(registerRequest.getEmail())) {
+        if (userRepository.existsByEmailIgnoreCase(registerRequest.getEmail())) {
             throw new BadRequestException("Email is already in use");
         }
 
@@ -171,7 +171,7 @@ public class AuthService {
         String username = jwtUtil.extractUsername(token);
         UserDetails userDetails = userDetailsService.loadUserByUsername(username);
         
-        User user = userRepository.findByEmail(username)
+        User user = userRepository.findByNaturalEmail(username)
             .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
         String newToken = jwtUtil.generateToken(userDetails);
@@ -0,0 +1,284 @@
+package com.grocerystore.service;
+
+import com.grocerystore.dto.order.BuyAgainItemResponse;
+import com.grocerystore.dto.product.ProductResponse;
+import com.grocerystore.entity.Product;
+import com.grocerystore.entity.ReorderProfileItem;
+import com.grocerystore.event.OrderStatusChangedEvent;
+import com.grocerystore.repository.ProductRepository;
+import com.grocerystore.repository.ReorderProfileItemRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service for personalized "buy again" lists.
+ * Each customer has a reorder profile (purchase count, first/last purchase
+ * per product) persisted in reorder_profile_items and updated as orders
+ * complete. Profiles of recently active customers are kept in a bounded LRU
+ * as compact parallel arrays. Profile writes are single upsert or update
+ * statements, so concurrent completions for one customer never lose counts,
+ * and a profile loaded while its rows were changing is returned but not
+ * cached.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+@Service
+@Transactional
+public class BuyAgainService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BuyAgainService.class);
+
+    // Score given to products bought once, which have no interval to predict from
+    private static final double SINGLE_PURCHASE_WEIGHT = 0.25;
+
+    private final ReorderProfileItemRepository profileRepository;
+    private final ProductRepository productRepository;
+    private final UserService userService;
+
+    private final int maxCachedProfiles;
+    private final LinkedHashMap<UUID, ReorderProfile> hotProfiles;
+    // Loads in flight, guarded by hotProfiles; an eviction removes the user's entry
+    private final Map<UUID, Object> loading = new HashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public BuyAgainService(ReorderProfileItemRepository profileRepository,
+                           ProductRepository productRepository,
+                           UserService userService,
+                           MeterRegistry meterRegistry,
+                           @Value("${buy-again.cache.max-users:10000}") int maxCachedProfiles) {
+        this.profileRepository = profileRepository;
+        this.productRepository = productRepository;
+        this.userService = userService;
+        this.maxCachedProfiles = maxCachedProfiles;
+        this.hotProfiles = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, ReorderProfile> eldest) {
+                return size() > BuyAgainService.this.maxCachedProfiles;
+            }
+        };
+
+        this.hits = Counter.builder("buy.again.profile.cache.requests")
+            .tag("outcome", "hit")
+            .description("Reorder profile cache lookups")
+            .register(meterRegistry);
+        this.misses = Counter.builder("buy.again.profile.cache.requests")
+            .tag("outcome", "miss")
+            .description("Reorder profile cache lookups")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Get the current user's "buy again" list, most due first.
+     *
+     * @param limit maximum number of products
+     * @return ranked list of buy again items
+     */
+    @Transactional(readOnly = true)
+    public List<BuyAgainItemResponse> getBuyAgainList(int limit) {
+        UUID userId = userService.getCurrentUser().getId();
+        ReorderProfile profile = getProfile(userId);
+        if (profile.size() == 0) {
+            return List.of();
+        }
+
+        long now = LocalDateTime.now().toEpochSecond(ZoneOffset.UTC);
+        Integer[] ranked = new Integer[profile.size()];
+        double[] scores = new double[profile.size()];
+        for (int i = 0; i < ranked.length; i++) {
+            ranked[i] = i;
+            scores[i] = profile.score(i, now);
+        }
+        Arrays.sort(ranked, Comparator.comparingDouble((Integer i) -> scores[i]).reversed());
+
+        int n = Math.min(limit, ranked.length);
+        List<UUID> productIds = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            productIds.add(profile.productIds[ranked[i]]);
+        }
+        Map<UUID, Product> products = productRepository.findAllById(productIds).stream()
+            .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        List<BuyAgainItemResponse> items = new ArrayList<>(n);
+        for (int r = 0; r < n; r++) {
+            int i = ranked[r];
+            Product product = products.get(profile.productIds[i]);
+            if (product == null) {
+                continue;
+            }
+            items.add(profile.toResponse(i, ProductResponse.fromProduct(product), now));
+        }
+        return items;
+    }
+
+    /**
+     * Update reorder profiles once an order completes or leaves COMPLETED.
+     *
+     * @param event order status changed event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        if (!(event.isCompletion() || event.isCompletionReverted())) {
+            return;
+        }
+
+        Set<UUID> productIds = new HashSet<>(event.getProductIds());
+        if (!productIds.isEmpty()) {
+            if (event.isCompletion()) {
+                profileRepository.recordPurchases(event.getUserId(), productIds, event.getOrderDate());
+            } else {
+                profileRepository.revertPurchases(event.getUserId(), productIds);
+                profileRepository.deleteEmptied(event.getUserId(), productIds);
+            }
+        }
+
+        // A profile read before this commits must not stay cached, so evict
+        // once the new counts are visible
+        UUID userId = event.getUserId();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                evict(userId);
+            }
+        });
+    }
+
+    /**
+     * Populate reorder profiles from order history the first time the table is empty.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (profileRepository.count() > 0) {
+            return;
+        }
+        int rows = profileRepository.backfillFromCompletedOrders();
+        logger.info("Backfilled {} reorder profile items from completed orders", rows);
+    }
+
+    private ReorderProfile getProfile(UUID userId) {
+        Object load = new Object();
+        synchronized (hotProfiles) {
+            ReorderProfile cached = hotProfiles.get(userId);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+            loading.put(userId, load);
+        }
+
+        misses.increment();
+        ReorderProfile loaded = null;
+        try {
+            loaded = ReorderProfile.of(profileRepository.findByUserId(userId));
+            return loaded;
+        } finally {
+            synchronized (hotProfiles) {
+                // Cache only if no eviction or later load replaced this load meanwhile
+                if (loading.remove(userId, load) && loaded != null) {
+                    hotProfiles.put(userId, loaded);
+                }
+            }
+        }
+    }
+
+    private void evict(UUID userId) {
+        synchronized (hotProfiles) {
+            hotProfiles.remove(userId);
+            loading.remove(userId);
+        }
+    }
+
+    /**
+     * Immutable, array-backed copy of one customer's reorder profile.
+     */
+    private static class ReorderProfile {
+        private final UUID[] productIds;
+        private final int[] counts;
+        private final long[] lastPurchased;
+        private final long[] intervals;
+
+        private ReorderProfile(int size) {
+            this.productIds = new UUID[size];
+            this.counts = new int[size];
+            this.lastPurchased = new long[size];
+            this.intervals = new long[size];
+        }
+
+        static ReorderProfile of(List<ReorderProfileItem> items) {
+            ReorderProfile profile = new ReorderProfile(items.size());
+            for (int i = 0; i < items.size(); i++) {
+                ReorderProfileItem item = items.get(i);
+                Duration interval = item.getTypicalInterval();
+                profile.productIds[i] = item.getProductId();
+                profile.counts[i] = item.getPurchaseCount();
+                profile.lastPurchased[i] = item.getLastPurchasedAt().toEpochSecond(ZoneOffset.UTC);
+                profile.intervals[i] = interval != null ? interval.getSeconds() : -1;
+            }
+            return profile;
+        }
+
+        int size() {
+            return productIds.length;
+        }
+
+        /**
+         * Score peaks when the time since the last purchase equals the usual
+         * interval and falls off on either side, weighted by how often the
+         * product was bought.
+         */
+        double score(int i, long now) {
+            double frequency = Math.log1p(counts[i]);
+            if (intervals[i] <= 0) {
+                return frequency * SINGLE_PURCHASE_WEIGHT;
+            }
+            double ratio = (double) Math.max(0, now - lastPurchased[i]) / intervals[i];
+            return frequency * (ratio <= 1 ? ratio : 1 / ratio);
+        }
+
+        BuyAgainItemResponse toResponse(int i, ProductResponse product, long now) {
+            LocalDateTime last = LocalDateTime.ofEpochSecond(lastPurchased[i], 0, ZoneOffset.UTC);
+            if (intervals[i] <= 0) {
+                return new BuyAgainItemResponse(product, counts[i], last, null, null, false);
+            }
+            long dueAt = lastPurchased[i] + intervals[i];
+            return new BuyAgainItemResponse(
+                product,
+                counts[i],
+                last,
+                Duration.ofSeconds(intervals[i]).toDays(),
+                LocalDateTime.ofEpochSecond(dueAt, 0, ZoneOffset.UTC),
+                now >= dueAt
+            );
+        }
+    }
+}
@@ -1,23 +1,52 @@
 package com.grocerystore.service;
 
-import com.grocerystore.dto.OrderCreateDTO;
-import com.grocerystore.dto.OrderDTO;
-import com.grocerystore.dto.OrderItemDTO;
+import com.grocerystore.archive.ArchivedOrder;
+import com.grocerystore.archive.OrderArchive;
+import com.grocerystore.dto.order.BulkOrderStatusResponse;
+import com.grocerystore.dto.order.OrderCreateDTO;
+import com.grocerystore.dto.order.OrderDTO;
+import com.grocerystore.dto.order.OrderItemDTO;
+import com.grocerystore.dto.order.OrderStatusTransitionResult;
 import com.grocerystore.entity.*;
+import com.grocerystore.event.OrderStatusChangedEvent;
+import com.grocerystore.event.ProductChangedEvent;
+import com.grocerystore.exception.BadRequestException;
 import com.grocerystore.exception.ResourceNotFoundException;
-import com.grocerystore.exception.ValidationException;
+import com.grocerystore.journal.DatabaseHealthMonitor;
+import com.grocerystore.journal.DegradedOrderCapture;
+import com.grocerystore.journal.JournaledOrder;
+import com.grocerystore.monitoring.OrderPlacementEvent;
+import com.grocerystore.repository.OrderItemRepository;
+import com.grocerystore.repository.OrderJournalReplayRepository;
 import com.grocerystore.repository.OrderRepository;
 import com.grocerystore.repository.ProductRepository;
 import com.grocerystore.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -31,58 +60,148 @@ import java.util.stream.Collectors;
 @Transactional
 public class OrderService {
 
+    private static final Logger logger = LoggerFactory.getLogger(OrderService.class);
+
+    // Sort keys that both the database and the order archive can order by
+    private static final List<String> HISTORY_SORT_PROPERTIES = List.of("orderDate", "totalAmount");
+
     private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
     private final ProductRepository productRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StockHoldService stockHoldService;
+    private final OrderArchive orderArchive;
+    private final DegradedOrderCapture degradedOrderCapture;
+    private final DatabaseHealthMonitor databaseHealth;
+    private final OrderJournalReplayRepository journalReplayRepository;
+    private final TransactionTemplate transaction;
+    private final int bulkStatusChunkSize;
+    private final int bulkStatusMaxOrders;
 
     @Autowired
     public OrderService(OrderRepository orderRepository, 
+                       OrderItemRepository orderItemRepository,
                        ProductRepository productRepository,
-                       UserRepository userRepository) {
+                       UserRepository userRepository,
+                       ApplicationEventPublisher eventPublisher,
+                       StockHoldService stockHoldService,
+                       OrderArchive orderArchive,
+                       DegradedOrderCapture degradedOrderCapture,
+                       DatabaseHealthMonitor databaseHealth,
+                       OrderJournalReplayRepository journalReplayRepository,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${orders.bulk-status.chunk-size:500}") int bulkStatusChunkSize,
+                       @Value("${orders.bulk-status.max-orders:5000}") int bulkStatusMaxOrders) {
         this.orderRepository = orderRepository;
+        this.orderItemRepository = orderItemRepository;
         this.productRepository = productRepository;
         this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        this.stockHoldService = stockHoldService;
+        this.orderArchive = orderArchive;
+        this.degradedOrderCapture = degradedOrderCapture;
+        this.databaseHealth = databaseHealth;
+        this.journalReplayRepository = journalReplayRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.bulkStatusChunkSize = Math.max(1, bulkStatusChunkSize);
+        this.bulkStatusMaxOrders = bulkStatusMaxOrders;
     }
 
     /**
      * Create a new order for a customer.
+     * Runs its own transaction so that, while the database is unavailable,
+     * the order is journaled without ever waiting for a connection; the
+     * returned order is then provisional until the journal is replayed.
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public OrderDTO createOrder(OrderCreateDTO orderCreateDTO, UUID customerId) {
+        if (degradedOrderCapture.isActive()) {
+            return captureOffline(orderCreateDTO, customerId);
+        }
+
+        OrderPlacementEvent placement = new OrderPlacementEvent();
+        placement.begin();
+        try {
+            OrderDTO created = transaction.execute(status -> placeOrder(orderCreateDTO, customerId, placement));
+            placement.succeeded = true;
+            return created;
+        } catch (CannotCreateTransactionException e) {
+            // No connection, so nothing was written and the order can safely be journaled
+            databaseHealth.reportFailure(e);
+            if (degradedOrderCapture.isActive()) {
+                return captureOffline(orderCreateDTO, customerId);
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            if (DatabaseHealthMonitor.isConnectivityFailure(e)) {
+                databaseHealth.reportFailure(e);
+            }
+            throw e;
+        } finally {
+            placement.commit();
+        }
+    }
+
+    private OrderDTO captureOffline(OrderCreateDTO orderCreateDTO, UUID customerId) {
+        if (orderCreateDTO.getOrderItems() == null || orderCreateDTO.getOrderItems().isEmpty()) {
+            throw new BadRequestException("Order must contain at least one item");
+        }
+
+        Map<UUID, Integer> quantities = new LinkedHashMap<>();
+        for (OrderItemDTO itemDTO : orderCreateDTO.getOrderItems()) {
+            quantities.merge(itemDTO.getProductId(), itemDTO.getQuantity(), Integer::sum);
+        }
+
+        JournaledOrder journaled = degradedOrderCapture.capture(customerId, orderCreateDTO.getDeliveryAddress(),
+            orderCreateDTO.getContactNumber(), orderCreateDTO.getOrderNotes(), quantities);
+        return convertJournaledToDTO(journaled);
+    }
+
+    private OrderDTO placeOrder(OrderCreateDTO orderCreateDTO, UUID customerId, OrderPlacementEvent placement) {
         // Validate customer exists
+        long start = System.nanoTime();
         User customer = userRepository.findById(customerId)
                 .orElseThrow(() -> new ResourceNotFoundException("Customer not found with id: " + customerId));
+        placement.databaseTime += System.nanoTime() - start;
 
         // Validate order items
         if (orderCreateDTO.getOrderItems() == null || orderCreateDTO.getOrderItems().isEmpty()) {
-            throw new ValidationException("Order must contain at least one item");
+            throw new BadRequestException("Order must contain at least one item");
         }
+        placement.itemCount = orderCreateDTO.getOrderItems().size();
 
         // Create order
         Order order = new Order();
         order.setUser(customer);
         order.setOrderDate(LocalDateTime.now());
         order.setStatus(OrderStatus.PENDING);
-        order.setPaymentMethod(PaymentMethod.CASH_ON_DELIVERY);
-        order.setDeliveryAddress(orderCreateDTO.getDeliveryAddress());
+        order.setShippingAddress(orderCreateDTO.getDeliveryAddress());
         order.setContactNumber(orderCreateDTO.getContactNumber());
         order.setOrderNotes(orderCreateDTO.getOrderNotes());
-        
-        // Set estimated delivery date (3 days from now)
-        order.setEstimatedDeliveryDate(LocalDateTime.now().plusDays(3));
 
         BigDecimal totalAmount = BigDecimal.ZERO;
 
-        // Process order items
-        for (OrderItemDTO itemDTO : orderCreateDTO.getOrderItems()) {
-            Product product = productRepository.findById(itemDTO.getProductId())
+        // Process order items, locking products in ID order so two checkouts of the same
+        // products listed in a different order cannot deadlock
+        List<OrderItemDTO> itemDTOs = new ArrayList<>(orderCreateDTO.getOrderItems());
+        itemDTOs.sort(Comparator.comparing(OrderItemDTO::getProductId, Comparator.nullsLast(Comparator.naturalOrder())));
+        for (OrderItemDTO itemDTO : itemDTOs) {
+            start = System.nanoTime();
+            Product product = productRepository.findByIdForUpdate(itemDTO.getProductId())
                     .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + itemDTO.getProductId()));
+            placement.databaseTime += System.nanoTime() - start;
+
+            // Stock held for this customer is already deducted; only the rest comes from available stock
+            int fromStock = itemDTO.getQuantity() - stockHoldService.convertHold(customerId, product, itemDTO.getQuantity());
 
             // Check stock availability
-            if (product.getStockQuantity() < itemDTO.getQuantity()) {
-                throw new ValidationException("Insufficient stock for product: " + product.getName() + 
-                                            ". Available: " + product.getStockQuantity() + 
-                                            ", Requested: " + itemDTO.getQuantity());
+            if (product.getQuantity() < fromStock) {
+                throw new BadRequestException("Insufficient stock for product: " + product.getName() + 
+                                            ". Available: " + product.getQuantity() + 
+                                            ", Requested: " + fromStock);
             }
+            placement.stockCheckTime += System.nanoTime() - start;
 
             // Create order item
             OrderItem orderItem = new OrderItem();
@@ -98,25 +217,71 @@ public class OrderService {
             totalAmount = totalAmount.add(itemTotal);
 
             // Update product stock
-            product.setStockQuantity(product.getStockQuantity() - itemDTO.getQuantity());
+            product.setQuantity(product.getQuantity() - fromStock);
+            start = System.nanoTime();
             productRepository.save(product);
+            placement.databaseTime += System.nanoTime() - start;
+            eventPublisher.publishEvent(new ProductChangedEvent(product.getId(), ProductChangedEvent.ChangeType.STOCK_CHANGED,
+                    product.getQuantity(), product.getPrice()));
         }
 
         order.setTotalAmount(totalAmount);
 
         // Save order
+        start = System.nanoTime();
         Order savedOrder = orderRepository.save(order);
+        placement.databaseTime += System.nanoTime() - start;
 
         return convertToDTO(savedOrder);
     }
 
     /**
-     * Get order history for a customer.
+     * Get order history for a customer in the requested order.
+     * Archived orders are merged with the live ones by the sort key: an old
+     * order that never reached a final status stays in the database after
+     * newer ones were archived, so neither source simply follows the other.
+     * A customer with archived orders can only sort by orderDate or totalAmount.
      */
     @Transactional(readOnly = true)
     public Page<OrderDTO> getCustomerOrders(UUID customerId, Pageable pageable) {
-        Page<Order> orders = orderRepository.findByUserIdOrderByOrderDateDesc(customerId, pageable);
-        return orders.map(this::convertToDTO);
+        long archivedCount = orderArchive.countByUser(customerId);
+        if (archivedCount == 0) {
+            return orderRepository.findByUserId(customerId, pageable).map(this::convertToDTO);
+        }
+
+        Sort.Order sortOrder = historySortOrder(pageable.getSort());
+        long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+        int limit = pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+
+        // Ties are broken by ID in both sources, compared the way PostgreSQL compares UUIDs
+        Sort sort = Sort.by(sortOrder, new Sort.Order(sortOrder.getDirection(), "id"));
+        Page<Order> live = orderRepository.findByUserId(customerId, pageable.isPaged()
+                ? PageRequest.of(0, Math.toIntExact(offset + limit), sort) : Pageable.unpaged(sort));
+        List<ArchivedOrder> archived = new ArrayList<>(orderArchive.findByUser(customerId, 0, Integer.MAX_VALUE));
+        archived.sort((a, b) -> compareHistory(sortOrder, historyKey(sortOrder, a.getOrderDate(), a.getTotalAmount()),
+                a.getId(), historyKey(sortOrder, b.getOrderDate(), b.getTotalAmount()), b.getId()));
+
+        List<Order> liveOrders = live.getContent();
+        List<OrderDTO> content = new ArrayList<>();
+        int i = 0;
+        int j = 0;
+        for (long position = 0; content.size() < limit && (i < liveOrders.size() || j < archived.size()); position++) {
+            boolean takeLive = j == archived.size() || (i < liveOrders.size() && compareHistory(sortOrder,
+                    historyKey(sortOrder, liveOrders.get(i).getOrderDate(), liveOrders.get(i).getTotalAmount()),
+                    liveOrders.get(i).getId(),
+                    historyKey(sortOrder, archived.get(j).getOrderDate(), archived.get(j).getTotalAmount()),
+                    archived.get(j).getId()) <= 0);
+            if (position < offset) {
+                i += takeLive ? 1 : 0;
+                j += takeLive ? 0 : 1;
+            } else if (takeLive) {
+                content.add(convertToDTO(liveOrders.get(i++)));
+            } else {
+                content.add(convertArchivedToDTO(archived.get(j++)));
+            }
+        }
+
+        return new PageImpl<>(content, pageable, live.getTotalElements() + archivedCount);
     }
 
     /**
@@ -133,9 +298,14 @@ public class OrderService {
      */
     @Transactional(readOnly = true)
     public OrderDTO getOrderById(UUID orderId) {
-        Order order = orderRepository.findById(orderId)
+        return orderRepository.findById(orderId)
+                .map(this::convertToDTO)
+                .or(() -> orderArchive.findOrder(orderId).map(this::convertArchivedToDTO))
+                // A provisional ID from the order journal resolves to the order created on replay
+                .or(() -> journalReplayRepository.findOrderIdByProvisionalId(orderId)
+                        .flatMap(orderRepository::findById)
+                        .map(this::convertToDTO))
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
-        return convertToDTO(order);
     }
 
     /**
@@ -145,37 +315,162 @@ public class OrderService {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
 
+        OrderStatus previousStatus = order.getStatus();
+        if (previousStatus != newStatus && !previousStatus.canTransitionTo(newStatus)) {
+            throw new IllegalStateException("Cannot move order from " + previousStatus + " to " + newStatus);
+        }
         order.setStatus(newStatus);
         
         // Set actual delivery date if order is delivered
-        if (newStatus == OrderStatus.DELIVERED) {
+        if (newStatus == OrderStatus.COMPLETED && previousStatus != newStatus) {
             order.setActualDeliveryDate(LocalDateTime.now());
         }
 
         Order savedOrder = orderRepository.save(order);
+        if (previousStatus != newStatus) {
+            List<UUID> productIds = savedOrder.getOrderItems().stream()
+                    .map(item -> item.getProduct().getId())
+                    .collect(Collectors.toList());
+            eventPublisher.publishEvent(new OrderStatusChangedEvent(
+                    savedOrder.getId(), savedOrder.getUser().getId(), previousStatus, newStatus, productIds,
+                    savedOrder.getOrderDate()));
+        }
         return convertToDTO(savedOrder);
     }
 
+    /**
+     * Move many orders to one status (admin only).
+     * Orders are processed in chunks, each in its own transaction: the chunk's
+     * rows are locked, each transition is checked against the
+     * {@link OrderStatus} state machine, and the legal ones are moved with a
+     * single UPDATE. Unknown orders and illegal transitions are reported per
+     * order instead of failing the request; a chunk that fails is rolled back
+     * and reported as failed without affecting the others.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkOrderStatusResponse updateOrderStatuses(List<UUID> orderIds, OrderStatus newStatus) {
+        List<UUID> ids = new ArrayList<>(new LinkedHashSet<>(orderIds));
+        if (ids.size() > bulkStatusMaxOrders) {
+            throw new BadRequestException("At most " + bulkStatusMaxOrders + " orders can be updated at once");
+        }
+
+        List<OrderStatusTransitionResult> results = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += bulkStatusChunkSize) {
+            List<UUID> chunk = ids.subList(from, Math.min(ids.size(), from + bulkStatusChunkSize));
+            try {
+                results.addAll(transaction.execute(status -> transitionChunk(chunk, newStatus)));
+            } catch (RuntimeException e) {
+                logger.error("Failed to move {} orders to {}", chunk.size(), newStatus, e);
+                chunk.forEach(id -> results.add(OrderStatusTransitionResult.failed(id)));
+            }
+        }
+        return new BulkOrderStatusResponse(newStatus, results);
+    }
+
+    private List<OrderStatusTransitionResult> transitionChunk(List<UUID> orderIds, OrderStatus newStatus) {
+        orderRepository.lockForStatusUpdate(orderIds);
+        Map<UUID, Object[]> rows = new HashMap<>();
+        for (Object[] row : orderRepository.findStatusRows(orderIds)) {
+            rows.put((UUID) row[0], row);
+        }
+
+        List<OrderStatusTransitionResult> results = new ArrayList<>(orderIds.size());
+        List<UUID> moving = new ArrayList<>();
+        for (UUID orderId : orderIds) {
+            Object[] row = rows.get(orderId);
+            if (row == null) {
+                results.add(OrderStatusTransitionResult.notFound(orderId));
+                continue;
+            }
+            OrderStatus current = (OrderStatus) row[2];
+            if (current == newStatus) {
+                results.add(OrderStatusTransitionResult.unchanged(orderId, current));
+            } else if (!current.canTransitionTo(newStatus)) {
+                results.add(OrderStatusTransitionResult.illegal(orderId, current, newStatus));
+            } else {
+                results.add(OrderStatusTransitionResult.updated(orderId, current, newStatus));
+                moving.add(orderId);
+            }
+        }
+        if (moving.isEmpty()) {
+            return results;
+        }
+
+        orderRepository.updateStatus(moving, newStatus, LocalDateTime.now());
+
+        LocalDateTime fromDate = LocalDateTime.MAX;
+        LocalDateTime toDate = LocalDateTime.MIN;
+        for (UUID orderId : moving) {
+            LocalDateTime orderDate = (LocalDateTime) rows.get(orderId)[3];
+            fromDate = orderDate.isBefore(fromDate) ? orderDate : fromDate;
+            toDate = orderDate.isAfter(toDate) ? orderDate : toDate;
+        }
+
+        Map<UUID, List<UUID>> productIds = new HashMap<>();
+        for (Object[] row : orderItemRepository.findProductIdsByOrderIds(moving, fromDate, toDate)) {
+            productIds.computeIfAbsent((UUID) row[0], id -> new ArrayList<>()).add((UUID) row[1]);
+        }
+        for (UUID orderId : moving) {
+            Object[] row = rows.get(orderId);
+            eventPublisher.publishEvent(new OrderStatusChangedEvent(
+                    orderId, (UUID) row[1], (OrderStatus) row[2], newStatus,
+                    productIds.getOrDefault(orderId, List.of()), (LocalDateTime) row[3]));
+        }
+        return results;
+    }
+
     /**
      * Get order statistics (admin only).
+     * Counts and revenue include orders moved into the cold archive.
      */
     @Transactional(readOnly = true)
     public OrderStatsDTO getOrderStatistics() {
-        long totalOrders = orderRepository.count();
+        long totalOrders = orderRepository.count() + orderArchive.size();
         long pendingOrders = orderRepository.countByStatus(OrderStatus.PENDING);
         long processingOrders = orderRepository.countByStatus(OrderStatus.PROCESSING);
-        long deliveredOrders = orderRepository.countByStatus(OrderStatus.DELIVERED);
-        long cancelledOrders = orderRepository.countByStatus(OrderStatus.CANCELLED);
+        long deliveredOrders = orderRepository.countByStatus(OrderStatus.COMPLETED)
+                + orderArchive.countByStatus(OrderStatus.COMPLETED);
+        long cancelledOrders = orderRepository.countByStatus(OrderStatus.CANCELLED)
+                + orderArchive.countByStatus(OrderStatus.CANCELLED);
         
         BigDecimal totalRevenue = orderRepository.getTotalRevenue();
         if (totalRevenue == null) {
             totalRevenue = BigDecimal.ZERO;
         }
+        totalRevenue = totalRevenue.add(orderArchive.getCompletedRevenue());
 
         return new OrderStatsDTO(totalOrders, pendingOrders, processingOrders, 
                                 deliveredOrders, cancelledOrders, totalRevenue);
     }
 
+    private static Sort.Order historySortOrder(Sort sort) {
+        if (sort.isUnsorted()) {
+            return Sort.Order.desc("orderDate");
+        }
+        List<Sort.Order> orders = sort.toList();
+        if (orders.size() == 1 && HISTORY_SORT_PROPERTIES.contains(orders.get(0).getProperty())) {
+            return orders.get(0);
+        }
+        throw new BadRequestException("Order history with archived orders can only be sorted by "
+                + String.join(" or ", HISTORY_SORT_PROPERTIES));
+    }
+
+    private static Comparable<?> historyKey(Sort.Order sortOrder, LocalDateTime orderDate, BigDecimal totalAmount) {
+        return sortOrder.getProperty().equals("totalAmount") ? totalAmount : orderDate;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compareHistory(Sort.Order sortOrder, Comparable key, UUID id, Comparable otherKey, UUID otherId) {
+        int cmp = key.compareTo(otherKey);
+        if (cmp == 0) {
+            cmp = Long.compareUnsigned(id.getMostSignificantBits(), otherId.getMostSignificantBits());
+        }
+        if (cmp == 0) {
+            cmp = Long.compareUnsigned(id.getLeastSignificantBits(), otherId.getLeastSignificantBits());
+        }
+        return sortOrder.isAscending() ? cmp : -cmp;
+    }
+
     /**
      * Convert Order entity to DTO.
      */
@@ -183,16 +478,17 @@ public class OrderService {
         OrderDTO dto = new OrderDTO();
         dto.setId(order.getId());
         dto.setCustomerId(order.getUser().getId());
-        dto.setCustomerName(order.getUser().getFirstName() + " " + order.getUser().getLastName());
+        dto.setCustomerName(order.getUser().getFullName());
         dto.setCustomerEmail(order.getUser().getEmail());
         dto.setOrderDate(order.getOrderDate());
         dto.setStatus(order.getStatus());
-        dto.setPaymentMethod(order.getPaymentMethod());
+        dto.setPaymentMethod(PaymentMethod.CASH_ON_DELIVERY);
         dto.setTotalAmount(order.getTotalAmount());
-        dto.setDeliveryAddress(order.getDeliveryAddress());
+        dto.setDeliveryAddress(order.getShippingAddress());
         dto.setContactNumber(order.getContactNumber());
         dto.setOrderNotes(order.getOrderNotes());
-        dto.setEstimatedDeliveryDate(order.getEstimatedDeliveryDate());
+        // Not stored: orders are delivered within 3 days of being placed
+        dto.setEstimatedDeliveryDate(order.getOrderDate().plusDays(3));
         dto.setActualDeliveryDate(order.getActualDeliveryDate());
 
         // Convert order items
@@ -204,6 +500,67 @@ public class OrderService {
         return dto;
     }
 
+    /**
+     * Convert an archived order to DTO.
+     * The archive keeps IDs rather than the customer and product entities.
+     */
+    private OrderDTO convertArchivedToDTO(ArchivedOrder order) {
+        OrderDTO dto = new OrderDTO();
+        dto.setId(order.getId());
+        dto.setCustomerId(order.getUserId());
+        dto.setOrderDate(order.getOrderDate());
+        dto.setStatus(order.getStatus());
+        dto.setTotalAmount(order.getTotalAmount());
+        dto.setDeliveryAddress(order.getShippingAddress());
+        dto.setContactNumber(order.getContactNumber());
+        dto.setOrderNotes(order.getOrderNotes());
+        dto.setActualDeliveryDate(order.getActualDeliveryDate());
+
+        List<OrderItemDTO> orderItemDTOs = new ArrayList<>(order.getItems().size());
+        for (ArchivedOrder.Item item : order.getItems()) {
+            OrderItemDTO itemDTO = new OrderItemDTO();
+            itemDTO.setId(item.getId());
+            itemDTO.setProductId(item.getProductId());
+            itemDTO.setProductName(item.getProductName());
+            itemDTO.setQuantity(item.getQuantity());
+            itemDTO.setPrice(item.getPrice());
+            itemDTO.setSubtotal(item.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())));
+            orderItemDTOs.add(itemDTO);
+        }
+        dto.setOrderItems(orderItemDTOs);
+
+        return dto;
+    }
+
+    /**
+     * Convert a journaled order to a provisional DTO.
+     */
+    private OrderDTO convertJournaledToDTO(JournaledOrder order) {
+        OrderDTO dto = new OrderDTO();
+        dto.setId(order.getProvisionalId());
+        dto.setCustomerId(order.getUserId());
+        dto.setOrderDate(order.getCapturedAt());
+        dto.setStatus(OrderStatus.PENDING);
+        dto.setTotalAmount(order.getTotalAmount());
+        dto.setDeliveryAddress(order.getShippingAddress());
+        dto.setContactNumber(order.getContactNumber());
+        dto.setOrderNotes(order.getOrderNotes());
+        dto.setProvisional(true);
+
+        List<OrderItemDTO> orderItemDTOs = new ArrayList<>(order.getLines().size());
+        for (JournaledOrder.Line line : order.getLines()) {
+            OrderItemDTO itemDTO = new OrderItemDTO();
+            itemDTO.setProductId(line.getProductId());
+            itemDTO.setQuantity(line.getQuantity());
+            itemDTO.setPrice(line.getPrice());
+            itemDTO.setSubtotal(line.getPrice().multiply(BigDecimal.valueOf(line.getQuantity())));
+            orderItemDTOs.add(itemDTO);
+        }
+        dto.setOrderItems(orderItemDTOs);
+
+        return dto;
+    }
+
     /**
      * Convert OrderItem entity to DTO.
      */
@@ -4,20 +4,36 @@ import com.grocerystore.dto.product.CreateProductRequest;
 import com.grocerystore.dto.product.ProductResponse;
 import com.grocerystore.dto.product.UpdateProductRequest;
 import com.grocerystore.entity.Product;
+import com.grocerystore.event.ProductChangedEvent;
 import com.grocerystore.exception.BadRequestException;
 import com.grocerystore.exception.ResourceNotFoundException;
+import com.grocerystore.exception.ServiceUnavailableException;
+import com.grocerystore.index.CatalogSnapshot;
+import com.grocerystore.index.CatalogSnapshotIndex;
+import com.grocerystore.index.ProductOrdinals;
+import com.grocerystore.inventory.LowStockMonitor;
+import com.grocerystore.monitoring.ProductSearchEvent;
+import com.grocerystore.recommendation.FrequentlyBoughtTogether;
 import com.grocerystore.repository.ProductRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -35,6 +51,24 @@ public class ProductService {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private FrequentlyBoughtTogether frequentlyBoughtTogether;
+
+    @Autowired
+    private CatalogSnapshotIndex catalogSnapshotIndex;
+
+    @Autowired
+    private ProductOrdinals productOrdinals;
+
+    @Autowired
+    private LowStockMonitor lowStockMonitor;
+
+    @Value("${inventory.low-stock.default-threshold:10}")
+    private int defaultReorderThreshold;
+
     /**
      * Create a new product.
      * 
@@ -50,8 +84,11 @@ public class ProductService {
         product.setPrice(request.getPrice());
         product.setQuantity(request.getQuantity());
         product.setImageUrl(request.getImageUrl());
+        product.setReorderThreshold(request.getReorderThreshold());
 
         product = productRepository.save(product);
+        eventPublisher.publishEvent(new ProductChangedEvent(product.getId(), ProductChangedEvent.ChangeType.CREATED,
+            product.getQuantity(), product.getPrice()));
         
         logger.info("Product created successfully: {} with ID: {}", product.getName(), product.getId());
         
@@ -71,6 +108,36 @@ public class ProductService {
         return ProductResponse.fromProduct(product);
     }
 
+    /**
+     * Get in-stock products frequently bought together with a product.
+     * 
+     * @param productId product ID
+     * @param limit maximum number of products
+     * @return list of related product response DTOs, best match first
+     */
+    @Transactional(readOnly = true)
+    public List<ProductResponse> getRelatedProducts(UUID productId, int limit) {
+        if (!productRepository.existsById(productId)) {
+            throw new ResourceNotFoundException("Product", "id", productId);
+        }
+
+        // Over-fetch so out-of-stock neighbors can be skipped
+        List<UUID> relatedIds = frequentlyBoughtTogether.getRelated(productId, limit * 2);
+        if (relatedIds.isEmpty()) {
+            return List.of();
+        }
+
+        Map<UUID, Product> products = productRepository.findAllById(relatedIds).stream()
+            .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        return relatedIds.stream()
+            .map(products::get)
+            .filter(product -> product != null && product.isInStock())
+            .limit(limit)
+            .map(ProductResponse::fromProduct)
+            .collect(Collectors.toList());
+    }
+
     /**
      * Get all products with pagination.
      * 
@@ -104,7 +171,12 @@ public class ProductService {
      */
     @Transactional(readOnly = true)
     public Page<ProductResponse> searchProducts(String searchTerm, Pageable pageable) {
+        ProductSearchEvent event = new ProductSearchEvent();
+        event.begin();
         Page<Product> products = productRepository.searchProducts(searchTerm, pageable);
+        event.termLength = searchTerm != null ? searchTerm.length() : 0;
+        event.resultCount = products.getTotalElements();
+        event.commit();
         return products.map(ProductResponse::fromProduct);
     }
 
@@ -126,6 +198,58 @@ public class ProductService {
         return products.map(ProductResponse::fromProduct);
     }
 
+    /**
+     * Browse products with combined filters, evaluated over the in-memory catalog snapshot.
+     * Matching is up to a second behind product writes; the returned products
+     * themselves are loaded from the database.
+     * 
+     * @param inStockOnly only include products in stock
+     * @param minPrice minimum price, or null
+     * @param maxPrice maximum price, or null
+     * @param minRating minimum average rating, or null
+     * @param sort sort order
+     * @param pageable pagination information
+     * @return page of product response DTOs
+     */
+    @Transactional(readOnly = true)
+    public Page<ProductResponse> browseProducts(boolean inStockOnly, BigDecimal minPrice, BigDecimal maxPrice,
+                                                BigDecimal minRating, CatalogSnapshot.SortOrder sort, Pageable pageable) {
+        if (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0) {
+            throw new BadRequestException("Minimum price cannot be greater than maximum price");
+        }
+        if (minRating != null && (minRating.signum() < 0 || minRating.compareTo(BigDecimal.valueOf(5)) > 0)) {
+            throw new BadRequestException("Minimum rating must be between 0 and 5");
+        }
+
+        CatalogSnapshot snapshot = catalogSnapshotIndex.getSnapshot();
+        if (snapshot == null) {
+            throw new ServiceUnavailableException("Catalog is not available for browsing yet");
+        }
+
+        CatalogSnapshot.Result result = snapshot.query(new CatalogSnapshot.Query(
+            inStockOnly,
+            minPrice != null ? minPrice.setScale(2, RoundingMode.CEILING).unscaledValue().longValue() : null,
+            maxPrice != null ? maxPrice.setScale(2, RoundingMode.FLOOR).unscaledValue().longValue() : null,
+            minRating != null ? minRating.setScale(2, RoundingMode.CEILING).unscaledValue().longValue() : null,
+            sort,
+            (int) Math.min(pageable.getOffset(), Integer.MAX_VALUE),
+            pageable.getPageSize()
+        ));
+
+        List<UUID> productIds = Arrays.stream(result.getOrdinals())
+            .mapToObj(productOrdinals::getProductId)
+            .collect(Collectors.toList());
+        Map<UUID, Product> products = productRepository.findAllById(productIds).stream()
+            .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        List<ProductResponse> content = productIds.stream()
+            .map(products::get)
+            .filter(Objects::nonNull)
+            .map(ProductResponse::fromProduct)
+            .collect(Collectors.toList());
+        return new PageImpl<>(content, pageable, result.getTotal());
+    }
+
     /**
      * Get top-rated products.
      * 
@@ -180,8 +304,14 @@ public class ProductService {
         product.setPrice(request.getPrice());
         product.setQuantity(request.getQuantity());
         product.setImageUrl(request.getImageUrl());
+        // Clients that do not know the field (the admin UI) must not reset it
+        if (request.isReorderThresholdPresent()) {
+            product.setReorderThreshold(request.getReorderThreshold());
+        }
 
         product = productRepository.save(product);
+        eventPublisher.publishEvent(new ProductChangedEvent(product.getId(), ProductChangedEvent.ChangeType.UPDATED,
+            product.getQuantity(), product.getPrice()));
         
         logger.info("Product updated successfully: {}", product.getName());
         
@@ -207,6 +337,8 @@ public class ProductService {
 
         product.setQuantity(quantity);
         product = productRepository.save(product);
+        eventPublisher.publishEvent(new ProductChangedEvent(product.getId(), ProductChangedEvent.ChangeType.STOCK_CHANGED,
+            product.getQuantity(), product.getPrice()));
         
         logger.info("Stock updated successfully for product: {}", product.getName());
         
@@ -225,22 +357,41 @@ public class ProductService {
         logger.info("Deleting product: {} with ID: {}", product.getName(), productId);
         
         productRepository.delete(product);
+        eventPublisher.publishEvent(new ProductChangedEvent(productId, ProductChangedEvent.ChangeType.DELETED));
         
         logger.info("Product deleted successfully: {}", product.getName());
     }
 
     /**
      * Get low stock products.
+     * Without an explicit threshold, each product's own reorder threshold
+     * applies and the result comes from the low-stock monitor.
      * 
-     * @param threshold stock threshold
-     * @return list of product response DTOs
+     * @param threshold stock threshold, or null for per-product thresholds
+     * @return list of product response DTOs, lowest stock first
      */
     @Transactional(readOnly = true)
-    public List<ProductResponse> getLowStockProducts(int threshold) {
-        List<Product> products = productRepository.findLowStockProducts(threshold);
-        return products.stream()
-                .map(ProductResponse::fromProduct)
-                .collect(Collectors.toList());
+    public List<ProductResponse> getLowStockProducts(Integer threshold) {
+        if (threshold != null || !lowStockMonitor.isReady()) {
+            List<Product> products = productRepository.findLowStockProducts(
+                threshold != null ? threshold : defaultReorderThreshold);
+            return products.stream()
+                    .map(ProductResponse::fromProduct)
+                    .collect(Collectors.toList());
+        }
+
+        List<UUID> productIds = lowStockMonitor.getLowStock().stream()
+            .map(LowStockMonitor.LowStockEntry::getProductId)
+            .collect(Collectors.toList());
+        Map<UUID, Product> products = productRepository.findAllById(productIds).stream()
+            .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        // Out-of-stock products are reported by the statistics endpoint, not as low stock
+        return productIds.stream()
+            .map(products::get)
+            .filter(product -> product != null && product.isInStock())
+            .map(ProductResponse::fromProduct)
+            .collect(Collectors.toList());
     }
 
     /**
@@ -0,0 +1,258 @@
+package com.grocerystore.service;
+
+import com.grocerystore.dto.review.CreateReviewRequest;
+import com.grocerystore.dto.review.RatingDistributionResponse;
+import com.grocerystore.dto.review.ReviewResponse;
+import com.grocerystore.dto.review.UpdateReviewRequest;
+import com.grocerystore.entity.Product;
+import com.grocerystore.entity.ProductRatingHistogram;
+import com.grocerystore.entity.Review;
+import com.grocerystore.entity.User;
+import com.grocerystore.event.ProductChangedEvent;
+import com.grocerystore.exception.BadRequestException;
+import com.grocerystore.exception.ResourceNotFoundException;
+import com.grocerystore.index.PurchaseIndex;
+import com.grocerystore.repository.ProductRatingHistogramRepository;
+import com.grocerystore.repository.ProductRepository;
+import com.grocerystore.repository.ReviewRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Service class for product review operations.
+ * Every review write also updates the product's {@link ProductRatingHistogram}
+ * under a row lock, so rating distributions are served without aggregating
+ * the reviews table.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+@Service
+@Transactional
+public class ReviewService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReviewService.class);
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PurchaseIndex purchaseIndex;
+
+    @Autowired
+    private ProductRatingHistogramRepository histogramRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Create a review for a product the current user has purchased.
+     *
+     * @param request create review request
+     * @return created review response DTO
+     */
+    public ReviewResponse createReview(CreateReviewRequest request) {
+        User user = userService.getCurrentUser();
+        Product product = productRepository.findById(request.getProductId())
+            .orElseThrow(() -> new ResourceNotFoundException("Product", "id", request.getProductId()));
+
+        logger.info("Creating review for product: {} by user: {}", product.getName(), user.getEmail());
+
+        if (reviewRepository.existsByProductIdAndUserId(product.getId(), user.getId())) {
+            throw new BadRequestException("You have already reviewed this product");
+        }
+
+        if (!purchaseIndex.hasPurchased(user.getId(), product.getId())) {
+            throw new BadRequestException("You can only review products from your completed orders");
+        }
+
+        // Lock the histogram before inserting so a first-time seed does not count this review
+        ProductRatingHistogram histogram = lockHistogram(product.getId());
+
+        Review review = new Review(product, user, request.getRating(), request.getComment());
+        review = reviewRepository.save(review);
+
+        histogram.add(review.getRating());
+        histogramRepository.save(histogram);
+        eventPublisher.publishEvent(new ProductChangedEvent(product.getId(), ProductChangedEvent.ChangeType.UPDATED));
+
+        logger.info("Review created successfully with ID: {}", review.getId());
+
+        return ReviewResponse.fromReview(review);
+    }
+
+    /**
+     * Update one of the current user's reviews.
+     *
+     * @param reviewId review ID
+     * @param request update review request
+     * @return updated review response DTO
+     */
+    public ReviewResponse updateReview(UUID reviewId, UpdateReviewRequest request) {
+        User user = userService.getCurrentUser();
+        // Lock the histogram before reading the review, so the rating it replaces is current
+        ProductRatingHistogram histogram = lockHistogram(findProductId(reviewId));
+        Review review = reviewRepository.findByIdForUpdate(reviewId)
+            .orElseThrow(() -> new ResourceNotFoundException("Review", "id", reviewId));
+
+        if (!user.getId().equals(review.getUserId())) {
+            throw new AccessDeniedException("You can only update your own reviews");
+        }
+
+        logger.info("Updating review: {}", reviewId);
+
+        int previousRating = review.getRating();
+        if (previousRating != request.getRating()) {
+            histogram.remove(previousRating);
+            histogram.add(request.getRating());
+            histogramRepository.save(histogram);
+        }
+
+        review.setRating(request.getRating());
+        review.setComment(request.getComment());
+        review = reviewRepository.save(review);
+        eventPublisher.publishEvent(new ProductChangedEvent(review.getProductId(), ProductChangedEvent.ChangeType.UPDATED));
+
+        logger.info("Review updated successfully: {}", reviewId);
+
+        return ReviewResponse.fromReview(review);
+    }
+
+    /**
+     * Delete a review. Customers may delete their own reviews, admins any review.
+     *
+     * @param reviewId review ID
+     */
+    public void deleteReview(UUID reviewId) {
+        User user = userService.getCurrentUser();
+        // Same order as updateReview, so the rating removed below is the one being deleted
+        ProductRatingHistogram histogram = lockHistogram(findProductId(reviewId));
+        Review review = reviewRepository.findByIdForUpdate(reviewId)
+            .orElseThrow(() -> new ResourceNotFoundException("Review", "id", reviewId));
+
+        if (!user.isAdmin() && !user.getId().equals(review.getUserId())) {
+            throw new AccessDeniedException("You can only delete your own reviews");
+        }
+
+        logger.info("Deleting review: {}", reviewId);
+
+        UUID productId = review.getProductId();
+        reviewRepository.delete(review);
+
+        histogram.remove(review.getRating());
+        histogramRepository.save(histogram);
+        eventPublisher.publishEvent(new ProductChangedEvent(productId, ProductChangedEvent.ChangeType.UPDATED));
+
+        logger.info("Review deleted successfully: {}", reviewId);
+    }
+
+    /**
+     * Get a product's reviews, newest first.
+     *
+     * @param productId product ID
+     * @param withCommentsOnly only return reviews that have a comment
+     * @param pageable pagination information
+     * @return page of review response DTOs
+     */
+    @Transactional(readOnly = true)
+    public Page<ReviewResponse> getProductReviews(UUID productId, boolean withCommentsOnly, Pageable pageable) {
+        if (!productRepository.existsById(productId)) {
+            throw new ResourceNotFoundException("Product", "id", productId);
+        }
+
+        Page<Review> reviews = withCommentsOnly
+            ? reviewRepository.findByProductIdWithComments(productId, pageable)
+            : reviewRepository.findByProductIdOrderByCreatedAtDesc(productId, pageable);
+        return reviews.map(ReviewResponse::fromReview);
+    }
+
+    /**
+     * Get the current user's reviews, newest first.
+     *
+     * @param pageable pagination information
+     * @return page of review response DTOs
+     */
+    @Transactional(readOnly = true)
+    public Page<ReviewResponse> getMyReviews(Pageable pageable) {
+        User user = userService.getCurrentUser();
+        Page<Review> reviews = reviewRepository.findByUserIdOrderByCreatedAtDesc(user.getId(), pageable);
+        return reviews.map(ReviewResponse::fromReview);
+    }
+
+    /**
+     * Get a product's rating distribution.
+     *
+     * @param productId product ID
+     * @return rating distribution response DTO
+     */
+    @Transactional(readOnly = true)
+    public RatingDistributionResponse getRatingDistribution(UUID productId) {
+        return histogramRepository.findById(productId)
+            .map(RatingDistributionResponse::fromHistogram)
+            .orElseGet(() -> {
+                if (!productRepository.existsById(productId)) {
+                    throw new ResourceNotFoundException("Product", "id", productId);
+                }
+                // Not written yet; computed on the fly until the product's next review write stores it
+                return RatingDistributionResponse.fromHistogram(buildHistogram(productId));
+            });
+    }
+
+    /**
+     * Check whether the current user may review a product.
+     *
+     * @param productId product ID
+     * @return true if the user has a completed order for the product and no review yet
+     */
+    @Transactional(readOnly = true)
+    public boolean canReview(UUID productId) {
+        User user = userService.getCurrentUser();
+        return !reviewRepository.existsByProductIdAndUserId(productId, user.getId()) &&
+               purchaseIndex.hasPurchased(user.getId(), productId);
+    }
+
+    // A review never moves to another product, so this needs no lock
+    private UUID findProductId(UUID reviewId) {
+        return reviewRepository.findProductIdById(reviewId)
+            .orElseThrow(() -> new ResourceNotFoundException("Review", "id", reviewId));
+    }
+
+    private ProductRatingHistogram lockHistogram(UUID productId) {
+        Optional<ProductRatingHistogram> existing = histogramRepository.findByIdForUpdate(productId);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+        // First review of the product: create the row without racing a concurrent first review
+        // for the primary key, then lock it. The lookup above keeps the native insert, which
+        // invalidates the second-level cache, off the common path.
+        histogramRepository.insertIfAbsent(productId);
+        return histogramRepository.findByIdForUpdate(productId)
+            .orElseThrow(() -> new IllegalStateException("Rating histogram missing for product " + productId));
+    }
+
+    private ProductRatingHistogram buildHistogram(UUID productId) {
+        ProductRatingHistogram histogram = new ProductRatingHistogram(productId);
+        List<Object[]> rows = reviewRepository.getRatingDistribution(productId);
+        for (Object[] row : rows) {
+            histogram.setCount(((Number) row[0]).intValue(), ((Number) row[1]).longValue());
+        }
+        return histogram;
+    }
+}
@@ -0,0 +1,209 @@
+package com.grocerystore.service;
+
+import com.grocerystore.dto.product.StockHoldRequest;
+import com.grocerystore.dto.product.StockHoldResponse;
+import com.grocerystore.entity.Product;
+import com.grocerystore.entity.StockHold;
+import com.grocerystore.event.ProductChangedEvent;
+import com.grocerystore.exception.BadRequestException;
+import com.grocerystore.exception.ResourceNotFoundException;
+import com.grocerystore.inventory.StockHoldExpiry;
+import com.grocerystore.repository.ProductRepository;
+import com.grocerystore.repository.StockHoldRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service for temporary stock holds between "add to cart" and checkout.
+ * Placing a hold deducts the quantity from the product straight away, so
+ * other customers cannot buy it out from under the cart; at checkout the
+ * hold is converted into the order line, and if the customer never checks
+ * out, {@link StockHoldExpiry} gives the quantity back when the hold expires.
+ * <p>
+ * Every path that changes a product's stock or holds locks the product row
+ * first and only then reads the holds, so placing, converting, cancelling
+ * and expiring a hold never interleave on the same product.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+@Service
+@Transactional
+public class StockHoldService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockHoldService.class);
+
+    private final StockHoldRepository holdRepository;
+    private final ProductRepository productRepository;
+    private final UserService userService;
+    private final StockHoldExpiry holdExpiry;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final int defaultMinutes;
+    private final int maxMinutes;
+
+    private final Counter placed;
+    private final Counter converted;
+    private final Counter cancelled;
+
+    public StockHoldService(StockHoldRepository holdRepository,
+                            ProductRepository productRepository,
+                            UserService userService,
+                            StockHoldExpiry holdExpiry,
+                            ApplicationEventPublisher eventPublisher,
+                            MeterRegistry meterRegistry,
+                            @Value("${inventory.holds.default-minutes:15}") int defaultMinutes,
+                            @Value("${inventory.holds.max-minutes:30}") int maxMinutes) {
+        this.holdRepository = holdRepository;
+        this.productRepository = productRepository;
+        this.userService = userService;
+        this.holdExpiry = holdExpiry;
+        this.eventPublisher = eventPublisher;
+        this.defaultMinutes = defaultMinutes;
+        this.maxMinutes = maxMinutes;
+
+        this.placed = Counter.builder("inventory.stock.holds.placed")
+            .description("Stock holds placed or refreshed")
+            .register(meterRegistry);
+        this.converted = Counter.builder("inventory.stock.holds.closed")
+            .tag("outcome", "converted")
+            .description("Stock holds closed, by outcome")
+            .register(meterRegistry);
+        this.cancelled = Counter.builder("inventory.stock.holds.closed")
+            .tag("outcome", "cancelled")
+            .description("Stock holds closed, by outcome")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Hold stock of a product for the current user.
+     * A user has one hold per product: holding a product again sets the held
+     * quantity to the requested one and restarts the hold's timer.
+     *
+     * @param request stock hold request
+     * @return the hold
+     */
+    public StockHoldResponse placeHold(StockHoldRequest request) {
+        int minutes = request.getDurationMinutes() != null ? request.getDurationMinutes() : defaultMinutes;
+        if (minutes < 1 || minutes > maxMinutes) {
+            throw new BadRequestException("Hold duration must be between 1 and " + maxMinutes + " minutes");
+        }
+
+        UUID userId = userService.getCurrentUser().getId();
+        Product product = productRepository.findByIdForUpdate(request.getProductId())
+            .orElseThrow(() -> new ResourceNotFoundException("Product", "id", request.getProductId()));
+
+        StockHold hold = holdRepository.findByUserIdAndProductId(userId, product.getId())
+            .orElseGet(() -> new StockHold(userId, product.getId()));
+        int additional = request.getQuantity() - hold.getQuantity();
+        if (!product.hasStock(additional)) {
+            throw new IllegalStateException("Insufficient stock for product: " + product.getName() +
+                                            ". Available: " + product.getQuantity() +
+                                            ", Requested: " + additional);
+        }
+
+        hold.setQuantity(request.getQuantity());
+        hold.setExpiresAt(LocalDateTime.now().plusMinutes(minutes));
+        hold = holdRepository.save(hold);
+
+        if (additional != 0) {
+            product.setQuantity(product.getQuantity() - additional);
+            productRepository.save(product);
+            eventPublisher.publishEvent(new ProductChangedEvent(product.getId(), ProductChangedEvent.ChangeType.STOCK_CHANGED,
+                product.getQuantity(), product.getPrice()));
+        }
+
+        holdExpiry.schedule(hold);
+        placed.increment();
+        logger.info("Holding {} of product {} for user {} until {}", hold.getQuantity(), product.getId(), userId, hold.getExpiresAt());
+
+        return StockHoldResponse.fromHold(hold, product.getName());
+    }
+
+    /**
+     * Get the current user's active holds, soonest to expire first.
+     *
+     * @return active holds
+     */
+    @Transactional(readOnly = true)
+    public List<StockHoldResponse> getCurrentUserHolds() {
+        UUID userId = userService.getCurrentUser().getId();
+        LocalDateTime now = LocalDateTime.now();
+        List<StockHold> holds = holdRepository.findByUserIdOrderByExpiresAtAsc(userId).stream()
+            .filter(hold -> !hold.isExpired(now))
+            .collect(Collectors.toList());
+
+        Map<UUID, Product> products = productRepository.findAllById(
+                holds.stream().map(StockHold::getProductId).collect(Collectors.toSet())).stream()
+            .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        return holds.stream()
+            .map(hold -> {
+                Product product = products.get(hold.getProductId());
+                return StockHoldResponse.fromHold(hold, product != null ? product.getName() : null);
+            })
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Cancel one of the current user's holds and give its quantity back.
+     *
+     * @param holdId hold ID
+     */
+    public void cancelHold(UUID holdId) {
+        UUID userId = userService.getCurrentUser().getId();
+        UUID productId = holdRepository.findProductIdByIdAndUserId(holdId, userId)
+            .orElseThrow(() -> new ResourceNotFoundException("StockHold", "id", holdId));
+
+        Product product = productRepository.findByIdForUpdate(productId)
+            .orElseThrow(() -> new ResourceNotFoundException("Product", "id", productId));
+        // Re-read under the product lock: the hold may have expired or been converted meanwhile
+        StockHold hold = holdRepository.findByUserIdAndProductId(userId, productId)
+            .filter(current -> current.getId().equals(holdId))
+            .orElseThrow(() -> new ResourceNotFoundException("StockHold", "id", holdId));
+
+        holdExpiry.returnToStock(product, List.of(hold));
+        cancelled.increment();
+        logger.info("Cancelled stock hold {} of product {} for user {}", holdId, productId, userId);
+    }
+
+    /**
+     * Convert a user's hold on a product into part of an order line.
+     * The held quantity up to {@code quantity} is taken by the order; any
+     * surplus, or the whole hold if it has already expired, goes back to the
+     * product. The caller must have locked the product with
+     * {@link ProductRepository#findByIdForUpdate} and saves it afterwards.
+     *
+     * @param userId the ordering user
+     * @param product the locked product
+     * @param quantity quantity being ordered
+     * @return quantity covered by the hold, which the caller must not deduct again
+     */
+    public int convertHold(UUID userId, Product product, int quantity) {
+        StockHold hold = holdRepository.findByUserIdAndProductId(userId, product.getId()).orElse(null);
+        if (hold == null) {
+            return 0;
+        }
+
+        int covered = hold.isExpired(LocalDateTime.now()) ? 0 : Math.min(hold.getQuantity(), quantity);
+        product.setQuantity(product.getQuantity() + hold.getQuantity() - covered);
+        holdRepository.delete(hold);
+        if (covered > 0) {
+            converted.increment();
+        }
+        return covered;
+    }
+}
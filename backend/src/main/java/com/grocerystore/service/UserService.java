@@ -21,7 +21,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
@@ -36,6 +38,9 @@ public class UserService {
 
     private static final Logger logger = LoggerFactory.getLogger(UserService.class);
 
+    // Digits with the punctuation people type in phone numbers
+    private static final Pattern PHONE_TERM = Pattern.compile("[0-9+()\\-.\\s]+");
+
     @Autowired
     private UserRepository userRepository;
 
@@ -94,7 +99,7 @@ public class UserService {
      */
     @Transactional(readOnly = true)
     public UserResponse getUserByEmail(String email) {
-        User user = userRepository.findByEmail(email)
+        User user = userRepository.findByNaturalEmail(email)
             .orElseThrow(() -> new ResourceNotFoundException("User", "email", email));
         return UserResponse.fromUser(user);
     }
@@ -125,15 +130,23 @@ public class UserService {
     }
 
     /**
-     * Search users by name or email.
+     * Search users by name, email or phone number, best matches first.
+     * A term made of digits and phone punctuation also matches phone numbers,
+     * ignoring how they are formatted.
      * 
      * @param searchTerm search term
-     * @param pageable pagination information
+     * @param pageable pagination information, unsorted
      * @return page of user response DTOs
      */
     @Transactional(readOnly = true)
     public Page<UserResponse> searchUsers(String searchTerm, Pageable pageable) {
-        Page<User> users = userRepository.searchUsers(searchTerm, pageable);
+        String term = searchTerm.trim().toLowerCase(Locale.ROOT);
+        String pattern = "%" + term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+
+        String digits = term.replaceAll("[^0-9]", "");
+        String phonePattern = digits.length() >= 3 && PHONE_TERM.matcher(term).matches() ? "%" + digits + "%" : null;
+
+        Page<User> users = userRepository.searchUsers(term, pattern, phonePattern, pageable);
         return users.map(UserResponse::fromUser);
     }
 
@@ -0,0 +1,105 @@
+package com.grocerystore.stream;
+
+import com.grocerystore.dto.product.LowStockAlertResponse;
+import com.grocerystore.entity.Product;
+import com.grocerystore.event.ReplenishmentEvent;
+import com.grocerystore.repository.ProductRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pushes replenishment alerts to admin dashboards over Server-Sent Events.
+ * Alerts are sent from a single background thread as soon as the stock
+ * change that caused them commits, so a slow dashboard connection never
+ * holds up order placement.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+@Component
+public class LowStockAlertStream {
+
+    private static final Logger logger = LoggerFactory.getLogger(LowStockAlertStream.class);
+
+    private final ProductRepository productRepository;
+    private final Set<SseEmitter> emitters = ConcurrentHashMap.newKeySet();
+    private final ExecutorService sender;
+    private final long timeoutMillis;
+
+    public LowStockAlertStream(ProductRepository productRepository,
+                               @Value("${inventory.low-stock.alert-timeout-minutes:60}") long timeoutMinutes) {
+        this.productRepository = productRepository;
+        this.timeoutMillis = TimeUnit.MINUTES.toMillis(timeoutMinutes);
+        this.sender = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "low-stock-alerts");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Open a stream of replenishment alerts.
+     *
+     * @return SSE emitter for the connection
+     */
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(ex -> emitters.remove(emitter));
+        emitters.add(emitter);
+        return emitter;
+    }
+
+    /**
+     * Forward a replenishment event to every open dashboard.
+     *
+     * @param event replenishment event
+     */
+    @EventListener
+    public void onReplenishment(ReplenishmentEvent event) {
+        if (emitters.isEmpty()) {
+            return;
+        }
+        sender.execute(() -> send(event));
+    }
+
+    private void send(ReplenishmentEvent event) {
+        String productName = productRepository.findById(event.getProductId())
+            .map(Product::getName)
+            .orElse(null);
+        LowStockAlertResponse alert = LowStockAlertResponse.fromEvent(event, productName);
+
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(SseEmitter.event()
+                    .name("low-stock")
+                    .id(event.getProductId().toString())
+                    .data(alert, MediaType.APPLICATION_JSON));
+            } catch (IOException | IllegalStateException e) {
+                logger.debug("Dropping low-stock alert connection: {}", e.getMessage());
+                emitters.remove(emitter);
+                emitter.complete();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+        emitters.forEach(SseEmitter::complete);
+    }
+}
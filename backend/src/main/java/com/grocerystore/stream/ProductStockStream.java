@@ -0,0 +1,337 @@
+package com.grocerystore.stream;
+
+import com.grocerystore.dto.product.StockUpdateResponse;
+import com.grocerystore.event.ProductChangedEvent;
+import com.grocerystore.exception.BadRequestException;
+import com.grocerystore.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes stock and price changes to product pages over Server-Sent Events.
+ * Committed product changes are coalesced per product for a short window,
+ * then fanned out to the connections subscribed to that product. Idle
+ * connections only cost the servlet async context; memory per connection is
+ * bounded by the number of products it watches, because undelivered updates
+ * are overwritten rather than queued.
+ * <p>
+ * Writes run on a small fan-out pool, at most one queued or running task per
+ * connection, so the pool's bounded work queue cannot overflow. A client that
+ * stops reading blocks its write; a watchdog aborts connections whose
+ * write has been blocked longer than the send timeout, so a few stalled
+ * clients cannot hold the pool. {@code SseEmitter.send} and {@code complete}
+ * share the emitter's lock, so connections are never completed from the
+ * scheduler: they are aborted on a separate thread through the servlet async
+ * context instead. Heartbeats go out as one task per fan-out thread, each
+ * covering a share of the connections, and skip connections that are being
+ * written to anyway.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+@Component
+public class ProductStockStream {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductStockStream.class);
+
+    private final Map<UUID, StockUpdateResponse> coalesced = new ConcurrentHashMap<>();
+    private final Map<UUID, Set<StockSubscription>> subscriptionsByProduct = new ConcurrentHashMap<>();
+    private final Set<StockSubscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService fanOut;
+    private final ExecutorService aborts;
+
+    private final int maxSubscribers;
+    private final int maxProductsPerSubscriber;
+    private final long timeoutMillis;
+    private final long sendTimeoutMillis;
+    private final int fanOutThreads;
+
+    private final Counter published;
+    private final Counter delivered;
+    private final Counter dropped;
+    private final Counter stalled;
+
+    public ProductStockStream(MeterRegistry meterRegistry,
+                              @Value("${catalog.stock-stream.coalesce-millis:250}") long coalesceMillis,
+                              @Value("${catalog.stock-stream.heartbeat-seconds:25}") long heartbeatSeconds,
+                              @Value("${catalog.stock-stream.timeout-minutes:30}") long timeoutMinutes,
+                              @Value("${catalog.stock-stream.max-subscribers:50000}") int maxSubscribers,
+                              @Value("${catalog.stock-stream.max-products-per-subscriber:50}") int maxProductsPerSubscriber,
+                              @Value("${catalog.stock-stream.fan-out-threads:4}") int fanOutThreads,
+                              @Value("${catalog.stock-stream.send-timeout-millis:5000}") long sendTimeoutMillis) {
+        this.maxSubscribers = maxSubscribers;
+        this.maxProductsPerSubscriber = maxProductsPerSubscriber;
+        this.timeoutMillis = TimeUnit.MINUTES.toMillis(timeoutMinutes);
+        this.sendTimeoutMillis = sendTimeoutMillis;
+        this.fanOutThreads = fanOutThreads;
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(daemon("stock-stream-scheduler"));
+        // One queued task per subscription plus one heartbeat task per thread at most
+        this.fanOut = new ThreadPoolExecutor(fanOutThreads, fanOutThreads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(maxSubscribers + fanOutThreads), daemon("stock-stream-fan-out"));
+        this.aborts = Executors.newSingleThreadExecutor(daemon("stock-stream-abort"));
+
+        this.published = Counter.builder("catalog.stock.stream.updates")
+            .tag("stage", "published")
+            .description("Coalesced stock updates flushed to subscribers")
+            .register(meterRegistry);
+        this.delivered = Counter.builder("catalog.stock.stream.updates")
+            .tag("stage", "delivered")
+            .description("Stock updates written to SSE connections")
+            .register(meterRegistry);
+        this.dropped = Counter.builder("catalog.stock.stream.disconnects")
+            .tag("reason", "failed")
+            .description("SSE connections dropped by the server")
+            .register(meterRegistry);
+        this.stalled = Counter.builder("catalog.stock.stream.disconnects")
+            .tag("reason", "stalled")
+            .description("SSE connections dropped by the server")
+            .register(meterRegistry);
+        Gauge.builder("catalog.stock.stream.subscribers", subscriberCount, AtomicInteger::get)
+            .description("Open stock update SSE connections")
+            .register(meterRegistry);
+
+        scheduler.scheduleWithFixedDelay(this::flush, coalesceMillis, coalesceMillis, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::heartbeat, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+        long watchdogMillis = Math.max(100, sendTimeoutMillis / 2);
+        scheduler.scheduleWithFixedDelay(this::abortStalled, watchdogMillis, watchdogMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Open a stream of stock updates for the given products.
+     *
+     * @param productIds products to watch
+     * @param request the streaming request, used to abort the connection
+     * @return SSE emitter for the connection
+     */
+    public SseEmitter subscribe(Collection<UUID> productIds, HttpServletRequest request) {
+        if (productIds == null || productIds.isEmpty()) {
+            throw new BadRequestException("At least one product ID is required");
+        }
+        if (productIds.size() > maxProductsPerSubscriber) {
+            throw new BadRequestException("Cannot watch more than " + maxProductsPerSubscriber + " products");
+        }
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new ServiceUnavailableException("Stock update stream is at capacity, please poll instead");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        StockSubscription subscription = new StockSubscription(emitter, request, Set.copyOf(productIds));
+
+        emitter.onCompletion(() -> unsubscribe(subscription));
+        emitter.onTimeout(() -> unsubscribe(subscription));
+        emitter.onError(ex -> unsubscribe(subscription));
+
+        subscriptions.add(subscription);
+        for (UUID productId : subscription.getProductIds()) {
+            subscriptionsByProduct.compute(productId, (id, watchers) -> {
+                Set<StockSubscription> updated = watchers != null ? watchers : ConcurrentHashMap.<StockSubscription>newKeySet();
+                updated.add(subscription);
+                return updated;
+            });
+        }
+
+        logger.debug("Stock stream opened for {} products", subscription.getProductIds().size());
+        return emitter;
+    }
+
+    /**
+     * Record a committed product change; only the latest state per product
+     * within the coalescing window is sent.
+     *
+     * @param event product changed event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (!subscriptionsByProduct.containsKey(event.getProductId())) {
+            return;
+        }
+
+        boolean removed = event.getChangeType() == ProductChangedEvent.ChangeType.DELETED;
+        if (!removed && !event.hasSnapshot()) {
+            return;
+        }
+
+        coalesced.put(event.getProductId(), new StockUpdateResponse(
+            event.getProductId(),
+            removed ? Integer.valueOf(0) : event.getQuantity(),
+            event.getPrice(),
+            removed,
+            System.currentTimeMillis()
+        ));
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    private void flush() {
+        try {
+            for (UUID productId : coalesced.keySet()) {
+                StockUpdateResponse update = coalesced.remove(productId);
+                Set<StockSubscription> watchers = subscriptionsByProduct.get(productId);
+                if (update == null || watchers == null) {
+                    continue;
+                }
+
+                published.increment();
+                for (StockSubscription subscription : watchers) {
+                    if (subscription.offer(update)) {
+                        scheduleDrain(subscription);
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.error("Failed to flush stock updates", e);
+        }
+    }
+
+    private void drain(StockSubscription subscription) {
+        try {
+            delivered.increment(subscription.drain());
+        } catch (IOException | IllegalStateException e) {
+            fail(subscription);
+        }
+    }
+
+    private void heartbeat() {
+        List<StockSubscription> all = new ArrayList<>(subscriptions);
+        int shardSize = Math.max(1, (all.size() + fanOutThreads - 1) / fanOutThreads);
+        for (int from = 0; from < all.size(); from += shardSize) {
+            List<StockSubscription> shard = all.subList(from, Math.min(all.size(), from + shardSize));
+            execute(() -> {
+                for (StockSubscription subscription : shard) {
+                    try {
+                        if (subscription.heartbeat()) {
+                            scheduleDrain(subscription);
+                        }
+                    } catch (IOException | IllegalStateException e) {
+                        fail(subscription);
+                    }
+                }
+            });
+        }
+    }
+
+    private void abortStalled() {
+        long now = System.currentTimeMillis();
+        for (StockSubscription subscription : subscriptions) {
+            if (subscription.isStalled(now, sendTimeoutMillis)) {
+                logger.debug("Stock stream client stopped reading; aborting the connection");
+                stalled.increment();
+                close(subscription);
+            }
+        }
+    }
+
+    private void scheduleDrain(StockSubscription subscription) {
+        if (!execute(() -> drain(subscription))) {
+            // Nothing would drain it again; the client reconnects
+            fail(subscription);
+        }
+    }
+
+    // Rejects only after shutdown, or when heartbeat rounds pile up behind stalled writes
+    private boolean execute(Runnable task) {
+        try {
+            fanOut.execute(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            logger.debug("Stock stream fan-out rejected a task", e);
+            return false;
+        }
+    }
+
+    private void fail(StockSubscription subscription) {
+        if (!subscription.isClosed()) {
+            dropped.increment();
+        }
+        close(subscription);
+    }
+
+    // Called from the scheduler too, so never touches the emitter on this thread
+    private void close(StockSubscription subscription) {
+        unsubscribe(subscription);
+        try {
+            aborts.execute(() -> abort(subscription));
+        } catch (RejectedExecutionException e) {
+            logger.debug("Stock stream abort rejected after shutdown", e);
+        }
+    }
+
+    private void abort(StockSubscription subscription) {
+        try {
+            subscription.abort();
+        } catch (RuntimeException e) {
+            // Already completed by the container, e.g. the client disconnected
+            logger.debug("Aborting stock stream connection failed", e);
+        }
+    }
+
+    private void unsubscribe(StockSubscription subscription) {
+        if (subscription.isClosed()) {
+            return;
+        }
+        subscription.markClosed();
+
+        if (subscriptions.remove(subscription)) {
+            subscriberCount.decrementAndGet();
+        }
+        for (UUID productId : subscription.getProductIds()) {
+            subscriptionsByProduct.computeIfPresent(productId, (id, watchers) -> {
+                watchers.remove(subscription);
+                return watchers.isEmpty() ? null : watchers;
+            });
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        fanOut.shutdownNow();
+        aborts.shutdownNow();
+        for (StockSubscription subscription : subscriptions) {
+            subscription.getEmitter().complete();
+        }
+    }
+
+    private static ThreadFactory daemon(String prefix) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,156 @@
+package com.grocerystore.stream;
+
+import com.grocerystore.dto.product.StockUpdateResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One open SSE connection and the products it watches.
+ * Pending updates are kept as the latest value per product, so a slow
+ * client never holds more than one update per subscribed product no matter
+ * how often stock changes. At most one thread writes to a connection at a
+ * time, and the write in progress is timed so a client that stops reading
+ * can be detected and aborted through the servlet async context, which does
+ * not wait for the emitter's lock held by the blocked write.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+class StockSubscription {
+
+    static final String EVENT_NAME = "stock";
+
+    private final SseEmitter emitter;
+    private final HttpServletRequest request;
+    private final Set<UUID> productIds;
+    private final Map<UUID, StockUpdateResponse> pending = new ConcurrentHashMap<>();
+    // Set while a drain or heartbeat is queued or running for this connection
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    // When the write in progress started, 0 when not writing
+    private volatile long writeStartedMillis;
+    private volatile boolean closed;
+
+    StockSubscription(SseEmitter emitter, HttpServletRequest request, Set<UUID> productIds) {
+        this.emitter = emitter;
+        this.request = request;
+        this.productIds = productIds;
+    }
+
+    SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    Set<UUID> getProductIds() {
+        return productIds;
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    void markClosed() {
+        closed = true;
+    }
+
+    /**
+     * Queue an update, replacing any undelivered update for the same product.
+     *
+     * @param update stock update
+     * @return true if the caller must schedule a drain
+     */
+    boolean offer(StockUpdateResponse update) {
+        if (closed) {
+            return false;
+        }
+        pending.put(update.getProductId(), update);
+        return scheduled.compareAndSet(false, true);
+    }
+
+    /**
+     * Write all pending updates to the connection, including ones offered
+     * while writing. Only one thread writes to a subscription at a time.
+     *
+     * @return number of updates written
+     * @throws IOException if the client has gone away
+     */
+    int drain() throws IOException {
+        int written = 0;
+        do {
+            Iterator<Map.Entry<UUID, StockUpdateResponse>> it = pending.entrySet().iterator();
+            while (it.hasNext() && !closed) {
+                StockUpdateResponse update = it.next().getValue();
+                it.remove();
+                send(SseEmitter.event()
+                    .name(EVENT_NAME)
+                    .id(update.getProductId() + ":" + update.getTimestamp())
+                    .data(update, MediaType.APPLICATION_JSON));
+                written++;
+            }
+            scheduled.set(false);
+        } while (!pending.isEmpty() && !closed && scheduled.compareAndSet(false, true));
+        return written;
+    }
+
+    /**
+     * Send a comment line so proxies keep the connection open and dead
+     * clients are detected. Skipped while a drain is queued or running,
+     * since that write keeps the connection alive anyway.
+     *
+     * @return true if updates arrived meanwhile and the caller must schedule a drain
+     * @throws IOException if the client has gone away
+     */
+    boolean heartbeat() throws IOException {
+        if (closed || !scheduled.compareAndSet(false, true)) {
+            return false;
+        }
+        send(SseEmitter.event().comment("ping"));
+        scheduled.set(false);
+        return !pending.isEmpty() && scheduled.compareAndSet(false, true);
+    }
+
+    /**
+     * Check whether a write to this connection has been blocked for too long,
+     * i.e. the client is not reading.
+     *
+     * @param now current time in milliseconds
+     * @param sendTimeoutMillis longest acceptable write
+     * @return true if the current write started more than sendTimeoutMillis ago
+     */
+    boolean isStalled(long now, long sendTimeoutMillis) {
+        long started = writeStartedMillis;
+        return started != 0 && now - started > sendTimeoutMillis;
+    }
+
+    /**
+     * End the connection without taking the emitter's lock, so it works while
+     * another thread is blocked writing to a client that stopped reading.
+     * Completing the async context lets the container close the response;
+     * the blocked write then fails and its thread is released.
+     */
+    void abort() {
+        if (request.isAsyncStarted()) {
+            request.getAsyncContext().complete();
+        } else {
+            // Not handed to the container yet, so nothing can be writing
+            emitter.complete();
+        }
+    }
+
+    private void send(SseEmitter.SseEventBuilder event) throws IOException {
+        writeStartedMillis = System.currentTimeMillis();
+        try {
+            emitter.send(event);
+        } finally {
+            writeStartedMillis = 0;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+-- Trigram indexes for the admin customer search, which matches substrings
+-- of name, email and phone number. The expressions must match the ones in
+-- UserRepository.searchUsers for the planner to use them. Built
+-- CONCURRENTLY so the migration does not block sign-ups on a live
+-- database; Flyway runs this script outside a transaction.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_full_name_trgm
+    ON users USING gin (LOWER(full_name) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_email_trgm
+    ON users USING gin (LOWER(email) gin_trgm_ops);
+
+-- Phone numbers are searched by their digits only, whatever the formatting
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_contact_digits_trgm
+    ON users USING gin (REGEXP_REPLACE(contact_number, '[^0-9]', '', 'g') gin_trgm_ops);
@@ -0,0 +1,3 @@
+-- Contact number and notes given at checkout; NULL for orders placed before these columns existed
+ALTER TABLE orders ADD COLUMN contact_number VARCHAR(15);
+ALTER TABLE orders ADD COLUMN order_notes TEXT;
@@ -0,0 +1,82 @@
+-- Baseline schema
+-- Matches the schema Hibernate generated while the application ran with
+-- ddl-auto=update, so existing databases can be baselined at version 1.
+-- Requires PostgreSQL 13+ (gen_random_uuid).
+
+CREATE TABLE users (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    full_name VARCHAR(100) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    address TEXT NOT NULL,
+    contact_number VARCHAR(15) NOT NULL,
+    role VARCHAR(255) NOT NULL CHECK (role IN ('CUSTOMER', 'ADMIN')),
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE products (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    name VARCHAR(255) NOT NULL,
+    description TEXT,
+    price NUMERIC(10, 2) NOT NULL CHECK (price > 0),
+    quantity INTEGER NOT NULL CHECK (quantity >= 0),
+    image_url VARCHAR(500),
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6)
+);
+
+CREATE TABLE orders (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    order_date TIMESTAMP(6) NOT NULL,
+    status VARCHAR(255) NOT NULL CHECK (status IN ('PENDING', 'PROCESSING', 'COMPLETED', 'CANCELLED')),
+    total_amount NUMERIC(10, 2) NOT NULL CHECK (total_amount >= 0),
+    shipping_address TEXT NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6)
+);
+
+CREATE TABLE order_items (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    order_id UUID NOT NULL REFERENCES orders(id) ON DELETE CASCADE,
+    product_id UUID NOT NULL REFERENCES products(id) ON DELETE CASCADE,
+    quantity INTEGER NOT NULL CHECK (quantity > 0),
+    price NUMERIC(10, 2) NOT NULL CHECK (price > 0),
+    created_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE reviews (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    product_id UUID NOT NULL REFERENCES products(id) ON DELETE CASCADE,
+    user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    rating INTEGER NOT NULL CHECK (rating >= 1 AND rating <= 5),
+    comment TEXT,
+    has_comment BOOLEAN NOT NULL DEFAULT FALSE, -- Maintained by the application, avoids TRIM(comment) scans
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    CONSTRAINT uk_reviews_product_user UNIQUE (product_id, user_id) -- One review per user per product
+);
+
+-- Per-product rating histogram, updated incrementally on review writes
+CREATE TABLE product_rating_histograms (
+    product_id UUID PRIMARY KEY REFERENCES products(id) ON DELETE CASCADE,
+    one_star BIGINT NOT NULL DEFAULT 0,
+    two_star BIGINT NOT NULL DEFAULT 0,
+    three_star BIGINT NOT NULL DEFAULT 0,
+    four_star BIGINT NOT NULL DEFAULT 0,
+    five_star BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Reorder profile (one row per customer and product bought)
+CREATE TABLE reorder_profile_items (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    product_id UUID NOT NULL REFERENCES products(id) ON DELETE CASCADE,
+    purchase_count INTEGER NOT NULL,
+    first_purchased_at TIMESTAMP(6) NOT NULL,
+    last_purchased_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_reorder_profile_items_user_product UNIQUE (user_id, product_id)
+);
@@ -0,0 +1,4 @@
+-- has_comment was added with a FALSE default; derive it for reviews written before that
+UPDATE reviews
+SET has_comment = (comment IS NOT NULL AND TRIM(comment) <> '')
+WHERE has_comment <> (comment IS NOT NULL AND TRIM(comment) <> '');
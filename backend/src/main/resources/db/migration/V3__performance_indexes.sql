@@ -0,0 +1,25 @@
+-- Indexes for the catalog, order history and review queries.
+-- Built CONCURRENTLY so the migration does not block writes on a live
+-- database; Flyway runs this script outside a transaction.
+
+-- Users: case-insensitive email lookups
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_email_lower ON users (LOWER(email));
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_role ON users (role);
+
+-- Products: recent, price-range and in-stock / low-stock listings
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_products_created_at ON products (created_at);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_products_price ON products (price);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_products_in_stock ON products (quantity) WHERE quantity > 0;
+
+-- Orders: a customer's history and admin listings by status, newest first
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_user_date ON orders (user_id, order_date);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_status_date ON orders (status, order_date);
+
+-- Order items: foreign keys used by every order, purchase and recommendation query
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_order_items_order_id ON order_items (order_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_order_items_product_id ON order_items (product_id);
+
+-- Reviews: product feeds (all / with comments) and a user's own reviews, newest first
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_reviews_product_created ON reviews (product_id, created_at DESC);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_reviews_product_commented ON reviews (product_id, created_at DESC) WHERE has_comment;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_reviews_user_created ON reviews (user_id, created_at DESC);
@@ -0,0 +1,2 @@
+-- Per-product reorder threshold for low-stock detection; NULL uses inventory.low-stock.default-threshold
+ALTER TABLE products ADD COLUMN reorder_threshold INTEGER CHECK (reorder_threshold >= 0);
@@ -0,0 +1,13 @@
+-- Temporary stock reservations between add-to-cart and checkout.
+-- A hold's quantity is already deducted from products.quantity; expiry or cancellation gives it back.
+CREATE TABLE stock_holds (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    product_id UUID NOT NULL REFERENCES products(id) ON DELETE CASCADE,
+    quantity INTEGER NOT NULL CHECK (quantity > 0),
+    expires_at TIMESTAMP(6) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_stock_holds_user_product UNIQUE (user_id, product_id)
+);
+
+CREATE INDEX idx_stock_holds_product_id ON stock_holds (product_id);
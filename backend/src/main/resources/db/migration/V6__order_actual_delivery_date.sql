@@ -0,0 +1,2 @@
+-- When an order was delivered (moved to COMPLETED); NULL for orders completed before this column existed
+ALTER TABLE orders ADD COLUMN actual_delivery_date TIMESTAMP(6);
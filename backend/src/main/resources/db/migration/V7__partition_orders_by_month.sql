@@ -0,0 +1,82 @@
+-- Range-partition orders and order_items by order_date, one partition per month.
+-- The primary key of a partitioned table must include the partition key, so
+-- both keys become (id, order_date) and every order item carries its order's
+-- date; item queries filtered by date then prune partitions as well.
+-- Existing rows are copied into the new tables inside this migration. Future
+-- partitions are created, and old ones detached, by OrderPartitionManager.
+
+ALTER TABLE order_items RENAME TO order_items_unpartitioned;
+ALTER TABLE orders RENAME TO orders_unpartitioned;
+
+CREATE TABLE orders (
+    id UUID NOT NULL DEFAULT gen_random_uuid(),
+    user_id UUID NOT NULL,
+    order_date TIMESTAMP(6) NOT NULL,
+    status VARCHAR(255) NOT NULL CHECK (status IN ('PENDING', 'PROCESSING', 'COMPLETED', 'CANCELLED')),
+    total_amount NUMERIC(10, 2) NOT NULL CHECK (total_amount >= 0),
+    shipping_address TEXT NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    actual_delivery_date TIMESTAMP(6)
+) PARTITION BY RANGE (order_date);
+
+CREATE TABLE order_items (
+    id UUID NOT NULL DEFAULT gen_random_uuid(),
+    order_id UUID NOT NULL,
+    order_date TIMESTAMP(6) NOT NULL,
+    product_id UUID NOT NULL,
+    quantity INTEGER NOT NULL CHECK (quantity > 0),
+    price NUMERIC(10, 2) NOT NULL CHECK (price > 0),
+    created_at TIMESTAMP(6) NOT NULL
+) PARTITION BY RANGE (order_date);
+
+-- Monthly partitions from the oldest order through three months ahead
+DO $$
+DECLARE
+    month DATE := date_trunc('month', COALESCE((SELECT MIN(order_date) FROM orders_unpartitioned), now()))::date;
+    last_month DATE := (date_trunc('month', now()) + INTERVAL '3 months')::date;
+BEGIN
+    WHILE month <= last_month LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF orders FOR VALUES FROM (%L) TO (%L)',
+                       'orders_p' || to_char(month, 'YYYY_MM'), month, (month + INTERVAL '1 month')::date);
+        EXECUTE format('CREATE TABLE %I PARTITION OF order_items FOR VALUES FROM (%L) TO (%L)',
+                       'order_items_p' || to_char(month, 'YYYY_MM'), month, (month + INTERVAL '1 month')::date);
+        month := (month + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+-- Catches rows for months without a partition, so an order is never rejected for lack of one
+CREATE TABLE orders_default PARTITION OF orders DEFAULT;
+CREATE TABLE order_items_default PARTITION OF order_items DEFAULT;
+
+INSERT INTO orders (id, user_id, order_date, status, total_amount, shipping_address,
+                    created_at, updated_at, actual_delivery_date)
+SELECT id, user_id, order_date, status, total_amount, shipping_address,
+       created_at, updated_at, actual_delivery_date
+FROM orders_unpartitioned;
+
+INSERT INTO order_items (id, order_id, order_date, product_id, quantity, price, created_at)
+SELECT oi.id, oi.order_id, o.order_date, oi.product_id, oi.quantity, oi.price, oi.created_at
+FROM order_items_unpartitioned oi
+JOIN orders_unpartitioned o ON o.id = oi.order_id;
+
+DROP TABLE order_items_unpartitioned;
+DROP TABLE orders_unpartitioned;
+
+-- Keys and indexes are created on the parents after the copy and cascade to every partition
+ALTER TABLE orders ADD PRIMARY KEY (id, order_date);
+ALTER TABLE orders ADD FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE;
+
+ALTER TABLE order_items ADD PRIMARY KEY (id, order_date);
+ALTER TABLE order_items ADD CONSTRAINT fk_order_items_order
+    FOREIGN KEY (order_id, order_date) REFERENCES orders(id, order_date) ON DELETE CASCADE;
+ALTER TABLE order_items ADD FOREIGN KEY (product_id) REFERENCES products(id) ON DELETE CASCADE;
+
+CREATE INDEX idx_orders_user_date ON orders (user_id, order_date);
+CREATE INDEX idx_orders_status_date ON orders (status, order_date);
+
+CREATE INDEX idx_order_items_order_id ON order_items (order_id);
+CREATE INDEX idx_order_items_product_id ON order_items (product_id);
+
+ANALYZE orders;
+ANALYZE order_items;
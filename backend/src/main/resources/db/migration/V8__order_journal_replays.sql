@@ -0,0 +1,13 @@
+-- Outcome of replaying orders captured in the local order journal while the database was unavailable.
+-- The provisional ID handed to the customer is the key, so a journal entry is applied at most once.
+CREATE TABLE order_journal_replays (
+    provisional_id UUID PRIMARY KEY,
+    user_id UUID NOT NULL,
+    order_id UUID,
+    outcome VARCHAR(255) NOT NULL CHECK (outcome IN ('APPLIED', 'CONFLICT')),
+    detail TEXT,
+    captured_at TIMESTAMP(6) NOT NULL,
+    replayed_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_order_journal_replays_conflicts ON order_journal_replays (replayed_at) WHERE outcome = 'CONFLICT';
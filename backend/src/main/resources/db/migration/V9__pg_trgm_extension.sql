@@ -0,0 +1,6 @@
+-- Trigram matching for substring and fuzzy search. Kept apart from the
+-- indexes that use it: those are built CONCURRENTLY, outside a transaction,
+-- and Flyway does not mix transactional and non-transactional statements
+-- in one script.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
@@ -0,0 +1,25 @@
+-- Development sample data. Only applied when classpath:db/sample is in
+-- spring.flyway.locations (see docker-compose.yml); never enable in production.
+
+-- Sample admin user (password: admin123)
+INSERT INTO users (full_name, email, password, address, contact_number, role, created_at, updated_at)
+VALUES ('Admin User', 'admin@grocerystore.com', '$2a$10$92IXUNpkjO0rOQ5byMi.Ye4oKoEa3Ro9llC/.og/at2.uheWG/igi',
+        '123 Admin Street, Admin City', '1234567890', 'ADMIN', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+ON CONFLICT (email) DO NOTHING;
+
+-- Sample products
+INSERT INTO products (name, description, price, quantity, image_url, created_at, updated_at)
+SELECT v.name, v.description, v.price, v.quantity, v.image_url, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+FROM (VALUES
+    ('Fresh Apples', 'Crisp and sweet red apples, perfect for snacking', 3.99, 100, 'https://example.com/images/apples.jpg'),
+    ('Whole Milk', 'Fresh whole milk, 1 gallon', 4.49, 50, 'https://example.com/images/milk.jpg'),
+    ('Organic Bananas', 'Organic bananas, bunch of 6', 2.99, 75, 'https://example.com/images/bananas.jpg'),
+    ('Bread Loaf', 'Whole wheat bread loaf', 2.49, 30, 'https://example.com/images/bread.jpg'),
+    ('Free Range Eggs', 'Farm fresh free range eggs, dozen', 5.99, 40, 'https://example.com/images/eggs.jpg'),
+    ('Organic Carrots', 'Fresh organic carrots, 2 lb bag', 3.49, 60, 'https://example.com/images/carrots.jpg'),
+    ('Greek Yogurt', 'Plain Greek yogurt, 32 oz', 6.99, 25, 'https://example.com/images/yogurt.jpg'),
+    ('Chicken Breast', 'Boneless skinless chicken breast, 1 lb', 8.99, 20, 'https://example.com/images/chicken.jpg'),
+    ('Pasta', 'Whole grain pasta, 1 lb box', 1.99, 80, 'https://example.com/images/pasta.jpg'),
+    ('Olive Oil', 'Extra virgin olive oil, 500ml', 12.99, 15, 'https://example.com/images/olive-oil.jpg')
+) AS v(name, description, price, quantity, image_url)
+WHERE NOT EXISTS (SELECT 1 FROM products p WHERE p.name = v.name);
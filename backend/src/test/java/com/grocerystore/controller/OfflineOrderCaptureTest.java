@@ -0,0 +1,195 @@
+package com.grocerystore.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.grocerystore.PostgresIntegrationTest;
+import com.grocerystore.entity.Product;
+import com.grocerystore.entity.User;
+import com.grocerystore.entity.UserRole;
+import com.grocerystore.index.CatalogSnapshotIndex;
+import com.grocerystore.journal.DatabaseHealthMonitor;
+import com.grocerystore.repository.OrderJournalReplayRepository;
+import com.grocerystore.repository.ProductRepository;
+import com.grocerystore.repository.UserRepository;
+import com.grocerystore.security.CustomUserDetailsService;
+import com.grocerystore.security.JwtUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Takes an order through {@code POST /api/orders} while every connection
+ * request fails, as in a database outage: the customer must authenticate
+ * from the token alone and get a provisional order from the journal, which
+ * is replayed into the database once it is back.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+@SpringBootTest(properties = {
+    "orders.journal.probe-millis=100",
+    "orders.journal.probe-timeout-seconds=1",
+    "orders.journal.unhealthy-after-millis=500",
+    "orders.journal.replay-millis=200"
+})
+@AutoConfigureMockMvc
+class OfflineOrderCaptureTest extends PostgresIntegrationTest {
+
+    private static final long WAIT_MILLIS = 15_000;
+
+    @DynamicPropertySource
+    static void journalPath(DynamicPropertyRegistry registry) throws IOException {
+        Path directory = Files.createTempDirectory("offline-order-journal");
+        registry.add("orders.journal.path", () -> directory.resolve("orders.journal").toString());
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OutageDataSource dataSource;
+
+    @Autowired
+    private DatabaseHealthMonitor databaseHealth;
+
+    @Autowired
+    private CatalogSnapshotIndex catalogSnapshotIndex;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderJournalReplayRepository journalReplayRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @AfterEach
+    void restoreDatabase() {
+        dataSource.down = false;
+    }
+
+    @Test
+    void orderIsJournaledWhileDatabaseIsDownAndReplayedAfterwards() throws Exception {
+        User customer = userRepository.save(new User("Offline Shopper", "offline-" + UUID.randomUUID() + "@example.com",
+            "not-a-real-hash", "1 Journal Street, Springfield", "5550000000", UserRole.CUSTOMER));
+        Product product = productRepository.save(new Product("Offline Apples", "Bought during an outage",
+            new BigDecimal("2.50"), 40));
+        catalogSnapshotIndex.rebuild();
+        String token = jwtUtil.generateToken(CustomUserDetailsService.UserPrincipal.create(customer));
+
+        dataSource.down = true;
+        await(() -> !databaseHealth.isHealthy(), "database reported unhealthy");
+
+        String body = """
+            {"deliveryAddress": "1 Journal Street, Springfield", "contactNumber": "5550000000",
+             "orderNotes": "Leave at the door",
+             "orderItems": [{"productId": "%s", "quantity": 3}]}
+            """.formatted(product.getId());
+        String response = mockMvc.perform(post("/api/orders")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+            .andExpect(status().isAccepted())
+            .andReturn().getResponse().getContentAsString();
+
+        JsonNode order = objectMapper.readTree(response).get("data");
+        assertThat(order.get("provisional").asBoolean()).isTrue();
+        assertThat(order.get("customerId").asText()).isEqualTo(customer.getId().toString());
+        assertThat(order.get("orderNotes").asText()).isEqualTo("Leave at the door");
+        UUID provisionalId = UUID.fromString(order.get("id").asText());
+
+        dataSource.down = false;
+        await(() -> journalReplayRepository.findOrderIdByProvisionalId(provisionalId).isPresent(),
+            "journaled order replayed");
+        Optional<Product> replayed = productRepository.findById(product.getId());
+        assertThat(replayed).get().extracting(Product::getQuantity).isEqualTo(37);
+    }
+
+    private static void await(BooleanSupplier condition, String description) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("Timed out waiting for: " + description);
+            }
+            Thread.sleep(50);
+        }
+    }
+
+    @TestConfiguration
+    static class Outage {
+
+        @Bean
+        static BeanPostProcessor outageDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource && !(bean instanceof OutageDataSource)
+                        ? new OutageDataSource(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    /**
+     * Fails every connection request with a connection exception while down.
+     */
+    static class OutageDataSource extends DelegatingDataSource {
+
+        volatile boolean down;
+
+        OutageDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            checkUp();
+            return super.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            checkUp();
+            return super.getConnection(username, password);
+        }
+
+        private void checkUp() throws SQLException {
+            if (down) {
+                throw new SQLTransientConnectionException("Database is down", "08001");
+            }
+        }
+    }
+}
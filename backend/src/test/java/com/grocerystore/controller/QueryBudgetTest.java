@@ -0,0 +1,129 @@
+package com.grocerystore.controller;
+
+import com.grocerystore.PostgresIntegrationTest;
+import com.grocerystore.monitoring.QueryBudget;
+import com.grocerystore.monitoring.QueryCountScope;
+import com.grocerystore.repository.ProductRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that query budgets catch N+1 endpoints, both through
+ * {@link QueryCountScope} in a test and through the per-request
+ * statistics filter in the running application.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+@SpringBootTest(properties = "orders.journal.path=target/test-journal/orders.journal")
+@AutoConfigureMockMvc
+class QueryBudgetTest extends PostgresIntegrationTest {
+
+    private static final String BASE_PATH = "/api/public/query-budget-test";
+    private static final int PRODUCT_COUNT = 6;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void nPlusOneEndpointViolatesItsBudget() throws Exception {
+        String ids = Stream.generate(UUID::randomUUID).limit(PRODUCT_COUNT)
+            .map(UUID::toString)
+            .collect(Collectors.joining(","));
+
+        try (QueryCountScope scope = QueryCountScope.open()) {
+            mockMvc.perform(get(BASE_PATH + "/products").param("ids", ids))
+                .andExpect(status().isOk());
+
+            assertThat(scope.getStatementCount()).isGreaterThanOrEqualTo(PRODUCT_COUNT);
+            assertThatThrownBy(() -> scope.assertStatementCountAtMost(3))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("NPlusOneController.productsOneByOne");
+            assertThatThrownBy(scope::assertNoRepeatedStatements)
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining(PRODUCT_COUNT + "x from");
+        }
+
+        assertThat(count("hibernate.request.budget.exceeded", BASE_PATH + "/products")).isEqualTo(1);
+        assertThat(count("hibernate.request.repeated.statements", BASE_PATH + "/products")).isEqualTo(1);
+    }
+
+    @Test
+    void zeroBudgetIsEnforced() throws Exception {
+        mockMvc.perform(get(BASE_PATH + "/count"))
+            .andExpect(status().isOk());
+
+        assertThat(count("hibernate.request.budget.exceeded", BASE_PATH + "/count")).isEqualTo(1);
+    }
+
+    private double count(String name, String uri) {
+        Counter counter = meterRegistry.find(name).tag("uri", uri).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    @TestConfiguration
+    static class Endpoints {
+
+        @Bean
+        NPlusOneController nPlusOneController(ProductRepository productRepository) {
+            return new NPlusOneController(productRepository);
+        }
+    }
+
+    /**
+     * Endpoints that deliberately break their query budgets.
+     */
+    @RestController
+    @RequestMapping(BASE_PATH)
+    static class NPlusOneController {
+
+        private final ProductRepository productRepository;
+
+        NPlusOneController(ProductRepository productRepository) {
+            this.productRepository = productRepository;
+        }
+
+        // One lookup per ID instead of one findAllById
+        @GetMapping("/products")
+        @QueryBudget(statements = 3)
+        public int productsOneByOne(@RequestParam List<UUID> ids) {
+            int found = 0;
+            for (UUID id : ids) {
+                if (productRepository.findById(id).isPresent()) {
+                    found++;
+                }
+            }
+            return found;
+        }
+
+        @GetMapping("/count")
+        @QueryBudget(statements = 0)
+        public long countProducts() {
+            return productRepository.count();
+        }
+    }
+}
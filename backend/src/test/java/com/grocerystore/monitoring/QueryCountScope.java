@@ -0,0 +1,86 @@
+package com.grocerystore.monitoring;
+
+import java.util.List;
+
+/**
+ * Test-time API for asserting how many SQL statements a block of code issues,
+ * typically one MockMvc call against a controller.
+ * <pre>
+ * try (QueryCountScope scope = QueryCountScope.open()) {
+ *     mockMvc.perform(get("/api/products/recent"));
+ *     scope.assertStatementCountAtMost(3);
+ *     scope.assertNoRepeatedStatements();
+ * }
+ * </pre>
+ * Requests handled on the calling thread (MockMvc) are nested inside the scope.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+public final class QueryCountScope implements AutoCloseable {
+
+    private final RequestQueryStatistics statistics;
+
+    private QueryCountScope(RequestQueryStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    /**
+     * Start counting statements on the current thread.
+     *
+     * @return open scope
+     */
+    public static QueryCountScope open() {
+        return new QueryCountScope(RequestQueryStatistics.begin());
+    }
+
+    public int getStatementCount() {
+        return statistics.getStatements();
+    }
+
+    public int getEntityLoadCount() {
+        return statistics.getEntityLoads();
+    }
+
+    public int getCollectionFetchCount() {
+        return statistics.getCollectionFetches();
+    }
+
+    /**
+     * Assert that no more than the given number of statements were issued.
+     *
+     * @param max maximum number of statements
+     * @throws AssertionError if the scope issued more statements
+     */
+    public void assertStatementCountAtMost(int max) {
+        if (statistics.getStatements() > max) {
+            throw new AssertionError("Expected at most " + max + " SQL statements but " +
+                    statistics.getStatements() + " were issued" + describeRepeats(2));
+        }
+    }
+
+    /**
+     * Assert that no statement was issued more than once.
+     *
+     * @throws AssertionError if any statement repeated
+     */
+    public void assertNoRepeatedStatements() {
+        if (!statistics.getRepeatedStatements(2).isEmpty()) {
+            throw new AssertionError("Repeated SQL statements detected" + describeRepeats(2));
+        }
+    }
+
+    @Override
+    public void close() {
+        RequestQueryStatistics.end();
+    }
+
+    private String describeRepeats(int threshold) {
+        List<RequestQueryStatistics.StatementCount> repeated = statistics.getRepeatedStatements(threshold);
+        StringBuilder description = new StringBuilder();
+        for (RequestQueryStatistics.StatementCount count : repeated) {
+            description.append(System.lineSeparator()).append("  ").append(count);
+        }
+        return description.toString();
+    }
+}
@@ -0,0 +1,169 @@
+package com.grocerystore.repository;
+
+import com.grocerystore.PostgresIntegrationTest;
+import com.grocerystore.entity.OrderStatus;
+import com.grocerystore.monitoring.RequestQueryStatistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the hot repository queries are served by the indexes the
+ * migrations create (V3, and V7 for the partitioned orders table).
+ * <p>
+ * Each repository method is called once while the statement inspector
+ * records the SQL Hibernate generates, and each statement is then prepared
+ * and explained with its generic plan, so the plan is for the exact query
+ * the application sends whatever its parameters. Sequential scans are
+ * disabled for the transaction: on these near-empty tables the planner
+ * would otherwise rightly prefer them, while with them disabled it still
+ * falls back to one when no index fits the query.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+@DataJpaTest(properties =
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.grocerystore.monitoring.QueryStatisticsStatementInspector")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class PerformanceIndexUsageTest extends PostgresIntegrationTest {
+
+    private static final Pattern INDEX_SCAN =
+        Pattern.compile("(?:Index Scan|Index Only Scan)(?: Backward)? using (\\S+)|Bitmap Index Scan on (\\S+)");
+    private static final PageRequest FIRST_PAGE = PageRequest.of(0, 20);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void disableSequentialScans() {
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+        jdbcTemplate.execute("SET LOCAL plan_cache_mode = force_generic_plan");
+    }
+
+    @Test
+    void emailLookupUsesLowerEmailIndex() {
+        assertUsesIndex("idx_users_email_lower", () -> userRepository.existsByEmailIgnoreCase("shopper@example.com"));
+    }
+
+    @Test
+    void recentProductsUseCreatedAtIndex() {
+        assertUsesIndex("idx_products_created_at", () -> productRepository.findByOrderByCreatedAtDesc(FIRST_PAGE));
+    }
+
+    @Test
+    void priceRangeUsesPriceIndex() {
+        assertUsesIndex("idx_products_price",
+            () -> productRepository.findByPriceBetween(new BigDecimal("1.00"), new BigDecimal("5.00"), FIRST_PAGE));
+    }
+
+    @Test
+    void inStockListingUsesPartialIndex() {
+        assertUsesIndex("idx_products_in_stock", () -> productRepository.findInStockProducts(FIRST_PAGE));
+    }
+
+    @Test
+    void orderHistoryUsesUserDateIndex() {
+        // Partitions get their own copy of the index, named after the partition and columns
+        assertUsesIndex("user_id_order_date", () -> orderRepository.findByUserId(UUID.randomUUID(),
+            PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "orderDate"))));
+    }
+
+    @Test
+    void ordersByStatusUseStatusDateIndex() {
+        assertUsesIndex("status_order_date", () -> orderRepository.findByStatus(OrderStatus.PENDING,
+            PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "orderDate"))));
+    }
+
+    @Test
+    void productReviewFeedUsesProductCreatedIndex() {
+        assertUsesIndex("idx_reviews_product_created",
+            () -> reviewRepository.findByProductIdOrderByCreatedAtDesc(UUID.randomUUID(), FIRST_PAGE));
+    }
+
+    @Test
+    void commentedReviewFeedUsesPartialIndex() {
+        assertUsesIndex("idx_reviews_product_commented",
+            () -> reviewRepository.findByProductIdWithComments(UUID.randomUUID(), FIRST_PAGE));
+    }
+
+    private void assertUsesIndex(String expectedIndex, Runnable repositoryCall) {
+        List<String> statements = capture(repositoryCall);
+        assertThat(statements).as("statements issued").isNotEmpty();
+
+        Set<String> indexes = new LinkedHashSet<>();
+        for (String sql : statements) {
+            String plan = explain(sql);
+            assertThat(plan).as("plan of %s", sql).doesNotContain("Seq Scan");
+            Matcher matcher = INDEX_SCAN.matcher(plan);
+            while (matcher.find()) {
+                indexes.add(matcher.group(1) != null ? matcher.group(1) : matcher.group(2));
+            }
+        }
+        assertThat(indexes).as("indexes used by %s", statements).anyMatch(index -> index.contains(expectedIndex));
+    }
+
+    private static List<String> capture(Runnable repositoryCall) {
+        RequestQueryStatistics statistics = RequestQueryStatistics.begin();
+        try {
+            repositoryCall.run();
+        } finally {
+            RequestQueryStatistics.end();
+        }
+        List<String> statements = new ArrayList<>();
+        for (RequestQueryStatistics.StatementCount count : statistics.getRepeatedStatements(1)) {
+            statements.add(count.getSql());
+        }
+        return statements;
+    }
+
+    // The driver would bind no values for $n placeholders in EXPLAIN (GENERIC_PLAN), so prepare
+    // the statement server-side instead; with force_generic_plan the NULL arguments do not affect the plan
+    private String explain(String sql) {
+        StringBuilder numbered = new StringBuilder(sql.length() + 16);
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+        String arguments = parameter == 0 ? "" : "(" + String.join(", ", Collections.nCopies(parameter, "NULL")) + ")";
+
+        jdbcTemplate.execute("PREPARE index_usage_check AS " + numbered);
+        try {
+            return String.join("\n", jdbcTemplate.queryForList("EXPLAIN EXECUTE index_usage_check" + arguments, String.class));
+        } finally {
+            jdbcTemplate.execute("DEALLOCATE index_usage_check");
+        }
+    }
+}
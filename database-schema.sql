@@ -1,161 +0,0 @@
--- Online Grocery Ordering System Database Schema
--- PostgreSQL Database Schema
--- Author: Chirag Singhal
--- Version: 1.0.0
--- Created: 2025-07-29
-
--- Create database (run this separately)
--- CREATE DATABASE grocery_db;
-
--- Connect to the database
--- \c grocery_db;
-
--- Enable UUID extension
-CREATE EXTENSION IF NOT EXISTS "uuid-ossp";
-
--- Create ENUM types
-CREATE TYPE user_role AS ENUM ('CUSTOMER', 'ADMIN');
-CREATE TYPE order_status AS ENUM ('PENDING', 'PROCESSING', 'COMPLETED', 'CANCELLED');
-
--- Users table
-CREATE TABLE users (
-    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
-    full_name VARCHAR(100) NOT NULL,
-    email VARCHAR(255) UNIQUE NOT NULL,
-    password VARCHAR(255) NOT NULL,
-    address TEXT NOT NULL,
-    contact_number VARCHAR(15) NOT NULL,
-    role user_role NOT NULL DEFAULT 'CUSTOMER',
-    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
-    updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP
-);
-
--- Products table
-CREATE TABLE products (
-    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
-    name VARCHAR(255) NOT NULL,
-    description TEXT,
-    price DECIMAL(10, 2) NOT NULL CHECK (price > 0),
-    quantity INTEGER NOT NULL CHECK (quantity >= 0),
-    image_url VARCHAR(500),
-    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
-    updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP
-);
-
--- Orders table
-CREATE TABLE orders (
-    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
-    user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
-    order_date TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
-    status order_status NOT NULL DEFAULT 'PENDING',
-    total_amount DECIMAL(10, 2) NOT NULL CHECK (total_amount >= 0),
-    shipping_address TEXT NOT NULL,
-    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
-    updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP
-);
-
--- Order items table
-CREATE TABLE order_items (
-    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
-    order_id UUID NOT NULL REFERENCES orders(id) ON DELETE CASCADE,
-    product_id UUID NOT NULL REFERENCES products(id) ON DELETE CASCADE,
-    quantity INTEGER NOT NULL CHECK (quantity > 0),
-    price DECIMAL(10, 2) NOT NULL CHECK (price > 0),
-    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP
-);
-
--- Reviews table
-CREATE TABLE reviews (
-    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
-    product_id UUID NOT NULL REFERENCES products(id) ON DELETE CASCADE,
-    user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
-    rating INTEGER NOT NULL CHECK (rating >= 1 AND rating <= 5),
-    comment TEXT,
-    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
-    updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
-    UNIQUE(product_id, user_id) -- One review per user per product
-);
-
--- Create indexes for better performance
-CREATE INDEX idx_users_email ON users(email);
-CREATE INDEX idx_users_role ON users(role);
-CREATE INDEX idx_products_name ON products(name);
-CREATE INDEX idx_orders_user_id ON orders(user_id);
-CREATE INDEX idx_orders_status ON orders(status);
-CREATE INDEX idx_orders_date ON orders(order_date);
-CREATE INDEX idx_order_items_order_id ON order_items(order_id);
-CREATE INDEX idx_order_items_product_id ON order_items(product_id);
-CREATE INDEX idx_reviews_product_id ON reviews(product_id);
-CREATE INDEX idx_reviews_user_id ON reviews(user_id);
-
--- Create function to update updated_at timestamp
-CREATE OR REPLACE FUNCTION update_updated_at_column()
-RETURNS TRIGGER AS $$
-BEGIN
-    NEW.updated_at = CURRENT_TIMESTAMP;
-    RETURN NEW;
-END;
-$$ language 'plpgsql';
-
--- Create triggers to automatically update updated_at
-CREATE TRIGGER update_users_updated_at BEFORE UPDATE ON users
-    FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
-
-CREATE TRIGGER update_products_updated_at BEFORE UPDATE ON products
-    FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
-
-CREATE TRIGGER update_orders_updated_at BEFORE UPDATE ON orders
-    FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
-
-CREATE TRIGGER update_reviews_updated_at BEFORE UPDATE ON reviews
-    FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
-
--- Insert sample admin user (password: admin123)
--- Note: In production, this should be done through the application with proper password hashing
-INSERT INTO users (full_name, email, password, address, contact_number, role) VALUES 
-('Admin User', 'admin@grocerystore.com', '$2a$10$92IXUNpkjO0rOQ5byMi.Ye4oKoEa3Ro9llC/.og/at2.uheWG/igi', '123 Admin Street, Admin City', '1234567890', 'ADMIN');
-
--- Insert sample products
-INSERT INTO products (name, description, price, quantity, image_url) VALUES 
-('Fresh Apples', 'Crisp and sweet red apples, perfect for snacking', 3.99, 100, 'https://example.com/images/apples.jpg'),
-('Whole Milk', 'Fresh whole milk, 1 gallon', 4.49, 50, 'https://example.com/images/milk.jpg'),
-('Organic Bananas', 'Organic bananas, bunch of 6', 2.99, 75, 'https://example.com/images/bananas.jpg'),
-('Bread Loaf', 'Whole wheat bread loaf', 2.49, 30, 'https://example.com/images/bread.jpg'),
-('Free Range Eggs', 'Farm fresh free range eggs, dozen', 5.99, 40, 'https://example.com/images/eggs.jpg'),
-('Organic Carrots', 'Fresh organic carrots, 2 lb bag', 3.49, 60, 'https://example.com/images/carrots.jpg'),
-('Greek Yogurt', 'Plain Greek yogurt, 32 oz', 6.99, 25, 'https://example.com/images/yogurt.jpg'),
-('Chicken Breast', 'Boneless skinless chicken breast, 1 lb', 8.99, 20, 'https://example.com/images/chicken.jpg'),
-('Pasta', 'Whole grain pasta, 1 lb box', 1.99, 80, 'https://example.com/images/pasta.jpg'),
-('Olive Oil', 'Extra virgin olive oil, 500ml', 12.99, 15, 'https://example.com/images/olive-oil.jpg');
-
--- Create a view for order summaries
-CREATE VIEW order_summaries AS
-SELECT 
-    o.id,
-    o.user_id,
-    u.full_name as customer_name,
-    u.email as customer_email,
-    o.order_date,
-    o.status,
-    o.total_amount,
-    o.shipping_address,
-    COUNT(oi.id) as item_count
-FROM orders o
-JOIN users u ON o.user_id = u.id
-LEFT JOIN order_items oi ON o.id = oi.order_id
-GROUP BY o.id, o.user_id, u.full_name, u.email, o.order_date, o.status, o.total_amount, o.shipping_address;
-
--- Create a view for product ratings
-CREATE VIEW product_ratings AS
-SELECT 
-    p.id as product_id,
-    p.name as product_name,
-    COALESCE(AVG(r.rating), 0) as average_rating,
-    COUNT(r.id) as review_count
-FROM products p
-LEFT JOIN reviews r ON p.id = r.product_id
-GROUP BY p.id, p.name;
-
--- Grant permissions (adjust as needed for your setup)
--- GRANT ALL PRIVILEGES ON ALL TABLES IN SCHEMA public TO grocery_app_user;
--- GRANT ALL PRIVILEGES ON ALL SEQUENCES IN SCHEMA public TO grocery_app_user;
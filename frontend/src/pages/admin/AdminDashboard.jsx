@@ -1,6 +1,6 @@
 import { useQuery } from '@tanstack/react-query'
+import { adminService } from '../../services/adminService'
 import { productService } from '../../services/productService'
-import { userService } from '../../services/userService'
 import LoadingSpinner from '../../components/ui/LoadingSpinner'
 import { 
   Package, 
@@ -18,30 +18,26 @@ import {
  * @version 1.0.0
  */
 const AdminDashboard = () => {
-  // Fetch product statistics
-  const { data: productStats, isLoading: isLoadingProducts } = useQuery({
-    queryKey: ['admin', 'product-statistics'],
-    queryFn: productService.getProductStatistics
-  })
-
-  // Fetch user statistics
-  const { data: userStats, isLoading: isLoadingUsers } = useQuery({
-    queryKey: ['admin', 'user-statistics'],
-    queryFn: userService.getUserStatistics
+  // Fetch order, product and user statistics in one call
+  const { data: dashboard, isLoading: isLoadingDashboard } = useQuery({
+    queryKey: ['admin', 'dashboard'],
+    queryFn: adminService.getDashboard
   })
+  const productStats = dashboard?.data?.data?.products
+  const userStats = dashboard?.data?.data?.users
 
   // Fetch low stock products
   const { data: lowStockProducts, isLoading: isLoadingLowStock } = useQuery({
     queryKey: ['admin', 'low-stock-products'],
-    queryFn: () => productService.getLowStockProducts(10)
+    queryFn: () => productService.getLowStockProducts()
   })
 
-  const isLoading = isLoadingProducts || isLoadingUsers || isLoadingLowStock
+  const isLoading = isLoadingDashboard || isLoadingLowStock
 
   const stats = [
     {
       name: 'Total Products',
-      value: productStats?.data?.data?.totalProducts || 0,
+      value: productStats?.totalProducts || 0,
       icon: Package,
       color: 'bg-blue-500',
       change: '+12%',
@@ -49,7 +45,7 @@ const AdminDashboard = () => {
     },
     {
       name: 'Total Users',
-      value: userStats?.data?.data?.totalUsers || 0,
+      value: userStats?.totalUsers || 0,
       icon: Users,
       color: 'bg-green-500',
       change: '+8%',
@@ -65,7 +61,7 @@ const AdminDashboard = () => {
     },
     {
       name: 'Average Price',
-      value: `$${productStats?.data?.data?.averagePrice?.toFixed(2) || '0.00'}`,
+      value: `$${productStats?.averagePrice?.toFixed(2) || '0.00'}`,
       icon: DollarSign,
       color: 'bg-purple-500',
       change: '+5%',
@@ -202,19 +198,19 @@ const AdminDashboard = () => {
           <div className="grid grid-cols-1 md:grid-cols-3 gap-6">
             <div className="text-center">
               <p className="text-2xl font-bold text-blue-600">
-                {productStats?.data?.data?.totalProducts || 0}
+                {productStats?.totalProducts || 0}
               </p>
               <p className="text-sm text-gray-600">Total Products</p>
             </div>
             <div className="text-center">
               <p className="text-2xl font-bold text-green-600">
-                {productStats?.data?.data?.inStockProducts || 0}
+                {productStats?.inStockProducts || 0}
               </p>
               <p className="text-sm text-gray-600">In Stock</p>
             </div>
             <div className="text-center">
               <p className="text-2xl font-bold text-red-600">
-                {productStats?.data?.data?.outOfStockProducts || 0}
+                {productStats?.outOfStockProducts || 0}
               </p>
               <p className="text-sm text-gray-600">Out of Stock</p>
             </div>
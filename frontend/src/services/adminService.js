@@ -0,0 +1,20 @@
+import { apiClient } from './authService'
+
+/**
+ * Admin service for handling API calls related to the admin overview.
+ * 
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+
+export const adminService = {
+  /**
+   * Get order, product and user statistics for the dashboard (admin only)
+   * @returns {Promise} API response
+   */
+  getDashboard: () => {
+    return apiClient.get('/api/admin/dashboard')
+  }
+}
+
+export default adminService
@@ -137,7 +137,8 @@ export const productService = {
   /**
    * Update product (admin only)
    * @param {string} productId - Product ID
-   * @param {Object} productData - Product data
+   * @param {Object} productData - Product data; leave out reorderThreshold to keep the current one,
+   *   or send it as null to fall back to the default threshold
    * @returns {Promise} API response
    */
   updateProduct: (productId, productData) => {
@@ -165,11 +166,11 @@ export const productService = {
 
   /**
    * Get low stock products (admin only)
-   * @param {number} threshold - Stock threshold
+   * @param {number} [threshold] - Stock threshold; omit to use each product's reorder threshold
    * @returns {Promise} API response
    */
-  getLowStockProducts: (threshold = 10) => {
-    return apiClient.get(`/api/products/low-stock?threshold=${threshold}`)
+  getLowStockProducts: (threshold) => {
+    return apiClient.get('/api/products/low-stock', { params: { threshold } })
   },
 
   /**
@@ -60,7 +60,7 @@ export const userService = {
   },
 
   /**
-   * Search users by name or email (admin only)
+   * Search users by name, email or phone number, best matches first (admin only)
    * @param {string} searchTerm - Search term
    * @param {Object} params - Query parameters
    * @returns {Promise} API response
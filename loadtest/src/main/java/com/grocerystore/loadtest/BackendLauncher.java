@@ -0,0 +1,141 @@
+package com.grocerystore.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Boots the backend jar against a local database for the run and stops it
+ * afterwards. Flyway migrates the database on start; the sample data
+ * location is enabled so the catalog and the admin account exist. The
+ * backend's output goes to backend.log in the report directory.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+public class BackendLauncher implements AutoCloseable {
+
+    private final Process process;
+    private final Path log;
+
+    private BackendLauncher(Process process, Path log) {
+        this.process = process;
+        this.log = log;
+    }
+
+    /**
+     * Start the backend and wait until its health endpoint reports UP.
+     *
+     * @param config load test settings
+     * @return the running backend
+     * @throws IOException if the process cannot be started
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public static BackendLauncher start(LoadTestConfig config) throws IOException, InterruptedException {
+        if (!Files.isRegularFile(config.getBootJar())) {
+            throw new IllegalArgumentException("Backend jar not found: " + config.getBootJar() +
+                                               " (build it with mvn -f backend/pom.xml package)");
+        }
+        Files.createDirectories(config.getReportDir());
+        return start(config, List.of("-jar", config.getBootJar().toString()),
+            config.getReportDir().resolve("backend.log"), "/actuator/health", Duration.ofSeconds(1));
+    }
+
+    /**
+     * Start the backend with the given java arguments and wait until a health
+     * endpoint reports UP.
+     *
+     * @param config load test settings, for the database and port
+     * @param javaArguments JVM options, then -jar and the jar
+     * @param log file the backend's output goes to
+     * @param healthPath health endpoint to poll
+     * @param pollInterval pause between polls
+     * @return the running backend
+     * @throws IOException if the process cannot be started
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public static BackendLauncher start(LoadTestConfig config, List<String> javaArguments, Path log,
+                                        String healthPath, Duration pollInterval) throws IOException, InterruptedException {
+        int port = URI.create(config.getBaseUrl()).getPort();
+        List<String> command = new ArrayList<>();
+        command.add("java");
+        command.addAll(javaArguments);
+        command.add("--server.port=" + (port > 0 ? port : 8080));
+        // Serve the actuator on the same port so the health checks below reach it
+        command.add("--management.server.port=" + (port > 0 ? port : 8080));
+        ProcessBuilder builder = new ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .redirectOutput(log.toFile());
+        Map<String, String> environment = builder.environment();
+        environment.put("SPRING_DATASOURCE_URL", config.getDatabaseUrl());
+        environment.put("SPRING_DATASOURCE_USERNAME", config.getDatabaseUsername());
+        environment.put("SPRING_DATASOURCE_PASSWORD", config.getDatabasePassword());
+        environment.put("FLYWAY_LOCATIONS", "classpath:db/migration,classpath:db/sample");
+
+        BackendLauncher launcher = new BackendLauncher(builder.start(), log);
+        System.out.printf("Started backend (pid %d), waiting for %s%s%n",
+            launcher.process.pid(), config.getBaseUrl(), healthPath);
+        try {
+            launcher.awaitHealthy(config, healthPath, pollInterval);
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            launcher.close();
+            throw e;
+        }
+        return launcher;
+    }
+
+    /**
+     * @return process ID of the backend
+     */
+    public long pid() {
+        return process.pid();
+    }
+
+    private void awaitHealthy(LoadTestConfig config, String healthPath, Duration pollInterval)
+            throws IOException, InterruptedException {
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        HttpRequest health = HttpRequest.newBuilder(URI.create(config.getBaseUrl() + healthPath))
+            .timeout(Duration.ofSeconds(2))
+            .build();
+
+        long deadline = System.nanoTime() + config.getBootTimeout().toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Backend exited with status " + process.exitValue() +
+                                                "; see " + log);
+            }
+            try {
+                HttpResponse<String> response = http.send(health, HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() == 200 && response.body().contains("\"UP\"")) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(pollInterval.toMillis());
+        }
+        throw new IllegalStateException("Backend did not become healthy within " + config.getBootTimeout().toSeconds() + "s");
+    }
+
+    @Override
+    public void close() {
+        process.destroy();
+        try {
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
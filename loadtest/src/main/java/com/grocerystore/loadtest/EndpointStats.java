@@ -0,0 +1,61 @@
+package com.grocerystore.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Outcomes of one endpoint during the measurement window: latency of
+ * successful requests in microseconds, and failures by cause (HTTP status,
+ * timeout or connection error).
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+public class EndpointStats {
+
+    private final String endpoint;
+    // Auto-resizing, three significant digits
+    private final Histogram latencyMicros = new ConcurrentHistogram(3);
+    private final LongAdder successes = new LongAdder();
+    private final Map<String, LongAdder> failures = new ConcurrentHashMap<>();
+
+    public EndpointStats(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public void recordSuccess(long latencyMicros) {
+        this.latencyMicros.recordValue(Math.max(1, latencyMicros));
+        successes.increment();
+    }
+
+    public void recordFailure(String cause) {
+        failures.computeIfAbsent(cause, key -> new LongAdder()).increment();
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public Histogram getLatencyMicros() {
+        return latencyMicros;
+    }
+
+    public long getSuccesses() {
+        return successes.sum();
+    }
+
+    public long getFailures() {
+        return failures.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    public Map<String, Long> getFailuresByCause() {
+        Map<String, Long> byCause = new TreeMap<>();
+        failures.forEach((cause, count) -> byCause.put(cause, count.sum()));
+        return byCause;
+    }
+}
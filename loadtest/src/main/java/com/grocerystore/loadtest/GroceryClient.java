@@ -0,0 +1,140 @@
+package com.grocerystore.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Non-blocking client for the backend's REST API. Every request is timed
+ * from send to the last response byte and recorded under its endpoint name;
+ * the response's {@code data} field is returned for the next journey step.
+ * Responses of 400 and above fail the returned future.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+public class GroceryClient {
+
+    private final HttpClient http;
+    private final ObjectMapper mapper;
+    private final String baseUrl;
+    private final Duration requestTimeout;
+    private final LoadStats stats;
+
+    public GroceryClient(String baseUrl, Duration requestTimeout, Executor executor, ObjectMapper mapper, LoadStats stats) {
+        this.http = HttpClient.newBuilder()
+            .connectTimeout(requestTimeout)
+            .executor(executor)
+            .build();
+        this.mapper = mapper;
+        this.baseUrl = baseUrl;
+        this.requestTimeout = requestTimeout;
+        this.stats = stats;
+    }
+
+    /**
+     * Send a GET request.
+     *
+     * @param endpoint endpoint name the latency is recorded under
+     * @param path path and query string
+     * @param token bearer token, or null for anonymous requests
+     * @return the response's data field
+     */
+    public CompletableFuture<JsonNode> get(String endpoint, String path, String token) {
+        return send(endpoint, HttpRequest.newBuilder(URI.create(baseUrl + path)).GET(), token);
+    }
+
+    /**
+     * Send a POST request with a JSON body.
+     *
+     * @param endpoint endpoint name the latency is recorded under
+     * @param path path
+     * @param body request body, serialized as JSON
+     * @param token bearer token, or null for anonymous requests
+     * @return the response's data field
+     */
+    public CompletableFuture<JsonNode> post(String endpoint, String path, Object body, String token) {
+        byte[] json;
+        try {
+            json = mapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        return send(endpoint, HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofByteArray(json)), token);
+    }
+
+    /**
+     * Encode a query parameter value.
+     *
+     * @param value raw value
+     * @return URL-encoded value
+     */
+    public static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private CompletableFuture<JsonNode> send(String endpoint, HttpRequest.Builder builder, String token) {
+        builder.timeout(requestTimeout).header("Accept", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        HttpRequest request = builder.build();
+
+        long start = System.nanoTime();
+        return http.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()).handle((response, failure) -> {
+            long end = System.nanoTime();
+            if (failure != null) {
+                Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                    ? failure.getCause() : failure;
+                String reason = cause instanceof HttpTimeoutException ? "timeout" : cause.getClass().getSimpleName();
+                stats.recordFailure(endpoint, start, reason);
+                throw new RequestFailedException(endpoint, reason, cause);
+            }
+            if (response.statusCode() >= 400) {
+                String reason = "HTTP " + response.statusCode();
+                stats.recordFailure(endpoint, start, reason);
+                throw new RequestFailedException(endpoint, reason, null);
+            }
+            stats.recordSuccess(endpoint, start, end);
+            return data(response.body());
+        });
+    }
+
+    private JsonNode data(byte[] body) {
+        if (body.length == 0) {
+            return mapper.missingNode();
+        }
+        try {
+            return mapper.readTree(body).path("data");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * A request that got no response or an error response.
+     */
+    public static class RequestFailedException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        public RequestFailedException(String endpoint, String reason, Throwable cause) {
+            super(endpoint + " failed: " + reason, cause, false, false);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.grocerystore.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The scripted sessions a simulated user goes through, with think time
+ * between steps. A session is a chain of non-blocking requests and timed
+ * pauses, so thousands of concurrent sessions need no thread each. A failed
+ * request ends its session.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+public class Journey {
+
+    /**
+     * Kinds of session in the workload mix.
+     */
+    public enum Type {
+        /** Anonymous: a catalog page, then a few popular products and their related products */
+        BROWSE,
+        /** Anonymous: a product search, then products from the results */
+        SEARCH,
+        /** Customer: log in, look at products, place an order, check order history */
+        CHECKOUT,
+        /** Admin: log in, list orders, open the dashboard, search customers */
+        ADMIN
+    }
+
+    private static final String DELIVERY_ADDRESS = "1 Load Test Lane, Testville";
+    private static final String CONTACT_NUMBER = "5550100100";
+
+    private final GroceryClient client;
+    private final Workload workload;
+    private final LoadTestConfig config;
+    private final Executor executor;
+
+    public Journey(GroceryClient client, Workload workload, LoadTestConfig config, Executor executor) {
+        this.client = client;
+        this.workload = workload;
+        this.config = config;
+        this.executor = executor;
+    }
+
+    /**
+     * Start a session.
+     *
+     * @param type kind of session
+     * @return completes when the session ends, exceptionally if a request failed
+     */
+    public CompletableFuture<Void> start(Type type) {
+        CompletableFuture<?> session = switch (type) {
+            case BROWSE -> browse();
+            case SEARCH -> search();
+            case CHECKOUT -> checkout();
+            case ADMIN -> admin();
+        };
+        return session.thenApply(ignored -> null);
+    }
+
+    private CompletableFuture<?> browse() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        CompletableFuture<?> session = client.get("products.list",
+            "/api/products?page=" + random.nextInt(3) + "&size=12", null);
+        for (int views = 1 + random.nextInt(4); views > 0; views--) {
+            session = session.thenCompose(ignored -> think()).thenCompose(ignored -> viewProduct(null));
+        }
+        return session;
+    }
+
+    private CompletableFuture<?> search() {
+        String term = workload.pickSearchTerm(ThreadLocalRandom.current());
+        return client.get("products.search",
+                "/api/products/search?searchTerm=" + GroceryClient.encode(term) + "&page=0&size=12", null)
+            .thenCompose(results -> {
+                List<String> found = new ArrayList<>();
+                results.path("content").forEach(product -> found.add(product.path("id").asText()));
+
+                CompletableFuture<?> session = think();
+                int views = Math.min(found.size(), 1 + ThreadLocalRandom.current().nextInt(2));
+                for (int i = 0; i < views; i++) {
+                    String productId = found.get(i);
+                    session = session.thenCompose(ignored -> viewProduct(productId)).thenCompose(ignored -> think());
+                }
+                // Shoppers who found nothing fall back to filtering the catalog
+                if (views == 0) {
+                    session = session.thenCompose(ignored -> client.get("products.browse",
+                        "/api/products/browse?inStock=true&sort=PRICE_ASC&page=0&size=12", null));
+                }
+                return session;
+            });
+    }
+
+    private CompletableFuture<?> checkout() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String email = workload.pickCustomer(random);
+        int views = 1 + random.nextInt(3);
+
+        return login(email, config.getCustomerPassword()).thenCompose(token -> {
+            CompletableFuture<?> session = think();
+            for (int i = 0; i < views; i++) {
+                session = session.thenCompose(ignored -> viewProduct(null)).thenCompose(ignored -> think());
+            }
+            return session
+                .thenCompose(ignored -> client.post("orders.create", "/api/orders", newOrder(), token))
+                .thenCompose(ignored -> think())
+                .thenCompose(ignored -> client.get("orders.mine", "/api/orders/my-orders?page=0&size=10", token));
+        });
+    }
+
+    private CompletableFuture<?> admin() {
+        return login(config.getAdminEmail(), config.getAdminPassword()).thenCompose(token -> think()
+            .thenCompose(ignored -> client.get("admin.orders", "/api/orders/admin/all?page=0&size=20", token))
+            .thenCompose(ignored -> think())
+            .thenCompose(ignored -> client.get("admin.dashboard", "/api/admin/dashboard", token))
+            .thenCompose(ignored -> think())
+            .thenCompose(ignored -> client.get("admin.users.search",
+                "/api/users/search?searchTerm=" + GroceryClient.encode("customer" + ThreadLocalRandom.current().nextInt(10)) +
+                "&page=0&size=20", token)));
+    }
+
+    private CompletableFuture<String> login(String email, String password) {
+        return client.post("auth.login", "/api/auth/login", Map.of("email", email, "password", password), null)
+            .thenApply(data -> data.path("token").asText());
+    }
+
+    private CompletableFuture<JsonNode> viewProduct(String productId) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String id = productId != null ? productId : workload.pickProduct(random);
+        CompletableFuture<JsonNode> view = client.get("products.get", "/api/products/" + id, null);
+        if (random.nextInt(10) < 4) {
+            return view.thenCompose(ignored -> client.get("products.related", "/api/products/" + id + "/related", null));
+        }
+        return view;
+    }
+
+    private Map<String, Object> newOrder() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Map<String, Object>> items = new ArrayList<>();
+        List<String> chosen = new ArrayList<>();
+        for (int lines = 1 + random.nextInt(4); lines > 0; lines--) {
+            String productId = workload.pickProduct(random);
+            if (!chosen.contains(productId)) {
+                chosen.add(productId);
+                items.add(Map.of("productId", productId, "quantity", 1 + random.nextInt(3)));
+            }
+        }
+        return Map.of("orderItems", items, "deliveryAddress", DELIVERY_ADDRESS, "contactNumber", CONTACT_NUMBER);
+    }
+
+    private CompletableFuture<Void> think() {
+        long millis = workload.thinkMillis(ThreadLocalRandom.current());
+        return CompletableFuture.runAsync(() -> { }, CompletableFuture.delayedExecutor(millis, TimeUnit.MILLISECONDS, executor));
+    }
+}
@@ -0,0 +1,99 @@
+package com.grocerystore.loadtest;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint statistics for one run. Only requests that start inside the
+ * measurement window are counted, so warm-up traffic and the requests of
+ * sessions still draining at the end do not skew the results.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+public class LoadStats {
+
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+    private final LongAdder sessionsStarted = new LongAdder();
+    private final LongAdder sessionsCompleted = new LongAdder();
+    private final LongAdder sessionsFailed = new LongAdder();
+    private final LongAdder sessionsDropped = new LongAdder();
+
+    private volatile long windowStartNanos = Long.MAX_VALUE;
+    private volatile long windowEndNanos = Long.MAX_VALUE;
+
+    /**
+     * Set the measurement window.
+     *
+     * @param startNanos start, in {@link System#nanoTime()} terms, inclusive
+     * @param endNanos end, exclusive
+     */
+    public void setWindow(long startNanos, long endNanos) {
+        windowEndNanos = endNanos;
+        windowStartNanos = startNanos;
+    }
+
+    public boolean inWindow(long nanos) {
+        return nanos >= windowStartNanos && nanos < windowEndNanos;
+    }
+
+    public void recordSuccess(String endpoint, long startNanos, long endNanos) {
+        if (inWindow(startNanos)) {
+            endpoint(endpoint).recordSuccess((endNanos - startNanos) / 1_000);
+        }
+    }
+
+    public void recordFailure(String endpoint, long startNanos, String cause) {
+        if (inWindow(startNanos)) {
+            endpoint(endpoint).recordFailure(cause);
+        }
+    }
+
+    public void sessionStarted(long nanos) {
+        if (inWindow(nanos)) {
+            sessionsStarted.increment();
+        }
+    }
+
+    public void sessionFinished(long startNanos, boolean failed) {
+        if (inWindow(startNanos)) {
+            (failed ? sessionsFailed : sessionsCompleted).increment();
+        }
+    }
+
+    public void sessionDropped(long nanos) {
+        if (inWindow(nanos)) {
+            sessionsDropped.increment();
+        }
+    }
+
+    public List<EndpointStats> getEndpoints() {
+        List<EndpointStats> sorted = new ArrayList<>(endpoints.values());
+        sorted.sort(Comparator.comparing(EndpointStats::getEndpoint));
+        return sorted;
+    }
+
+    public long getSessionsStarted() {
+        return sessionsStarted.sum();
+    }
+
+    public long getSessionsCompleted() {
+        return sessionsCompleted.sum();
+    }
+
+    public long getSessionsFailed() {
+        return sessionsFailed.sum();
+    }
+
+    public long getSessionsDropped() {
+        return sessionsDropped.sum();
+    }
+
+    private EndpointStats endpoint(String endpoint) {
+        return endpoints.computeIfAbsent(endpoint, EndpointStats::new);
+    }
+}
@@ -0,0 +1,178 @@
+package com.grocerystore.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.grocerystore.loadtest.dataset.DatasetGenerator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load test of the backend.
+ * <p>
+ * Sessions arrive as a Poisson process at a fixed rate, whatever the
+ * response times, so a slow server sees the queue build up as it would in
+ * production instead of the generator backing off. Each session is a
+ * {@link Journey} drawn from the configured mix. After a warm-up the run
+ * measures for a fixed window, waits for in-flight sessions to drain, and
+ * writes the report.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+public class LoadTest {
+
+    private static final String USAGE = """
+        Usage: java -jar grocery-store-loadtest.jar [--help] [--name=value ...]
+               java -jar grocery-store-loadtest.jar dataset --help   generate a large dataset instead
+               java -jar grocery-store-loadtest.jar startup --help   benchmark backend startup modes instead
+
+          --base-url=http://localhost:8080   backend to test
+          --rate=20                          sessions started per second
+          --warmup=30s --duration=2m         warm-up and measurement window
+          --mix=browse=55,search=20,checkout=20,admin=5
+          --think-time=1500ms                mean pause between steps of a session
+          --zipf-exponent=1.1                skew of product and search popularity
+          --max-sessions=2000                sessions in flight before arrivals are dropped
+          --customers=50                     load-test customer accounts to register and use
+          --admin-email=admin@grocerystore.com --admin-password=password
+          --report-dir=loadtest-report
+          --boot-jar=backend/target/grocery-store-backend-1.2.0.jar
+                                             start the backend for the run, against:
+          --db-url=jdbc:postgresql://localhost:5432/grocery_db --db-username=postgres --db-password=password
+        """;
+
+    private static final long PROGRESS_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("dataset")) {
+            DatasetGenerator.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && args[0].equals("startup")) {
+            StartupBenchmark.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (List.of(args).contains("--help")) {
+            System.out.print(USAGE);
+            return;
+        }
+
+        LoadTestConfig config;
+        try {
+            config = LoadTestConfig.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.print(USAGE);
+            System.exit(2);
+            return;
+        }
+
+        if (config.getBootJar() == null) {
+            run(config);
+            return;
+        }
+        try (BackendLauncher backend = BackendLauncher.start(config)) {
+            run(config);
+        }
+    }
+
+    private static void run(LoadTestConfig config) throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        LoadStats stats = new LoadStats();
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(config.getWorkerThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "loadtest-worker-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            GroceryClient client = new GroceryClient(config.getBaseUrl(), config.getRequestTimeout(), workers, mapper, stats);
+            Workload workload = Workload.prepare(client, config);
+            Journey journey = new Journey(client, workload, config, workers);
+            System.out.printf("Workload ready: %s%n", workload.describe());
+
+            long measureNanos = config.getDuration().toNanos();
+            long start = System.nanoTime();
+            long measureFrom = start + config.getWarmup().toNanos();
+            long end = measureFrom + measureNanos;
+            stats.setWindow(measureFrom, end);
+
+            System.out.printf("Warming up for %ds, then measuring for %ds at %.1f sessions/s%n",
+                config.getWarmup().toSeconds(), config.getDuration().toSeconds(), config.getSessionsPerSecond());
+            AtomicInteger active = new AtomicInteger();
+            generate(config, workload, journey, stats, active, start, end);
+
+            long drainDeadline = System.nanoTime() + config.getDrainTimeout().toNanos();
+            while (active.get() > 0 && System.nanoTime() < drainDeadline) {
+                Thread.sleep(100);
+            }
+            if (active.get() > 0) {
+                System.out.printf("%d sessions still running after the drain timeout%n", active.get());
+            }
+
+            Map<String, Object> report = new ReportWriter(mapper)
+                .write(config.getReportDir(), config, workload, stats, measureNanos / 1e9);
+            printSummary(report);
+            System.out.printf("Report written to %s%n", config.getReportDir().resolve("report.html").toAbsolutePath());
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private static void generate(LoadTestConfig config, Workload workload, Journey journey, LoadStats stats,
+                                 AtomicInteger active, long start, long end) {
+        Random arrivals = new Random(config.getSeed());
+        double meanGapNanos = 1e9 / config.getSessionsPerSecond();
+        long nextProgress = start + PROGRESS_INTERVAL_NANOS;
+
+        for (long next = start; next < end; next += (long) (-meanGapNanos * Math.log(1 - arrivals.nextDouble()))) {
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            // Sessions are stamped with their scheduled start, so a lagging generator is not hidden
+            long scheduled = next;
+            if (active.get() >= config.getMaxSessions()) {
+                stats.sessionDropped(scheduled);
+            } else {
+                active.incrementAndGet();
+                stats.sessionStarted(scheduled);
+                journey.start(workload.pickJourney(arrivals)).whenComplete((ignored, failure) -> {
+                    active.decrementAndGet();
+                    stats.sessionFinished(scheduled, failure != null);
+                });
+            }
+
+            if (System.nanoTime() >= nextProgress) {
+                System.out.printf("%3ds: %d sessions in flight%n",
+                    TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start), active.get());
+                nextProgress += PROGRESS_INTERVAL_NANOS;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void printSummary(Map<String, Object> report) {
+        System.out.printf("%n%-22s %9s %9s %8s %9s %9s %9s%n", "endpoint", "requests", "req/s", "errors", "p50 ms", "p99 ms", "max ms");
+        List<Map<String, Object>> rows = new ArrayList<>((List<Map<String, Object>>) report.get("endpoints"));
+        rows.add((Map<String, Object>) report.get("total"));
+        for (Map<String, Object> row : rows) {
+            Map<String, Object> latency = (Map<String, Object>) row.get("latencyMillis");
+            System.out.printf("%-22s %9d %9.1f %7.2f%% %9.1f %9.1f %9.1f%n",
+                row.get("endpoint"), (Long) row.get("requests"), (Double) row.get("throughputPerSecond"),
+                ((Double) row.get("errorRate")) * 100, (Double) latency.get("p50"), (Double) latency.get("p99"),
+                (Double) latency.get("max"));
+        }
+        System.out.printf("sessions: %s%n", report.get("sessions"));
+    }
+}
@@ -0,0 +1,257 @@
+package com.grocerystore.loadtest;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Load test settings, parsed from {@code --name=value} command-line arguments.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+public class LoadTestConfig {
+
+    private String baseUrl = "http://localhost:8080";
+    private double sessionsPerSecond = 20;
+    private Duration warmup = Duration.ofSeconds(30);
+    private Duration duration = Duration.ofMinutes(2);
+    private Duration drainTimeout = Duration.ofSeconds(30);
+    private Duration requestTimeout = Duration.ofSeconds(10);
+    private int maxSessions = 2000;
+    private int workerThreads = 16;
+    private Map<Journey.Type, Integer> mix = defaultMix();
+    private Duration meanThinkTime = Duration.ofMillis(1500);
+    private double zipfExponent = 1.1;
+    private int catalogSize = 1000;
+    private int customers = 50;
+    private String customerPassword = "LoadTest1!";
+    private String adminEmail = "admin@grocerystore.com";
+    private String adminPassword = "password";
+    private long seed = 42;
+    private Path reportDir = Paths.get("loadtest-report");
+
+    // Booting the backend; skipped when no jar is given
+    private Path bootJar;
+    private String databaseUrl = "jdbc:postgresql://localhost:5432/grocery_db";
+    private String databaseUsername = "postgres";
+    private String databasePassword = "password";
+    private Duration bootTimeout = Duration.ofMinutes(2);
+
+    // Constructors
+    public LoadTestConfig() {}
+
+    /**
+     * Parse command-line arguments over the defaults.
+     *
+     * @param args arguments of the form --name=value
+     * @return the configuration
+     * @throws IllegalArgumentException for unknown or malformed arguments
+     */
+    public static LoadTestConfig parse(String[] args) {
+        LoadTestConfig config = new LoadTestConfig();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            String name = arg.substring(2, equals);
+            String value = arg.substring(equals + 1);
+            switch (name) {
+                case "base-url" -> config.baseUrl = value.replaceAll("/+$", "");
+                case "rate" -> config.sessionsPerSecond = Double.parseDouble(value);
+                case "warmup" -> config.warmup = parseDuration(value);
+                case "duration" -> config.duration = parseDuration(value);
+                case "drain-timeout" -> config.drainTimeout = parseDuration(value);
+                case "request-timeout" -> config.requestTimeout = parseDuration(value);
+                case "max-sessions" -> config.maxSessions = Integer.parseInt(value);
+                case "workers" -> config.workerThreads = Integer.parseInt(value);
+                case "mix" -> config.mix = parseMix(value);
+                case "think-time" -> config.meanThinkTime = parseDuration(value);
+                case "zipf-exponent" -> config.zipfExponent = Double.parseDouble(value);
+                case "catalog-size" -> config.catalogSize = Integer.parseInt(value);
+                case "customers" -> config.customers = Integer.parseInt(value);
+                case "customer-password" -> config.customerPassword = value;
+                case "admin-email" -> config.adminEmail = value;
+                case "admin-password" -> config.adminPassword = value;
+                case "seed" -> config.seed = Long.parseLong(value);
+                case "report-dir" -> config.reportDir = Paths.get(value);
+                case "boot-jar" -> config.bootJar = Paths.get(value);
+                case "db-url" -> config.databaseUrl = value;
+                case "db-username" -> config.databaseUsername = value;
+                case "db-password" -> config.databasePassword = value;
+                case "boot-timeout" -> config.bootTimeout = parseDuration(value);
+                default -> throw new IllegalArgumentException("Unknown option: --" + name);
+            }
+        }
+        if (config.sessionsPerSecond <= 0) {
+            throw new IllegalArgumentException("--rate must be positive");
+        }
+        if (config.customers < 1) {
+            throw new IllegalArgumentException("--customers must be at least 1");
+        }
+        return config;
+    }
+
+    /**
+     * Parse a duration such as 500ms, 30s, 2m or a plain number of seconds.
+     */
+    static Duration parseDuration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(value));
+    }
+
+    /**
+     * Parse a journey mix such as browse=55,search=20,checkout=20,admin=5.
+     * Journeys left out get no weight.
+     */
+    static Map<Journey.Type, Integer> parseMix(String value) {
+        Map<Journey.Type, Integer> mix = new EnumMap<>(Journey.Type.class);
+        for (String part : value.split(",")) {
+            String[] pair = part.trim().split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Expected journey=weight in --mix but got: " + part);
+            }
+            mix.put(Journey.Type.valueOf(pair[0].trim().toUpperCase()), Integer.parseInt(pair[1].trim()));
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("--mix needs at least one positive weight");
+        }
+        return mix;
+    }
+
+    private static Map<Journey.Type, Integer> defaultMix() {
+        Map<Journey.Type, Integer> mix = new EnumMap<>(Journey.Type.class);
+        mix.put(Journey.Type.BROWSE, 55);
+        mix.put(Journey.Type.SEARCH, 20);
+        mix.put(Journey.Type.CHECKOUT, 20);
+        mix.put(Journey.Type.ADMIN, 5);
+        return mix;
+    }
+
+    /**
+     * Settings as written into the report.
+     *
+     * @return setting name to value
+     */
+    public Map<String, Object> describe() {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("baseUrl", baseUrl);
+        settings.put("sessionsPerSecond", sessionsPerSecond);
+        settings.put("warmupSeconds", warmup.toSeconds());
+        settings.put("durationSeconds", duration.toSeconds());
+        settings.put("maxSessions", maxSessions);
+        settings.put("mix", mix);
+        settings.put("meanThinkTimeMillis", meanThinkTime.toMillis());
+        settings.put("zipfExponent", zipfExponent);
+        settings.put("catalogSize", catalogSize);
+        settings.put("customers", customers);
+        settings.put("seed", seed);
+        settings.put("bootedBackend", bootJar != null);
+        return settings;
+    }
+
+    // Getters
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public double getSessionsPerSecond() {
+        return sessionsPerSecond;
+    }
+
+    public Duration getWarmup() {
+        return warmup;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public Duration getDrainTimeout() {
+        return drainTimeout;
+    }
+
+    public Duration getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    public int getMaxSessions() {
+        return maxSessions;
+    }
+
+    public int getWorkerThreads() {
+        return workerThreads;
+    }
+
+    public Map<Journey.Type, Integer> getMix() {
+        return mix;
+    }
+
+    public Duration getMeanThinkTime() {
+        return meanThinkTime;
+    }
+
+    public double getZipfExponent() {
+        return zipfExponent;
+    }
+
+    public int getCatalogSize() {
+        return catalogSize;
+    }
+
+    public int getCustomers() {
+        return customers;
+    }
+
+    public String getCustomerPassword() {
+        return customerPassword;
+    }
+
+    public String getAdminEmail() {
+        return adminEmail;
+    }
+
+    public String getAdminPassword() {
+        return adminPassword;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public Path getReportDir() {
+        return reportDir;
+    }
+
+    public Path getBootJar() {
+        return bootJar;
+    }
+
+    public String getDatabaseUrl() {
+        return databaseUrl;
+    }
+
+    public String getDatabaseUsername() {
+        return databaseUsername;
+    }
+
+    public String getDatabasePassword() {
+        return databasePassword;
+    }
+
+    public Duration getBootTimeout() {
+        return bootTimeout;
+    }
+}
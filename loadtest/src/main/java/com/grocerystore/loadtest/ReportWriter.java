@@ -0,0 +1,169 @@
+package com.grocerystore.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the results of a run to the report directory:
+ * <ul>
+ *   <li>{@code report.json} with settings, session counts and, per endpoint,
+ *       throughput, error rate and latency percentiles</li>
+ *   <li>{@code report.html}, the same as tables</li>
+ *   <li>one {@code .hgrm} percentile distribution per endpoint, for the
+ *       HdrHistogram plotter</li>
+ * </ul>
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+public class ReportWriter {
+
+    private static final double[] PERCENTILES = {50, 90, 95, 99, 99.9};
+    private static final String[] PERCENTILE_NAMES = {"p50", "p90", "p95", "p99", "p99.9"};
+
+    private final ObjectMapper mapper;
+
+    public ReportWriter(ObjectMapper mapper) {
+        this.mapper = mapper.copy().enable(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    /**
+     * Write the report files.
+     *
+     * @param directory report directory
+     * @param config load test settings
+     * @param workload workload data
+     * @param stats recorded statistics
+     * @param measuredSeconds length of the measurement window
+     * @return the report as written to report.json
+     * @throws IOException if a file cannot be written
+     */
+    public Map<String, Object> write(Path directory, LoadTestConfig config, Workload workload, LoadStats stats,
+                                     double measuredSeconds) throws IOException {
+        Files.createDirectories(directory);
+
+        List<Map<String, Object>> endpoints = new ArrayList<>();
+        Histogram all = new Histogram(3);
+        long allFailures = 0;
+        for (EndpointStats endpoint : stats.getEndpoints()) {
+            endpoints.add(summarize(endpoint.getEndpoint(), endpoint.getLatencyMicros(), endpoint.getSuccesses(),
+                endpoint.getFailures(), endpoint.getFailuresByCause(), measuredSeconds));
+            all.add(endpoint.getLatencyMicros());
+            allFailures += endpoint.getFailures();
+
+            try (PrintStream out = new PrintStream(
+                    Files.newOutputStream(directory.resolve(endpoint.getEndpoint() + ".hgrm")), false, StandardCharsets.UTF_8)) {
+                // Microsecond values, reported in milliseconds
+                endpoint.getLatencyMicros().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+
+        Map<String, Object> sessions = new LinkedHashMap<>();
+        sessions.put("started", stats.getSessionsStarted());
+        sessions.put("completed", stats.getSessionsCompleted());
+        sessions.put("failed", stats.getSessionsFailed());
+        sessions.put("dropped", stats.getSessionsDropped());
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generatedAt", LocalDateTime.now().toString());
+        report.put("settings", config.describe());
+        report.put("workload", workload.describe());
+        report.put("measuredSeconds", round(measuredSeconds));
+        report.put("sessions", sessions);
+        report.put("total", summarize("total", all, all.getTotalCount(), allFailures, Map.of(), measuredSeconds));
+        report.put("endpoints", endpoints);
+
+        mapper.writeValue(directory.resolve("report.json").toFile(), report);
+        Files.writeString(directory.resolve("report.html"), html(report), StandardCharsets.UTF_8);
+        return report;
+    }
+
+    private static Map<String, Object> summarize(String name, Histogram latencyMicros, long successes, long failures,
+                                                 Map<String, Long> failuresByCause, double measuredSeconds) {
+        long requests = successes + failures;
+
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("mean", round(latencyMicros.getMean() / 1000.0));
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            latency.put(PERCENTILE_NAMES[i], round(latencyMicros.getValueAtPercentile(PERCENTILES[i]) / 1000.0));
+        }
+        latency.put("max", round(latencyMicros.getMaxValue() / 1000.0));
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("endpoint", name);
+        summary.put("requests", requests);
+        summary.put("successes", successes);
+        summary.put("failures", failures);
+        summary.put("errorRate", requests == 0 ? 0.0 : round((double) failures / requests));
+        summary.put("throughputPerSecond", round(requests / measuredSeconds));
+        summary.put("latencyMillis", latency);
+        summary.put("failuresByCause", failuresByCause);
+        return summary;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String html(Map<String, Object> report) {
+        StringBuilder html = new StringBuilder(8192);
+        html.append("<!DOCTYPE html>\n<html><head><meta charset=\"utf-8\"><title>Load test report</title>\n")
+            .append("<style>body{font-family:sans-serif;margin:2em}table{border-collapse:collapse;margin-bottom:2em}")
+            .append("th,td{border:1px solid #ccc;padding:4px 8px;text-align:right}th:first-child,td:first-child{text-align:left}")
+            .append("tr.total{font-weight:bold}.bad{color:#b00}</style></head><body>\n")
+            .append("<h1>Load test report</h1>\n<p>Generated ").append(escape(report.get("generatedAt")))
+            .append(", measured for ").append(report.get("measuredSeconds")).append(" s.</p>\n");
+
+        html.append("<h2>Endpoints</h2>\n<table><tr><th>Endpoint</th><th>Requests</th><th>Req/s</th><th>Error rate</th>")
+            .append("<th>Mean ms</th><th>p50</th><th>p90</th><th>p95</th><th>p99</th><th>p99.9</th><th>Max</th><th>Failures</th></tr>\n");
+        for (Map<String, Object> endpoint : (List<Map<String, Object>>) report.get("endpoints")) {
+            row(html, endpoint, "");
+        }
+        row(html, (Map<String, Object>) report.get("total"), "total");
+        html.append("</table>\n");
+
+        table(html, "Sessions", (Map<String, Object>) report.get("sessions"));
+        table(html, "Settings", (Map<String, Object>) report.get("settings"));
+        table(html, "Workload", (Map<String, Object>) report.get("workload"));
+        return html.append("</body></html>\n").toString();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void row(StringBuilder html, Map<String, Object> summary, String cssClass) {
+        Map<String, Object> latency = (Map<String, Object>) summary.get("latencyMillis");
+        double errorRate = ((Number) summary.get("errorRate")).doubleValue();
+        html.append("<tr class=\"").append(cssClass).append("\"><td>").append(escape(summary.get("endpoint"))).append("</td>")
+            .append("<td>").append(summary.get("requests")).append("</td>")
+            .append("<td>").append(summary.get("throughputPerSecond")).append("</td>")
+            .append("<td class=\"").append(errorRate > 0.01 ? "bad" : "").append("\">")
+            .append(String.format("%.2f%%", errorRate * 100)).append("</td>");
+        for (Object value : latency.values()) {
+            html.append("<td>").append(value).append("</td>");
+        }
+        html.append("<td>").append(escape(summary.get("failuresByCause"))).append("</td></tr>\n");
+    }
+
+    private static void table(StringBuilder html, String title, Map<String, Object> values) {
+        html.append("<h2>").append(title).append("</h2>\n<table>");
+        values.forEach((name, value) -> html.append("<tr><td>").append(escape(name)).append("</td><td>")
+            .append(escape(value)).append("</td></tr>"));
+        html.append("</table>\n");
+    }
+
+    private static String escape(Object value) {
+        return String.valueOf(value).replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
@@ -0,0 +1,246 @@
+package com.grocerystore.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Measures how fast the backend starts in each startup mode and how much
+ * memory it holds once ready.
+ * <p>
+ * Every run boots the backend against the configured database and waits for
+ * {@code /actuator/health/readiness}, which turns UP only after the startup
+ * work run on ApplicationReadyEvent (indexes, recommendations) is done, so
+ * time to ready is what a rolling deploy waits for. The resident set size is
+ * read from {@code ps} at that point. The first runs of each mode warm the
+ * file cache and are not counted.
+ * <p>
+ * Modes other than {@code jar} need the artifacts of the fast-startup build
+ * ({@code mvn -Pfast-startup package}): a plain jar running from
+ * {@code target/lib}, and one CDS archive per mode.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+public class StartupBenchmark {
+
+    private static final String USAGE = """
+        Usage: java -jar grocery-store-loadtest.jar startup [--help] [--name=value ...]
+
+          --modes=jar,cds,aot,aot-cds        startup modes to compare
+          --runs=5 --warmup-runs=1           measured and discarded boots per mode
+          --target-dir=backend/target        output of mvn -Pfast-startup package
+          --artifact=grocery-store-backend-1.2.0
+          --base-url=http://localhost:8080 --boot-timeout=2m --report-dir=loadtest-report
+          --db-url=jdbc:postgresql://localhost:5432/grocery_db --db-username=postgres --db-password=password
+        """;
+
+    private static final String READINESS_PATH = "/actuator/health/readiness";
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(50);
+    private static final Pattern STARTED = Pattern.compile("Started \\w+ in ([0-9.]+) seconds");
+
+    /**
+     * Ways to start the backend.
+     */
+    public enum Mode {
+        /** The fat jar, as deployed without the fast-startup build */
+        JAR("jar"),
+        /** The plain jar with its class-data-sharing archive */
+        CDS("cds"),
+        /** The plain jar with the ahead-of-time processed bean definitions */
+        AOT("aot"),
+        /** AOT and its own class-data-sharing archive */
+        AOT_CDS("aot-cds");
+
+        private final String label;
+
+        Mode(String label) {
+            this.label = label;
+        }
+
+        static Mode of(String name) {
+            return Arrays.stream(values())
+                .filter(mode -> mode.label.equals(name.trim()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown mode: " + name));
+        }
+
+        List<String> javaArguments(Path targetDir, String artifact) {
+            Path plainJar = targetDir.resolve(artifact + ".jar");
+            return switch (this) {
+                case JAR -> {
+                    // Without the fast-startup profile the fat jar is the main artifact
+                    Path execJar = targetDir.resolve(artifact + "-exec.jar");
+                    yield List.of("-jar", existing(Files.isRegularFile(execJar) ? execJar : plainJar).toString());
+                }
+                case CDS -> List.of("-XX:SharedArchiveFile=" + existing(targetDir.resolve("application.jsa")),
+                    "-jar", existing(plainJar).toString());
+                case AOT -> List.of("-Dspring.aot.enabled=true", "-jar", existing(plainJar).toString());
+                case AOT_CDS -> List.of("-XX:SharedArchiveFile=" + existing(targetDir.resolve("application-aot.jsa")),
+                    "-Dspring.aot.enabled=true", "-jar", existing(plainJar).toString());
+            };
+        }
+
+        private static Path existing(Path path) {
+            if (!Files.isRegularFile(path)) {
+                throw new IllegalArgumentException(path + " not found (build it with mvn -f backend/pom.xml -Pfast-startup package)");
+            }
+            return path;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (List.of(args).contains("--help")) {
+            System.out.print(USAGE);
+            return;
+        }
+
+        List<Mode> modes = List.of(Mode.values());
+        int runs = 5;
+        int warmupRuns = 1;
+        Path targetDir = Paths.get("backend/target");
+        String artifact = "grocery-store-backend-1.2.0";
+        List<String> launcherArgs = new ArrayList<>();
+        Map<Mode, List<String>> commands = new LinkedHashMap<>();
+        LoadTestConfig config;
+        try {
+            for (String arg : args) {
+                String value = arg.substring(arg.indexOf('=') + 1);
+                if (arg.startsWith("--modes=")) {
+                    modes = Arrays.stream(value.split(",")).map(Mode::of).toList();
+                } else if (arg.startsWith("--runs=")) {
+                    runs = Integer.parseInt(value);
+                } else if (arg.startsWith("--warmup-runs=")) {
+                    warmupRuns = Integer.parseInt(value);
+                } else if (arg.startsWith("--target-dir=")) {
+                    targetDir = Paths.get(value);
+                } else if (arg.startsWith("--artifact=")) {
+                    artifact = value;
+                } else {
+                    launcherArgs.add(arg);
+                }
+            }
+            if (runs < 1) {
+                throw new IllegalArgumentException("--runs must be at least 1");
+            }
+            config = LoadTestConfig.parse(launcherArgs.toArray(new String[0]));
+            for (Mode mode : modes) {
+                commands.put(mode, mode.javaArguments(targetDir, artifact));
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.print(USAGE);
+            System.exit(2);
+            return;
+        }
+
+        Files.createDirectories(config.getReportDir());
+        Map<String, Object> results = new LinkedHashMap<>();
+        for (Map.Entry<Mode, List<String>> command : commands.entrySet()) {
+            Mode mode = command.getKey();
+            List<String> javaArguments = command.getValue();
+            List<Map<String, Object>> measured = new ArrayList<>();
+            for (int run = 1 - warmupRuns; run <= runs; run++) {
+                Map<String, Object> result = boot(config, mode, javaArguments, run);
+                System.out.printf("%-8s run %2d: %s%n", mode.label, run, result);
+                if (run > 0) {
+                    measured.add(result);
+                }
+            }
+            results.put(mode.label, summarize(javaArguments, measured));
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generatedAt", LocalDateTime.now().toString());
+        report.put("javaVersion", System.getProperty("java.version"));
+        report.put("runsPerMode", runs);
+        report.put("modes", results);
+        Path reportFile = config.getReportDir().resolve("startup-report.json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(reportFile.toFile(), report);
+
+        printSummary(results);
+        System.out.printf("Report written to %s%n", reportFile.toAbsolutePath());
+    }
+
+    private static Map<String, Object> boot(LoadTestConfig config, Mode mode, List<String> javaArguments, int run)
+            throws IOException, InterruptedException {
+        Path log = config.getReportDir().resolve("startup-" + mode.label + "-" + (run > 0 ? run : "warmup" + (1 - run)) + ".log");
+        long start = System.nanoTime();
+        try (BackendLauncher backend = BackendLauncher.start(config, javaArguments, log, READINESS_PATH, POLL_INTERVAL)) {
+            double readySeconds = (System.nanoTime() - start) / 1e9;
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("timeToReadySeconds", round(readySeconds));
+            result.put("startedInSeconds", startedInSeconds(log));
+            result.put("rssMegabytes", residentMegabytes(backend.pid()));
+            return result;
+        }
+    }
+
+    // Spring Boot's own measure, up to the end of context refresh, from the log
+    private static Double startedInSeconds(Path log) throws IOException {
+        Matcher matcher = STARTED.matcher(Files.readString(log, StandardCharsets.UTF_8));
+        return matcher.find() ? Double.valueOf(matcher.group(1)) : null;
+    }
+
+    private static Double residentMegabytes(long pid) throws IOException, InterruptedException {
+        Process ps = new ProcessBuilder("ps", "-o", "rss=", "-p", Long.toString(pid)).redirectErrorStream(true).start();
+        String output = new String(ps.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+        if (ps.waitFor() != 0 || output.isEmpty()) {
+            return null;
+        }
+        return round(Long.parseLong(output) / 1024.0);
+    }
+
+    private static Map<String, Object> summarize(List<String> javaArguments, List<Map<String, Object>> runs) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("command", "java " + String.join(" ", javaArguments));
+        for (String metric : List.of("timeToReadySeconds", "startedInSeconds", "rssMegabytes")) {
+            double[] values = runs.stream()
+                .map(run -> (Double) run.get(metric))
+                .filter(value -> value != null)
+                .mapToDouble(Double::doubleValue)
+                .sorted()
+                .toArray();
+            Map<String, Object> stats = new LinkedHashMap<>();
+            if (values.length > 0) {
+                stats.put("median", round(values[values.length / 2]));
+                stats.put("min", round(values[0]));
+                stats.put("max", round(values[values.length - 1]));
+            }
+            summary.put(metric, stats);
+        }
+        summary.put("runs", runs);
+        return summary;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void printSummary(Map<String, Object> results) {
+        System.out.printf("%n%-8s %16s %16s %12s%n", "mode", "ready s (median)", "started in s", "RSS MB");
+        results.forEach((mode, value) -> {
+            Map<String, Object> summary = (Map<String, Object>) value;
+            System.out.printf("%-8s %16s %16s %12s%n", mode,
+                ((Map<String, Object>) summary.get("timeToReadySeconds")).get("median"),
+                ((Map<String, Object>) summary.get("startedInSeconds")).get("median"),
+                ((Map<String, Object>) summary.get("rssMegabytes")).get("median"));
+        });
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
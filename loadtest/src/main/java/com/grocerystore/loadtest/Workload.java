@@ -0,0 +1,165 @@
+package com.grocerystore.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The data a run draws from: the catalog in popularity order, search terms
+ * taken from the names of popular products, and the load-test customer
+ * accounts. Product and search popularity follow a Zipf distribution; which
+ * products are popular is a seeded shuffle of the catalog, so it does not
+ * line up with creation order or any index on the server.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+public class Workload {
+
+    private static final int CATALOG_PAGE_SIZE = 100;
+
+    private final List<String> productIds;
+    private final List<String> searchTerms;
+    private final List<String> customerEmails;
+    private final ZipfDistribution productPopularity;
+    private final ZipfDistribution searchPopularity;
+    private final Journey.Type[] journeyTable;
+    private final double meanThinkMillis;
+
+    private Workload(List<String> productIds, List<String> searchTerms, List<String> customerEmails,
+                     LoadTestConfig config) {
+        this.productIds = productIds;
+        this.searchTerms = searchTerms;
+        this.customerEmails = customerEmails;
+        this.productPopularity = new ZipfDistribution(productIds.size(), config.getZipfExponent());
+        this.searchPopularity = new ZipfDistribution(searchTerms.size(), config.getZipfExponent());
+        this.meanThinkMillis = config.getMeanThinkTime().toMillis();
+
+        // One slot per unit of weight, so picking a journey is a single array lookup
+        List<Journey.Type> table = new ArrayList<>();
+        config.getMix().forEach((type, weight) -> table.addAll(Collections.nCopies(Math.max(0, weight), type)));
+        this.journeyTable = table.toArray(new Journey.Type[0]);
+    }
+
+    /**
+     * Read the catalog and register the load-test customers. Nothing here is measured.
+     *
+     * @param client API client
+     * @param config load test settings
+     * @return the workload
+     */
+    public static Workload prepare(GroceryClient client, LoadTestConfig config) {
+        List<String> productIds = new ArrayList<>();
+        List<String> productNames = new ArrayList<>();
+        for (int page = 0; productIds.size() < config.getCatalogSize(); page++) {
+            JsonNode data = client.get("setup.catalog",
+                "/api/products?page=" + page + "&size=" + CATALOG_PAGE_SIZE + "&sortBy=createdAt&sortDir=desc", null).join();
+            for (JsonNode product : data.path("content")) {
+                if (productIds.size() < config.getCatalogSize()) {
+                    productIds.add(product.path("id").asText());
+                    productNames.add(product.path("name").asText());
+                }
+            }
+            if (data.path("last").asBoolean(true)) {
+                break;
+            }
+        }
+        if (productIds.isEmpty()) {
+            throw new IllegalStateException("The catalog is empty; load sample data or products before running");
+        }
+
+        // Shuffle products and names together
+        Random random = new Random(config.getSeed());
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < productIds.size(); i++) {
+            order.add(i);
+        }
+        Collections.shuffle(order, random);
+        List<String> rankedIds = new ArrayList<>(order.size());
+        Set<String> terms = new LinkedHashSet<>();
+        for (int i : order) {
+            rankedIds.add(productIds.get(i));
+            String firstWord = productNames.get(i).split("\\s+")[0].toLowerCase(Locale.ROOT);
+            if (firstWord.length() >= 3) {
+                terms.add(firstWord);
+            }
+        }
+        if (terms.isEmpty()) {
+            terms.add(productNames.get(order.get(0)).toLowerCase(Locale.ROOT));
+        }
+
+        List<String> customerEmails = registerCustomers(client, config);
+        return new Workload(rankedIds, new ArrayList<>(terms), customerEmails, config);
+    }
+
+    private static List<String> registerCustomers(GroceryClient client, LoadTestConfig config) {
+        List<String> emails = new ArrayList<>(config.getCustomers());
+        List<CompletableFuture<?>> registrations = new ArrayList<>(config.getCustomers());
+        for (int i = 0; i < config.getCustomers(); i++) {
+            String email = "loadtest.customer" + i + "@example.com";
+            emails.add(email);
+
+            Map<String, String> request = Map.of(
+                "fullName", "Load Test Customer " + i,
+                "email", email,
+                "password", config.getCustomerPassword(),
+                "confirmPassword", config.getCustomerPassword(),
+                "address", "1 Load Test Lane, Testville",
+                "contactNumber", String.format("555%07d", i));
+            // Fails for accounts left by an earlier run, which is fine
+            registrations.add(client.post("setup.register", "/api/auth/register", request, null)
+                .exceptionally(failure -> null));
+        }
+        CompletableFuture.allOf(registrations.toArray(new CompletableFuture[0])).join();
+        return emails;
+    }
+
+    public String pickProduct(Random random) {
+        return productIds.get(productPopularity.sample(random));
+    }
+
+    public String pickSearchTerm(Random random) {
+        return searchTerms.get(searchPopularity.sample(random));
+    }
+
+    public String pickCustomer(Random random) {
+        return customerEmails.get(random.nextInt(customerEmails.size()));
+    }
+
+    public Journey.Type pickJourney(Random random) {
+        return journeyTable[random.nextInt(journeyTable.length)];
+    }
+
+    /**
+     * Draw a think time: exponential around the configured mean, capped at four times it.
+     *
+     * @param random source of randomness
+     * @return think time in milliseconds
+     */
+    public long thinkMillis(Random random) {
+        double millis = -meanThinkMillis * Math.log(1 - random.nextDouble());
+        return (long) Math.min(millis, 4 * meanThinkMillis);
+    }
+
+    /**
+     * Summary of the workload data for the report.
+     *
+     * @return name to value
+     */
+    public Map<String, Object> describe() {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("products", productIds.size());
+        description.put("searchTerms", searchTerms.size());
+        description.put("customers", customerEmails.size());
+        return description;
+    }
+}
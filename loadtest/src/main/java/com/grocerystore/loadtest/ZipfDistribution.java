@@ -0,0 +1,49 @@
+package com.grocerystore.loadtest;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Zipf-distributed ranks over 0..size-1: rank r is drawn with probability
+ * proportional to 1 / (r + 1)^exponent, so a few products get most of the
+ * traffic, as in a real catalog. Sampling is a binary search over the
+ * precomputed cumulative distribution.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+public class ZipfDistribution {
+
+    private final double[] cumulative;
+
+    public ZipfDistribution(int size, double exponent) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Zipf distribution needs at least one rank");
+        }
+        this.cumulative = new double[size];
+        double sum = 0;
+        for (int rank = 0; rank < size; rank++) {
+            sum += 1.0 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < size; rank++) {
+            cumulative[rank] /= sum;
+        }
+    }
+
+    /**
+     * Draw a rank.
+     *
+     * @param random source of randomness
+     * @return rank, 0 being the most popular
+     */
+    public int sample(Random random) {
+        int found = Arrays.binarySearch(cumulative, random.nextDouble());
+        int rank = found >= 0 ? found : -found - 1;
+        return Math.min(rank, cumulative.length - 1);
+    }
+
+    public int size() {
+        return cumulative.length;
+    }
+}
@@ -0,0 +1,49 @@
+package com.grocerystore.loadtest.dataset;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Inserts rows with batched prepared statements. Used for H2, which has no
+ * COPY, and with --loader=batch to measure what COPY saves on PostgreSQL.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+public class BatchLoader implements BulkLoader {
+
+    private final int batchSize;
+
+    public BatchLoader(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void load(Connection connection, Table table, List<Object[]> rows) throws SQLException {
+        if (rows.isEmpty()) {
+            return;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(table.getColumns().size(), "?"));
+        String sql = "INSERT INTO " + table.getName() + " " + table.columnList() + " VALUES (" + placeholders + ")";
+
+        try (PreparedStatement insert = connection.prepareStatement(sql)) {
+            int pending = 0;
+            for (Object[] row : rows) {
+                for (int i = 0; i < row.length; i++) {
+                    insert.setObject(i + 1, row[i]);
+                }
+                insert.addBatch();
+                if (++pending == batchSize) {
+                    insert.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                insert.executeBatch();
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.grocerystore.loadtest.dataset;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Writes a block of generated rows to a table. The caller owns the
+ * transaction; a block is committed after all its tables are written.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+public interface BulkLoader {
+
+    /**
+     * Write rows to a table.
+     *
+     * @param connection connection of the current transaction
+     * @param table target table
+     * @param rows rows holding one value per column of the table, in column order
+     * @throws SQLException if the database rejects the rows
+     */
+    void load(Connection connection, Table table, List<Object[]> rows) throws SQLException;
+
+    /**
+     * Create the loader for a database.
+     *
+     * @param loader loader chosen with --loader, or null for the database's fastest
+     * @param postgres whether the database is PostgreSQL
+     * @param batchSize rows per JDBC batch
+     * @return the loader
+     */
+    static BulkLoader create(DatasetConfig.Loader loader, boolean postgres, int batchSize) {
+        DatasetConfig.Loader chosen = loader != null ? loader : postgres ? DatasetConfig.Loader.COPY : DatasetConfig.Loader.BATCH;
+        if (chosen == DatasetConfig.Loader.COPY) {
+            if (!postgres) {
+                throw new IllegalArgumentException("--loader=copy needs PostgreSQL");
+            }
+            return new CopyLoader();
+        }
+        return new BatchLoader(batchSize);
+    }
+}
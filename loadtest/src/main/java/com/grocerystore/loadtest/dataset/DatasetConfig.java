@@ -0,0 +1,214 @@
+package com.grocerystore.loadtest.dataset;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Dataset generator settings, parsed from {@code --name=value} command-line
+ * arguments.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+public class DatasetConfig {
+
+    /**
+     * How rows reach the database.
+     */
+    public enum Loader {
+        /** PostgreSQL COPY FROM STDIN, one stream per block */
+        COPY,
+        /** Batched JDBC inserts, for H2 or to compare against COPY */
+        BATCH
+    }
+
+    private String databaseUrl = "jdbc:postgresql://localhost:5432/grocery_db";
+    private String databaseUsername = "postgres";
+    private String databasePassword = "password";
+    private Loader loader;
+
+    private int users = 100_000;
+    private int products = 10_000;
+    private int orders = 1_000_000;
+    private double itemsPerOrder = 4.0;
+    private double reviewsPerUser = 0.5;
+    private int months = 24;
+    private double productSkew = 1.1;
+    private double customerSkew = 0.8;
+    private String emailDomain = "dataset.example.com";
+
+    private int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+    private int blockSize = 5_000;
+    private int batchSize = 1_000;
+    private long seed = 42;
+
+    // Constructors
+    public DatasetConfig() {}
+
+    /**
+     * Parse command-line arguments over the defaults.
+     *
+     * @param args arguments of the form --name=value
+     * @return the configuration
+     * @throws IllegalArgumentException for unknown or malformed arguments
+     */
+    public static DatasetConfig parse(String[] args) {
+        DatasetConfig config = new DatasetConfig();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            String name = arg.substring(2, equals);
+            String value = arg.substring(equals + 1);
+            switch (name) {
+                case "db-url" -> config.databaseUrl = value;
+                case "db-username" -> config.databaseUsername = value;
+                case "db-password" -> config.databasePassword = value;
+                case "loader" -> config.loader = Loader.valueOf(value.toUpperCase());
+                case "users" -> config.users = parseCount(value);
+                case "products" -> config.products = parseCount(value);
+                case "orders" -> config.orders = parseCount(value);
+                case "items-per-order" -> config.itemsPerOrder = Double.parseDouble(value);
+                case "reviews-per-user" -> config.reviewsPerUser = Double.parseDouble(value);
+                case "months" -> config.months = Integer.parseInt(value);
+                case "product-skew" -> config.productSkew = Double.parseDouble(value);
+                case "customer-skew" -> config.customerSkew = Double.parseDouble(value);
+                case "email-domain" -> config.emailDomain = value;
+                case "threads" -> config.threads = Integer.parseInt(value);
+                case "block-size" -> config.blockSize = Integer.parseInt(value);
+                case "batch-size" -> config.batchSize = Integer.parseInt(value);
+                case "seed" -> config.seed = Long.parseLong(value);
+                default -> throw new IllegalArgumentException("Unknown option: --" + name);
+            }
+        }
+        if (config.users < 1 || config.products < 1) {
+            throw new IllegalArgumentException("--users and --products must be at least 1");
+        }
+        if (config.itemsPerOrder < 1) {
+            throw new IllegalArgumentException("--items-per-order must be at least 1");
+        }
+        if (config.months < 1) {
+            throw new IllegalArgumentException("--months must be at least 1");
+        }
+        if (config.threads < 1 || config.blockSize < 1 || config.batchSize < 1) {
+            throw new IllegalArgumentException("--threads, --block-size and --batch-size must be at least 1");
+        }
+        return config;
+    }
+
+    /**
+     * Parse a row count such as 250000, 250k or 2.5m.
+     */
+    static int parseCount(String value) {
+        String lower = value.toLowerCase().replace("_", "");
+        double multiplier = 1;
+        if (lower.endsWith("k")) {
+            multiplier = 1_000;
+        } else if (lower.endsWith("m")) {
+            multiplier = 1_000_000;
+        }
+        if (multiplier > 1) {
+            lower = lower.substring(0, lower.length() - 1);
+        }
+        double count = Double.parseDouble(lower) * multiplier;
+        if (count < 0 || count > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Row count out of range: " + value);
+        }
+        return (int) count;
+    }
+
+    /**
+     * Settings as printed before a run.
+     *
+     * @return setting name to value
+     */
+    public Map<String, Object> describe() {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("users", users);
+        settings.put("products", products);
+        settings.put("orders", orders);
+        settings.put("itemsPerOrder", itemsPerOrder);
+        settings.put("reviewsPerUser", reviewsPerUser);
+        settings.put("months", months);
+        settings.put("productSkew", productSkew);
+        settings.put("customerSkew", customerSkew);
+        settings.put("emailDomain", emailDomain);
+        settings.put("threads", threads);
+        settings.put("blockSize", blockSize);
+        settings.put("seed", seed);
+        return settings;
+    }
+
+    // Getters
+    public String getDatabaseUrl() {
+        return databaseUrl;
+    }
+
+    public String getDatabaseUsername() {
+        return databaseUsername;
+    }
+
+    public String getDatabasePassword() {
+        return databasePassword;
+    }
+
+    /**
+     * @return the loader chosen with --loader, or null to pick one for the database
+     */
+    public Loader getLoader() {
+        return loader;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public int getProducts() {
+        return products;
+    }
+
+    public int getOrders() {
+        return orders;
+    }
+
+    public double getItemsPerOrder() {
+        return itemsPerOrder;
+    }
+
+    public double getReviewsPerUser() {
+        return reviewsPerUser;
+    }
+
+    public int getMonths() {
+        return months;
+    }
+
+    public double getProductSkew() {
+        return productSkew;
+    }
+
+    public double getCustomerSkew() {
+        return customerSkew;
+    }
+
+    public String getEmailDomain() {
+        return emailDomain;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+}
@@ -0,0 +1,496 @@
+package com.grocerystore.loadtest.dataset;
+
+import com.grocerystore.loadtest.ZipfDistribution;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fills a migrated database with a synthetic store at a configurable scale:
+ * customers, a catalog, order history with line items, and reviews.
+ * <p>
+ * The data keeps the schema's constraints and the application's own
+ * invariants: every order belongs to a generated customer, totals are the
+ * sum of their items at the product's price, delivered orders have a
+ * delivery date, and a customer reviews a product at most once. It is also
+ * skewed the way a real store is. Product popularity follows a Zipf
+ * distribution, so a few products are in most baskets; another Zipf
+ * distribution over customers makes a few of them heavy buyers; basket
+ * sizes and reviews per customer are geometric, so most are small.
+ * <p>
+ * Work is split into blocks of rows. Worker threads each hold a connection,
+ * claim blocks in turn, generate a block from a seed derived from its
+ * number, write it with the {@link BulkLoader} and commit, so runs with the
+ * same settings produce the same data however the blocks are scheduled.
+ * An order block writes its orders and their items in one transaction.
+ * Derived tables (rating histograms and reorder profiles) are rebuilt from
+ * the generated rows at the end, and the tables analyzed.
+ * <p>
+ * Generated customers share an email domain, which is how the derived
+ * tables find them and how a second run into the same database is refused.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+public class DatasetGenerator {
+
+    private static final String USAGE = """
+        Usage: java -jar grocery-store-loadtest.jar dataset [--help] [--name=value ...]
+
+          --db-url=jdbc:postgresql://localhost:5432/grocery_db --db-username=postgres --db-password=password
+                                             migrated database to fill (start the backend once first)
+          --users=100k --products=10k --orders=1m
+          --items-per-order=4.0              mean order lines per order
+          --reviews-per-user=0.5             mean reviews per customer
+          --months=24                        months of order history, up to now
+          --product-skew=1.1 --customer-skew=0.8
+                                             Zipf exponents of product popularity and orders per customer
+          --email-domain=dataset.example.com domain of the generated customers' emails
+          --loader=copy|batch                COPY on PostgreSQL and JDBC batches elsewhere by default
+          --threads=<cores> --block-size=5000 --batch-size=1000 --seed=42
+        """;
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private static final int MAX_ORDER_LINES = 40;
+    private static final int MAX_REVIEWS_PER_USER = 200;
+    private static final double CANCELLED_SHARE = 0.05;
+    private static final double COMMENTED_SHARE = 0.45;
+
+    private final DatasetConfig config;
+    private final boolean postgres;
+    private final BulkLoader loader;
+    private final LocalDateTime now = LocalDateTime.now().withNano(0);
+    private final LocalDateTime windowStart;
+    private final long windowSeconds;
+
+    // Filled by the user and product phases, read by the order and review phases
+    private final UUID[] userIds;
+    private final UUID[] productIds;
+    private final int[] priceCents;
+
+    private final List<String> summary = new ArrayList<>();
+
+    private DatasetGenerator(DatasetConfig config, boolean postgres) {
+        this.config = config;
+        this.postgres = postgres;
+        this.loader = BulkLoader.create(config.getLoader(), postgres, config.getBatchSize());
+        this.windowStart = YearMonth.from(now).minusMonths(config.getMonths() - 1L).atDay(1).atStartOfDay();
+        this.windowSeconds = Duration.between(windowStart, now).toSeconds();
+        this.userIds = new UUID[config.getUsers()];
+        this.productIds = new UUID[config.getProducts()];
+        this.priceCents = new int[config.getProducts()];
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (List.of(args).contains("--help")) {
+            System.out.print(USAGE);
+            return;
+        }
+
+        DatasetConfig config;
+        try {
+            config = DatasetConfig.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.print(USAGE);
+            System.exit(2);
+            return;
+        }
+
+        boolean postgres;
+        try (Connection connection = connect(config)) {
+            postgres = "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+        }
+        new DatasetGenerator(config, postgres).run();
+    }
+
+    private void run() throws Exception {
+        System.out.printf("Generating %s into %s with %s%n", config.describe(), config.getDatabaseUrl(),
+            loader.getClass().getSimpleName());
+        long start = System.nanoTime();
+
+        try (Connection connection = connect(config)) {
+            prepare(connection);
+        }
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(config.getThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "dataset-worker-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            inBlocks(workers, "users", config.getUsers(), this::writeUsers);
+            inBlocks(workers, "products", config.getProducts(), this::writeProducts);
+
+            ZipfDistribution productPopularity = new ZipfDistribution(config.getProducts(), config.getProductSkew());
+            ZipfDistribution customerActivity = new ZipfDistribution(config.getUsers(), config.getCustomerSkew());
+            inBlocks(workers, "orders and order_items", config.getOrders(),
+                (connection, from, to, random) -> writeOrders(connection, from, to, random, productPopularity, customerActivity));
+            inBlocks(workers, "reviews", config.getUsers(),
+                (connection, from, to, random) -> writeReviews(connection, from, to, random, productPopularity));
+        } finally {
+            workers.shutdownNow();
+        }
+
+        try (Connection connection = connect(config)) {
+            rebuildDerivedTables(connection);
+        }
+
+        System.out.printf("%nDone in %ds%n", TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start));
+        summary.forEach(System.out::println);
+    }
+
+    private static Connection connect(DatasetConfig config) throws SQLException {
+        Connection connection = DriverManager.getConnection(
+            config.getDatabaseUrl(), config.getDatabaseUsername(), config.getDatabasePassword());
+        connection.setAutoCommit(false);
+        return connection;
+    }
+
+    /**
+     * Check the schema is there and holds no earlier run, and make sure every
+     * month of the order history has its own partition rather than the default one.
+     */
+    private void prepare(Connection connection) throws SQLException {
+        long existing;
+        try (PreparedStatement count = connection.prepareStatement("SELECT COUNT(*) FROM users WHERE email LIKE ?")) {
+            count.setString(1, emailPattern());
+            try (ResultSet result = count.executeQuery()) {
+                result.next();
+                existing = result.getLong(1);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Cannot read the users table; start the backend against " +
+                                            config.getDatabaseUrl() + " once so Flyway creates the schema", e);
+        }
+        if (existing > 0) {
+            throw new IllegalStateException("The database already has " + existing + " users @" + config.getEmailDomain() +
+                                            "; choose another --email-domain or load into a fresh database");
+        }
+
+        if (!postgres || !isPartitioned(connection, "orders")) {
+            return;
+        }
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+            for (YearMonth month = YearMonth.from(windowStart); !month.isAfter(YearMonth.from(now)); month = month.plusMonths(1)) {
+                for (String table : List.of("orders", "order_items")) {
+                    String partition = table + "_p" + month.format(PARTITION_SUFFIX);
+                    try {
+                        statement.execute(String.format(
+                            "CREATE TABLE IF NOT EXISTS %s PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')",
+                            partition, table, month.atDay(1), month.plusMonths(1).atDay(1)));
+                    } catch (SQLException e) {
+                        // Typically rows for this month already sit in the default partition
+                        System.out.printf("Could not create partition %s: %s%n", partition, e.getMessage());
+                    }
+                }
+            }
+        } finally {
+            connection.setAutoCommit(false);
+        }
+    }
+
+    private static boolean isPartitioned(Connection connection, String table) throws SQLException {
+        try (PreparedStatement query = connection.prepareStatement(
+                "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table pt JOIN pg_class c ON c.oid = pt.partrelid " +
+                "WHERE c.relname = ? AND c.relnamespace = current_schema()::regnamespace)")) {
+            query.setString(1, table);
+            try (ResultSet result = query.executeQuery()) {
+                result.next();
+                return result.getBoolean(1);
+            }
+        }
+    }
+
+    /**
+     * Generates and writes rows [from, to) of a phase.
+     */
+    @FunctionalInterface
+    private interface BlockWriter {
+        /**
+         * @return number of rows written, over all tables
+         */
+        long write(Connection connection, int from, int to, Random random) throws SQLException;
+    }
+
+    private void inBlocks(ExecutorService workers, String phase, int count, BlockWriter writer) throws Exception {
+        int blockSize = config.getBlockSize();
+        int blocks = (int) ((count + (long) blockSize - 1) / blockSize);
+        AtomicInteger nextBlock = new AtomicInteger();
+        AtomicInteger doneBlocks = new AtomicInteger();
+        AtomicLong rows = new AtomicLong();
+        AtomicBoolean failed = new AtomicBoolean();
+        long phaseSeed = config.getSeed() * 1_000_003L + phase.hashCode();
+        long start = System.nanoTime();
+
+        List<Future<?>> running = new ArrayList<>();
+        for (int i = 0; i < Math.min(config.getThreads(), blocks); i++) {
+            running.add(workers.submit(() -> {
+                try (Connection connection = connect(config)) {
+                    if (postgres) {
+                        try (Statement statement = connection.createStatement()) {
+                            // A crash loses the last commits of a load that is rerun anyway
+                            statement.execute("SET synchronous_commit = off");
+                        }
+                    }
+                    for (int block = nextBlock.getAndIncrement(); block < blocks && !failed.get();
+                         block = nextBlock.getAndIncrement()) {
+                        int from = block * blockSize;
+                        int to = (int) Math.min(count, (long) from + blockSize);
+                        rows.addAndGet(writer.write(connection, from, to, new Random(phaseSeed * 31 + block)));
+                        connection.commit();
+
+                        synchronized (doneBlocks) {
+                            int done = doneBlocks.incrementAndGet();
+                            if (done * 10 / blocks > (done - 1) * 10 / blocks) {
+                                System.out.printf("  %s: %d%%%n", phase, done * 100 / blocks);
+                            }
+                        }
+                    }
+                } catch (SQLException | RuntimeException e) {
+                    failed.set(true);
+                    throw e;
+                }
+                return null;
+            }));
+        }
+        for (Future<?> worker : running) {
+            try {
+                worker.get();
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof Exception cause ? cause : e;
+            }
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        summary.add(String.format("%-24s %,12d rows %8.1fs %,12.0f rows/s", phase, rows.get(), seconds,
+            rows.get() / Math.max(seconds, 1e-3)));
+    }
+
+    private long writeUsers(Connection connection, int from, int to, Random random) throws SQLException {
+        List<Object[]> rows = new ArrayList<>(to - from);
+        for (int user = from; user < to; user++) {
+            String firstName = SyntheticData.firstName(random);
+            String lastName = SyntheticData.lastName(random);
+            // Customers signed up in the year before the order history starts
+            LocalDateTime createdAt = windowStart.minusSeconds(1 + random.nextInt(365 * 24 * 3600));
+            UUID id = SyntheticData.timeOrderedId(createdAt, random);
+            userIds[user] = id;
+
+            rows.add(new Object[] {
+                id, firstName + " " + lastName,
+                (firstName + "." + lastName + user).toLowerCase() + "@" + config.getEmailDomain(),
+                SyntheticData.PASSWORD_HASH, addressOf(user), SyntheticData.contactNumber(random),
+                "CUSTOMER", createdAt, createdAt
+            });
+        }
+        loader.load(connection, Table.USERS, rows);
+        return rows.size();
+    }
+
+    private long writeProducts(Connection connection, int from, int to, Random random) throws SQLException {
+        List<Object[]> rows = new ArrayList<>(to - from);
+        for (int product = from; product < to; product++) {
+            String name = SyntheticData.productName(random);
+            LocalDateTime createdAt = windowStart.minusSeconds(1 + random.nextInt(90 * 24 * 3600));
+            UUID id = SyntheticData.timeOrderedId(createdAt, random);
+            int cents = SyntheticData.priceCents(random);
+            productIds[product] = id;
+            priceCents[product] = cents;
+
+            // A few products are out of stock; most use the default low-stock threshold
+            int quantity = random.nextInt(100) < 3 ? 0 : random.nextInt(500);
+            Integer reorderThreshold = random.nextInt(10) == 0 ? 5 + random.nextInt(20) : null;
+            rows.add(new Object[] {
+                id, name, SyntheticData.productDescription(name), BigDecimal.valueOf(cents, 2), quantity,
+                "https://example.com/images/products/" + product + ".jpg", reorderThreshold, createdAt, createdAt
+            });
+        }
+        loader.load(connection, Table.PRODUCTS, rows);
+        return rows.size();
+    }
+
+    private long writeOrders(Connection connection, int from, int to, Random random,
+                             ZipfDistribution productPopularity, ZipfDistribution customerActivity) throws SQLException {
+        List<Object[]> orders = new ArrayList<>(to - from);
+        List<Object[]> items = new ArrayList<>((int) ((to - from) * config.getItemsPerOrder() * 1.2));
+        int maxLines = Math.min(MAX_ORDER_LINES, config.getProducts());
+        int[] lineProducts = new int[maxLines];
+
+        for (int order = from; order < to; order++) {
+            int customer = customerActivity.sample(random);
+            LocalDateTime orderDate = windowStart.plusSeconds((long) (random.nextDouble() * windowSeconds));
+            UUID orderId = SyntheticData.timeOrderedId(orderDate, random);
+
+            int lines = Math.min(maxLines, 1 + SyntheticData.geometric(random, config.getItemsPerOrder() - 1));
+            int chosen = 0;
+            long totalCents = 0;
+            // Popular products come up again and again; give up on distinct ones after a few tries
+            for (int attempt = 0; chosen < lines && attempt < lines * 4; attempt++) {
+                int product = productPopularity.sample(random);
+                if (contains(lineProducts, chosen, product)) {
+                    continue;
+                }
+                lineProducts[chosen++] = product;
+                int quantity = random.nextInt(10) < 7 ? 1 : 2 + random.nextInt(3);
+                totalCents += (long) priceCents[product] * quantity;
+                items.add(new Object[] {
+                    SyntheticData.timeOrderedId(orderDate, random), orderId, orderDate, productIds[product], quantity,
+                    BigDecimal.valueOf(priceCents[product], 2), orderDate
+                });
+            }
+
+            String status;
+            LocalDateTime updatedAt;
+            LocalDateTime deliveredAt = null;
+            if (random.nextDouble() < CANCELLED_SHARE) {
+                status = "CANCELLED";
+                updatedAt = min(orderDate.plusMinutes(10 + random.nextInt(24 * 60)), now);
+            } else {
+                LocalDateTime delivery = orderDate.plusMinutes(120 + random.nextInt(4 * 24 * 60));
+                if (delivery.isBefore(now)) {
+                    status = "COMPLETED";
+                    updatedAt = delivery;
+                    deliveredAt = delivery;
+                } else {
+                    // Recent orders are still on their way
+                    status = Duration.between(orderDate, now).toHours() < 2 ? "PENDING" : "PROCESSING";
+                    updatedAt = orderDate;
+                }
+            }
+
+            orders.add(new Object[] {
+                orderId, userIds[customer], orderDate, status, BigDecimal.valueOf(totalCents, 2), addressOf(customer),
+                orderDate, updatedAt, deliveredAt
+            });
+        }
+
+        loader.load(connection, Table.ORDERS, orders);
+        loader.load(connection, Table.ORDER_ITEMS, items);
+        return orders.size() + items.size();
+    }
+
+    private long writeReviews(Connection connection, int from, int to, Random random,
+                              ZipfDistribution productPopularity) throws SQLException {
+        List<Object[]> rows = new ArrayList<>((int) ((to - from) * config.getReviewsPerUser() * 1.2) + 16);
+        int maxReviews = Math.min(MAX_REVIEWS_PER_USER, config.getProducts());
+        int[] reviewed = new int[maxReviews];
+
+        for (int user = from; user < to; user++) {
+            int reviews = Math.min(maxReviews, SyntheticData.geometric(random, config.getReviewsPerUser()));
+            int written = 0;
+            // The same product twice would break the one-review-per-customer constraint
+            for (int attempt = 0; written < reviews && attempt < reviews * 4; attempt++) {
+                int product = productPopularity.sample(random);
+                if (contains(reviewed, written, product)) {
+                    continue;
+                }
+                reviewed[written++] = product;
+
+                LocalDateTime createdAt = windowStart.plusSeconds((long) (random.nextDouble() * windowSeconds));
+                String comment = random.nextDouble() < COMMENTED_SHARE ? SyntheticData.reviewComment(random) : null;
+                rows.add(new Object[] {
+                    SyntheticData.timeOrderedId(createdAt, random), productIds[product], userIds[user],
+                    SyntheticData.rating(random), comment, comment != null, createdAt, createdAt
+                });
+            }
+        }
+        loader.load(connection, Table.REVIEWS, rows);
+        return rows.size();
+    }
+
+    /**
+     * Rebuild what the application maintains incrementally on writes, for the
+     * generated customers only, then refresh planner statistics.
+     */
+    private void rebuildDerivedTables(Connection connection) throws SQLException {
+        String newId = postgres ? "gen_random_uuid()" : "RANDOM_UUID()";
+        long start = System.nanoTime();
+
+        int histograms;
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO product_rating_histograms " +
+                "(product_id, one_star, two_star, three_star, four_star, five_star, updated_at) " +
+                "SELECT r.product_id, " +
+                "SUM(CASE WHEN r.rating = 1 THEN 1 ELSE 0 END), SUM(CASE WHEN r.rating = 2 THEN 1 ELSE 0 END), " +
+                "SUM(CASE WHEN r.rating = 3 THEN 1 ELSE 0 END), SUM(CASE WHEN r.rating = 4 THEN 1 ELSE 0 END), " +
+                "SUM(CASE WHEN r.rating = 5 THEN 1 ELSE 0 END), CURRENT_TIMESTAMP " +
+                "FROM reviews r JOIN users u ON u.id = r.user_id " +
+                "WHERE u.email LIKE ? " +
+                "GROUP BY r.product_id")) {
+            insert.setString(1, emailPattern());
+            histograms = insert.executeUpdate();
+        }
+
+        // Same as ReorderProfileItemRepository.backfillFromCompletedOrders, limited to generated customers
+        int profiles;
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO reorder_profile_items " +
+                "(id, user_id, product_id, purchase_count, first_purchased_at, last_purchased_at) " +
+                "SELECT " + newId + ", o.user_id, oi.product_id, COUNT(DISTINCT o.id), " +
+                "MIN(o.order_date), MAX(o.order_date) " +
+                "FROM order_items oi " +
+                "JOIN orders o ON o.id = oi.order_id AND o.order_date = oi.order_date " +
+                "JOIN users u ON u.id = o.user_id " +
+                "WHERE o.status = 'COMPLETED' AND u.email LIKE ? " +
+                "GROUP BY o.user_id, oi.product_id")) {
+            insert.setString(1, emailPattern());
+            profiles = insert.executeUpdate();
+        }
+        connection.commit();
+
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE");
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        summary.add(String.format("%-24s %,12d rows %8.1fs", "derived tables", (long) histograms + profiles, seconds));
+    }
+
+    private String emailPattern() {
+        return "%@" + config.getEmailDomain();
+    }
+
+    // Stable per customer, so every order ships to the address on the account
+    private String addressOf(int user) {
+        return SyntheticData.address(new Random(config.getSeed() * 7_919L + user));
+    }
+
+    private static boolean contains(int[] values, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+}
@@ -0,0 +1,156 @@
+package com.grocerystore.loadtest.dataset;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Word pools and value helpers for generated rows. Everything is drawn from
+ * the {@link Random} passed in, so a block generates the same rows for the
+ * same seed whichever thread writes it.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+public final class SyntheticData {
+
+    // BCrypt hash of "password", the same as the sample admin account's
+    public static final String PASSWORD_HASH = "$2a$10$92IXUNpkjO0rOQ5byMi.Ye4oKoEa3Ro9llC/.og/at2.uheWG/igi";
+
+    private static final String[] FIRST_NAMES = {
+        "Aarav", "Aisha", "Alex", "Ana", "Ben", "Carlos", "Chen", "Chloe", "Daniel", "Diya", "Elena", "Emma",
+        "Fatima", "Gabriel", "Hana", "Ivan", "Jack", "Julia", "Kenji", "Lara", "Liam", "Maya", "Mohammed",
+        "Nina", "Noah", "Olivia", "Omar", "Priya", "Rahul", "Sara", "Sofia", "Tom", "Wei", "Yusuf", "Zoe"
+    };
+
+    private static final String[] LAST_NAMES = {
+        "Ahmed", "Brown", "Chen", "Costa", "Das", "Fischer", "Garcia", "Gupta", "Hansen", "Ito", "Jones",
+        "Kim", "Kowalski", "Lopez", "Martin", "Moreau", "Nguyen", "Okafor", "Patel", "Rossi", "Sato", "Singh",
+        "Smith", "Silva", "Tanaka", "Wang", "Williams", "Yilmaz"
+    };
+
+    private static final String[] STREETS = {
+        "Main Street", "Oak Avenue", "Maple Road", "Station Road", "High Street", "Park Lane", "Church Street",
+        "Mill Lane", "River Road", "Market Square", "Elm Street", "Victoria Road"
+    };
+
+    private static final String[] CITIES = {
+        "Springfield", "Riverside", "Fairview", "Greenville", "Bristol", "Madison", "Oakland", "Franklin",
+        "Clinton", "Georgetown", "Salem", "Ashland"
+    };
+
+    private static final String[] PRODUCT_ADJECTIVES = {
+        "Organic", "Fresh", "Whole", "Free Range", "Wild", "Farm", "Smoked", "Roasted", "Unsalted", "Low Fat",
+        "Gluten Free", "Premium", "Classic", "Local", "Frozen", "Sparkling"
+    };
+
+    private static final String[] PRODUCT_NOUNS = {
+        "Apples", "Bananas", "Carrots", "Tomatoes", "Spinach", "Potatoes", "Onions", "Milk", "Yogurt", "Cheddar",
+        "Butter", "Eggs", "Bread", "Bagels", "Pasta", "Rice", "Oats", "Granola", "Coffee", "Tea", "Orange Juice",
+        "Chicken Breast", "Salmon", "Ground Beef", "Tofu", "Almonds", "Peanut Butter", "Honey", "Olive Oil",
+        "Chocolate", "Crackers", "Water", "Blueberries", "Avocados", "Mushrooms", "Lentils"
+    };
+
+    private static final String[] PRODUCT_SIZES = {
+        "250 g", "500 g", "1 kg", "2 lb", "1 lb", "12 oz", "32 oz", "1 gallon", "1 l", "500 ml", "6 pack", "dozen"
+    };
+
+    private static final String[] REVIEW_COMMENTS = {
+        "Great quality, will buy again.", "Fresh and tasty.", "Good value for the price.",
+        "Arrived well packed.", "Not as fresh as I hoped.", "My family loves these.",
+        "A bit pricey but worth it.", "Smaller than expected.", "Perfect for weekday dinners.",
+        "Would not buy again.", "Exactly as described.", "Best I've had from any store."
+    };
+
+    // J-shaped, as online ratings are: mostly fives, then ones
+    private static final double[] RATING_CUMULATIVE = {0.10, 0.16, 0.27, 0.52, 1.0};
+
+    private SyntheticData() {
+    }
+
+    public static String firstName(Random random) {
+        return pick(random, FIRST_NAMES);
+    }
+
+    public static String lastName(Random random) {
+        return pick(random, LAST_NAMES);
+    }
+
+    public static String address(Random random) {
+        return (1 + random.nextInt(999)) + " " + pick(random, STREETS) + ", " + pick(random, CITIES);
+    }
+
+    /**
+     * A 10-digit phone number, formatted the ways customers type them, so
+     * digit-only customer search has something to normalize.
+     */
+    public static String contactNumber(Random random) {
+        String area = String.valueOf(200 + random.nextInt(800));
+        String exchange = String.format("%03d", random.nextInt(1000));
+        String line = String.format("%04d", random.nextInt(10_000));
+        return switch (random.nextInt(4)) {
+            case 0 -> "(" + area + ") " + exchange + "-" + line;
+            case 1 -> area + "-" + exchange + "-" + line;
+            default -> area + exchange + line;
+        };
+    }
+
+    public static String productName(Random random) {
+        return pick(random, PRODUCT_ADJECTIVES) + " " + pick(random, PRODUCT_NOUNS) + ", " + pick(random, PRODUCT_SIZES);
+    }
+
+    public static String productDescription(String name) {
+        return name + ". Sourced from trusted suppliers and delivered fresh.";
+    }
+
+    /**
+     * A price in cents, log-normally spread around a few dollars with a long
+     * tail up to a hundred.
+     */
+    public static int priceCents(Random random) {
+        double dollars = Math.exp(1.4 + 0.75 * random.nextGaussian());
+        return (int) Math.max(49, Math.min(9_999, Math.round(dollars * 100)));
+    }
+
+    public static int rating(Random random) {
+        double draw = random.nextDouble();
+        for (int stars = 0; stars < RATING_CUMULATIVE.length; stars++) {
+            if (draw < RATING_CUMULATIVE[stars]) {
+                return stars + 1;
+            }
+        }
+        return 5;
+    }
+
+    public static String reviewComment(Random random) {
+        return pick(random, REVIEW_COMMENTS);
+    }
+
+    /**
+     * A draw from the geometric distribution on 0, 1, 2, ... with the given
+     * mean: most draws are small, a few are large.
+     */
+    public static int geometric(Random random, double mean) {
+        if (mean <= 0) {
+            return 0;
+        }
+        double p = 1 / (1 + mean);
+        return (int) Math.floor(Math.log(1 - random.nextDouble()) / Math.log(1 - p));
+    }
+
+    /**
+     * A version 7 UUID for a row created at the given time, laid out as the
+     * backend's own IDs are, so generated rows index like real ones.
+     */
+    public static UUID timeOrderedId(LocalDateTime createdAt, Random random) {
+        long millis = createdAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        long msb = millis << 16 | 0x7000L | (random.nextInt() & 0x0FFFL);
+        long lsb = random.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
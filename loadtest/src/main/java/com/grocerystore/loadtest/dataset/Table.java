@@ -0,0 +1,52 @@
+package com.grocerystore.loadtest.dataset;
+
+import java.util.List;
+
+/**
+ * A table the generator writes to and the columns it fills, in the order
+ * generated rows hold their values.
+ *
+ * @author Chirag Singhal
+ * @version 1.0.0
+ */
+public final class Table {
+
+    public static final Table USERS = new Table("users",
+        "id", "full_name", "email", "password", "address", "contact_number", "role", "created_at", "updated_at");
+
+    public static final Table PRODUCTS = new Table("products",
+        "id", "name", "description", "price", "quantity", "image_url", "reorder_threshold", "created_at", "updated_at");
+
+    public static final Table ORDERS = new Table("orders",
+        "id", "user_id", "order_date", "status", "total_amount", "shipping_address", "created_at", "updated_at",
+        "actual_delivery_date");
+
+    public static final Table ORDER_ITEMS = new Table("order_items",
+        "id", "order_id", "order_date", "product_id", "quantity", "price", "created_at");
+
+    public static final Table REVIEWS = new Table("reviews",
+        "id", "product_id", "user_id", "rating", "comment", "has_comment", "created_at", "updated_at");
+
+    private final String name;
+    private final List<String> columns;
+
+    private Table(String name, String... columns) {
+        this.name = name;
+        this.columns = List.of(columns);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    /**
+     * @return the column list for SQL, e.g. {@code (id, name)}
+     */
+    public String columnList() {
+        return "(" + String.join(", ", columns) + ")";
+    }
+}
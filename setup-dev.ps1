@@ -105,7 +105,7 @@ Write-Host "`n🗄️  Database setup..." -ForegroundColor Cyan
 Write-Host "Please ensure PostgreSQL is running and create the database:" -ForegroundColor Yellow
 Write-Host "  1. Connect to PostgreSQL: psql -U postgres" -ForegroundColor White
 Write-Host "  2. Create database: CREATE DATABASE grocery_db;" -ForegroundColor White
-Write-Host "  3. Run schema: \i database-schema.sql" -ForegroundColor White
+Write-Host "  3. Start the backend; Flyway creates the schema (set FLYWAY_LOCATIONS=classpath:db/migration,classpath:db/sample for sample data)" -ForegroundColor White
 Write-Host "  Or use Docker: docker-compose up postgres" -ForegroundColor White
 
 Write-Host "`n🎉 Setup completed successfully!" -ForegroundColor Green